@@ -0,0 +1,168 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventType;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * EventTypeStatus describes how the events of one type received on the Data Engine OMAS in topic have been
+ * processed since the access service started.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EventTypeStatus {
+    private DataEngineEventType eventType;
+    private long eventsReceived;
+    private long eventsProcessed;
+    private long eventsFailed;
+    private long averageProcessingTime;
+    private double throughput;
+
+    /**
+     * Gets the type of the events.
+     *
+     * @return the event type
+     */
+    public DataEngineEventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Sets the type of the events.
+     *
+     * @param eventType the event type
+     */
+    public void setEventType(DataEngineEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * Gets the number of events read from the topic.
+     *
+     * @return the number of events received
+     */
+    public long getEventsReceived() {
+        return eventsReceived;
+    }
+
+    /**
+     * Sets the number of events read from the topic.
+     *
+     * @param eventsReceived the number of events received
+     */
+    public void setEventsReceived(long eventsReceived) {
+        this.eventsReceived = eventsReceived;
+    }
+
+    /**
+     * Gets the number of events that have been processed, including those that failed.
+     *
+     * @return the number of events processed
+     */
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    /**
+     * Sets the number of events that have been processed, including those that failed.
+     *
+     * @param eventsProcessed the number of events processed
+     */
+    public void setEventsProcessed(long eventsProcessed) {
+        this.eventsProcessed = eventsProcessed;
+    }
+
+    /**
+     * Gets the number of events that could not be processed.
+     *
+     * @return the number of events failed
+     */
+    public long getEventsFailed() {
+        return eventsFailed;
+    }
+
+    /**
+     * Sets the number of events that could not be processed.
+     *
+     * @param eventsFailed the number of events failed
+     */
+    public void setEventsFailed(long eventsFailed) {
+        this.eventsFailed = eventsFailed;
+    }
+
+    /**
+     * Gets the average time in milliseconds spent processing each event.
+     *
+     * @return the average processing time
+     */
+    public long getAverageProcessingTime() {
+        return averageProcessingTime;
+    }
+
+    /**
+     * Sets the average time in milliseconds spent processing each event.
+     *
+     * @param averageProcessingTime the average processing time
+     */
+    public void setAverageProcessingTime(long averageProcessingTime) {
+        this.averageProcessingTime = averageProcessingTime;
+    }
+
+    /**
+     * Gets the number of events processed per second since the first event of this type was received.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Sets the number of events processed per second since the first event of this type was received.
+     *
+     * @param throughput the throughput
+     */
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventTypeStatus that = (EventTypeStatus) o;
+        return eventsReceived == that.eventsReceived &&
+                eventsProcessed == that.eventsProcessed &&
+                eventsFailed == that.eventsFailed &&
+                averageProcessingTime == that.averageProcessingTime &&
+                Double.compare(that.throughput, throughput) == 0 &&
+                eventType == that.eventType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventType, eventsReceived, eventsProcessed, eventsFailed, averageProcessingTime,
+                throughput);
+    }
+
+    @Override
+    public String toString() {
+        return "EventTypeStatus{" +
+                "eventType=" + eventType +
+                ", eventsReceived=" + eventsReceived +
+                ", eventsProcessed=" + eventsProcessed +
+                ", eventsFailed=" + eventsFailed +
+                ", averageProcessingTime=" + averageProcessingTime +
+                ", throughput=" + throughput +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * InTopicStatusResponse is the response structure used on the DE OMAS REST API call that returns the status of
+ * the processing of the events received on the Data Engine OMAS in topic.
+ */
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InTopicStatusResponse extends FFDCResponseBase {
+    private int queueDepth;
+    private int queueCapacity;
+    private long lag;
+    private List<EventTypeStatus> eventTypes;
+
+    /**
+     * Gets the number of events waiting to be processed.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Sets the number of events waiting to be processed.
+     *
+     * @param queueDepth the queue depth
+     */
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    /**
+     * Gets the maximum number of events that can wait to be processed before reading from the topic is paused.
+     *
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of events that can wait to be processed before reading from the topic is paused.
+     *
+     * @param queueCapacity the queue capacity
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Gets the time in milliseconds that the oldest waiting event has been queued.
+     *
+     * @return the ingestion lag
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * Sets the time in milliseconds that the oldest waiting event has been queued.
+     *
+     * @param lag the ingestion lag
+     */
+    public void setLag(long lag) {
+        this.lag = lag;
+    }
+
+    /**
+     * Gets the processing status for each type of event.
+     *
+     * @return the status of each event type
+     */
+    public List<EventTypeStatus> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * Sets the processing status for each type of event.
+     *
+     * @param eventTypes the status of each event type
+     */
+    public void setEventTypes(List<EventTypeStatus> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        InTopicStatusResponse that = (InTopicStatusResponse) o;
+        return queueDepth == that.queueDepth &&
+                queueCapacity == that.queueCapacity &&
+                lag == that.lag &&
+                Objects.equals(eventTypes, that.eventTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), queueDepth, queueCapacity, lag, eventTypes);
+    }
+
+    @Override
+    public String toString() {
+        return "InTopicStatusResponse{" +
+                "queueDepth=" + queueDepth +
+                ", queueCapacity=" + queueCapacity +
+                ", lag=" + lag +
+                ", eventTypes=" + eventTypes +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+@JsonAutoDetect(getterVisibility = PUBLIC_ONLY, setterVisibility = PUBLIC_ONLY, fieldVisibility = NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PortAliasesRequestBody extends DataEngineOMASAPIRequestBody {
+    private List<PortAlias> portAliases;
+
+    public List<PortAlias> getPortAliases() {
+        return portAliases;
+    }
+
+    public void setPortAliases(List<PortAlias> portAliases) {
+        this.portAliases = portAliases;
+    }
+
+    @Override
+    public String toString() {
+        return "PortAliasesRequestBody{" +
+                "portAliases=" + portAliases +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PortAliasesRequestBody that = (PortAliasesRequestBody) o;
+        return Objects.equals(portAliases, that.portAliases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(portAliases);
+    }
+}
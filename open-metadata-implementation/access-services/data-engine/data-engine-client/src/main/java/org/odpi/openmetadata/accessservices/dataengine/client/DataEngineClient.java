@@ -204,6 +204,23 @@ public interface DataEngineClient {
                                                                                  PropertyServerException,
                                                                                  UserNotAuthorizedException;
 
+    /**
+     * Create or update a list of schema type entities, with the corresponding schema attributes and relationships, in a
+     * single request
+     *
+     * @param userId      the name of the calling user
+     * @param schemaTypes the list of schema type beans
+     *
+     * @return unique identifiers of the schema types in the repository
+     *
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    List<String> createOrUpdateSchemaTypes(String userId, List<SchemaType> schemaTypes) throws InvalidParameterException,
+                                                                                               PropertyServerException,
+                                                                                               UserNotAuthorizedException;
+
     /**
      * Create or update the port implementation entity, with the corresponding schema type and port schema relationship.
      * Uses the default UpdateSemantic.REPLACE on update
@@ -265,6 +282,24 @@ public interface DataEngineClient {
                                                                                                   UserNotAuthorizedException,
                                                                                                   PropertyServerException;
 
+    /**
+     * Create or update a list of port implementation entities, with the corresponding schema types and port schema
+     * relationships, in a single request
+     *
+     * @param userId              the name of the calling user
+     * @param portImplementations the list of port implementation beans
+     *
+     * @return unique identifiers of the port implementations in the repository
+     *
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    List<String> createOrUpdatePortImplementations(String userId, List<PortImplementation> portImplementations) throws
+                                                                                                                InvalidParameterException,
+                                                                                                                UserNotAuthorizedException,
+                                                                                                                PropertyServerException;
+
     /**
      * Create or update the port alias entity with a PortDelegation relationship
      *
@@ -300,6 +335,22 @@ public interface DataEngineClient {
                                                                               UserNotAuthorizedException,
                                                                               PropertyServerException;
 
+    /**
+     * Create or update a list of port alias entities, each with a PortDelegation relationship, in a single request
+     *
+     * @param userId      the name of the calling user
+     * @param portAliases the list of port alias beans
+     *
+     * @return unique identifiers of the port aliases in the repository
+     *
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     */
+    List<String> createOrUpdatePortAliases(String userId, List<PortAlias> portAliases) throws InvalidParameterException,
+                                                                                              UserNotAuthorizedException,
+                                                                                              PropertyServerException;
+
     /**
      * Add lineage mapping relationships between schema types
      *
@@ -15,6 +15,7 @@ import org.odpi.openmetadata.accessservices.dataengine.rest.*;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineRegistrationRequestBody;
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
+import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.commonservices.ocf.metadatamanagement.client.OCFRESTClient;
@@ -45,6 +46,12 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
             "/data-engine/users/{1}/port-aliases";
     private static final String LINEAGE_MAPPINGS_URL_TEMPLATE = "/servers/{0}/open-metadata/access-services" +
             "/data-engine/users/{1}/lineage-mappings";
+    private static final String SCHEMA_TYPES_URL_TEMPLATE = "/servers/{0}/open-metadata/access-services" +
+            "/data-engine/users/{1}/schema-types/bulk";
+    private static final String PORT_IMPLEMENTATIONS_URL_TEMPLATE = "/servers/{0}/open-metadata/access-services" +
+            "/data-engine/users/{1}/port-implementations/bulk";
+    private static final String PORT_ALIASES_URL_TEMPLATE = "/servers/{0}/open-metadata/access-services" +
+            "/data-engine/users/{1}/port-aliases/bulk";
     private static final String PORTS_TO_PROCESS_URL_TEMPLATE = "/servers/{0}/open-metadata/access-services" +
             "/data-engine/users/{1}/processes/{2}/ports";
 
@@ -257,6 +264,22 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return callGUIDPostRESTCall(userId, methodName, SCHEMA_TYPE_URL_TEMPLATE, requestBody);
     }
 
+    @Override
+    public List<String> createOrUpdateSchemaTypes(String userId, List<SchemaType> schemaTypes) throws
+                                                                                               InvalidParameterException,
+                                                                                               PropertyServerException,
+                                                                                               UserNotAuthorizedException {
+        final String methodName = "createOrUpdateSchemaTypes";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        requestBody.setSchemaTypes(schemaTypes);
+        requestBody.setExternalSourceName(externalSourceName);
+
+        return callGUIDListPostRESTCall(userId, methodName, SCHEMA_TYPES_URL_TEMPLATE, requestBody);
+    }
+
     @Override
     public String createOrUpdatePortImplementation(String userId, String qualifiedName, String displayName,
                                                    PortType portType, SchemaType schemaType) throws
@@ -314,6 +337,23 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return callGUIDPostRESTCall(userId, methodName, PORT_IMPLEMENTATION_URL_TEMPLATE, requestBody);
     }
 
+    @Override
+    public List<String> createOrUpdatePortImplementations(String userId,
+                                                          List<PortImplementation> portImplementations) throws
+                                                                                                        InvalidParameterException,
+                                                                                                        UserNotAuthorizedException,
+                                                                                                        PropertyServerException {
+        final String methodName = "createOrUpdatePortImplementations";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        PortImplementationsRequestBody requestBody = new PortImplementationsRequestBody();
+        requestBody.setPortImplementations(portImplementations);
+        requestBody.setExternalSourceName(externalSourceName);
+
+        return callGUIDListPostRESTCall(userId, methodName, PORT_IMPLEMENTATIONS_URL_TEMPLATE, requestBody);
+    }
+
     @Override
     public String createOrUpdatePortAlias(String userId, String qualifiedName, String displayName, PortType portType,
                                           String delegatesTo) throws InvalidParameterException,
@@ -349,6 +389,22 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return callGUIDPostRESTCall(userId, methodName, PORT_ALIAS_URL_TEMPLATE, requestBody);
     }
 
+    @Override
+    public List<String> createOrUpdatePortAliases(String userId, List<PortAlias> portAliases) throws
+                                                                                              InvalidParameterException,
+                                                                                              UserNotAuthorizedException,
+                                                                                              PropertyServerException {
+        final String methodName = "createOrUpdatePortAliases";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+
+        PortAliasesRequestBody requestBody = new PortAliasesRequestBody();
+        requestBody.setPortAliases(portAliases);
+        requestBody.setExternalSourceName(externalSourceName);
+
+        return callGUIDListPostRESTCall(userId, methodName, PORT_ALIASES_URL_TEMPLATE, requestBody);
+    }
+
     @Override
     public void addLineageMappings(String userId, List<LineageMapping> lineageMappings) throws
                                                                                         InvalidParameterException,
@@ -411,6 +467,21 @@ public class DataEngineImpl extends OCFRESTClient implements DataEngineClient {
         return restResult.getGUID();
     }
 
+    private List<String> callGUIDListPostRESTCall(String userId, String methodName, String urlTemplate,
+                                                  DataEngineOMASAPIRequestBody requestBody, Object... params) throws
+                                                                                                      PropertyServerException,
+                                                                                                      InvalidParameterException,
+                                                                                                      UserNotAuthorizedException {
+        GUIDListResponse restResult = super.callPostRESTCall(methodName, GUIDListResponse.class,
+                serverPlatformRootURL + urlTemplate, requestBody, serverName, userId, params);
+
+        exceptionHandler.detectAndThrowInvalidParameterException(methodName, restResult);
+        exceptionHandler.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        exceptionHandler.detectAndThrowPropertyServerException(methodName, restResult);
+
+        return restResult.getGUIDs();
+    }
+
     private List<String> callProcessListPostRESTCall(String userId, String methodName, String urlTemplate,
                                                      ProcessesRequestBody requestBody, Object... params) throws
                                                                                                          PropertyServerException,
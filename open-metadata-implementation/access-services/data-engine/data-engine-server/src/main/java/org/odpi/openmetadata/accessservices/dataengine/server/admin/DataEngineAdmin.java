@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.accessservices.dataengine.server.admin;
 
 import org.odpi.openmetadata.accessservices.dataengine.server.auditlog.DataEngineAuditCode;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineEventDispatcher;
 import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineInTopicListener;
 import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
 import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
@@ -18,6 +19,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorException;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * DataEngineAdmin is the class that is called by the OMAG Server to initialize and terminate
@@ -25,12 +27,19 @@ import java.util.List;
  * Open Metadata Repository Services.
  */
 public class DataEngineAdmin extends AccessServiceAdmin {
+    private static final String IN_TOPIC_WORKER_THREADS_PROPERTY = "InTopicWorkerThreads";
+    private static final String IN_TOPIC_BATCH_SIZE_PROPERTY = "InTopicBatchSize";
+    private static final String IN_TOPIC_QUEUE_CAPACITY_PROPERTY = "InTopicQueueCapacity";
+    private static final int DEFAULT_IN_TOPIC_WORKER_THREADS = 4;
+    private static final int DEFAULT_IN_TOPIC_BATCH_SIZE = 100;
+    private static final int DEFAULT_IN_TOPIC_QUEUE_CAPACITY = 1000;
 
     private OMRSAuditLog auditLog;
     private DataEngineServicesInstance instance;
     private String serverName;
     private OpenMetadataTopicConnector dataEngineInTopicConnector;
     private DataEngineInTopicListener dataEngineInTopicListener;
+    private DataEngineEventDispatcher dataEngineEventDispatcher;
 
     /**
      * Initialize the access service.
@@ -70,7 +79,16 @@ public class DataEngineAdmin extends AccessServiceAdmin {
                 dataEngineInTopicConnector = initializeDataEngineTopicConnector(
                         accessServiceConfig.getAccessServiceInTopic());
                 DataEngineEventProcessor dataEngineEventProcessor = new DataEngineEventProcessor(instance, auditLog);
-                dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventProcessor);
+                Map<String, Object> accessServiceOptions = accessServiceConfig.getAccessServiceOptions();
+                dataEngineEventDispatcher = new DataEngineEventDispatcher(dataEngineEventProcessor,
+                        extractIntOption(accessServiceOptions, IN_TOPIC_WORKER_THREADS_PROPERTY,
+                                DEFAULT_IN_TOPIC_WORKER_THREADS),
+                        extractIntOption(accessServiceOptions, IN_TOPIC_BATCH_SIZE_PROPERTY,
+                                DEFAULT_IN_TOPIC_BATCH_SIZE),
+                        extractIntOption(accessServiceOptions, IN_TOPIC_QUEUE_CAPACITY_PROPERTY,
+                                DEFAULT_IN_TOPIC_QUEUE_CAPACITY));
+                instance.setDataEngineEventDispatcher(dataEngineEventDispatcher);
+                dataEngineInTopicListener = new DataEngineInTopicListener(auditLog, dataEngineEventDispatcher);
                 dataEngineInTopicConnector.registerListener(dataEngineInTopicListener);
                 dataEngineInTopicConnector.start();
             }
@@ -94,6 +112,10 @@ public class DataEngineAdmin extends AccessServiceAdmin {
     @Override
     public void shutdown() {
 
+        if (dataEngineEventDispatcher != null) {
+            dataEngineEventDispatcher.shutdown();
+        }
+
         if (instance != null) {
             instance.shutdown();
         }
@@ -109,6 +131,35 @@ public class DataEngineAdmin extends AccessServiceAdmin {
         }
     }
 
+    /**
+     * Returns the integer value of an access service option, or the default value if the option is not set or
+     * is not a number
+     *
+     * @param accessServiceOptions options from the access service configuration
+     * @param optionName           name of the option
+     * @param defaultValue         value to use if the option is not set
+     *
+     * @return the value of the option
+     */
+    private int extractIntOption(Map<String, Object> accessServiceOptions, String optionName, int defaultValue) {
+        if (accessServiceOptions == null) {
+            return defaultValue;
+        }
+
+        Object optionValue = accessServiceOptions.get(optionName);
+        if (optionValue instanceof Number) {
+            return ((Number) optionValue).intValue();
+        }
+        if (optionValue instanceof String) {
+            try {
+                return Integer.parseInt((String) optionValue);
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
     /**
      * Returns the connector created from topic connection properties
      *
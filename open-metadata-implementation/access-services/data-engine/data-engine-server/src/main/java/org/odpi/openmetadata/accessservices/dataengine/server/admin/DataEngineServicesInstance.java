@@ -7,6 +7,7 @@ import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngin
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineEventDispatcher;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.multitenant.OCFOMASServiceInstance;
 import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInstanceException;
@@ -26,6 +27,7 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     private DataEngineRegistrationHandler dataEngineRegistrationHandler;
     private DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler;
     private PortHandler portHandler;
+    private DataEngineEventDispatcher dataEngineEventDispatcher;
 
     /**
      * Set up the local repository connector that will service the REST Calls
@@ -107,4 +109,22 @@ public class DataEngineServicesInstance extends OCFOMASServiceInstance {
     PortHandler getPortHandler() {
         return portHandler;
     }
+
+    /**
+     * Return the dispatcher for the events received on the in topic
+     *
+     * @return dispatcher object, null if the in topic is not configured
+     */
+    DataEngineEventDispatcher getDataEngineEventDispatcher() {
+        return dataEngineEventDispatcher;
+    }
+
+    /**
+     * Set up the dispatcher for the events received on the in topic
+     *
+     * @param dataEngineEventDispatcher dispatcher object
+     */
+    void setDataEngineEventDispatcher(DataEngineEventDispatcher dataEngineEventDispatcher) {
+        this.dataEngineEventDispatcher = dataEngineEventDispatcher;
+    }
 }
@@ -0,0 +1,423 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.listeners;
+
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventType;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineRegistrationEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.LineageMappingsEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.PortAliasEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.PortImplementationEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.ProcessToPortListEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.ProcessesEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.SchemaTypeEvent;
+import org.odpi.openmetadata.accessservices.dataengine.rest.EventTypeStatus;
+import org.odpi.openmetadata.accessservices.dataengine.rest.InTopicStatusResponse;
+import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Data Engine event dispatcher passes the events read from the Data Engine OMAS in topic to the
+ * {@link DataEngineEventProcessor} using a pool of worker threads.
+ * <p>
+ * Each event is given an ordering key, typically the qualified name of the element it creates or updates. The key
+ * selects one of a fixed number of lanes and each lane processes its events one at a time in the order they
+ * arrived, so the events for the same element are always processed in order while independent elements are
+ * processed in parallel. Consecutive schema type, port implementation and port alias events in a lane are upserted
+ * together in batches. The processor may upsert the members of a batch in parallel, so a batch is closed before a
+ * second event for the same ordering key, which then starts the next batch.
+ * </p>
+ * <p>
+ * Data engines publish the elements that others depend on first (schema types before ports, ports before
+ * processes and processes before lineage mappings), so a change of event type waits for all the lanes to empty.
+ * Events without an ordering key (data engine registrations) wait in the same way and are processed on the
+ * caller's thread. The lanes are bounded and the caller is blocked when a lane is full, which stops the topic
+ * connector reading more events.
+ * </p>
+ */
+public class DataEngineEventDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(DataEngineEventDispatcher.class);
+
+    private final DataEngineEventProcessor dataEngineEventProcessor;
+    private final ExecutorService workerPool;
+    private final DispatchLane[] lanes;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Map<DataEngineEventType, EventTypeMetrics> metrics = new EnumMap<>(DataEngineEventType.class);
+
+    private final AtomicInteger pendingEvents = new AtomicInteger(0);
+    private final Object idleLock = new Object();
+
+    private DataEngineEventType lastEventType;
+
+    /**
+     * Constructor supplies the processor and the resources used to dispatch events to it.
+     *
+     * @param dataEngineEventProcessor the event processor for Data Engine OMAS
+     * @param workerThreads            number of events that may be processed in parallel
+     * @param batchSize                maximum number of events upserted together
+     * @param queueCapacity            maximum number of events waiting to be processed
+     */
+    public DataEngineEventDispatcher(DataEngineEventProcessor dataEngineEventProcessor, int workerThreads,
+                                     int batchSize, int queueCapacity) {
+        this.dataEngineEventProcessor = dataEngineEventProcessor;
+        this.workerPool = Executors.newFixedThreadPool(Math.max(workerThreads, 1));
+        this.lanes = new DispatchLane[Math.max(workerThreads, 1)];
+        this.batchSize = Math.max(batchSize, 1);
+
+        int laneCapacity = Math.max(queueCapacity / lanes.length, 1);
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new DispatchLane(laneCapacity);
+        }
+        this.queueCapacity = laneCapacity * lanes.length;
+
+        for (DataEngineEventType eventType : DataEngineEventType.values()) {
+            metrics.put(eventType, new EventTypeMetrics());
+        }
+    }
+
+    /**
+     * Queue an event for processing. This method is called by the single thread reading the in topic.
+     *
+     * @param orderingKey     key of the element the event refers to - null means the event is a barrier
+     * @param dataEngineEvent the parsed event
+     *
+     * @throws InterruptedException the caller was interrupted waiting for the lanes to empty or for space in a lane
+     */
+    public void dispatch(String orderingKey, DataEngineEventHeader dataEngineEvent) throws InterruptedException {
+        DataEngineEventType eventType = dataEngineEvent.getEventType();
+        metrics.get(eventType).received();
+
+        DispatchedEvent dispatchedEvent = new DispatchedEvent(orderingKey, dataEngineEvent);
+        pendingEvents.incrementAndGet();
+
+        try {
+            if (orderingKey == null || eventType != lastEventType) {
+                // the count includes the event being dispatched
+                awaitPendingEvents(1);
+            }
+            lastEventType = eventType;
+
+            if (orderingKey == null) {
+                process(Collections.singletonList(dispatchedEvent));
+            } else {
+                lanes[(orderingKey.hashCode() & Integer.MAX_VALUE) % lanes.length].add(dispatchedEvent);
+            }
+        } catch (InterruptedException e) {
+            eventsComplete(1);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until all of the events that have been dispatched have been processed. This is used when the events
+     * dispatched next depend on the earlier events of the same type.
+     *
+     * @throws InterruptedException the caller was interrupted
+     */
+    public void awaitIdle() throws InterruptedException {
+        awaitPendingEvents(0);
+    }
+
+    /**
+     * Return the current status of the in topic processing.
+     *
+     * @return status response
+     */
+    public InTopicStatusResponse getStatus() {
+        InTopicStatusResponse response = new InTopicStatusResponse();
+        long now = System.currentTimeMillis();
+        int queued = 0;
+        long lag = 0;
+
+        for (DispatchLane lane : lanes) {
+            queued += lane.queue.size();
+
+            DispatchedEvent oldestEvent = lane.queue.peek();
+            if (oldestEvent != null) {
+                lag = Math.max(lag, now - oldestEvent.queuedTime);
+            }
+        }
+
+        List<EventTypeStatus> eventTypes = new ArrayList<>();
+        metrics.forEach((eventType, eventTypeMetrics) -> {
+            if (eventTypeMetrics.eventsReceived.get() > 0) {
+                eventTypes.add(eventTypeMetrics.getStatus(eventType, now));
+            }
+        });
+
+        response.setQueueDepth(queued);
+        response.setQueueCapacity(queueCapacity);
+        response.setLag(lag);
+        response.setEventTypes(eventTypes);
+
+        return response;
+    }
+
+    /**
+     * Stop accepting work from the lanes. Events already handed to a worker thread are completed; any events
+     * queued afterwards are processed on the caller's thread.
+     */
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+    /**
+     * Wait until no more than the given number of events are waiting to be processed.
+     *
+     * @param allowedEvents number of events, such as the one being dispatched, that are not waited for
+     *
+     * @throws InterruptedException the caller was interrupted
+     */
+    private void awaitPendingEvents(int allowedEvents) throws InterruptedException {
+        synchronized (idleLock) {
+            while (pendingEvents.get() > allowedEvents) {
+                idleLock.wait();
+            }
+        }
+    }
+
+    /**
+     * Record that events have been processed and wake anyone waiting for the lanes to empty.
+     *
+     * @param count number of events processed
+     */
+    private void eventsComplete(int count) {
+        if (pendingEvents.addAndGet(-count) <= 1) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Pass a group of events of the same type to the processor and record the outcome.
+     *
+     * @param dispatchedEvents the events to process
+     */
+    private void process(List<DispatchedEvent> dispatchedEvents) {
+        DataEngineEventType eventType = dispatchedEvents.get(0).event.getEventType();
+        long start = System.currentTimeMillis();
+        boolean success = false;
+
+        try {
+            success = callProcessor(eventType, dispatchedEvents);
+        } catch (RuntimeException e) {
+            log.debug("Exception processing {} from in Data Engine In Topic", eventType, e);
+        } finally {
+            metrics.get(eventType).processed(dispatchedEvents.size(), success,
+                    System.currentTimeMillis() - start);
+            eventsComplete(dispatchedEvents.size());
+        }
+    }
+
+    private boolean callProcessor(DataEngineEventType eventType, List<DispatchedEvent> dispatchedEvents) {
+        switch (eventType) {
+            case DATA_ENGINE_REGISTRATION_EVENT:
+                return dataEngineEventProcessor.processDataEngineRegistrationEvent(
+                        (DataEngineRegistrationEvent) dispatchedEvents.get(0).event);
+            case SCHEMA_TYPE_EVENT:
+                return dataEngineEventProcessor.processSchemaTypeEvents(getEvents(dispatchedEvents,
+                        SchemaTypeEvent.class));
+            case PORT_IMPLEMENTATION_EVENT:
+                return dataEngineEventProcessor.processPortImplementationEvents(getEvents(dispatchedEvents,
+                        PortImplementationEvent.class));
+            case PORT_ALIAS_EVENT:
+                return dataEngineEventProcessor.processPortAliasEvents(getEvents(dispatchedEvents,
+                        PortAliasEvent.class));
+            case PROCESSES_EVENT:
+                return dataEngineEventProcessor.processProcessesEvent((ProcessesEvent) dispatchedEvents.get(0).event);
+            case PROCESS_TO_PORT_LIST_EVENT:
+                return dataEngineEventProcessor.processProcessToPortListEvent(
+                        (ProcessToPortListEvent) dispatchedEvents.get(0).event);
+            case LINEAGE_MAPPINGS_EVENT:
+                return dataEngineEventProcessor.processLineageMappingsEvent(
+                        (LineageMappingsEvent) dispatchedEvents.get(0).event);
+            default:
+                return false;
+        }
+    }
+
+    private <E extends DataEngineEventHeader> List<E> getEvents(List<DispatchedEvent> dispatchedEvents,
+                                                                Class<E> eventClass) {
+        List<E> events = new ArrayList<>(dispatchedEvents.size());
+        for (DispatchedEvent dispatchedEvent : dispatchedEvents) {
+            events.add(eventClass.cast(dispatchedEvent.event));
+        }
+        return events;
+    }
+
+    private static boolean isBatchable(DataEngineEventType eventType) {
+        return eventType == DataEngineEventType.SCHEMA_TYPE_EVENT ||
+                eventType == DataEngineEventType.PORT_IMPLEMENTATION_EVENT ||
+                eventType == DataEngineEventType.PORT_ALIAS_EVENT;
+    }
+
+    private static boolean canBatchTogether(DataEngineEventHeader first, DataEngineEventHeader next) {
+        return first.getEventType() == next.getEventType() &&
+                Objects.equals(first.getUserId(), next.getUserId()) &&
+                Objects.equals(first.getExternalSourceName(), next.getExternalSourceName());
+    }
+
+    /**
+     * An event waiting to be processed.
+     */
+    private static class DispatchedEvent {
+        private final String orderingKey;
+        private final DataEngineEventHeader event;
+        private final long queuedTime = System.currentTimeMillis();
+
+        DispatchedEvent(String orderingKey, DataEngineEventHeader event) {
+            this.orderingKey = orderingKey;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Counters for the events of one type.
+     */
+    private static class EventTypeMetrics {
+        private final AtomicLong eventsReceived = new AtomicLong(0);
+        private final AtomicLong eventsProcessed = new AtomicLong(0);
+        private final AtomicLong eventsFailed = new AtomicLong(0);
+        private final AtomicLong processingTime = new AtomicLong(0);
+        private final AtomicLong firstReceivedTime = new AtomicLong(0);
+
+        void received() {
+            eventsReceived.incrementAndGet();
+            firstReceivedTime.compareAndSet(0, System.currentTimeMillis());
+        }
+
+        void processed(int count, boolean success, long elapsedTime) {
+            eventsProcessed.addAndGet(count);
+            processingTime.addAndGet(elapsedTime);
+            if (!success) {
+                eventsFailed.addAndGet(count);
+            }
+        }
+
+        EventTypeStatus getStatus(DataEngineEventType eventType, long now) {
+            long processed = eventsProcessed.get();
+            long elapsedTime = Math.max(now - firstReceivedTime.get(), 1);
+
+            EventTypeStatus status = new EventTypeStatus();
+            status.setEventType(eventType);
+            status.setEventsReceived(eventsReceived.get());
+            status.setEventsProcessed(processed);
+            status.setEventsFailed(eventsFailed.get());
+            status.setAverageProcessingTime(processed == 0 ? 0 : processingTime.get() / processed);
+            status.setThroughput(processed * 1000.0 / elapsedTime);
+
+            return status;
+        }
+    }
+
+    /**
+     * A lane holds the events for a subset of the ordering keys. At most one worker thread drains a lane at a
+     * time, which keeps the events in the lane in order.
+     */
+    private class DispatchLane implements Runnable {
+        // number of groups processed before the worker thread is returned to the pool so other lanes get a turn
+        private static final int MAX_GROUPS_PER_TURN = 100;
+
+        private final BlockingQueue<DispatchedEvent> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        DispatchLane(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Add an event to the lane, waiting for space if the lane is full.
+         *
+         * @param dispatchedEvent event to add
+         *
+         * @throws InterruptedException the caller was interrupted while waiting
+         */
+        void add(DispatchedEvent dispatchedEvent) throws InterruptedException {
+            queue.put(dispatchedEvent);
+            schedule();
+        }
+
+        /**
+         * Hand the lane to a worker thread if it is not already being drained.
+         */
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workerPool.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // the pool has been shut down so process the events on the caller's thread
+                    scheduled.set(false);
+                    drain(Integer.MAX_VALUE);
+                }
+            }
+        }
+
+        /**
+         * Process the waiting events in order, grouping consecutive events that can be upserted together. A group
+         * holds at most one event for each ordering key so that the events for an element are never upserted at the
+         * same time.
+         *
+         * @param maxGroups maximum number of groups to process
+         */
+        private void drain(int maxGroups) {
+            DispatchedEvent dispatchedEvent;
+            int count = 0;
+
+            while (count < maxGroups && (dispatchedEvent = queue.poll()) != null) {
+                List<DispatchedEvent> group = new ArrayList<>();
+                group.add(dispatchedEvent);
+
+                if (isBatchable(dispatchedEvent.event.getEventType())) {
+                    Set<String> groupKeys = new HashSet<>();
+                    groupKeys.add(dispatchedEvent.orderingKey);
+
+                    DispatchedEvent nextEvent;
+                    while (group.size() < batchSize && (nextEvent = queue.peek()) != null &&
+                            canBatchTogether(dispatchedEvent.event, nextEvent.event) &&
+                            groupKeys.add(nextEvent.orderingKey)) {
+                        group.add(queue.poll());
+                    }
+                }
+
+                process(group);
+                count++;
+            }
+        }
+
+        /**
+         * Run on a worker thread to process the waiting events.
+         */
+        @Override
+        public void run() {
+            try {
+                drain(MAX_GROUPS_PER_TURN);
+            } finally {
+                scheduled.set(false);
+
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -5,15 +5,30 @@ package org.odpi.openmetadata.accessservices.dataengine.server.listeners;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.collections4.CollectionUtils;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
+import org.odpi.openmetadata.accessservices.dataengine.event.LineageMappingsEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.PortAliasEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.PortImplementationEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.ProcessToPortListEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.ProcessesEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.SchemaTypeEvent;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
-import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
+import org.odpi.openmetadata.accessservices.dataengine.model.LineageMapping;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortImplementation;
+import org.odpi.openmetadata.accessservices.dataengine.model.Process;
+import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * The Data Engine in topic processor is listening events from external data engines about
  * metadata changes. It will handle different types of events defined in Data Engine OMAS API module.
@@ -21,19 +36,21 @@ import org.slf4j.LoggerFactory;
 public class DataEngineInTopicListener implements OpenMetadataTopicListener {
     private static final Logger log = LoggerFactory.getLogger(DataEngineInTopicListener.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    // processes without port implementations can define the same port alias, so they share one ordering key
+    private static final String PROCESSES_WITH_PORT_ALIASES_KEY = "ProcessesWithPortAliases";
     private final OMRSAuditLog auditLog;
-    private DataEngineEventProcessor dataEngineEventProcessor;
+    private final DataEngineEventDispatcher dataEngineEventDispatcher;
 
     /**
      * The constructor is given the connection to the out topic for Data Engine OMAS along with classes for
      * testing and manipulating instances.
      *
-     * @param auditLog                 audit log
-     * @param dataEngineEventProcessor the event processor for Data Engine OMAS
+     * @param auditLog                  audit log
+     * @param dataEngineEventDispatcher the dispatcher passing the events to the event processor for Data Engine OMAS
      */
-    public DataEngineInTopicListener(OMRSAuditLog auditLog, DataEngineEventProcessor dataEngineEventProcessor) {
+    public DataEngineInTopicListener(OMRSAuditLog auditLog, DataEngineEventDispatcher dataEngineEventDispatcher) {
         this.auditLog = auditLog;
-        this.dataEngineEventProcessor = dataEngineEventProcessor;
+        this.dataEngineEventDispatcher = dataEngineEventDispatcher;
     }
 
     /**
@@ -53,28 +70,8 @@ public class DataEngineInTopicListener implements OpenMetadataTopicListener {
                 DataEngineEventHeader dataEngineEventHeader = OBJECT_MAPPER.readValue(dataEngineEvent,
                         DataEngineEventHeader.class);
 
-                if ((dataEngineEventHeader != null)) {
-                    switch (dataEngineEventHeader.getEventType()) {
-
-                        case DATA_ENGINE_REGISTRATION_EVENT:
-                            dataEngineEventProcessor.processDataEngineRegistrationEvent(dataEngineEvent);
-                            break;
-                        case LINEAGE_MAPPINGS_EVENT:
-                            dataEngineEventProcessor.processLineageMappingsEvent(dataEngineEvent);
-                            break;
-                        case PORT_ALIAS_EVENT:
-                            dataEngineEventProcessor.processPortAliasEvent(dataEngineEvent);
-                            break;
-                        case PORT_IMPLEMENTATION_EVENT:
-                            dataEngineEventProcessor.processPortImplementationEvent(dataEngineEvent);
-                            break;
-                        case PROCESS_TO_PORT_LIST_EVENT:
-                            dataEngineEventProcessor.processProcessToPortListEvent(dataEngineEvent);
-                            break;
-                        case PROCESSES_EVENT:
-                            dataEngineEventProcessor.processProcessesEvent(dataEngineEvent);
-                            break;
-                    }
+                if (dataEngineEventHeader != null && dataEngineEventHeader.getEventType() != null) {
+                    dispatch(dataEngineEventHeader);
                 } else {
                     log.debug("Ignored instance event - null Data Engine event type");
                 }
@@ -89,7 +86,93 @@ public class DataEngineInTopicListener implements OpenMetadataTopicListener {
                         errorCode.getSystemAction(),
                         errorCode.getUserAction(),
                         e);
+            } catch (InterruptedException e) {
+                log.debug("Interrupted while dispatching event from in Data Engine In Topic", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void dispatch(DataEngineEventHeader dataEngineEventHeader) throws InterruptedException {
+        switch (dataEngineEventHeader.getEventType()) {
+
+            case DATA_ENGINE_REGISTRATION_EVENT:
+                dataEngineEventDispatcher.dispatch(null, dataEngineEventHeader);
+                break;
+            case LINEAGE_MAPPINGS_EVENT:
+                List<LineageMapping> lineageMappings =
+                        ((LineageMappingsEvent) dataEngineEventHeader).getLineageMappings();
+                dataEngineEventDispatcher.dispatch(CollectionUtils.isEmpty(lineageMappings) ? null :
+                        lineageMappings.get(0).getSourceAttribute(), dataEngineEventHeader);
+                break;
+            case PORT_ALIAS_EVENT:
+                PortAlias portAlias = ((PortAliasEvent) dataEngineEventHeader).getPort();
+                dataEngineEventDispatcher.dispatch(portAlias == null ? null : portAlias.getQualifiedName(),
+                        dataEngineEventHeader);
+                break;
+            case PORT_IMPLEMENTATION_EVENT:
+                PortImplementation portImplementation =
+                        ((PortImplementationEvent) dataEngineEventHeader).getPortImplementation();
+                dataEngineEventDispatcher.dispatch(portImplementation == null ? null :
+                        portImplementation.getQualifiedName(), dataEngineEventHeader);
+                break;
+            case SCHEMA_TYPE_EVENT:
+                SchemaType schemaType = ((SchemaTypeEvent) dataEngineEventHeader).getSchemaType();
+                dataEngineEventDispatcher.dispatch(schemaType == null ? null : schemaType.getQualifiedName(),
+                        dataEngineEventHeader);
+                break;
+            case PROCESS_TO_PORT_LIST_EVENT:
+                dataEngineEventDispatcher.dispatch(((ProcessToPortListEvent) dataEngineEventHeader).getProcessGUID(),
+                        dataEngineEventHeader);
+                break;
+            case PROCESSES_EVENT:
+                dispatchProcesses((ProcessesEvent) dataEngineEventHeader);
+                break;
+        }
+    }
+
+    /**
+     * Splits the processes event into one event per process, so that independent processes are handled in parallel.
+     * The processes with port implementations are dispatched first. The processes that only have port aliases refer
+     * to the port implementations of the other processes, so they are dispatched once those have been processed.
+     *
+     * @param processesEvent the received event
+     *
+     * @throws InterruptedException the caller was interrupted while waiting for the event to be queued
+     */
+    private void dispatchProcesses(ProcessesEvent processesEvent) throws InterruptedException {
+        if (CollectionUtils.isEmpty(processesEvent.getProcesses())) {
+            return;
+        }
+
+        List<Process> processesWithPortAliases = new ArrayList<>();
+        boolean processesWithPortImplementations = false;
+
+        for (Process process : processesEvent.getProcesses()) {
+            if (CollectionUtils.isEmpty(process.getPortImplementations())) {
+                processesWithPortAliases.add(process);
+            } else {
+                dataEngineEventDispatcher.dispatch(process.getQualifiedName(), getProcessEvent(processesEvent, process));
+                processesWithPortImplementations = true;
             }
         }
+
+        if (processesWithPortImplementations && !processesWithPortAliases.isEmpty()) {
+            dataEngineEventDispatcher.awaitIdle();
+        }
+
+        for (Process process : processesWithPortAliases) {
+            dataEngineEventDispatcher.dispatch(PROCESSES_WITH_PORT_ALIASES_KEY, getProcessEvent(processesEvent, process));
+        }
+    }
+
+    private ProcessesEvent getProcessEvent(ProcessesEvent processesEvent, Process process) {
+        ProcessesEvent processEvent = new ProcessesEvent();
+        processEvent.setEventVersionId(processesEvent.getEventVersionId());
+        processEvent.setEventType(processesEvent.getEventType());
+        processEvent.setUserId(processesEvent.getUserId());
+        processEvent.setExternalSourceName(processesEvent.getExternalSourceName());
+        processEvent.setProcesses(Collections.singletonList(process));
+        return processEvent;
     }
 }
@@ -5,15 +5,20 @@ package org.odpi.openmetadata.accessservices.dataengine.server.processors;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.collections4.CollectionUtils;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventHeader;
 import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineRegistrationEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.LineageMappingsEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.PortAliasEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.PortImplementationEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.ProcessToPortListEvent;
 import org.odpi.openmetadata.accessservices.dataengine.event.ProcessesEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.SchemaTypeEvent;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineErrorCode;
 import org.odpi.openmetadata.accessservices.dataengine.ffdc.DataEngineException;
+import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasesRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessListResponse;
+import org.odpi.openmetadata.accessservices.dataengine.rest.SchemaTypesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.server.admin.DataEngineServicesInstance;
 import org.odpi.openmetadata.accessservices.dataengine.server.service.DataEngineRESTServices;
 import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
@@ -27,7 +32,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 
-import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * The Data Engine event processor is processing events from external data engines about
@@ -68,14 +75,32 @@ public class DataEngineEventProcessor {
 
         log.debug("Calling method: {}", methodName);
         try {
-            DataEngineRegistrationEvent dataEngineRegistrationEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    DataEngineRegistrationEvent.class);
+            processDataEngineRegistrationEvent(OBJECT_MAPPER.readValue(dataEngineEvent,
+                    DataEngineRegistrationEvent.class));
+        } catch (JsonProcessingException e) {
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
+
+    /**
+     * Process a parsed {@link DataEngineRegistrationEvent}
+     *
+     * @param dataEngineRegistrationEvent the event to be processed
+     *
+     * @return true if the event was processed successfully
+     */
+    public boolean processDataEngineRegistrationEvent(DataEngineRegistrationEvent dataEngineRegistrationEvent) {
+        final String methodName = "processDataEngineRegistrationEvent";
+
+        log.debug("Calling method: {}", methodName);
+        try {
             dataEngineRESTServices.createExternalDataEngine(dataEngineRegistrationEvent.getUserId(), serverName,
                     dataEngineRegistrationEvent.getSoftwareServerCapability());
-
-        } catch (JsonProcessingException | UserNotAuthorizedException | PropertyServerException | InvalidParameterException e) {
-            logException(dataEngineEvent, methodName, e);
+            return true;
+        } catch (UserNotAuthorizedException | PropertyServerException | InvalidParameterException e) {
+            logException(dataEngineRegistrationEvent.toString(), methodName, e);
         }
+        return false;
     }
 
     /**
@@ -88,14 +113,46 @@ public class DataEngineEventProcessor {
 
         log.debug("Calling method: {}", methodName);
         try {
-            PortAliasEvent portAliasEvent = OBJECT_MAPPER.readValue(dataEngineEvent, PortAliasEvent.class);
+            processPortAliasEvents(Collections.singletonList(OBJECT_MAPPER.readValue(dataEngineEvent,
+                    PortAliasEvent.class)));
+        } catch (JsonProcessingException e) {
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
+
+    /**
+     * Process a batch of {@link PortAliasEvent}s that share the same user and external source
+     *
+     * @param portAliasEvents the events to be processed
+     *
+     * @return true if all the events were processed successfully
+     */
+    public boolean processPortAliasEvents(List<PortAliasEvent> portAliasEvents) {
+        final String methodName = "processPortAliasEvents";
 
-            dataEngineRESTServices.createOrUpdatePortAliasWithDelegation(portAliasEvent.getUserId(), serverName,
-                    portAliasEvent.getPort(), portAliasEvent.getExternalSourceName());
+        log.debug("Calling method: {}", methodName);
+        if (CollectionUtils.isEmpty(portAliasEvents)) {
+            return true;
+        }
 
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
-            logException(dataEngineEvent, methodName, e);
+        PortAliasEvent firstEvent = portAliasEvents.get(0);
+        if (portAliasEvents.size() == 1) {
+            try {
+                dataEngineRESTServices.createOrUpdatePortAliasWithDelegation(firstEvent.getUserId(), serverName,
+                        firstEvent.getPort(), firstEvent.getExternalSourceName());
+                return true;
+            } catch (PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
+                logException(firstEvent.toString(), methodName, e);
+                return false;
+            }
         }
+
+        PortAliasesRequestBody requestBody = new PortAliasesRequestBody();
+        requestBody.setExternalSourceName(firstEvent.getExternalSourceName());
+        requestBody.setPortAliases(portAliasEvents.stream().map(PortAliasEvent::getPort).collect(Collectors.toList()));
+
+        return validateBatchResponse(dataEngineRESTServices.createOrUpdatePortAliases(firstEvent.getUserId(),
+                serverName, requestBody), portAliasEvents, methodName);
     }
 
     /**
@@ -108,18 +165,91 @@ public class DataEngineEventProcessor {
 
         log.debug("Calling method: {}", methodName);
         try {
-            PortImplementationEvent portImplementationEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    PortImplementationEvent.class);
+            processPortImplementationEvents(Collections.singletonList(OBJECT_MAPPER.readValue(dataEngineEvent,
+                    PortImplementationEvent.class)));
+        } catch (JsonProcessingException e) {
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
+
+    /**
+     * Process a batch of {@link PortImplementationEvent}s that share the same user and external source
+     *
+     * @param portImplementationEvents the events to be processed
+     *
+     * @return true if all the events were processed successfully
+     */
+    public boolean processPortImplementationEvents(List<PortImplementationEvent> portImplementationEvents) {
+        final String methodName = "processPortImplementationEvents";
+
+        log.debug("Calling method: {}", methodName);
+        if (CollectionUtils.isEmpty(portImplementationEvents)) {
+            return true;
+        }
+
+        PortImplementationEvent firstEvent = portImplementationEvents.get(0);
+        if (portImplementationEvents.size() == 1) {
+            try {
+                dataEngineRESTServices.createOrUpdatePortImplementationWithSchemaType(firstEvent.getUserId(),
+                        serverName, firstEvent.getPortImplementation(), firstEvent.getExternalSourceName());
+                return true;
+            } catch (PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
+                logException(firstEvent.toString(), methodName, e);
+                return false;
+            }
+        }
 
-            dataEngineRESTServices.createOrUpdatePortImplementationWithSchemaType(portImplementationEvent.getUserId(),
-                    serverName, portImplementationEvent.getPortImplementation(),
-                    portImplementationEvent.getExternalSourceName());
+        PortImplementationsRequestBody requestBody = new PortImplementationsRequestBody();
+        requestBody.setExternalSourceName(firstEvent.getExternalSourceName());
+        requestBody.setPortImplementations(portImplementationEvents.stream()
+                .map(PortImplementationEvent::getPortImplementation).collect(Collectors.toList()));
 
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
+        return validateBatchResponse(dataEngineRESTServices.createOrUpdatePortImplementations(firstEvent.getUserId(),
+                serverName, requestBody), portImplementationEvents, methodName);
+    }
+
+    /**
+     * Process a {@link SchemaTypeEvent}
+     *
+     * @param dataEngineEvent the event to be processed
+     */
+    public void processSchemaTypeEvent(String dataEngineEvent) {
+        final String methodName = "processSchemaTypeEvent";
+
+        log.debug("Calling method: {}", methodName);
+        try {
+            processSchemaTypeEvents(Collections.singletonList(OBJECT_MAPPER.readValue(dataEngineEvent,
+                    SchemaTypeEvent.class)));
+        } catch (JsonProcessingException e) {
             logException(dataEngineEvent, methodName, e);
         }
     }
 
+    /**
+     * Process a batch of {@link SchemaTypeEvent}s that share the same user and external source
+     *
+     * @param schemaTypeEvents the events to be processed
+     *
+     * @return true if all the events were processed successfully
+     */
+    public boolean processSchemaTypeEvents(List<SchemaTypeEvent> schemaTypeEvents) {
+        final String methodName = "processSchemaTypeEvents";
+
+        log.debug("Calling method: {}", methodName);
+        if (CollectionUtils.isEmpty(schemaTypeEvents)) {
+            return true;
+        }
+
+        SchemaTypeEvent firstEvent = schemaTypeEvents.get(0);
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        requestBody.setExternalSourceName(firstEvent.getExternalSourceName());
+        requestBody.setSchemaTypes(schemaTypeEvents.stream().map(SchemaTypeEvent::getSchemaType)
+                .collect(Collectors.toList()));
+
+        return validateBatchResponse(dataEngineRESTServices.createOrUpdateSchemaTypes(firstEvent.getUserId(),
+                serverName, requestBody), schemaTypeEvents, methodName);
+    }
+
     /**
      * Process a {@link ProcessToPortListEvent}
      *
@@ -131,16 +261,33 @@ public class DataEngineEventProcessor {
         log.debug("Calling method: {}", methodName);
 
         try {
-            ProcessToPortListEvent processToPortListEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    ProcessToPortListEvent.class);
+            processProcessToPortListEvent(OBJECT_MAPPER.readValue(dataEngineEvent, ProcessToPortListEvent.class));
+        } catch (JsonProcessingException e) {
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
+
+    /**
+     * Process a parsed {@link ProcessToPortListEvent}
+     *
+     * @param processToPortListEvent the event to be processed
+     *
+     * @return true if the event was processed successfully
+     */
+    public boolean processProcessToPortListEvent(ProcessToPortListEvent processToPortListEvent) {
+        final String methodName = "processProcessToPortListEvent";
+
+        log.debug("Calling method: {}", methodName);
 
+        try {
             dataEngineRESTServices.addPortsToProcess(processToPortListEvent.getUserId(), serverName,
                     processToPortListEvent.getProcessGUID(), processToPortListEvent.getPorts(),
                     processToPortListEvent.getExternalSourceName());
-
-        } catch (JsonProcessingException | PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
-            logException(dataEngineEvent, methodName, e);
+            return true;
+        } catch (PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
+            logException(processToPortListEvent.toString(), methodName, e);
         }
+        return false;
     }
 
     /**
@@ -154,22 +301,39 @@ public class DataEngineEventProcessor {
         log.debug("Calling method: {}", methodName);
 
         try {
-            LineageMappingsEvent lineageMappingsEvent = OBJECT_MAPPER.readValue(dataEngineEvent,
-                    LineageMappingsEvent.class);
+            processLineageMappingsEvent(OBJECT_MAPPER.readValue(dataEngineEvent, LineageMappingsEvent.class));
+        } catch (JsonProcessingException e) {
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
 
-            if (CollectionUtils.isEmpty(lineageMappingsEvent.getLineageMappings())) {
-                return;
-            }
+    /**
+     * Process a parsed {@link LineageMappingsEvent}
+     *
+     * @param lineageMappingsEvent the event to be processed
+     *
+     * @return true if the event was processed successfully
+     */
+    public boolean processLineageMappingsEvent(LineageMappingsEvent lineageMappingsEvent) {
+        final String methodName = "processLineageMappingsEvent";
+
+        log.debug("Calling method: {}", methodName);
 
+        if (CollectionUtils.isEmpty(lineageMappingsEvent.getLineageMappings())) {
+            return true;
+        }
+
+        try {
             FFDCResponseBase response = new FFDCResponseBase();
             dataEngineRESTServices.addLineageMappings(lineageMappingsEvent.getUserId(), serverName,
                     lineageMappingsEvent.getLineageMappings(), response, lineageMappingsEvent.getExternalSourceName());
 
-            validateResponse(response, dataEngineEvent, methodName);
-
-        } catch (JsonProcessingException | UserNotAuthorizedException | InvalidParameterException | PropertyServerException | DataEngineException e) {
-            logException(dataEngineEvent, methodName, e);
+            validateResponse(response, lineageMappingsEvent.toString(), methodName);
+            return true;
+        } catch (UserNotAuthorizedException | InvalidParameterException | PropertyServerException | DataEngineException e) {
+            logException(lineageMappingsEvent.toString(), methodName, e);
         }
+        return false;
     }
 
     /**
@@ -182,16 +346,33 @@ public class DataEngineEventProcessor {
 
         log.debug("Calling method: {}", methodName);
         try {
-            ProcessesEvent processesEvent = OBJECT_MAPPER.readValue(dataEngineEvent, ProcessesEvent.class);
+            processProcessesEvent(OBJECT_MAPPER.readValue(dataEngineEvent, ProcessesEvent.class));
+        } catch (JsonProcessingException e) {
+            log.debug("Exception in parsing event from in Data Engine In Topic", e);
+            logException(dataEngineEvent, methodName, e);
+        }
+    }
 
+    /**
+     * Process a parsed {@link ProcessesEvent}
+     *
+     * @param processesEvent the event to be processed
+     *
+     * @return true if the event was processed successfully
+     */
+    public boolean processProcessesEvent(ProcessesEvent processesEvent) {
+        final String methodName = "processProcessesEvent";
+
+        log.debug("Calling method: {}", methodName);
+        try {
             ProcessListResponse response = dataEngineRESTServices.createOrUpdateProcesses(processesEvent.getUserId(),
                     serverName, processesEvent.getProcesses(), processesEvent.getExternalSourceName());
-            validateResponse(response, dataEngineEvent, methodName);
-
-        } catch (JsonProcessingException | DataEngineException e) {
-            log.debug("Exception in parsing event from in Data Engine In Topic", e);
-            logException(dataEngineEvent, methodName, e);
+            validateResponse(response, processesEvent.toString(), methodName);
+            return true;
+        } catch (DataEngineException e) {
+            logException(processesEvent.toString(), methodName, e);
         }
+        return false;
     }
 
     private void logException(String dataEngineEvent, String methodName, Exception e) {
@@ -213,4 +394,15 @@ public class DataEngineEventProcessor {
                     errorMessage, errorCode.getSystemAction(), errorCode.getUserAction(), dataEngineEvent);
         }
     }
+
+    private boolean validateBatchResponse(FFDCResponseBase response, List<? extends DataEngineEventHeader> events,
+                                          String methodName) {
+        try {
+            validateResponse(response, events.toString(), methodName);
+            return true;
+        } catch (DataEngineException e) {
+            logException(events.toString(), methodName, e);
+        }
+        return false;
+    }
 }
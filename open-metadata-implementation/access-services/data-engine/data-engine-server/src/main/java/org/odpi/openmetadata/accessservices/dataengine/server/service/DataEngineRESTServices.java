@@ -17,6 +17,7 @@ import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngin
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineEventDispatcher;
 import org.odpi.openmetadata.accessservices.dataengine.server.mappers.PortPropertiesMapper;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
 import org.odpi.openmetadata.commonservices.ffdc.rest.FFDCResponseBase;
@@ -34,13 +35,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.partitioningBy;
@@ -258,6 +263,118 @@ public class DataEngineRESTServices {
         return response;
     }
 
+    /**
+     * Create or update a list of SchemaTypes with schema attributes and corresponding relationships
+     *
+     * @param userId                 the name of the calling user
+     * @param serverName             name of server instance to call
+     * @param schemaTypesRequestBody properties of the schema types
+     *
+     * @return a list of unique identifiers (GUIDs) of the created/updated schema types
+     */
+    public GUIDListResponse createOrUpdateSchemaTypes(String userId, String serverName,
+                                                      SchemaTypesRequestBody schemaTypesRequestBody) {
+        final String methodName = "createOrUpdateSchemaTypes";
+
+        log.debug("Calling method: {}", methodName);
+
+        GUIDListResponse response = new GUIDListResponse();
+
+        try {
+            if (schemaTypesRequestBody == null || CollectionUtils.isEmpty(schemaTypesRequestBody.getSchemaTypes())) {
+                restExceptionHandler.handleNoRequestBody(userId, methodName, serverName);
+                return response;
+            }
+
+            List<String> schemaTypeGUIDs = processInParallel(schemaTypesRequestBody.getSchemaTypes(),
+                    schemaType -> createOrUpdateSchemaType(userId, serverName, schemaType,
+                            schemaTypesRequestBody.getExternalSourceName()), response);
+
+            response.setGUIDs(schemaTypeGUIDs);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+
+        log.debug("Returning from method: {} with response: {}", methodName, response.toString());
+
+        return response;
+    }
+
+    /**
+     * Create or update a list of Port Implementations, each with a PortSchema relationship
+     *
+     * @param userId                         the name of the calling user
+     * @param serverName                     name of server instance to call
+     * @param portImplementationsRequestBody properties of the ports
+     *
+     * @return a list of unique identifiers (GUIDs) of the created/updated ports
+     */
+    public GUIDListResponse createOrUpdatePortImplementations(String userId, String serverName,
+                                                              PortImplementationsRequestBody portImplementationsRequestBody) {
+        final String methodName = "createOrUpdatePortImplementations";
+
+        log.debug("Calling method: {}", methodName);
+
+        GUIDListResponse response = new GUIDListResponse();
+
+        try {
+            if (portImplementationsRequestBody == null ||
+                    CollectionUtils.isEmpty(portImplementationsRequestBody.getPortImplementations())) {
+                restExceptionHandler.handleNoRequestBody(userId, methodName, serverName);
+                return response;
+            }
+
+            List<String> portImplementationGUIDs = createOrUpdatePortImplementations(userId, serverName,
+                    portImplementationsRequestBody.getPortImplementations(), response,
+                    portImplementationsRequestBody.getExternalSourceName());
+
+            response.setGUIDs(portImplementationGUIDs);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+
+        log.debug("Returning from method: {} with response: {}", methodName, response.toString());
+
+        return response;
+    }
+
+    /**
+     * Create or update a list of Port Aliases, each with a PortDelegation relationship
+     *
+     * @param userId                 the name of the calling user
+     * @param serverName             name of server instance to call
+     * @param portAliasesRequestBody properties of the ports
+     *
+     * @return a list of unique identifiers (GUIDs) of the created/updated ports
+     */
+    public GUIDListResponse createOrUpdatePortAliases(String userId, String serverName,
+                                                      PortAliasesRequestBody portAliasesRequestBody) {
+        final String methodName = "createOrUpdatePortAliases";
+
+        log.debug("Calling method: {}", methodName);
+
+        GUIDListResponse response = new GUIDListResponse();
+
+        try {
+            if (portAliasesRequestBody == null || CollectionUtils.isEmpty(portAliasesRequestBody.getPortAliases())) {
+                restExceptionHandler.handleNoRequestBody(userId, methodName, serverName);
+                return response;
+            }
+
+            List<String> portAliasGUIDs = createOrUpdatePortAliases(userId, serverName,
+                    portAliasesRequestBody.getPortAliases(), response,
+                    portAliasesRequestBody.getExternalSourceName());
+
+            response.setGUIDs(portAliasGUIDs);
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        }
+
+        log.debug("Returning from method: {} with response: {}", methodName, response.toString());
+
+        return response;
+    }
+
     /**
      * Create or update the processes with ports, schema types and lineage mappings
      *
@@ -453,7 +570,7 @@ public class DataEngineRESTServices {
      * @param userId             the name of the calling user
      * @param serverName         name of server instance to call
      * @param lineageMappings    the list of lineage mappings to be created
-     * @param response           the response object that will capture the exceptions that might occur during
+     * @param response           the response object that will capture the first exception that occurs during
      *                           parallel processing
      * @param externalSourceName the unique name of the external source
      *
@@ -477,18 +594,11 @@ public class DataEngineRESTServices {
         DataEngineSchemaTypeHandler dataEngineSchemaTypeHandler =
                 instanceHandler.getDataEngineSchemaTypeHandler(userId, serverName, methodName);
 
-        lineageMappings.parallelStream().forEach(lineageMapping -> {
-            try {
-                dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
-                        lineageMapping.getTargetAttribute(), externalSourceName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
-            }
-        });
+        processInParallel(lineageMappings, lineageMapping -> {
+            dataEngineSchemaTypeHandler.addLineageMappingRelationship(userId, lineageMapping.getSourceAttribute(),
+                    lineageMapping.getTargetAttribute(), externalSourceName);
+            return null;
+        }, response);
     }
 
     /**
@@ -501,31 +611,42 @@ public class DataEngineRESTServices {
      */
     public ProcessListResponse createOrUpdateProcesses(String userId, String serverName, List<Process> processes,
                                                        String externalSourceName) {
-        Predicate<? super Process> hasPortImplementationsPredicate =
-                process -> CollectionUtils.isNotEmpty(process.getPortImplementations());
-        Map<Boolean, List<Process>> partitionedProcesses =
-                processes.parallelStream().collect(partitioningBy(hasPortImplementationsPredicate));
-
-        List<GUIDResponse> createdProcesses = new ArrayList<>();
-        List<GUIDResponse> failedProcesses = new ArrayList<>();
-        Consumer<Process> processConsumer = process ->
+        IntPredicate hasPortImplementationsPredicate =
+                index -> CollectionUtils.isNotEmpty(processes.get(index).getPortImplementations());
+        IntFunction<GUIDResponse> processFunction = index ->
         {
-            GUIDResponse guidResponse = createOrUpdateProcess(userId, serverName, process, externalSourceName);
+            GUIDResponse guidResponse = createOrUpdateProcess(userId, serverName, processes.get(index),
+                    externalSourceName);
             if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
                 updateProcessStatus(userId, serverName, guidResponse, InstanceStatus.ACTIVE);
-                createdProcesses.add(guidResponse);
-            } else {
-                failedProcesses.add(guidResponse);
             }
+            return guidResponse;
         };
 
-        partitionedProcesses.get(Boolean.TRUE).parallelStream().forEach(processConsumer);
+        // the responses are collected by the position of the process, so that they are reported in the
+        // order of the request
+        Map<Integer, GUIDResponse> processResponses = IntStream.range(0, processes.size()).parallel()
+                .filter(hasPortImplementationsPredicate).boxed()
+                .collect(Collectors.toMap(Function.identity(), processFunction::apply));
         // processes that have port aliases can not be processed in parallel, as multiple processes can define
         // the same port alias
-        partitionedProcesses.get(Boolean.FALSE).forEach(processConsumer);
+        IntStream.range(0, processes.size()).filter(hasPortImplementationsPredicate.negate())
+                .forEach(index -> processResponses.put(index, processFunction.apply(index)));
 
         ProcessListResponse response = new ProcessListResponse();
-        response.setGUIDs(createdProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
+        List<String> createdProcesses = new ArrayList<>();
+        List<GUIDResponse> failedProcesses = new ArrayList<>();
+
+        for (int index = 0; index < processes.size(); index++) {
+            GUIDResponse guidResponse = processResponses.get(index);
+            if (guidResponse.getRelatedHTTPCode() == HttpStatus.OK.value()) {
+                createdProcesses.add(guidResponse.getGUID());
+            } else {
+                failedProcesses.add(guidResponse);
+            }
+        }
+
+        response.setGUIDs(createdProcesses);
         handleFailedProcesses(response, failedProcesses);
 
         return response;
@@ -610,6 +731,42 @@ public class DataEngineRESTServices {
     }
 
 
+    /**
+     * Return the status of the processing of the events received on the in topic
+     *
+     * @param userId     the name of the calling user
+     * @param serverName name of server instance to call
+     *
+     * @return queue depth, ingestion lag and metrics for each event type
+     */
+    public InTopicStatusResponse getInTopicStatus(String userId, String serverName) {
+        final String methodName = "getInTopicStatus";
+
+        log.debug("Calling method: {}", methodName);
+
+        InTopicStatusResponse response = new InTopicStatusResponse();
+
+        try {
+            DataEngineEventDispatcher dataEngineEventDispatcher =
+                    instanceHandler.getDataEngineEventDispatcher(userId, serverName, methodName);
+
+            if (dataEngineEventDispatcher != null) {
+                response = dataEngineEventDispatcher.getStatus();
+            }
+        } catch (InvalidParameterException error) {
+            restExceptionHandler.captureInvalidParameterException(response, error);
+        } catch (PropertyServerException error) {
+            restExceptionHandler.capturePropertyServerException(response, error);
+        } catch (UserNotAuthorizedException error) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        }
+
+        log.debug("Returning from method: {} with response: {}", methodName, response.toString());
+
+        return response;
+    }
+
+
     private String createOrUpdateSchemaType(String userId, String serverName, SchemaType schemaType,
                                             String externalSourceName) throws InvalidParameterException,
                                                                               UserNotAuthorizedException,
@@ -650,8 +807,10 @@ public class DataEngineRESTServices {
     }
 
     private void handleFailedProcesses(ProcessListResponse response, List<GUIDResponse> failedProcesses) {
-        response.setFailedGUIDs((failedProcesses.parallelStream().map(GUIDResponse::getGUID).collect(Collectors.toList())));
-        failedProcesses.parallelStream().forEach(guidResponse -> captureException(guidResponse, response));
+        response.setFailedGUIDs(failedProcesses.stream().map(GUIDResponse::getGUID).collect(Collectors.toList()));
+        if (!failedProcesses.isEmpty()) {
+            captureException(failedProcesses.get(0), response);
+        }
     }
 
 
@@ -717,11 +876,11 @@ public class DataEngineRESTServices {
         GUIDResponse response = new GUIDResponse();
 
         try {
-            Set<String> portImplementationGUIDs = createOrUpdatePortImplementations(userId, serverName,
-                    portImplementations, response, externalSourceName);
+            Set<String> portImplementationGUIDs = new HashSet<>(createOrUpdatePortImplementations(userId,
+                    serverName, portImplementations, response, externalSourceName));
 
-            Set<String> portAliasGUIDs = createOrUpdatePortAliases(userId, serverName, portAliases, response,
-                    externalSourceName);
+            Set<String> portAliasGUIDs = new HashSet<>(createOrUpdatePortAliases(userId, serverName, portAliases,
+                    response, externalSourceName));
 
             //check intermediary status of the response after creating the ports
             if (response.getRelatedHTTPCode() != HttpStatus.OK.value()) {
@@ -778,17 +937,10 @@ public class DataEngineRESTServices {
 
         ProcessHandler processHandler = instanceHandler.getProcessHandler(userId, serverName, methodName);
 
-        portGUIDs.parallelStream().forEach(portGUID -> {
-            try {
-                processHandler.addProcessPortRelationship(userId, processGUID, portGUID, externalSourceName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
-            }
-        });
+        processInParallel(portGUIDs, portGUID -> {
+            processHandler.addProcessPortRelationship(userId, processGUID, portGUID, externalSourceName);
+            return null;
+        }, response);
     }
 
     private void deleteObsoletePorts(String userId, String serverName, Set<String> newPortGUIDs,
@@ -812,77 +964,107 @@ public class DataEngineRESTServices {
         // delete ports that are not in the process payload anymore
         List<String> obsoletePorts =
                 oldPortGUIDs.parallelStream().collect(partitioningBy(newPortGUIDs::contains)).get(Boolean.FALSE);
-        obsoletePorts.parallelStream().forEach(portGUID -> {
-            try {
-                portHandler.removePort(userId, portGUID, portTypeName);
-            } catch (InvalidParameterException error) {
-                restExceptionHandler.captureInvalidParameterException(response, error);
-            } catch (PropertyServerException error) {
-                restExceptionHandler.capturePropertyServerException(response, error);
-            } catch (UserNotAuthorizedException error) {
-                restExceptionHandler.captureUserNotAuthorizedException(response, error);
-            }
-        });
+        processInParallel(obsoletePorts, portGUID -> {
+            portHandler.removePort(userId, portGUID, portTypeName);
+            return null;
+        }, response);
 
         log.debug("Returning from method: {} with void response", methodName);
     }
 
 
-    private Set<String> createOrUpdatePortImplementations(String userId, String serverName,
-                                                          List<PortImplementation> portImplementations,
-                                                          GUIDResponse response,
-                                                          String externalSourceName) {
+    private List<String> createOrUpdatePortImplementations(String userId, String serverName,
+                                                           List<PortImplementation> portImplementations,
+                                                           FFDCResponseBase response,
+                                                           String externalSourceName) {
         final String methodName = "createOrUpdatePortImplementations";
 
         log.debug("Calling method: {}", methodName);
 
-        Set<String> portImplementationGUIDs = new HashSet<>();
-
-        if (CollectionUtils.isNotEmpty(portImplementations)) {
-            portImplementations.parallelStream().forEach(portImplementation ->
-            {
-                try {
-                    portImplementationGUIDs.add(createOrUpdatePortImplementationWithSchemaType(userId, serverName,
-                            portImplementation, externalSourceName));
-                } catch (InvalidParameterException error) {
-                    restExceptionHandler.captureInvalidParameterException(response, error);
-                } catch (PropertyServerException error) {
-                    restExceptionHandler.capturePropertyServerException(response, error);
-                } catch (UserNotAuthorizedException error) {
-                    restExceptionHandler.captureUserNotAuthorizedException(response, error);
-                }
-            });
+        if (CollectionUtils.isEmpty(portImplementations)) {
+            return Collections.emptyList();
         }
 
-
-        return portImplementationGUIDs;
+        return processInParallel(portImplementations, portImplementation ->
+                createOrUpdatePortImplementationWithSchemaType(userId, serverName, portImplementation,
+                        externalSourceName), response);
     }
 
-    private Set<String> createOrUpdatePortAliases(String userId, String serverName, List<PortAlias> portAliases,
-                                                  GUIDResponse response, String externalSourceName) {
+    private List<String> createOrUpdatePortAliases(String userId, String serverName, List<PortAlias> portAliases,
+                                                   FFDCResponseBase response, String externalSourceName) {
         final String methodName = "createOrUpdatePortAliases";
 
         log.debug("Calling method: {}", methodName);
 
-        Set<String> portAliasGUIDs = new HashSet<>();
-
-        if (CollectionUtils.isNotEmpty(portAliases)) {
-
-            portAliases.parallelStream().forEach(portAlias ->
-            {
-                try {
-                    portAliasGUIDs.add(createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias,
-                            externalSourceName));
-                } catch (InvalidParameterException error) {
-                    restExceptionHandler.captureInvalidParameterException(response, error);
-                } catch (PropertyServerException error) {
-                    restExceptionHandler.capturePropertyServerException(response, error);
-                } catch (UserNotAuthorizedException error) {
-                    restExceptionHandler.captureUserNotAuthorizedException(response, error);
+        if (CollectionUtils.isEmpty(portAliases)) {
+            return Collections.emptyList();
+        }
+
+        return processInParallel(portAliases, portAlias ->
+                createOrUpdatePortAliasWithDelegation(userId, serverName, portAlias, externalSourceName), response);
+    }
+
+    /**
+     * Run the action for each element in parallel. The exceptions are returned to the calling thread with the
+     * results rather than captured by the worker threads, and only the first one, in the order of the elements,
+     * is captured in the response.
+     *
+     * @param elements the elements to process
+     * @param action   the action that creates or updates a single element
+     * @param response the response object that captures the first exception, unless it already holds one
+     *
+     * @return the results of the action in the order of the elements, or an empty list if any of them failed
+     */
+    private <T> List<String> processInParallel(Collection<T> elements, ElementAction<T> action,
+                                               FFDCResponseBase response) {
+        List<ElementResult> results = elements.parallelStream().map(element -> {
+            try {
+                return new ElementResult(action.apply(element), null);
+            } catch (InvalidParameterException | PropertyServerException | UserNotAuthorizedException error) {
+                return new ElementResult(null, error);
+            }
+        }).collect(Collectors.toList());
+
+        for (ElementResult result : results) {
+            if (result.error != null) {
+                if (response.getRelatedHTTPCode() == HttpStatus.OK.value()) {
+                    captureException(result.error, response);
                 }
-            });
+                return Collections.emptyList();
+            }
+        }
+
+        return results.stream().map(result -> result.guid).collect(Collectors.toList());
+    }
+
+    private void captureException(Exception error, FFDCResponseBase response) {
+        if (error instanceof InvalidParameterException) {
+            restExceptionHandler.captureInvalidParameterException(response, (InvalidParameterException) error);
+        } else if (error instanceof PropertyServerException) {
+            restExceptionHandler.capturePropertyServerException(response, (PropertyServerException) error);
+        } else if (error instanceof UserNotAuthorizedException) {
+            restExceptionHandler.captureUserNotAuthorizedException(response, (UserNotAuthorizedException) error);
         }
+    }
+
+    /**
+     * Creates or updates a single element of a bulk request, returning its unique identifier (guid)
+     */
+    @FunctionalInterface
+    private interface ElementAction<T> {
+        String apply(T element) throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException;
+    }
 
-        return portAliasGUIDs;
+    /**
+     * The unique identifier (guid) returned for an element of a bulk request, or the exception that it failed with
+     */
+    private static class ElementResult {
+        private final String guid;
+        private final Exception error;
+
+        ElementResult(String guid, Exception error) {
+            this.guid = guid;
+            this.error = error;
+        }
     }
 }
\ No newline at end of file
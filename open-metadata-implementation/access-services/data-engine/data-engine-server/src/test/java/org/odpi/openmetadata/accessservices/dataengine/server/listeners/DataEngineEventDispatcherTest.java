@@ -0,0 +1,146 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.dataengine.server.listeners;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineEventType;
+import org.odpi.openmetadata.accessservices.dataengine.event.DataEngineRegistrationEvent;
+import org.odpi.openmetadata.accessservices.dataengine.event.SchemaTypeEvent;
+import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
+import org.odpi.openmetadata.accessservices.dataengine.rest.EventTypeStatus;
+import org.odpi.openmetadata.accessservices.dataengine.rest.InTopicStatusResponse;
+import org.odpi.openmetadata.accessservices.dataengine.server.processors.DataEngineEventProcessor;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+class DataEngineEventDispatcherTest {
+
+    private static final String USER = "user";
+    private static final String EXTERNAL_SOURCE_NAME = "externalSourceName";
+    private static final String QUALIFIED_NAME = "qualifiedName";
+
+    @Mock
+    private DataEngineEventProcessor dataEngineEventProcessor;
+
+    private DataEngineEventDispatcher dataEngineEventDispatcher;
+
+    @AfterEach
+    void after() {
+        if (dataEngineEventDispatcher != null) {
+            dataEngineEventDispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void dispatchSchemaTypeEvents() throws InterruptedException {
+        when(dataEngineEventProcessor.processSchemaTypeEvents(anyList())).thenReturn(true);
+        when(dataEngineEventProcessor.processDataEngineRegistrationEvent(any(DataEngineRegistrationEvent.class)))
+                .thenReturn(true);
+        dataEngineEventDispatcher = new DataEngineEventDispatcher(dataEngineEventProcessor, 2, 10, 100);
+
+        for (int i = 0; i < 5; i++) {
+            dataEngineEventDispatcher.dispatch(QUALIFIED_NAME + i, mockSchemaTypeEvent(QUALIFIED_NAME + i));
+        }
+        // the registration event waits for the schema type events to be processed
+        dataEngineEventDispatcher.dispatch(null, mockRegistrationEvent());
+
+        InTopicStatusResponse status = dataEngineEventDispatcher.getStatus();
+        assertEquals(0, status.getQueueDepth());
+        assertEquals(2, status.getEventTypes().size());
+
+        EventTypeStatus schemaTypeStatus = getEventTypeStatus(status.getEventTypes(),
+                DataEngineEventType.SCHEMA_TYPE_EVENT);
+        assertEquals(5, schemaTypeStatus.getEventsReceived());
+        assertEquals(5, schemaTypeStatus.getEventsProcessed());
+        assertEquals(0, schemaTypeStatus.getEventsFailed());
+
+        verify(dataEngineEventProcessor, times(1)).processDataEngineRegistrationEvent(
+                any(DataEngineRegistrationEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchRepeatedQualifiedNameInSeparateBatches() throws InterruptedException {
+        when(dataEngineEventProcessor.processSchemaTypeEvents(anyList())).thenReturn(true);
+        dataEngineEventDispatcher = new DataEngineEventDispatcher(dataEngineEventProcessor, 1, 10, 100);
+
+        for (int i = 0; i < 3; i++) {
+            dataEngineEventDispatcher.dispatch(QUALIFIED_NAME, mockSchemaTypeEvent(QUALIFIED_NAME));
+            dataEngineEventDispatcher.dispatch(QUALIFIED_NAME + i, mockSchemaTypeEvent(QUALIFIED_NAME + i));
+        }
+        dataEngineEventDispatcher.awaitIdle();
+
+        ArgumentCaptor<List<SchemaTypeEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(dataEngineEventProcessor, atLeast(3)).processSchemaTypeEvents(batches.capture());
+
+        int eventCount = 0;
+        for (List<SchemaTypeEvent> batch : batches.getAllValues()) {
+            Set<String> qualifiedNames = new HashSet<>();
+            for (SchemaTypeEvent schemaTypeEvent : batch) {
+                assertTrue(qualifiedNames.add(schemaTypeEvent.getSchemaType().getQualifiedName()));
+            }
+            eventCount += batch.size();
+        }
+        assertEquals(6, eventCount);
+        assertEquals(0, dataEngineEventDispatcher.getStatus().getQueueDepth());
+    }
+
+    @Test
+    void dispatchFailedEvent() throws InterruptedException {
+        when(dataEngineEventProcessor.processDataEngineRegistrationEvent(any(DataEngineRegistrationEvent.class)))
+                .thenReturn(false);
+        dataEngineEventDispatcher = new DataEngineEventDispatcher(dataEngineEventProcessor, 2, 10, 100);
+
+        dataEngineEventDispatcher.dispatch(null, mockRegistrationEvent());
+
+        EventTypeStatus registrationStatus = getEventTypeStatus(dataEngineEventDispatcher.getStatus().getEventTypes(),
+                DataEngineEventType.DATA_ENGINE_REGISTRATION_EVENT);
+        assertEquals(1, registrationStatus.getEventsProcessed());
+        assertEquals(1, registrationStatus.getEventsFailed());
+    }
+
+    private EventTypeStatus getEventTypeStatus(List<EventTypeStatus> eventTypes, DataEngineEventType eventType) {
+        return eventTypes.stream().filter(status -> status.getEventType() == eventType).findFirst().orElse(null);
+    }
+
+    private SchemaTypeEvent mockSchemaTypeEvent(String qualifiedName) {
+        SchemaType schemaType = new SchemaType();
+        schemaType.setQualifiedName(qualifiedName);
+
+        SchemaTypeEvent schemaTypeEvent = new SchemaTypeEvent();
+        schemaTypeEvent.setEventType(DataEngineEventType.SCHEMA_TYPE_EVENT);
+        schemaTypeEvent.setUserId(USER);
+        schemaTypeEvent.setExternalSourceName(EXTERNAL_SOURCE_NAME);
+        schemaTypeEvent.setSchemaType(schemaType);
+
+        return schemaTypeEvent;
+    }
+
+    private DataEngineRegistrationEvent mockRegistrationEvent() {
+        DataEngineRegistrationEvent registrationEvent = new DataEngineRegistrationEvent();
+        registrationEvent.setEventType(DataEngineEventType.DATA_ENGINE_REGISTRATION_EVENT);
+        registrationEvent.setUserId(USER);
+
+        return registrationEvent;
+    }
+}
@@ -26,7 +26,9 @@ import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngin
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.DataEngineSchemaTypeHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.PortHandler;
 import org.odpi.openmetadata.accessservices.dataengine.server.handlers.ProcessHandler;
+import org.odpi.openmetadata.accessservices.dataengine.server.listeners.DataEngineEventDispatcher;
 import org.odpi.openmetadata.commonservices.ffdc.RESTExceptionHandler;
+import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
@@ -38,14 +40,18 @@ import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -103,6 +109,9 @@ class DataEngineRESTServicesTest {
     @Mock
     private ProcessHandler processHandler;
 
+    @Mock
+    private DataEngineEventDispatcher dataEngineEventDispatcher;
+
     private PortImplementation portImplementation = new PortImplementation(NAME, QUALIFIED_NAME, PortType.INOUT_PORT,
             new SchemaType(QUALIFIED_NAME, NAME, AUTHOR, USAGE, ENCODING_STANDARD, VERSION_NUMBER, null));
 
@@ -304,6 +313,99 @@ class DataEngineRESTServicesTest {
         verify(restExceptionHandler, times(1)).captureUserNotAuthorizedException(response, mockedException);
     }
 
+    @Test
+    void createSchemaTypes() throws InvalidParameterException, PropertyServerException,
+                                    UserNotAuthorizedException {
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, QUALIFIED_NAME, NAME, AUTHOR, ENCODING_STANDARD,
+                USAGE, VERSION_NUMBER, null, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+
+        SchemaTypesRequestBody requestBody = mockSchemaTypesRequestBody();
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+        assertEquals(Collections.singletonList(GUID), response.getGUIDs());
+    }
+
+    @Test
+    void createSchemaTypes_ResponseWithCapturedInvalidParameterException() throws InvalidParameterException,
+                                                                                  PropertyServerException,
+                                                                                  UserNotAuthorizedException,
+                                                                                  InvocationTargetException,
+                                                                                  NoSuchMethodException,
+                                                                                  InstantiationException,
+                                                                                  IllegalAccessException {
+        String methodName = "createOrUpdateSchemaType";
+
+        mockSchemaTypeHandler(methodName);
+
+        InvalidParameterException mockedException = mockException(InvalidParameterException.class, methodName);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, QUALIFIED_NAME, NAME, AUTHOR, ENCODING_STANDARD,
+                USAGE, VERSION_NUMBER, null, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(mockedException);
+
+        SchemaTypesRequestBody requestBody = mockSchemaTypesRequestBody();
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+        verify(restExceptionHandler, times(1)).captureInvalidParameterException(response, mockedException);
+        assertTrue(response.getGUIDs().isEmpty());
+    }
+
+    @Test
+    void createSchemaTypes_ResponseWithFirstCapturedException() throws InvalidParameterException,
+                                                                       PropertyServerException,
+                                                                       UserNotAuthorizedException,
+                                                                       InvocationTargetException,
+                                                                       NoSuchMethodException,
+                                                                       InstantiationException,
+                                                                       IllegalAccessException {
+        String methodName = "createOrUpdateSchemaType";
+        String secondQualifiedName = "secondQualifiedName";
+
+        mockSchemaTypeHandler(methodName);
+
+        InvalidParameterException firstException = mockException(InvalidParameterException.class, methodName);
+        UserNotAuthorizedException secondException = mockException(UserNotAuthorizedException.class, methodName);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, QUALIFIED_NAME, NAME, AUTHOR, ENCODING_STANDARD,
+                USAGE, VERSION_NUMBER, null, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(firstException);
+        when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, secondQualifiedName, NAME, AUTHOR,
+                ENCODING_STANDARD, USAGE, VERSION_NUMBER, null, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(secondException);
+
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        requestBody.setSchemaTypes(Arrays.asList(
+                new SchemaType(QUALIFIED_NAME, NAME, AUTHOR, USAGE, ENCODING_STANDARD, VERSION_NUMBER, null),
+                new SchemaType(secondQualifiedName, NAME, AUTHOR, USAGE, ENCODING_STANDARD, VERSION_NUMBER, null)));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+        verify(restExceptionHandler, times(1)).captureInvalidParameterException(response, firstException);
+        verify(restExceptionHandler, never()).captureUserNotAuthorizedException(response, secondException);
+        assertTrue(response.getGUIDs().isEmpty());
+    }
+
+    @Test
+    void createSchemaTypes_ResponseWithGUIDsInRequestOrder() throws InvalidParameterException,
+                                                                    PropertyServerException,
+                                                                    UserNotAuthorizedException {
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+
+        List<SchemaType> schemaTypes = new ArrayList<>();
+        List<String> schemaTypeGUIDs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            schemaTypes.add(new SchemaType(QUALIFIED_NAME + i, NAME, AUTHOR, USAGE, ENCODING_STANDARD, VERSION_NUMBER,
+                    null));
+            schemaTypeGUIDs.add(GUID + i);
+            when(dataEngineSchemaTypeHandler.createOrUpdateSchemaType(USER, QUALIFIED_NAME + i, NAME, AUTHOR,
+                    ENCODING_STANDARD, USAGE, VERSION_NUMBER, null, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID + i);
+        }
+
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        requestBody.setSchemaTypes(schemaTypes);
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+        assertEquals(schemaTypeGUIDs, response.getGUIDs());
+    }
+
     @Test
     void createPortImplementation() throws InvalidParameterException, PropertyServerException,
                                            UserNotAuthorizedException {
@@ -438,6 +540,67 @@ class DataEngineRESTServicesTest {
                 DELEGATED_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
     }
 
+    @Test
+    void createPortImplementations() throws InvalidParameterException, PropertyServerException,
+                                            UserNotAuthorizedException {
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+        mockPortHandler("createOrUpdatePortImplementationWithSchemaType");
+
+        when(portHandler.createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+
+        PortImplementationsRequestBody requestBody = new PortImplementationsRequestBody();
+        requestBody.setPortImplementations(Collections.singletonList(portImplementation));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdatePortImplementations(USER, SERVER_NAME,
+                requestBody);
+
+        assertEquals(Collections.singletonList(GUID), response.getGUIDs());
+    }
+
+    @Test
+    void createPortImplementations_ResponseWithCapturedInvalidParameterException() throws InvalidParameterException,
+                                                                                          PropertyServerException,
+                                                                                          UserNotAuthorizedException,
+                                                                                          InvocationTargetException,
+                                                                                          NoSuchMethodException,
+                                                                                          InstantiationException,
+                                                                                          IllegalAccessException {
+        String methodName = "createOrUpdatePortImplementationWithSchemaType";
+        mockSchemaTypeHandler("createOrUpdateSchemaType");
+        mockPortHandler(methodName);
+
+        InvalidParameterException mockedException = mockException(InvalidParameterException.class, methodName);
+        when(portHandler.createPortImplementation(USER, portImplementation, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenThrow(mockedException);
+
+        PortImplementationsRequestBody requestBody = new PortImplementationsRequestBody();
+        requestBody.setPortImplementations(Collections.singletonList(portImplementation));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdatePortImplementations(USER, SERVER_NAME,
+                requestBody);
+
+        verify(restExceptionHandler, times(1)).captureInvalidParameterException(response, mockedException);
+        assertTrue(response.getGUIDs().isEmpty());
+    }
+
+    @Test
+    void createPortAliases() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        mockPortHandler("createOrUpdatePortAliasWithDelegation");
+
+        when(portHandler.createPortAlias(USER, portAlias, EXTERNAL_SOURCE_DE_QUALIFIED_NAME)).thenReturn(GUID);
+
+        PortAliasesRequestBody requestBody = new PortAliasesRequestBody();
+        requestBody.setPortAliases(Collections.singletonList(portAlias));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+
+        GUIDListResponse response = dataEngineRESTServices.createOrUpdatePortAliases(USER, SERVER_NAME, requestBody);
+
+        assertEquals(Collections.singletonList(GUID), response.getGUIDs());
+        verify(portHandler, times(1)).addPortDelegationRelationship(USER, GUID, PortType.INOUT_PORT,
+                DELEGATED_QUALIFIED_NAME, EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+    }
+
     @Test
     void createPortAlias_ResponseWithCapturedInvalidParameterException() throws InvalidParameterException,
                                                                                 PropertyServerException,
@@ -751,6 +914,30 @@ class DataEngineRESTServicesTest {
         verify(restExceptionHandler, times(1)).captureUserNotAuthorizedException(response, mockedException);
     }
 
+    @Test
+    void getInTopicStatus() throws InvalidParameterException, PropertyServerException, UserNotAuthorizedException {
+        InTopicStatusResponse status = new InTopicStatusResponse();
+        status.setQueueDepth(1);
+        when(instanceHandler.getDataEngineEventDispatcher(USER, SERVER_NAME, "getInTopicStatus"))
+                .thenReturn(dataEngineEventDispatcher);
+        when(dataEngineEventDispatcher.getStatus()).thenReturn(status);
+
+        InTopicStatusResponse response = dataEngineRESTServices.getInTopicStatus(USER, SERVER_NAME);
+
+        assertEquals(status, response);
+    }
+
+    @Test
+    void getInTopicStatus_NoInTopic() throws InvalidParameterException, PropertyServerException,
+                                             UserNotAuthorizedException {
+        when(instanceHandler.getDataEngineEventDispatcher(USER, SERVER_NAME, "getInTopicStatus")).thenReturn(null);
+
+        InTopicStatusResponse response = dataEngineRESTServices.getInTopicStatus(USER, SERVER_NAME);
+
+        assertEquals(0, response.getQueueDepth());
+        assertEquals(200, response.getRelatedHTTPCode());
+    }
+
     private LineageMappingsRequestBody mockLineageMappingsRequestBody() {
         LineageMappingsRequestBody requestBody = new LineageMappingsRequestBody();
         requestBody.setLineageMappings(Collections.singletonList(new LineageMapping(SOURCE_QUALIFIED_NAME,
@@ -795,6 +982,14 @@ class DataEngineRESTServicesTest {
         return requestBody;
     }
 
+    private SchemaTypesRequestBody mockSchemaTypesRequestBody() {
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        requestBody.setSchemaTypes(Collections.singletonList(new SchemaType(QUALIFIED_NAME, NAME, AUTHOR, USAGE,
+                ENCODING_STANDARD, VERSION_NUMBER, null)));
+        requestBody.setExternalSourceName(EXTERNAL_SOURCE_DE_QUALIFIED_NAME);
+        return requestBody;
+    }
+
     private PortImplementationRequestBody mockPortImplementationRequestBody() {
         PortImplementationRequestBody requestBody = new PortImplementationRequestBody();
         requestBody.setPortImplementation(portImplementation);
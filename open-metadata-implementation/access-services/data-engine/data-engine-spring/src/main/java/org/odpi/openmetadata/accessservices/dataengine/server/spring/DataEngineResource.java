@@ -2,12 +2,16 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.dataengine.server.spring;
 
+import org.odpi.openmetadata.accessservices.dataengine.rest.InTopicStatusResponse;
 import org.odpi.openmetadata.accessservices.dataengine.rest.LineageMappingsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.PortAliasesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.PortImplementationsRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.PortListRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.ProcessesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.SchemaTypeRequestBody;
+import org.odpi.openmetadata.accessservices.dataengine.rest.SchemaTypesRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.rest.DataEngineRegistrationRequestBody;
 import org.odpi.openmetadata.accessservices.dataengine.server.service.DataEngineRESTServices;
 import org.odpi.openmetadata.commonservices.ffdc.rest.GUIDListResponse;
@@ -119,6 +123,54 @@ public class DataEngineResource {
         return restAPI.createOrUpdatePortAlias(userId, serverName, portAliasRequestBody);
     }
 
+    /**
+     * Create or update a list of SchemaType entities with all the needed relationships
+     *
+     * @param serverName             name of server instance to call
+     * @param userId                 the name of the calling user
+     * @param schemaTypesRequestBody properties for the schema types
+     *
+     * @return unique identifiers of the created or updated entities
+     */
+    @PostMapping(path = "/schema-types/bulk")
+    public GUIDListResponse createOrUpdateSchemaTypes(@PathVariable("userId") String userId,
+                                                      @PathVariable("serverName") String serverName,
+                                                      @RequestBody SchemaTypesRequestBody schemaTypesRequestBody) {
+        return restAPI.createOrUpdateSchemaTypes(userId, serverName, schemaTypesRequestBody);
+    }
+
+    /**
+     * Create or update a list of PortImplementation entities
+     *
+     * @param serverName                     name of server instance to call
+     * @param userId                         the name of the calling user
+     * @param portImplementationsRequestBody properties of the port implementations
+     *
+     * @return unique identifiers of the created or updated port implementations
+     */
+    @PostMapping(path = "/port-implementations/bulk")
+    public GUIDListResponse createOrUpdatePortImplementations(@PathVariable("userId") String userId,
+                                                              @PathVariable("serverName") String serverName,
+                                                              @RequestBody PortImplementationsRequestBody portImplementationsRequestBody) {
+        return restAPI.createOrUpdatePortImplementations(userId, serverName, portImplementationsRequestBody);
+    }
+
+    /**
+     * Create or update a list of PortAlias entities
+     *
+     * @param serverName             name of server instance to call
+     * @param userId                 the name of the calling user
+     * @param portAliasesRequestBody properties of the port aliases
+     *
+     * @return unique identifiers of the created or updated port aliases
+     */
+    @PostMapping(path = "/port-aliases/bulk")
+    public GUIDListResponse createOrUpdatePortAliases(@PathVariable("userId") String userId,
+                                                      @PathVariable("serverName") String serverName,
+                                                      @RequestBody PortAliasesRequestBody portAliasesRequestBody) {
+        return restAPI.createOrUpdatePortAliases(userId, serverName, portAliasesRequestBody);
+    }
+
     /**
      * Create or update  the Process entities with ports, schema types and all needed relationships
      *
@@ -168,4 +220,18 @@ public class DataEngineResource {
                                            @RequestBody LineageMappingsRequestBody lineageMappingsRequestBody) {
         return restAPI.addLineageMappings(userId, serverName, lineageMappingsRequestBody);
     }
+
+    /**
+     * Return the status of the processing of the events received on the in topic
+     *
+     * @param serverName name of server instance to call
+     * @param userId     the name of the calling user
+     *
+     * @return queue depth, ingestion lag and metrics for each event type
+     */
+    @GetMapping(path = "/in-topic/status")
+    public InTopicStatusResponse getInTopicStatus(@PathVariable("userId") String userId,
+                                                  @PathVariable("serverName") String serverName) {
+        return restAPI.getInTopicStatus(userId, serverName);
+    }
 }
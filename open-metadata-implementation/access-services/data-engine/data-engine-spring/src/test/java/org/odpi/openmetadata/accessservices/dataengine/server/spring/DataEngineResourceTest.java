@@ -69,6 +69,30 @@ class DataEngineResourceTest {
         verify(dataEngineRestServices, times(1)).createOrUpdatePortAlias(SERVER_NAME, USER, requestBody);
     }
 
+    @Test
+    void testCreateSchemaTypes() {
+        SchemaTypesRequestBody requestBody = new SchemaTypesRequestBody();
+        dataEngineResource.createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+
+        verify(dataEngineRestServices, times(1)).createOrUpdateSchemaTypes(USER, SERVER_NAME, requestBody);
+    }
+
+    @Test
+    void testCreatePortImplementations() {
+        PortImplementationsRequestBody requestBody = new PortImplementationsRequestBody();
+        dataEngineResource.createOrUpdatePortImplementations(USER, SERVER_NAME, requestBody);
+
+        verify(dataEngineRestServices, times(1)).createOrUpdatePortImplementations(USER, SERVER_NAME, requestBody);
+    }
+
+    @Test
+    void testCreatePortAliases() {
+        PortAliasesRequestBody requestBody = new PortAliasesRequestBody();
+        dataEngineResource.createOrUpdatePortAliases(USER, SERVER_NAME, requestBody);
+
+        verify(dataEngineRestServices, times(1)).createOrUpdatePortAliases(USER, SERVER_NAME, requestBody);
+    }
+
     @Test
     void testCreateProcesses() {
         ProcessesRequestBody requestBody = new ProcessesRequestBody();
@@ -93,4 +117,11 @@ class DataEngineResourceTest {
 
         verify(dataEngineRestServices, times(1)).addLineageMappings(USER, SERVER_NAME, requestBody);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetInTopicStatus() {
+        dataEngineResource.getInTopicStatus(USER, SERVER_NAME);
+
+        verify(dataEngineRestServices, times(1)).getInTopicStatus(USER, SERVER_NAME);
+    }
+}
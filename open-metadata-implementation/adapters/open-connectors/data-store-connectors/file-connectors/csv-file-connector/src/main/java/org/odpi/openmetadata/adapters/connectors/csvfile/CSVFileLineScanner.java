@@ -0,0 +1,195 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.csvfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+
+/**
+ * CSVFileLineScanner steps through the lines of a file starting from a given byte offset.  The file is
+ * memory-mapped a window at a time so very large files can be scanned without copying the whole file
+ * through the Java heap.  Lines may end with a line feed, a carriage return or a carriage return followed by a
+ * line feed; the line terminators are not included in the returned lines.
+ */
+class CSVFileLineScanner implements AutoCloseable
+{
+    private static final long mappedWindowSize = 64L * 1024L * 1024L;
+
+    private final RandomAccessFile file;
+    private final FileChannel      channel;
+    private final long             fileLength;
+
+    private MappedByteBuffer window       = null;
+    private long             windowStart  = 0;
+    private long             position;
+
+    private byte[]           lineBuffer   = new byte[256];
+    private int              lineLength   = 0;
+
+
+    /**
+     * Open the file ready to scan from the requested offset.
+     *
+     * @param fileStore file to scan
+     * @param startOffset byte offset of the start of the first line to return
+     * @throws IOException the file can not be opened
+     */
+    CSVFileLineScanner(File fileStore,
+                       long startOffset) throws IOException
+    {
+        this.file       = new RandomAccessFile(fileStore, "r");
+        this.channel    = file.getChannel();
+        this.fileLength = channel.size();
+        this.position   = startOffset;
+    }
+
+
+    /**
+     * Return the byte offset of the start of the next line.
+     *
+     * @return offset into the file
+     */
+    long getPosition()
+    {
+        return position;
+    }
+
+
+    /**
+     * Return the next line of the file.
+     *
+     * @return bytes of the line or null if the end of the file has been reached
+     * @throws IOException the file can not be read
+     */
+    byte[] nextLine() throws IOException
+    {
+        lineLength = 0;
+
+        if (this.scanLine(true) < 0)
+        {
+            return null;
+        }
+
+        return Arrays.copyOf(lineBuffer, lineLength);
+    }
+
+
+    /**
+     * Move past the next line of the file without returning it.
+     *
+     * @return -1 if the end of the file has been reached, 0 if the line was blank and 1 if it has content
+     * @throws IOException the file can not be read
+     */
+    int skipLine() throws IOException
+    {
+        return this.scanLine(false);
+    }
+
+
+    /**
+     * Scan up to and including the next line terminator.
+     *
+     * @param keepBytes save the bytes of the line in the line buffer
+     * @return -1 if the end of the file has been reached, 0 if the line was blank and 1 if it has content
+     * @throws IOException the file can not be read
+     */
+    private int scanLine(boolean keepBytes) throws IOException
+    {
+        if (position >= fileLength)
+        {
+            return -1;
+        }
+
+        boolean hasContent = false;
+
+        while (position < fileLength)
+        {
+            byte character = this.getByte(position);
+
+            position++;
+
+            if (character == '\n')
+            {
+                break;
+            }
+            else if (character == '\r')
+            {
+                if ((position < fileLength) && (this.getByte(position) == '\n'))
+                {
+                    position++;
+                }
+                break;
+            }
+
+            if (! isWhitespace(character))
+            {
+                hasContent = true;
+            }
+
+            if (keepBytes)
+            {
+                if (lineLength == lineBuffer.length)
+                {
+                    lineBuffer = Arrays.copyOf(lineBuffer, lineBuffer.length * 2);
+                }
+
+                lineBuffer[lineLength++] = character;
+            }
+        }
+
+        return hasContent ? 1 : 0;
+    }
+
+
+    /**
+     * Return the byte at the requested offset, mapping a new window of the file if necessary.
+     *
+     * @param offset offset into the file
+     * @return byte value
+     * @throws IOException the file can not be mapped
+     */
+    private byte getByte(long offset) throws IOException
+    {
+        if ((window == null) || (offset < windowStart) || (offset >= windowStart + window.limit()))
+        {
+            windowStart = offset;
+            window = channel.map(FileChannel.MapMode.READ_ONLY,
+                                 windowStart,
+                                 Math.min(mappedWindowSize, fileLength - windowStart));
+        }
+
+        return window.get((int)(offset - windowStart));
+    }
+
+
+    /**
+     * Test whether a byte is whitespace in the sense used by java.util.Scanner, which was
+     * originally used to count the lines of the file.
+     *
+     * @param character byte from the file
+     * @return boolean
+     */
+    private static boolean isWhitespace(byte character)
+    {
+        return (character == ' ') || ((character >= 0x09) && (character <= 0x0D)) || ((character >= 0x1C) && (character <= 0x1F));
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException problem closing the file
+     */
+    @Override
+    public void close() throws IOException
+    {
+        window = null;
+        file.close();
+    }
+}
@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.csvfile;
+
+import org.odpi.openmetadata.adapters.connectors.csvfile.ffdc.CSVFileConnectorErrorCode;
+import org.odpi.openmetadata.adapters.connectors.csvfile.ffdc.exception.FileReadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+
+/**
+ * CSVFileRecordReader returns the data records of a CSV file one after another in a single pass through the file.
+ * It is the efficient way to process every record of a large file, such as when profiling its contents, since
+ * the file is read sequentially through a memory-mapped window rather than locating each record in turn.
+ * Empty lines are skipped.  The reader should be closed once it is no longer needed.
+ */
+public class CSVFileRecordReader implements AutoCloseable
+{
+    private static final Logger log = LoggerFactory.getLogger(CSVFileRecordReader.class);
+
+    private final CSVFileStoreConnector connector;
+    private final CSVFileLineScanner    scanner;
+    private final String                fileStoreName;
+    private final Charset               charset = Charset.defaultCharset();
+
+
+    /**
+     * Constructor used by the connector.
+     *
+     * @param connector connector that is used to parse the records
+     * @param scanner scanner positioned at the first data record
+     * @param fileStoreName name of the file for error messages
+     */
+    CSVFileRecordReader(CSVFileStoreConnector connector,
+                        CSVFileLineScanner    scanner,
+                        String                fileStoreName)
+    {
+        this.connector     = connector;
+        this.scanner       = scanner;
+        this.fileStoreName = fileStoreName;
+    }
+
+
+    /**
+     * Return the next data record from the file.
+     *
+     * @return List of strings, each string is the value from the column, or null if there are no more records.
+     * @throws FileReadException unable to read the file.
+     */
+    public List<String> readNextRecord() throws FileReadException
+    {
+        final String  methodName = "readNextRecord";
+
+        try
+        {
+            byte[] line;
+
+            while ((line = scanner.nextLine()) != null)
+            {
+                List<String> record = connector.parseRecord(new String(line, charset));
+
+                if (record != null)
+                {
+                    return record;
+                }
+            }
+
+            return null;
+        }
+        catch (IOException  error)
+        {
+            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+            String                    errorMessage = errorCode.getErrorMessageId()
+                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                        error.getMessage());
+
+            throw new FileReadException(errorCode.getHTTPErrorCode(),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        errorMessage,
+                                        errorCode.getSystemAction(),
+                                        errorCode.getUserAction(),
+                                        error,
+                                        fileStoreName);
+        }
+    }
+
+
+    /**
+     * Close the file.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            scanner.close();
+        }
+        catch (IOException  error)
+        {
+            log.debug("Ignoring unexpected exception " + error.getClass().getSimpleName() + " with message " + error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.csvfile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+
+/**
+ * CSVFileRowIndex records where the rows of a CSV file start so that a row can be read without scanning
+ * the file from the beginning.  To keep the index small for very large files, only the offset of every
+ * 64th row is stored.  A row is located by moving to the nearest stored offset before it and skipping the
+ * remaining rows.
+ * <p>
+ * The index is built from the file as it was when it was scanned.  The last modified time and length of the
+ * file are saved with the index so the connector can tell when the file has changed and the index must be
+ * rebuilt.
+ * </p>
+ */
+class CSVFileRowIndex
+{
+    static final int rowsPerCheckpoint = 64;
+
+    private final long   lastModified;
+    private final long   fileLength;
+    private final long   rowCount;
+    private final long[] checkpoints;
+
+
+    /**
+     * Constructor
+     *
+     * @param lastModified last modified time of the file when it was scanned
+     * @param fileLength length of the file when it was scanned
+     * @param rowCount number of rows in the file
+     * @param checkpoints offset of every 64th row
+     */
+    private CSVFileRowIndex(long   lastModified,
+                            long   fileLength,
+                            long   rowCount,
+                            long[] checkpoints)
+    {
+        this.lastModified = lastModified;
+        this.fileLength   = fileLength;
+        this.rowCount     = rowCount;
+        this.checkpoints  = checkpoints;
+    }
+
+
+    /**
+     * Scan the file and build its index.  Blank lines at the end of the file are not counted as rows.
+     *
+     * @param fileStore file to index
+     * @return new index
+     * @throws IOException the file can not be read
+     */
+    static CSVFileRowIndex buildIndex(File fileStore) throws IOException
+    {
+        long   lastModified    = fileStore.lastModified();
+        long   fileLength      = fileStore.length();
+        long[] checkpoints     = new long[16];
+        int    checkpointCount = 0;
+        long   lineCount       = 0;
+        long   rowCount        = 0;
+
+        try (CSVFileLineScanner scanner = new CSVFileLineScanner(fileStore, 0))
+        {
+            while (true)
+            {
+                long lineStart = scanner.getPosition();
+                int  result    = scanner.skipLine();
+
+                if (result < 0)
+                {
+                    break;
+                }
+
+                if (lineCount % rowsPerCheckpoint == 0)
+                {
+                    if (checkpointCount == checkpoints.length)
+                    {
+                        checkpoints = Arrays.copyOf(checkpoints, checkpoints.length * 2);
+                    }
+
+                    checkpoints[checkpointCount++] = lineStart;
+                }
+
+                lineCount++;
+
+                if (result > 0)
+                {
+                    rowCount = lineCount;
+                }
+            }
+        }
+
+        return new CSVFileRowIndex(lastModified, fileLength, rowCount, Arrays.copyOf(checkpoints, checkpointCount));
+    }
+
+
+    /**
+     * Test whether the file has changed since the index was built.
+     *
+     * @param fileStore file that was indexed
+     * @return boolean
+     */
+    boolean isStale(File fileStore)
+    {
+        return (fileStore.lastModified() != lastModified) || (fileStore.length() != fileLength);
+    }
+
+
+    /**
+     * Return the number of rows in the file, including any row of column names.
+     *
+     * @return count
+     */
+    long getRowCount()
+    {
+        return rowCount;
+    }
+
+
+    /**
+     * Return the offset of the nearest indexed row at or before the requested row.
+     *
+     * @param rowNumber requested row
+     * @return byte offset into the file
+     */
+    long getCheckpointOffset(long rowNumber)
+    {
+        return checkpoints[(int)(rowNumber / rowsPerCheckpoint)];
+    }
+
+
+    /**
+     * Return the row number of the nearest indexed row at or before the requested row.
+     *
+     * @param rowNumber requested row
+     * @return row number
+     */
+    long getCheckpointRow(long rowNumber)
+    {
+        return (rowNumber / rowsPerCheckpoint) * rowsPerCheckpoint;
+    }
+}
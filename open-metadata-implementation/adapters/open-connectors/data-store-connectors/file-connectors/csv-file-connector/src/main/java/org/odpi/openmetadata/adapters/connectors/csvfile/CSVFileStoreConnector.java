@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.*;
 
 
@@ -28,6 +29,12 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>   columnNames       = null;
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
+    private Charset        charset           = Charset.defaultCharset();
+
+    /*
+     * Index of the rows in the file - built on first use.
+     */
+    private CSVFileRowIndex rowIndex         = null;
 
     /*
      * Variables used for logging and debug.
@@ -127,8 +134,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The first call scans the file to build an index of the rows.
+     * Later calls use the index until the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,40 +145,13 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
         File fileStore = getFile(methodName);
 
-        try
-        {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
+        long rowCount = this.getRowIndex(fileStore, methodName).getRowCount();
 
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
+        if ((rowCount > 0) && (columnNames == null))
         {
-            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                    errorMessage = errorCode.getErrorMessageId()
-                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                        error.getMessage());
-
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -230,39 +210,99 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the requested row in the file.  The first record is record 0.
+     * Return a reader that steps through all of the data records in the file in a single pass.  This is
+     * much faster than calling readRecord for each record when processing the whole of a large file.
      *
-     * @param recordLocation long
-     * @param methodName name of calling method
-     * @return List of strings, each string is the value from the column.
+     * @return reader positioned at the first data record.  It should be closed when it is no longer needed.
      * @throws FileException problem accessing the file
-     * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
+     * @throws FileReadException unable to find, open or read the file.
      */
-    private List<String>      readRow(int     recordLocation,
-                                      String  methodName) throws FileException, FileReadException
+    public CSVFileRecordReader getRecordReader() throws FileException, FileReadException
     {
+        final String  methodName = "getRecordReader";
 
         File fileStore = super.getFile(methodName);
 
+        CSVFileLineScanner scanner = null;
+
         try
         {
-            Scanner scanner        = new Scanner(fileStore);
+            scanner = new CSVFileLineScanner(fileStore, 0);
+
+            if (columnNames == null)
+            {
+                scanner.skipLine();
+            }
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            return new CSVFileRecordReader(this, scanner, fileStoreName);
+        }
+        catch (IOException  error)
+        {
+            if (scanner != null)
             {
-                if (rowCounter == recordLocation)
+                try
                 {
-                    return parseRecord(scanner.nextLine());
+                    scanner.close();
                 }
-                else
+                catch (IOException  closeError)
                 {
-                    scanner.nextLine();
+                    log.debug("Ignoring unexpected exception " + closeError.getClass().getSimpleName() + " with message " + closeError.getMessage());
                 }
-                rowCounter ++;
             }
-            scanner.close();
 
+            throw this.getUnexpectedIOException(error, methodName);
+        }
+    }
+
+
+    /**
+     * Return the index of the rows in the file, building it if this is the first request or the file has changed
+     * since the index was built.
+     *
+     * @param fileStore file to index
+     * @param methodName name of calling method
+     * @return row index
+     * @throws FileReadException unable to scan the file.
+     */
+    private synchronized CSVFileRowIndex getRowIndex(File    fileStore,
+                                                     String  methodName) throws FileReadException
+    {
+        if ((rowIndex == null) || (rowIndex.isStale(fileStore)))
+        {
+            try
+            {
+                rowIndex = CSVFileRowIndex.buildIndex(fileStore);
+            }
+            catch (IOException  error)
+            {
+                rowIndex = null;
+
+                throw this.getUnexpectedIOException(error, methodName);
+            }
+        }
+
+        return rowIndex;
+    }
+
+
+    /**
+     * Return the requested row in the file.  The first record is record 0.  The row index is used to move close
+     * to the row so only a few rows are scanned.
+     *
+     * @param recordLocation long
+     * @param methodName name of calling method
+     * @return List of strings, each string is the value from the column.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
+     */
+    private List<String>      readRow(int     recordLocation,
+                                      String  methodName) throws FileException, FileReadException
+    {
+        File            fileStore = super.getFile(methodName);
+        CSVFileRowIndex index     = this.getRowIndex(fileStore, methodName);
+
+        if ((recordLocation < 0) || (recordLocation >= index.getRowCount()))
+        {
             CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.FILE_TOO_SHORT;
             String                    errorMessage = errorCode.getErrorMessageId()
                                                    + errorCode.getFormattedErrorMessage(fileStoreName,
@@ -275,27 +315,57 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                         errorCode.getSystemAction(),
                                         errorCode.getUserAction(),
                                         fileStoreName);
+        }
+
+        try (CSVFileLineScanner scanner = new CSVFileLineScanner(fileStore, index.getCheckpointOffset(recordLocation)))
+        {
+            for (long row = index.getCheckpointRow(recordLocation); row < recordLocation; row++)
+            {
+                scanner.skipLine();
+            }
+
+            byte[] line = scanner.nextLine();
+
+            if (line == null)
+            {
+                return null;
+            }
 
+            return parseRecord(new String(line, charset));
         }
         catch (IOException  error)
         {
-            CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
-            String                    errorMessage = errorCode.getErrorMessageId()
-                                                   + errorCode.getFormattedErrorMessage(fileStoreName,
-                                                                                        error.getMessage());
-
-            throw new FileReadException(errorCode.getHTTPErrorCode(),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        errorMessage,
-                                        errorCode.getSystemAction(),
-                                        errorCode.getUserAction(),
-                                        error,
-                                        fileStoreName);
+            throw this.getUnexpectedIOException(error, methodName);
         }
     }
 
 
+    /**
+     * Create the exception for an unexpected IO exception.
+     *
+     * @param error caught exception
+     * @param methodName name of calling method
+     * @return exception to throw
+     */
+    private FileReadException getUnexpectedIOException(IOException  error,
+                                                       String       methodName)
+    {
+        CSVFileConnectorErrorCode errorCode = CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION;
+        String                    errorMessage = errorCode.getErrorMessageId()
+                                               + errorCode.getFormattedErrorMessage(fileStoreName,
+                                                                                    error.getMessage());
+
+        return new FileReadException(errorCode.getHTTPErrorCode(),
+                                     this.getClass().getName(),
+                                     methodName,
+                                     errorMessage,
+                                     errorCode.getSystemAction(),
+                                     errorCode.getUserAction(),
+                                     error,
+                                     fileStoreName);
+    }
+
+
     /**
      * Step through the record, character by character, extracting each column and enduring that escaped double quotes
      * and other tricks found in CSV files are handled.
@@ -303,7 +373,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      * @param fileRecord a single record from the CSV file store
      * @return an array of column values extracted from the record
      */
-    private  List<String> parseRecord(String fileRecord)
+    List<String> parseRecord(String fileRecord)
     {
         if ((fileRecord == null) || (fileRecord.isEmpty()))
         {
@@ -10,9 +10,15 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -358,4 +364,67 @@ public class CSVFileStoreConnectorTest
             assertTrue(false);
         }
     }
+
+
+    /**
+     * Write a file of numbered rows after a row of column names.
+     *
+     * @param fileStore file to write
+     * @param numberOfRows number of data rows
+     * @throws IOException problem writing the file
+     */
+    private void writeNumberedRows(File fileStore,
+                                   int  numberOfRows) throws IOException
+    {
+        try (Writer writer = new FileWriter(fileStore))
+        {
+            writer.write("Number,Text\r\n");
+
+            for (int i = 0; i < numberOfRows; i++)
+            {
+                writer.write(i + ",Row " + i + "\r\n");
+            }
+
+            writer.write("\n\n");
+        }
+    }
+
+
+    @Test public void testIndexedAccess() throws Exception
+    {
+        File                  fileStore = File.createTempFile("CSVFileStoreConnectorTest", ".csv");
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        fileStore.deleteOnExit();
+        writeNumberedRows(fileStore, 1000);
+
+        connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(fileStore.getPath()));
+        connector.start();
+
+        assertEquals(connector.getRecordCount(), 1000);
+        assertEquals(connector.getColumnNames(), Arrays.asList("Number", "Text"));
+        assertEquals(connector.readRecord(999), Arrays.asList("999", "Row 999"));
+        assertEquals(connector.readRecord(64), Arrays.asList("64", "Row 64"));
+        assertEquals(connector.readRecord(0), Arrays.asList("0", "Row 0"));
+
+        try (CSVFileRecordReader reader = connector.getRecordReader())
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                assertEquals(reader.readNextRecord(), Arrays.asList(Integer.toString(i), "Row " + i));
+            }
+
+            assertNull(reader.readNextRecord());
+        }
+
+        /*
+         * The index is rebuilt when the file changes.
+         */
+        writeNumberedRows(fileStore, 1500);
+
+        assertEquals(connector.getRecordCount(), 1500);
+        assertEquals(connector.readRecord(1499), Arrays.asList("1499", "Row 1499"));
+
+        connector.disconnect();
+    }
 }
@@ -4,9 +4,11 @@ package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 
 import java.time.Duration;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
@@ -20,6 +22,7 @@ import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -180,6 +183,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 ConsumerRecords<String, String> records = consumer.poll(pollDuration);
                 
                 log.debug("Found records: " + records.count());
+                List<IncomingEvent> receivedEvents = new ArrayList<>();
+
                 for (ConsumerRecord<String, String> record : records)
                 {
                     String json = record.value();
@@ -190,7 +195,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                         try
                         {
                             addUnprocessedEvent(record.partition(), record.topic(), event);
-                            connector.distributeToListeners(event);
+                            receivedEvents.add(event);
                         }
                         catch (Exception error)
                         {
@@ -229,6 +234,14 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                     
                     }
                 }
+
+                /*
+                 * Hand the whole batch to the connector's listener thread.  It is distributed straight away.
+                 */
+                if (! receivedEvents.isEmpty())
+                {
+                    connector.distributeToListeners(receivedEvents);
+                }
             }
             catch (WakeupException e)
             {
@@ -252,10 +265,6 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 }
                 recoverAfterError();
             }
-            finally
-            {
-                awaitNextPollingTime();
-            }
         }
 
         if (consumer != null)
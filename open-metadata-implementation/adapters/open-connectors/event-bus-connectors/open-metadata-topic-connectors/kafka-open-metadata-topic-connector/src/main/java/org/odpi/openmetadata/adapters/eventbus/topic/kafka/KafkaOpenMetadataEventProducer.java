@@ -5,6 +5,9 @@ package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.errors.WakeupException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -13,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -21,10 +25,31 @@ import java.util.concurrent.ExecutionException;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * By default each event is acknowledged by Kafka before the next event is sent.  In batch mode, the waiting
+ * events are all handed to the Kafka client before the producer waits for the acknowledgements.  The Kafka
+ * client then groups them into compressed batches, which greatly increases the rate that large numbers of
+ * events, such as those from loading an archive, can be sent.  A batch is sent as soon as it holds the
+ * maximum number of events, or once the linger time has passed since the producer started filling it.
+ * If any event in a batch fails, it and the events after it are put back at the front of the buffer and
+ * sent again.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private volatile List<String> sendBuffer = new ArrayList<>();
+    private final Deque<String> sendBuffer = new ArrayDeque<>();
+
+    /*
+     * Names of the Kafka client metrics returned with the producer metrics.
+     */
+    private static final String   kafkaMetricsGroup = "producer-metrics";
+    private static final String[] kafkaMetricNames  = { "record-send-rate",
+                                                        "records-per-request-avg",
+                                                        "batch-size-avg",
+                                                        "compression-rate-avg",
+                                                        "record-queue-time-avg",
+                                                        "request-latency-avg",
+                                                        "outgoing-byte-rate",
+                                                        "buffer-available-bytes" };
 
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
@@ -40,10 +65,18 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
     private String                          localServerId;
     private Properties                      producerProperties;
-    private Producer<String, String>        producer;
+    private volatile Producer<String, String> producer;
     private KafkaOpenMetadataTopicConnector connector;
 
-    private long    messageSendCount = 0;
+    private boolean                         batchMode;
+    private int                             maxBatchEvents;
+    private long                            batchLingerTime;
+
+    private volatile long    messageSendCount   = 0;
+    private volatile long    batchSendCount     = 0;
+    private volatile long    characterSendCount = 0;
+    private volatile long    startTime          = 0;
+    private long             batchRetryCount    = 0;
 
 
     /**
@@ -52,12 +85,14 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param producerConfig egeria-specific settings for the producer.
      * @param producerProperties properties for the consumer.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
     KafkaOpenMetadataEventProducer(String                          topicName,
                                    String                          localServerId,
+                                   KafkaOpenMetadataEventProducerConfiguration producerConfig,
                                    Properties                      producerProperties,
                                    KafkaOpenMetadataTopicConnector connector,
                                    OMRSAuditLog                    auditLog)
@@ -68,6 +103,9 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.connector = connector;
         this.producerProperties = producerProperties;
         this.listenerThreadName = defaultThreadName + topicName;
+        this.batchMode = producerConfig.getBooleanProperty(KafkaOpenMetadataEventProducerProperty.BATCH_MODE);
+        this.maxBatchEvents = Math.max(producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_BATCH_EVENTS), 1);
+        this.batchLingerTime = Math.max(producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.BATCH_LINGER_MS), 0);
 
 
         final String           actionDescription = "new producer";
@@ -107,6 +145,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                 producer.send(record).get();
                 eventSent = true;
                 messageSendCount++;
+                characterSendCount += event.length();
             }
             catch (ExecutionException error)
             {
@@ -172,6 +211,115 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
+    /**
+     * Hands a batch of events to the Kafka client and then waits for them all to be acknowledged.  Events that
+     * are not acknowledged are put back at the front of the send buffer, along with the events that follow
+     * them, so they are sent again in order on the next pass.
+     *
+     * @param events events to send
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted waiting for the acknowledgements
+     */
+    private void publishBatch(List<String> events) throws ConnectorCheckedException, InterruptedException
+    {
+        final String methodName = "publishBatch";
+
+        List<Future<RecordMetadata>> results   = new ArrayList<>(events.size());
+        Throwable                    sendError = null;
+
+        try
+        {
+            for (String event : events)
+            {
+                results.add(producer.send(new ProducerRecord<>(topicName, localServerId, event)));
+            }
+        }
+        catch (Throwable error)
+        {
+            sendError = error;
+        }
+
+        producer.flush();
+
+        int    confirmedEvents = 0;
+        String errorMessage    = null;
+
+        try
+        {
+            for (Future<RecordMetadata> result : results)
+            {
+                result.get();
+                characterSendCount += events.get(confirmedEvents).length();
+                confirmedEvents++;
+            }
+        }
+        catch (ExecutionException error)
+        {
+            errorMessage = error.getMessage();
+        }
+        finally
+        {
+            messageSendCount += confirmedEvents;
+
+            if (confirmedEvents < results.size())
+            {
+                this.returnEvents(events.subList(confirmedEvents, events.size()));
+            }
+        }
+
+        if (errorMessage != null)
+        {
+            log.debug("Kafka had trouble sending a batch of events; exception message is " + errorMessage);
+
+            if (batchRetryCount % 10 == 0)
+            {
+                KafkaOpenMetadataTopicConnectorAuditCode auditCode;
+
+                auditCode = KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP;
+                auditLog.logRecord(methodName,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(topicName,
+                                                                    Long.toString(messageSendCount),
+                                                                    Long.toString(this.getSendBufferSize()),
+                                                                    errorMessage),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+
+            batchRetryCount++;
+            return;
+        }
+
+        batchRetryCount = 0;
+        batchSendCount++;
+
+        if (sendError != null)
+        {
+            /*
+             * The event that could not be handed to the Kafka client is dropped as it would be in
+             * publishEvent.  The events after it are kept.
+             */
+            this.returnEvents(events.subList(results.size() + 1, events.size()));
+
+            log.error("Exception in sendEvent " + sendError.toString());
+            KafkaOpenMetadataTopicConnectorErrorCode errorCode = KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT;
+            String errorText = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(sendError.getClass().getName(),
+                                                                                                  topicName,
+                                                                                                  sendError.getMessage());
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorText,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction(),
+                                                sendError);
+        }
+    }
+
+
     /**
      * This is the method that provides the behaviour of the thread.
      */
@@ -190,30 +338,34 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                            auditCode.getUserAction());
 
 
-        this.producer = new KafkaProducer<>(producerProperties);
+        this.producer = this.createProducer(producerProperties);
+        this.startTime = System.currentTimeMillis();
 
         while (isRunning())
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
                 /*
-                 * If there are no events waiting then sleep
+                 * Waits for events if there are none in the buffer.
                  */
-                if (bufferedEvent == null)
+                List<String> bufferedEvents = batchMode ? this.getEvents(maxBatchEvents, batchLingerTime) : this.getEvents(1, 0);
+
+                if (batchMode)
                 {
-                    Thread.sleep(sleepTime);
+                    if (! bufferedEvents.isEmpty())
+                    {
+                        publishBatch(bufferedEvents);
+                    }
                 }
                 else
                 {
                     /*
                      * Send all waiting events
                      */
-                    while (bufferedEvent != null)
+                    while (! bufferedEvents.isEmpty())
                     {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
+                        publishEvent(bufferedEvents.get(0));
+                        bufferedEvents = this.getEvents(1, 0);
                     }
                 }
             }
@@ -242,6 +394,18 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
+    /**
+     * Create the Kafka client that sends the events.
+     *
+     * @param producerProperties properties for the Kafka client
+     * @return Kafka producer
+     */
+    Producer<String, String> createProducer(Properties producerProperties)
+    {
+        return new KafkaProducer<>(producerProperties);
+    }
+
+
     /**
      * Supports putting events to the in memory OMRS Topic
      *
@@ -250,6 +414,21 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private synchronized void putEvent(String  newEvent)
     {
         sendBuffer.add(newEvent);
+        notifyAll();
+    }
+
+
+    /**
+     * Put events that could not be sent back at the front of the send buffer, keeping their order.
+     *
+     * @param events events to return
+     */
+    private synchronized void returnEvents(List<String> events)
+    {
+        for (int i = events.size() - 1; i >= 0; i--)
+        {
+            sendBuffer.addFirst(events.get(i));
+        }
     }
 
 
@@ -265,18 +444,89 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Returns all of the events found on the in memory OMRS Topic.
+     * Removes events from the front of the send buffer.  If the buffer is empty, it waits for the
+     * sleep time for an event to arrive.  Once there is an event, it waits for up to the linger time for
+     * the buffer to hold the maximum number of events.
+     *
+     * @param maxEvents maximum number of events to return
+     * @param lingerTime maximum time in milliseconds to wait for the buffer to fill (zero means do not wait)
+     * @return list of events - empty if none arrived
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private synchronized List<String> getEvents(int  maxEvents,
+                                                long lingerTime) throws InterruptedException
+    {
+        if (sendBuffer.isEmpty() && running)
+        {
+            wait(sleepTime);
+        }
+
+        if ((lingerTime > 0) && (! sendBuffer.isEmpty()))
+        {
+            long lingerEnd     = System.currentTimeMillis() + lingerTime;
+            long remainingTime = lingerTime;
+
+            while ((sendBuffer.size() < maxEvents) && (running) && (remainingTime > 0))
+            {
+                wait(remainingTime);
+                remainingTime = lingerEnd - System.currentTimeMillis();
+            }
+        }
+
+        List<String> events = new ArrayList<>(Math.min(sendBuffer.size(), maxEvents));
+
+        while ((events.size() < maxEvents) && (! sendBuffer.isEmpty()))
+        {
+            events.add(sendBuffer.poll());
+        }
+
+        return events;
+    }
+
+
+    /**
+     * Return the throughput and queue metrics for the producer.  These include the number of events sent and
+     * waiting to be sent along with a selection of the Kafka client's own producer metrics, such as the
+     * average batch size and compression rate.
      *
-     * @return list of received events.
+     * @return map of metric name to value
      */
-    private synchronized String getEvent()
+    public Map<String, Double> getProducerMetrics()
     {
-        if (sendBuffer.isEmpty())
+        Map<String, Double> metrics = new HashMap<>();
+
+        long   elapsedTime = (startTime == 0) ? 0 : System.currentTimeMillis() - startTime;
+        double eventsSent  = (double)messageSendCount;
+
+        metrics.put("events-sent", eventsSent);
+        metrics.put("events-buffered", (double)this.getSendBufferSize());
+        metrics.put("batches-sent", (double)batchSendCount);
+        metrics.put("event-characters-sent", (double)characterSendCount);
+        metrics.put("events-sent-per-second", (elapsedTime > 0) ? (eventsSent * 1000) / elapsedTime : 0.0);
+
+        Producer<String, String> currentProducer = producer;
+
+        if (currentProducer != null)
         {
-            return null;
+            List<String> metricNames = Arrays.asList(kafkaMetricNames);
+
+            for (Map.Entry<MetricName, ? extends Metric> entry : currentProducer.metrics().entrySet())
+            {
+                MetricName metricName = entry.getKey();
+
+                if ((kafkaMetricsGroup.equals(metricName.group())) && (metricNames.contains(metricName.name())))
+                {
+                    Object value = entry.getValue().metricValue();
+
+                    if (value instanceof Number)
+                    {
+                        metrics.put(metricName.name(), ((Number)value).doubleValue());
+                    }
+                }
+            }
         }
 
-        return sendBuffer.remove(0);
+        return metrics;
     }
 
 
@@ -335,6 +585,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private synchronized void stopRunning()
     {
         running = false;
+        notifyAll();
     }
 
 }
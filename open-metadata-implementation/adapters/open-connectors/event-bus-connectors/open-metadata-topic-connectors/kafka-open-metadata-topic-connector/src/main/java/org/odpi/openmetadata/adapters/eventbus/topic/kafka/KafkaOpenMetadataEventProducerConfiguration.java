@@ -0,0 +1,71 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import java.util.Properties;
+
+/**
+ * Configuration for the {@link KafkaOpenMetadataEventProducer}
+ *
+ *
+ */
+public class KafkaOpenMetadataEventProducerConfiguration
+{
+	private final Properties properties;
+
+	public KafkaOpenMetadataEventProducerConfiguration(Properties properties)
+	{
+		this.properties = properties;
+	}
+
+
+	/**
+	 * Gets the value of property whose value is an integer
+	 *
+	 * @param property property object
+	 * @return property value
+	 */
+	public int getIntProperty(KafkaOpenMetadataEventProducerProperty property)
+	{
+		try
+		{
+			return Integer.parseInt(getProperty(property));
+		}
+		catch (NumberFormatException error)
+		{
+			return Integer.parseInt(property.getDefaultValue());
+		}
+	}
+
+
+	/**
+	 * Gets the value of a property whose value is a boolean
+	 *
+	 * @param property property object
+	 * @return property value
+	 */
+	public boolean getBooleanProperty(KafkaOpenMetadataEventProducerProperty property)
+	{
+		return Boolean.parseBoolean(getProperty(property));
+	}
+
+
+	/**
+	 * Gets the value of a property whose value is a String.  The default value is returned
+	 * if the property is not set.
+	 *
+	 * @param property property object
+	 * @return property value
+	 */
+	public String getProperty(KafkaOpenMetadataEventProducerProperty property)
+	{
+		String value = properties.getProperty(property.getPropertyName());
+
+		if (value == null || value.trim().length() == 0)
+		{
+			return property.getDefaultValue();
+		}
+
+		return value.trim();
+	}
+}
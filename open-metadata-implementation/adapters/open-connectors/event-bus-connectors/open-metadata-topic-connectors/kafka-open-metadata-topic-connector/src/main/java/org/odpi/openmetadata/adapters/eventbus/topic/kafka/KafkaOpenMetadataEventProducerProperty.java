@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer
+ *
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * When true, the producer hands all of the waiting events to the Kafka client
+	 * before waiting for any of them to be acknowledged.  This lets the Kafka client
+	 * group the events into batches and compress them.  When false, each event is
+	 * sent and acknowledged before the next one is sent.
+	 */
+	BATCH_MODE("batch_mode", "false"),
+
+	/*
+	 * The maximum number of events handed to the Kafka client before the producer
+	 * waits for them to be acknowledged.  Only used in batch mode.
+	 */
+	MAX_BATCH_EVENTS("max_batch_events", "1000"),
+
+	/*
+	 * The compression used for the batches when batch mode is on and the
+	 * compression.type producer property has not been set.  Any codec supported
+	 * by the Kafka client may be used: none, gzip, snappy, lz4 or zstd.
+	 */
+	BATCH_COMPRESSION_TYPE("batch_compression_type", "lz4"),
+
+	/*
+	 * The time in milliseconds that the producer waits for more events to fill a batch
+	 * when batch mode is on.  The Kafka client's linger.ms producer property is also set
+	 * to this value if it has not been set.
+	 */
+	BATCH_LINGER_MS("batch_linger_ms", "20"),
+
+	/*
+	 * The maximum size of a batch in bytes when batch mode is on and the batch.size
+	 * producer property has not been set.
+	 */
+	BATCH_SIZE_BYTES("batch_size_bytes", "262144");
+
+	private String propertyName;
+	private String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+}
@@ -2,8 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -28,6 +27,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private Properties producerProperties = new Properties();
+    private Properties producerEgeriaProperties = new Properties();
     
     private Properties consumerEgeriaProperties = new Properties();
     private Properties consumerProperties = new Properties();
@@ -37,7 +37,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private String       topicName          = null;
     private String       serverId           = null;
-    private List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
+
     /**
      * Constructor sets up the default properties for the producer and consumer.  Any properties passed through
      * the connection's additional properties will override these values.  For most environments,
@@ -165,6 +165,13 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaConsumerPropertyName);
             copyProperties(propertiesObject, consumerEgeriaProperties);
+
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
+
+            addBatchProducerProperties(producerEgeriaProperties,
+                                       configurationProperties.get(KafkaOpenMetadataTopicProvider.producerPropertyName),
+                                       producerProperties);
         }
         catch (Throwable   error)
         {
@@ -180,6 +187,51 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     }
 
 
+    /**
+     * When the producer is in batch mode, the Kafka client is left to group the events into batches.  The
+     * default producer properties send each batch as soon as possible and uncompressed.  This method replaces
+     * them with values more suited to batching, unless they have been explicitly configured.
+     *
+     * @param producerEgeriaProperties egeria-specific settings for the producer
+     * @param configuredProducerProperties producer properties from the connection (a map, or null)
+     * @param producerProperties properties passed to the Kafka client
+     */
+    static void addBatchProducerProperties(Properties producerEgeriaProperties,
+                                           Object     configuredProducerProperties,
+                                           Properties producerProperties)
+    {
+        KafkaOpenMetadataEventProducerConfiguration producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties);
+
+        if (producerConfig.getBooleanProperty(KafkaOpenMetadataEventProducerProperty.BATCH_MODE))
+        {
+            Map<String, Object> configuredProperties = new HashMap<>();
+
+            if (configuredProducerProperties instanceof Map<?, ?>)
+            {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>)configuredProducerProperties).entrySet())
+                {
+                    configuredProperties.put(String.valueOf(entry.getKey()), entry.getValue());
+                }
+            }
+
+            if (! configuredProperties.containsKey("compression.type"))
+            {
+                producerProperties.put("compression.type", producerConfig.getProperty(KafkaOpenMetadataEventProducerProperty.BATCH_COMPRESSION_TYPE));
+            }
+
+            if (! configuredProperties.containsKey("linger.ms"))
+            {
+                producerProperties.put("linger.ms", producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.BATCH_LINGER_MS));
+            }
+
+            if (! configuredProperties.containsKey("batch.size"))
+            {
+                producerProperties.put("batch.size", producerConfig.getIntProperty(KafkaOpenMetadataEventProducerProperty.BATCH_SIZE_BYTES));
+            }
+        }
+    }
+
+
 	private void copyProperties(Object propertiesObject, Properties target)
     {
 		Map<String, Object> propertiesMap;
@@ -213,7 +265,8 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerThread = new Thread(consumer, threadHeader + "Consumer-" + topicName);
         consumerThread.start();
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        KafkaOpenMetadataEventProducerConfiguration producerConfig = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerConfig, producerProperties, this, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
         producerThread.start();
 
@@ -239,39 +292,15 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
 
     /**
-     * Look to see if there is one of more new events to process.
+     * Distribute a batch of events received from a single poll to the listeners.  They are handed straight
+     * to the listener thread.
      *
-     * @return a list of received events or null
+     * @param events objects containing the event properties.
      */
-    @Override
-    protected List<IncomingEvent> checkForIncomingEvents()
+    void distributeToListeners(List<IncomingEvent> events)
     {
-        List<IncomingEvent> newEvents = null;
-
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
-
-        if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
-        {
-            log.debug("Checking for events.  Number of found events: {0}", incomingEventsList.size());
-            newEvents = new ArrayList<>(incomingEventsList);
-
-            // empty incomingEventsList otherwise same events will be sent again
-            incomingEventsList.removeAll(newEvents);
-        }
-
-        return newEvents;
-    }
-
-    /**
-     * Distribute events to other listeners.
-     *
-     * @param event object containing the event properties.
-     */
-    void distributeToListeners(IncomingEvent event)
-    {
-        log.debug("distribute event to listeners" + event);
-        incomingEventsList.add(event);
+        log.debug("distribute {} events to listeners", events.size());
+        super.pushIncomingEvents(events);
     }
 
 
@@ -300,12 +329,28 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
                            auditCode.getUserAction());
     }
     
+    /**
+     * Return the throughput and queue metrics of the producer.
+     *
+     * @return map of metric name to value, empty if the producer is not running
+     */
+    public Map<String, Double> getProducerMetrics()
+    {
+        if (producer != null)
+        {
+            return producer.getProducerMetrics();
+        }
+
+        return new HashMap<>();
+    }
+
+
     /**
      * Gets the number of events that have not been processed yet.
      * 
      * @return int
      */
     int getNumberOfUnprocessedEvents() {
-    	return incomingEventsList.size();
+    	return super.getNumberOfPendingIncomingEvents();
     }
 }
@@ -0,0 +1,147 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the producer sends a batch once it holds the maximum number of events or once the linger
+ * time has passed.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final long waitTime = 10000;
+
+
+    /**
+     * A full batch is sent without waiting for the linger time.  The events after it wait for more events
+     * to arrive.
+     *
+     * @throws Exception problem running the producer
+     */
+    @Test
+    public void testBatchSentWhenFull() throws Exception
+    {
+        MockProducer<String, String>   kafkaProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        KafkaOpenMetadataEventProducer producer      = getProducer(3, 60000, kafkaProducer);
+        Thread                         producerThread = new Thread(producer);
+
+        producerThread.start();
+
+        try
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                producer.sendEvent("event" + i);
+            }
+
+            waitForEvents(kafkaProducer, 3);
+            Thread.sleep(500);
+
+            assertEquals(kafkaProducer.history().size(), 3);
+            assertEquals(kafkaProducer.history().get(0).value(), "event0");
+            assertEquals(producer.getProducerMetrics().get("batches-sent"), 1.0);
+            assertEquals(producer.getProducerMetrics().get("events-buffered"), 2.0);
+        }
+        finally
+        {
+            producer.safeCloseProducer();
+            producerThread.join(waitTime);
+        }
+    }
+
+
+    /**
+     * A batch that does not fill up is sent once the linger time has passed.
+     *
+     * @throws Exception problem running the producer
+     */
+    @Test
+    public void testBatchSentAfterLinger() throws Exception
+    {
+        final long lingerTime = 1000;
+
+        MockProducer<String, String>   kafkaProducer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        KafkaOpenMetadataEventProducer producer      = getProducer(100, (int)lingerTime, kafkaProducer);
+        Thread                         producerThread = new Thread(producer);
+
+        producerThread.start();
+
+        try
+        {
+            long startTime = System.currentTimeMillis();
+
+            producer.sendEvent("event0");
+            producer.sendEvent("event1");
+
+            Thread.sleep(200);
+            assertTrue(kafkaProducer.history().isEmpty());
+
+            waitForEvents(kafkaProducer, 2);
+
+            assertTrue(System.currentTimeMillis() - startTime >= lingerTime);
+            assertEquals(producer.getProducerMetrics().get("batches-sent"), 1.0);
+        }
+        finally
+        {
+            producer.safeCloseProducer();
+            producerThread.join(waitTime);
+        }
+    }
+
+
+    private KafkaOpenMetadataEventProducer getProducer(int                                maxBatchEvents,
+                                                       int                                lingerTime,
+                                                       final MockProducer<String, String> kafkaProducer)
+    {
+        Properties egeriaProperties = new Properties();
+
+        egeriaProperties.setProperty("batch_mode", "true");
+        egeriaProperties.setProperty("max_batch_events", Integer.toString(maxBatchEvents));
+        egeriaProperties.setProperty("batch_linger_ms", Integer.toString(lingerTime));
+
+        OMRSAuditLog auditLog = new OMRSAuditLog(new OMRSAuditLogDestination(null),
+                                                 0,
+                                                 "KafkaOpenMetadataEventProducerTest",
+                                                 "Test",
+                                                 null);
+
+        return new KafkaOpenMetadataEventProducer("testTopic",
+                                                  "testServer",
+                                                  new KafkaOpenMetadataEventProducerConfiguration(egeriaProperties),
+                                                  new Properties(),
+                                                  null,
+                                                  auditLog)
+        {
+            @Override
+            Producer<String, String> createProducer(Properties producerProperties)
+            {
+                return kafkaProducer;
+            }
+        };
+    }
+
+
+    private void waitForEvents(MockProducer<String, String> kafkaProducer,
+                               int                          numberOfEvents) throws InterruptedException
+    {
+        long endTime = System.currentTimeMillis() + waitTime;
+
+        while ((kafkaProducer.history().size() < numberOfEvents) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+
+        assertEquals(kafkaProducer.history().size(), numberOfEvents);
+    }
+}
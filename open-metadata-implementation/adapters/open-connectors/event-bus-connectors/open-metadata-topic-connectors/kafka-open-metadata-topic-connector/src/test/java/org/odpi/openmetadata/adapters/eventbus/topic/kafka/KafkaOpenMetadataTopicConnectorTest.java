@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Validate the producer properties that are set for batch mode.
+ */
+public class KafkaOpenMetadataTopicConnectorTest
+{
+    /**
+     * Batch mode replaces the default producer properties with the batch settings.
+     */
+    @Test
+    public void testBatchDefaults()
+    {
+        Properties egeriaProperties = new Properties();
+        egeriaProperties.setProperty("batch_mode", "true");
+        egeriaProperties.setProperty("batch_linger_ms", "50");
+
+        Properties producerProperties = getDefaultProducerProperties();
+
+        KafkaOpenMetadataTopicConnector.addBatchProducerProperties(egeriaProperties, null, producerProperties);
+
+        assertEquals(producerProperties.get("compression.type"), "lz4");
+        assertEquals(producerProperties.get("linger.ms"), 50);
+        assertEquals(producerProperties.get("batch.size"), 262144);
+    }
+
+
+    /**
+     * Producer properties that are configured on the connection are not replaced by the batch settings.
+     */
+    @Test
+    public void testConfiguredPropertiesOverrideBatchDefaults()
+    {
+        Properties egeriaProperties = new Properties();
+        egeriaProperties.setProperty("batch_mode", "true");
+
+        Map<String, Object> configuredProperties = new HashMap<>();
+        configuredProperties.put("linger.ms", "5");
+        configuredProperties.put("compression.type", "gzip");
+
+        Properties producerProperties = getDefaultProducerProperties();
+        producerProperties.put("linger.ms", "5");
+        producerProperties.put("compression.type", "gzip");
+
+        KafkaOpenMetadataTopicConnector.addBatchProducerProperties(egeriaProperties, configuredProperties, producerProperties);
+
+        assertEquals(producerProperties.get("linger.ms"), "5");
+        assertEquals(producerProperties.get("compression.type"), "gzip");
+        assertEquals(producerProperties.get("batch.size"), 262144);
+    }
+
+
+    /**
+     * The configured properties are matched by name even if their keys are not strings, and anything other
+     * than a map is ignored.
+     */
+    @Test
+    public void testConfiguredPropertiesNotStrings()
+    {
+        Properties egeriaProperties = new Properties();
+        egeriaProperties.setProperty("batch_mode", "true");
+
+        Map<Object, Object> configuredProperties = new HashMap<>();
+        configuredProperties.put(new StringBuilder("batch.size"), 1024);
+
+        Properties producerProperties = getDefaultProducerProperties();
+        producerProperties.put("batch.size", 1024);
+
+        KafkaOpenMetadataTopicConnector.addBatchProducerProperties(egeriaProperties, configuredProperties, producerProperties);
+
+        assertEquals(producerProperties.get("batch.size"), 1024);
+
+        producerProperties = getDefaultProducerProperties();
+
+        KafkaOpenMetadataTopicConnector.addBatchProducerProperties(egeriaProperties, "batch.size=1024", producerProperties);
+
+        assertEquals(producerProperties.get("batch.size"), 262144);
+    }
+
+
+    /**
+     * Without batch mode the producer properties are left alone.
+     */
+    @Test
+    public void testNoBatchMode()
+    {
+        Properties producerProperties = getDefaultProducerProperties();
+
+        KafkaOpenMetadataTopicConnector.addBatchProducerProperties(new Properties(), null, producerProperties);
+
+        assertEquals(producerProperties.get("linger.ms"), 0);
+        assertEquals(producerProperties.get("batch.size"), 16384);
+        assertFalse(producerProperties.containsKey("compression.type"));
+    }
+
+
+    private Properties getDefaultProducerProperties()
+    {
+        Properties producerProperties = new Properties();
+
+        producerProperties.put("batch.size", 16384);
+        producerProperties.put("linger.ms", 0);
+
+        return producerProperties;
+    }
+}
@@ -15,6 +15,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.Constants.*;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID;
+import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.PROPERTY_NAME_NODE_ID;
 
 
 public class BerkeleyJanusFactory {
@@ -105,6 +107,9 @@ public class BerkeleyJanusFactory {
             management = checkAndAddLabelVertexOrEdge(relationshipsLabels, management);
 
             management.commit();
+
+            // Lineage queries start by looking up the queried node by its node id
+            IndexingFactory.createCompositeIndexForVertexProperty(PROPERTY_NAME_NODE_ID, PROPERTY_KEY_ENTITY_NODE_ID, false, graph);
         } catch (Exception e) {
 
             OpenLineageErrorCode errorCode = OpenLineageErrorCode.GRAPH_INITIALIZATION_ERROR;
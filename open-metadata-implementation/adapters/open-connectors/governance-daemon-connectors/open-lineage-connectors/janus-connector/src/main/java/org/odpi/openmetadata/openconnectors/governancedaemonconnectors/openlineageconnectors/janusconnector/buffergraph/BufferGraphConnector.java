@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -19,8 +20,10 @@ import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlinea
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -32,11 +35,27 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class BufferGraphConnector extends BufferGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(BufferGraphConnector.class);
+
+    /*
+     * The edges that connect a process to the columns it reads and writes.  A change to any vertex on
+     * these paths can change the lineage of the process.
+     */
+    private static final String[] PROCESS_PATH_EDGE_LABELS = {"ProcessPort", "PortDelegation", "PortSchema",
+            "AttributeForSchema", "SchemaAttributeType", "LineageMapping"};
+    private static final int MAX_PROCESS_PATH_LENGTH = 10;
+
+    /*
+     * The number of times the lineage of a changed entity is tried before it is dropped.
+     */
+    private static final int MAX_PROCESSING_ATTEMPTS = 5;
+
     private JanusGraph bufferGraph;
     private GraphVertexMapper graphVertexMapper = new GraphVertexMapper();
 
     private JanusGraph mainGraph;
 
+    private final PendingChanges pendingChanges = new PendingChanges(MAX_PROCESSING_ATTEMPTS);
+
 
     /**
      * Initialize the connector.
@@ -98,6 +117,14 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
             );
 
         verticesToBeAdded.stream().forEach(entry -> addVerticesAndRelationship(g,entry));
+
+        /*
+         * Record the entities in the event so that only the processes they affect are moved into the main graph.
+         */
+        for (GraphContext graphContext : verticesToBeAdded) {
+            pendingChanges.add(graphContext.getFromVertex().getGuid());
+            pendingChanges.add(graphContext.getToVertex().getGuid());
+        }
     }
 
     @Override
@@ -108,34 +135,130 @@ public class BufferGraphConnector extends BufferGraphConnectorBase {
         List<String> guidList = vertices.stream().map(v -> (String) v.property(PROPERTY_KEY_ENTITY_GUID).value()).collect(Collectors.toList());
 
         for (String guid : guidList) {
-            Iterator<Vertex> initial =  g.V().has(PROPERTY_KEY_ENTITY_GUID,guid).has("displayName","initial_load");
-            if(!initial.hasNext()) {
+            processLineage(g, guid);
+        }
+        g.tx().commit();
+    }
+
+    /**
+     * Move the lineage of the processes affected by the entities added since the last call into the main graph.
+     * The processes are the ones found in the events, plus any process that reaches a changed entity through
+     * its ports, schemas and lineage mappings.  A process whose lineage can not be mapped is queued again so
+     * that it is retried with the next batch.  If the affected processes can not be found, the whole batch is
+     * queued again.  An entity that has failed the maximum number of times is dropped instead, and returned by
+     * takeDroppedChanges.
+     *
+     * @param maxBatchSize maximum number of added entities to process
+     * @return number of added entities that were processed
+     */
+    @Override
+    public int processChanges(int maxBatchSize){
+        List<String> batch = pendingChanges.takeBatch(maxBatchSize);
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        GraphTraversalSource g = bufferGraph.traversal();
+        List<String> failedProcessGUIDs = new ArrayList<>();
+
+        try {
+            Set<String> processGUIDs = new LinkedHashSet<>();
+            g.V().has(PROPERTY_KEY_ENTITY_GUID, P.within(batch))
+                    .not(__.has(PROPERTY_KEY_ENTITY_NAME, "Process"))
+                    .repeat(__.both(PROCESS_PATH_EDGE_LABELS).simplePath())
+                    .until(__.or(__.has(PROPERTY_KEY_ENTITY_NAME, "Process"), __.loops().is(P.gte(MAX_PROCESS_PATH_LENGTH))))
+                    .has(PROPERTY_KEY_ENTITY_NAME, "Process")
+                    .dedup()
+                    .values(PROPERTY_KEY_ENTITY_GUID)
+                    .forEachRemaining(guid -> processGUIDs.add(guid.toString()));
+
+            g.V().has(PROPERTY_KEY_ENTITY_GUID, P.within(batch))
+                    .has(PROPERTY_KEY_ENTITY_NAME, "Process")
+                    .values(PROPERTY_KEY_ENTITY_GUID)
+                    .forEachRemaining(guid -> processGUIDs.add(guid.toString()));
+
+            log.debug("Processing {} changed entities affecting {} processes", batch.size(), processGUIDs.size());
+
+            for (String guid : processGUIDs) {
+                try {
+                    processLineage(g, guid);
+                } catch (RuntimeException e) {
+                    log.error("The lineage of process {} could not be moved to the main graph and will be retried", guid, e);
+                    failedProcessGUIDs.add(guid);
+                }
+            }
+            g.tx().commit();
+        } catch (RuntimeException e) {
+            g.tx().rollback();
+            requeueChanges(batch);
+            throw e;
+        }
+
+        List<String> completedGUIDs = new ArrayList<>(batch);
+        completedGUIDs.removeAll(failedProcessGUIDs);
+
+        pendingChanges.completed(completedGUIDs);
+        requeueChanges(failedProcessGUIDs);
+
+        return batch.size();
+    }
+
+    /**
+     * Queue entities again so that they are part of a later batch, or drop them if they have failed too often.
+     *
+     * @param guids unique identifiers of the entities
+     */
+    private void requeueChanges(List<String> guids) {
+        for (String guid : pendingChanges.failed(guids)) {
+            log.error("The lineage of entity {} could not be moved to the main graph after {} attempts and has been dropped",
+                    guid, MAX_PROCESSING_ATTEMPTS);
+        }
+    }
+
+    @Override
+    public int getPendingChangeCount(){
+        return pendingChanges.size();
+    }
+
+    @Override
+    public List<String> takeDroppedChanges(){
+        return pendingChanges.takeDropped();
+    }
+
+    /**
+     * Map the column to column lineage of a process from the buffer graph into the main graph.
+     *
+     * @param g traversal of the buffer graph
+     * @param guid unique identifier of the process
+     */
+    private void processLineage(GraphTraversalSource g, String guid){
+        Iterator<Vertex> initial =  g.V().has(PROPERTY_KEY_ENTITY_GUID,guid).has("displayName","initial_load");
+        if(!initial.hasNext()) {
 
 
-                List<Vertex> inputPath = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).out("ProcessPort").out("PortDelegation").has("PortImplementation", "portType", "INPUT_PORT")
-                        .out("PortSchema").out("AttributeForSchema").out("SchemaAttributeType").in("LineageMapping").in("SchemaAttributeType")
-                        .toList();
+            List<Vertex> inputPath = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).out("ProcessPort").out("PortDelegation").has("PortImplementation", "portType", "INPUT_PORT")
+                    .out("PortSchema").out("AttributeForSchema").out("SchemaAttributeType").in("LineageMapping").in("SchemaAttributeType")
+                    .toList();
 
-                Vertex process = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
-                for (Vertex vertex : inputPath) {
-                    String vertexGuid = vertex.value(PROPERTY_KEY_ENTITY_GUID);
-                    Iterator<Vertex> r = g.V().has(PROPERTY_KEY_ENTITY_GUID, vertexGuid).out("SchemaAttributeType").out("LineageMapping");
+            Vertex process = g.V().has(PROPERTY_KEY_ENTITY_GUID, guid).next();
+            for (Vertex vertex : inputPath) {
+                String vertexGuid = vertex.value(PROPERTY_KEY_ENTITY_GUID);
+                Iterator<Vertex> r = g.V().has(PROPERTY_KEY_ENTITY_GUID, vertexGuid).out("SchemaAttributeType").out("LineageMapping");
 
-                    Iterator<Vertex> columnOut = findPathForOutputAsset(r.next(), g);
-                    if (columnOut != null && columnOut.hasNext()) {
-                        String columnOutGuid = columnOut.next().values(PROPERTY_KEY_ENTITY_GUID).next().toString();
-                        String columnInGuid = vertex.values(PROPERTY_KEY_ENTITY_GUID).next().toString();
+                Iterator<Vertex> columnOut = findPathForOutputAsset(r.next(), g);
+                if (columnOut != null && columnOut.hasNext()) {
+                    String columnOutGuid = columnOut.next().values(PROPERTY_KEY_ENTITY_GUID).next().toString();
+                    String columnInGuid = vertex.values(PROPERTY_KEY_ENTITY_GUID).next().toString();
 
 
-                        if (!columnOutGuid.isEmpty() && !columnInGuid.isEmpty()) {
-                            MainGraphMapper mainGraphMapper = new MainGraphMapper();
-                            mainGraphMapper.mapStructure(columnInGuid, process, columnOutGuid,mainGraph);
-                        }
+                    if (!columnOutGuid.isEmpty() && !columnInGuid.isEmpty()) {
+                        MainGraphMapper mainGraphMapper = new MainGraphMapper();
+                        mainGraphMapper.mapStructure(columnInGuid, process, columnOutGuid,mainGraph);
                     }
                 }
             }
         }
-        g.tx().commit();
     }
 
     private void addVerticesAndRelationship(GraphTraversalSource g, GraphContext nodeToNode){
@@ -0,0 +1,122 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PendingChanges holds the unique identifiers of the entities added to the buffer graph whose lineage has not
+ * yet been moved into the main graph, in the order they arrived.  An entity whose lineage fails is queued again
+ * until it has failed the maximum number of times.  It is then dropped and kept aside so the failure can be
+ * reported.  A new event for the entity gives it a fresh set of attempts.
+ */
+class PendingChanges {
+
+    private final int maxAttempts;
+
+    private final Set<String> changedEntityGUIDs = new LinkedHashSet<>();
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+    private final List<String> droppedEntityGUIDs = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param maxAttempts number of times the lineage of an entity is tried before it is dropped
+     */
+    PendingChanges(int maxAttempts) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    /**
+     * Record an entity from a new event.
+     *
+     * @param guid unique identifier of the entity
+     */
+    synchronized void add(String guid) {
+        failedAttempts.remove(guid);
+        changedEntityGUIDs.add(guid);
+    }
+
+    /**
+     * Remove the oldest entities from the queue.
+     *
+     * @param maxBatchSize maximum number of entities to return
+     * @return unique identifiers of the entities
+     */
+    synchronized List<String> takeBatch(int maxBatchSize) {
+        List<String> batch = new ArrayList<>();
+
+        Iterator<String> iterator = changedEntityGUIDs.iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+
+        return batch;
+    }
+
+    /**
+     * Record that the lineage of the entities has been moved into the main graph.
+     *
+     * @param guids unique identifiers of the entities
+     */
+    synchronized void completed(List<String> guids) {
+        for (String guid : guids) {
+            failedAttempts.remove(guid);
+        }
+    }
+
+    /**
+     * Record that the lineage of the entities could not be moved into the main graph.  Each entity is queued
+     * again, unless it has now failed the maximum number of times.
+     *
+     * @param guids unique identifiers of the entities
+     * @return unique identifiers of the entities that have been dropped
+     */
+    synchronized List<String> failed(List<String> guids) {
+        List<String> dropped = new ArrayList<>();
+
+        for (String guid : guids) {
+            int attempts = failedAttempts.getOrDefault(guid, 0) + 1;
+
+            if (attempts >= maxAttempts) {
+                failedAttempts.remove(guid);
+                droppedEntityGUIDs.add(guid);
+                dropped.add(guid);
+            } else {
+                failedAttempts.put(guid, attempts);
+                changedEntityGUIDs.add(guid);
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Return the entities dropped since the last call.
+     *
+     * @return unique identifiers of the entities
+     */
+    synchronized List<String> takeDropped() {
+        List<String> dropped = new ArrayList<>(droppedEntityGUIDs);
+
+        droppedEntityGUIDs.clear();
+
+        return dropped;
+    }
+
+    /**
+     * Return the number of entities waiting to be processed.
+     *
+     * @return count
+     */
+    synchronized int size() {
+        return changedEntityGUIDs.size();
+    }
+}
@@ -2,8 +2,10 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.maingraph;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -21,7 +23,6 @@ import org.odpi.openmetadata.governanceservers.openlineage.responses.LineageResp
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.berkeleydb.BerkeleyBufferJanusFactory;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.berkeleydb.BerkeleyJanusFactory;
 import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph.GraphVertexMapper;
-import org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +30,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
 import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.utils.GraphConstants.*;
@@ -36,6 +38,12 @@ import static org.odpi.openmetadata.openconnectors.governancedaemonconnectors.op
 public class MainGraphConnector extends MainGraphConnectorBase {
 
     private static final Logger log = LoggerFactory.getLogger(MainGraphConnector.class);
+
+    private static final String LINEAGE_CACHE_SIZE_PROPERTY = "lineageCacheSize";
+    private static final String MAX_LINEAGE_DEPTH_PROPERTY = "maxLineageDepth";
+    private static final int DEFAULT_LINEAGE_CACHE_SIZE = 100;
+    private static final int DEFAULT_MAX_LINEAGE_DEPTH = 100;
+
     private JanusGraph bufferGraph;
     private GraphVertexMapper graphVertexMapper = new GraphVertexMapper();
     private JanusGraph mainGraph;
@@ -43,6 +51,21 @@ public class MainGraphConnector extends MainGraphConnectorBase {
 
     private JanusGraph mockGraph;
 
+    private int maxLineageDepth = DEFAULT_MAX_LINEAGE_DEPTH;
+    private int lineageCacheSize = DEFAULT_LINEAGE_CACHE_SIZE;
+
+    /*
+     * Least recently used lineage results, keyed by graph, scope, view and guid.  The generation is incremented
+     * each time the cache is invalidated so that a query that was running at the time does not add a stale result.
+     */
+    private final Map<String, LineageResponse> lineageCache = new LinkedHashMap<String, LineageResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LineageResponse> eldest) {
+            return size() > lineageCacheSize;
+        }
+    };
+    private final AtomicLong lineageCacheGeneration = new AtomicLong(0);
+
     /**
      * Initialize the connector.
      *
@@ -53,6 +76,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     public void initialize(String connectorInstanceId, ConnectionProperties connectionProperties) {
 
         super.initialize(connectorInstanceId, connectionProperties);
+        initializeLineageSettings();
         initializeGraphDB();
     }
 
@@ -66,6 +90,27 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     }
 
 
+    /**
+     * Read the depth limit for lineage traversals and the size of the lineage cache from the configuration
+     * properties of the connection.  A cache size of 0 turns off caching.
+     */
+    private void initializeLineageSettings() {
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+        if (configurationProperties == null) {
+            return;
+        }
+
+        Object cacheSizeValue = configurationProperties.get(LINEAGE_CACHE_SIZE_PROPERTY);
+        Object maxDepthValue = configurationProperties.get(MAX_LINEAGE_DEPTH_PROPERTY);
+
+        if (cacheSizeValue instanceof Integer && (Integer) cacheSizeValue >= 0) {
+            lineageCacheSize = (Integer) cacheSizeValue;
+        }
+        if (maxDepthValue instanceof Integer && (Integer) maxDepthValue > 0) {
+            maxLineageDepth = (Integer) maxDepthValue;
+        }
+    }
+
     private void initializeGraphDB() {
 
         String graphDB = connectionProperties.getConfigurationProperties().get("graphDB").toString();
@@ -96,7 +141,8 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     }
 
     /**
-     * Returns a lineage subgraph.
+     * Returns a lineage subgraph.  Results from every graph except the buffer graph are cached until
+     * the main graph is changed.
      *
      * @param graphName main, buffer, mock, history.
      * @param scope     source-and-destination, end-to-end, ultimate-source, ultimate-destination, glossary.
@@ -105,6 +151,53 @@ public class MainGraphConnector extends MainGraphConnectorBase {
      * @return A subgraph containing all relevant paths, in graphSON format.
      */
     public LineageResponse lineage(String graphName, Scope scope, View view, String guid) {
+        GraphName queriedGraph = GraphName.fromString(graphName);
+        boolean cacheable = lineageCacheSize > 0 && queriedGraph != null && queriedGraph != GraphName.BUFFER;
+        String cacheKey = graphName + ":" + scope + ":" + view + ":" + guid;
+        long generation = lineageCacheGeneration.get();
+
+        if (cacheable) {
+            synchronized (lineageCache) {
+                LineageResponse cachedResponse = lineageCache.get(cacheKey);
+                if (cachedResponse != null) {
+                    return cachedResponse;
+                }
+            }
+        }
+
+        LineageResponse lineageResponse = queryLineage(graphName, scope, view, guid);
+
+        if (cacheable && lineageResponse != null) {
+            synchronized (lineageCache) {
+                if (generation == lineageCacheGeneration.get()) {
+                    lineageCache.put(cacheKey, lineageResponse);
+                }
+            }
+        }
+        return lineageResponse;
+    }
+
+    /**
+     * Discard the cached lineage results.  Called after the buffer graph has been merged into the main graph.
+     */
+    @Override
+    public void invalidateLineageCache() {
+        synchronized (lineageCache) {
+            lineageCacheGeneration.incrementAndGet();
+            lineageCache.clear();
+        }
+    }
+
+    /**
+     * Run the lineage query for the requested scope.
+     *
+     * @param graphName main, buffer, mock, history.
+     * @param scope     source-and-destination, end-to-end, ultimate-source, ultimate-destination, glossary.
+     * @param view      The view queried by the user: hostview, tableview, columnview.
+     * @param guid      The guid of the node of which the lineage is queried from.
+     * @return A subgraph containing all relevant paths.
+     */
+    private LineageResponse queryLineage(String graphName, Scope scope, View view, String guid) {
 
         Graph graph = getJanusGraph(graphName);
         switch (scope) {
@@ -138,13 +231,26 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         GraphTraversalSource g = graph.traversal();
         String edgeLabel = getEdgeLabel(view);
 
+        Vertex originalQueriedVertex = getQueriedVertex(g, guid);
+        if (originalQueriedVertex == null) {
+            return emptyLineageResponse();
+        }
+
+        /*
+         * Every edge is added to the subgraph, but the traversal only continues from vertices that have
+         * not been reached before.  The dedup step inside a repeat remembers the vertices of all previous
+         * iterations and the barrier makes each iteration complete before the next starts, so the walk is
+         * breadth first and each vertex is expanded once at its shortest distance.
+         */
         Graph endToEndGraph = (Graph)
-                g.V().has(PROPERTY_KEY_ENTITY_NODE_ID, guid).
+                g.V(originalQueriedVertex).
                         union(
-                                until(inE(edgeLabel).count().is(0)).
-                                        repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV()),
-                                until(outE(edgeLabel).count().is(0)).
-                                        repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV())
+                                until(or(not(inE(edgeLabel)), loops().is(P.gte(maxLineageDepth)))).
+                                        repeat((Traversal) inE(edgeLabel).subgraph("subGraph").outV().
+                                                dedup().barrier()),
+                                until(or(not(outE(edgeLabel)), loops().is(P.gte(maxLineageDepth)))).
+                                        repeat((Traversal) outE(edgeLabel).subgraph("subGraph").inV().
+                                                dedup().barrier())
                         ).cap("subGraph").next();
 
         LineageResponse lineageResponse = getLineageResponse(endToEndGraph);
@@ -160,16 +266,21 @@ public class MainGraphConnector extends MainGraphConnectorBase {
 
     private LineageVertex abstractVertex(Vertex originalVertex) {
         try {
-            String nodeID = originalVertex.property(PROPERTY_KEY_ENTITY_NODE_ID).value().toString();
+            /*
+             * The properties are read in one go since looking them up one at a time is a separate query each.
+             */
+            Map<String, Object> properties = getVertexProperties(originalVertex);
+
+            String nodeID = properties.get(PROPERTY_KEY_ENTITY_NODE_ID).toString();
             String nodeType = originalVertex.label();
             LineageVertex lineageVertex = new LineageVertex(nodeID, nodeType);
 
-            if (originalVertex.property(PROPERTY_KEY_DISPLAY_NAME).isPresent()) {
-                String displayName = originalVertex.property(PROPERTY_KEY_DISPLAY_NAME).value().toString();
+            if (properties.containsKey(PROPERTY_KEY_DISPLAY_NAME)) {
+                String displayName = properties.get(PROPERTY_KEY_DISPLAY_NAME).toString();
                 lineageVertex.setDisplayName(displayName);
             }
-            if (originalVertex.property(PROPERTY_KEY_ENTITY_GUID).isPresent()) {
-                String guid = originalVertex.property(PROPERTY_KEY_ENTITY_GUID).value().toString();
+            if (properties.containsKey(PROPERTY_KEY_ENTITY_GUID)) {
+                String guid = properties.get(PROPERTY_KEY_ENTITY_GUID).toString();
                 lineageVertex.setGuid(guid);
             }
 
@@ -177,19 +288,19 @@ public class MainGraphConnector extends MainGraphConnectorBase {
 
             switch (nodeType) {
                 case NODE_LABEL_COLUMN:
-                    attributes = setColumnProperties(originalVertex);
+                    attributes = setColumnProperties(properties);
                     break;
                 case NODE_LABEL_TABLE:
-                    attributes = setTableProperties(originalVertex);
+                    attributes = setTableProperties(properties);
                     break;
                 case NODE_LABEL_PROCESS:
-                    attributes = setProcessProperties(originalVertex);
+                    attributes = setProcessProperties(properties);
                     break;
                 case NODE_LABEL_SUB_PROCESS:
-                    attributes = setSubProcessProperties(originalVertex);
+                    attributes = setSubProcessProperties(properties);
                     break;
                 case NODE_LABEL_GLOSSARYTERM:
-                    attributes = setGlossaryTermProperties(originalVertex);
+                    attributes = setGlossaryTermProperties(properties);
                     break;
                 default:
             }
@@ -201,33 +312,39 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         return null;
     }
 
-    private Map<String, String> setSubProcessProperties(Vertex originalVertex) {
+    private Map<String, Object> getVertexProperties(Vertex originalVertex) {
+        Map<String, Object> properties = new HashMap<>();
+        originalVertex.properties().forEachRemaining(property -> properties.put(property.key(), property.value()));
+        return properties;
+    }
+
+    private Map<String, String> setSubProcessProperties(Map<String, Object> properties) {
         Map<String, String> attributes = new HashMap<>();
         return attributes;
     }
 
-    private Map<String, String> setProcessProperties(Vertex originalVertex) {
+    private Map<String, String> setProcessProperties(Map<String, Object> properties) {
         Map<String, String> attributes = new HashMap<>();
         return attributes;
     }
 
-    private Map<String, String> setGlossaryTermProperties(Vertex originalVertex) {
+    private Map<String, String> setGlossaryTermProperties(Map<String, Object> properties) {
         Map<String, String> attributes = new HashMap<>();
         return attributes;
     }
 
-    private Map<String, String> setTableProperties(Vertex originalVertex) {
+    private Map<String, String> setTableProperties(Map<String, Object> properties) {
         Map<String, String> attributes = new HashMap<>();
-        String originalGlossaryTerm = originalVertex.property(PROPERTY_KEY_GLOSSARY_TERM).value().toString();
+        Object originalGlossaryTerm = properties.get(PROPERTY_KEY_GLOSSARY_TERM);
         if (originalGlossaryTerm != null)
-            attributes.put(PROPERTY_NAME_GLOSSARY_TERM, originalGlossaryTerm);
+            attributes.put(PROPERTY_NAME_GLOSSARY_TERM, originalGlossaryTerm.toString());
         return attributes;
     }
 
-    private Map<String, String> setColumnProperties(Vertex originalVertex) {
+    private Map<String, String> setColumnProperties(Map<String, Object> properties) {
         Map<String, String> attributes = new HashMap<>();
-        if (originalVertex.property(PROPERTY_KEY_GLOSSARY_TERM).isPresent()) {
-            String originalGlossaryTerm = originalVertex.property(PROPERTY_KEY_GLOSSARY_TERM).value().toString();
+        if (properties.containsKey(PROPERTY_KEY_GLOSSARY_TERM)) {
+            String originalGlossaryTerm = properties.get(PROPERTY_KEY_GLOSSARY_TERM).toString();
             attributes.put(PROPERTY_NAME_GLOSSARY_TERM, originalGlossaryTerm);
         }
         return attributes;
@@ -246,12 +363,12 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         GraphTraversalSource g = graph.traversal();
         String edgeLabel = getEdgeLabel(view);
 
-        List<Vertex> sourcesList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(inE(edgeLabel).count().is(0)).
-                repeat(inE(edgeLabel).outV().simplePath()).
-                dedup().toList();
+        Vertex originalQueriedVertex = getQueriedVertex(g, guid);
+        if (originalQueriedVertex == null) {
+            return emptyLineageResponse();
+        }
 
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
+        List<Vertex> sourcesList = getUltimateSources(g, originalQueriedVertex, edgeLabel);
 
         List<LineageVertex> lineageVertices = new ArrayList<>();
         List<LineageEdge> lineageEdges = new ArrayList<>();
@@ -259,7 +376,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         LineageVertex queriedVertex = abstractVertex(originalQueriedVertex);
         lineageVertices.add(queriedVertex);
 
-        addSourceCondensation(sourcesList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
+        addSourceCondensation(sourcesList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex, edgeLabel);
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
         LineageResponse lineageResponse = new LineageResponse(lineageVerticesAndEdges);
         return lineageResponse;
@@ -278,12 +395,13 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     private LineageResponse ultimateDestination(Graph graph, View view, String guid) {
         GraphTraversalSource g = graph.traversal();
         String edgeLabel = getEdgeLabel(view);
-        List<Vertex> destinationsList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(outE(edgeLabel).count().is(0)).
-                repeat(outE(edgeLabel).inV().simplePath()).
-                dedup().toList();
 
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
+        Vertex originalQueriedVertex = getQueriedVertex(g, guid);
+        if (originalQueriedVertex == null) {
+            return emptyLineageResponse();
+        }
+
+        List<Vertex> destinationsList = getUltimateDestinations(g, originalQueriedVertex, edgeLabel);
 
         LineageVertex queriedVertex = abstractVertex(originalQueriedVertex);
 
@@ -292,7 +410,7 @@ public class MainGraphConnector extends MainGraphConnectorBase {
 
         lineageVertices.add(queriedVertex);
 
-        addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
+        addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex, edgeLabel);
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
         LineageResponse lineageResponse = new LineageResponse(lineageVerticesAndEdges);
         return lineageResponse;
@@ -311,40 +429,97 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         GraphTraversalSource g = graph.traversal();
         String edgeLabel = getEdgeLabel(view);
 
-        List<Vertex> sourcesList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(inE(edgeLabel).count().is(0)).
-                repeat(inE(edgeLabel).outV().simplePath()).
-                dedup().toList();
+        Vertex originalQueriedVertex = getQueriedVertex(g, guid);
+        if (originalQueriedVertex == null) {
+            return emptyLineageResponse();
+        }
 
-        List<Vertex> destinationsList = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).
-                until(outE(edgeLabel).count().is(0)).
-                repeat(outE(edgeLabel).inV().simplePath()).
-                dedup().toList();
+        List<Vertex> sourcesList = getUltimateSources(g, originalQueriedVertex, edgeLabel);
+        List<Vertex> destinationsList = getUltimateDestinations(g, originalQueriedVertex, edgeLabel);
 
-        Vertex originalQueriedVertex = g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid).next();
         LineageVertex queriedVertex = abstractVertex(originalQueriedVertex);
 
         List<LineageVertex> lineageVertices = new ArrayList<>();
         List<LineageEdge> lineageEdges = new ArrayList<>();
         lineageVertices.add(queriedVertex);
-        addSourceCondensation(sourcesList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
+        addSourceCondensation(sourcesList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex, edgeLabel);
 
-        addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex);
+        addDestinationCondensation(destinationsList, lineageVertices, lineageEdges, originalQueriedVertex, queriedVertex, edgeLabel);
 
         LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(lineageVertices, lineageEdges);
         LineageResponse lineageResponse = new LineageResponse(lineageVerticesAndEdges);
         return lineageResponse;
     }
 
-    private void addSourceCondensation(List<Vertex> sourcesList, List<LineageVertex> lineageVertices, List<LineageEdge> lineageEdges, Vertex originalQueriedVertex, LineageVertex queriedVertex) {
+    /**
+     * Returns the vertices with no incoming lineage edges that lead to the queried vertex.  Each vertex is
+     * only visited once, however many paths lead to it, since the dedup step inside the repeat remembers the
+     * vertices reached in earlier iterations.  If the traversal reaches the maximum depth, the
+     * vertices reached at that depth are returned as well.  They still have incoming lineage edges, which is
+     * how the condensation marks them as truncated rather than true sources.
+     *
+     * @param g                     traversal source of the queried graph.
+     * @param originalQueriedVertex the vertex of which the lineage is queried.
+     * @param edgeLabel             the label of the lineage edges to follow.
+     * @return the source vertices, or the queried vertex if it has no incoming lineage edges.
+     */
+    private List<Vertex> getUltimateSources(GraphTraversalSource g, Vertex originalQueriedVertex, String edgeLabel) {
+        return g.V(originalQueriedVertex).
+                until(or(not(inE(edgeLabel)), loops().is(P.gte(maxLineageDepth)))).
+                repeat(inE(edgeLabel).outV().dedup().barrier()).
+                dedup().toList();
+    }
+
+    /**
+     * Returns the vertices with no outgoing lineage edges that the queried vertex leads to.  Each vertex is
+     * only visited once, however many paths lead to it.  If the traversal reaches the maximum depth, the
+     * vertices reached at that depth are returned as well.  They still have outgoing lineage edges, which is
+     * how the condensation marks them as truncated rather than true destinations.
+     *
+     * @param g                     traversal source of the queried graph.
+     * @param originalQueriedVertex the vertex of which the lineage is queried.
+     * @param edgeLabel             the label of the lineage edges to follow.
+     * @return the destination vertices, or the queried vertex if it has no outgoing lineage edges.
+     */
+    private List<Vertex> getUltimateDestinations(GraphTraversalSource g, Vertex originalQueriedVertex, String edgeLabel) {
+        return g.V(originalQueriedVertex).
+                until(or(not(outE(edgeLabel)), loops().is(P.gte(maxLineageDepth)))).
+                repeat(outE(edgeLabel).inV().dedup().barrier()).
+                dedup().toList();
+    }
+
+    /**
+     * Look up the queried vertex by its node id.
+     *
+     * @param g    traversal source of the queried graph.
+     * @param guid the node id of the queried vertex.
+     * @return the vertex, or null if it is not in the graph.
+     */
+    private Vertex getQueriedVertex(GraphTraversalSource g, String guid) {
+        Optional<Vertex> queriedVertex = g.V().has(PROPERTY_KEY_ENTITY_NODE_ID, guid).tryNext();
+        if (!queriedVertex.isPresent()) {
+            log.debug("Node {} is not in the queried graph", guid);
+            return null;
+        }
+        return queriedVertex.get();
+    }
+
+    private LineageResponse emptyLineageResponse() {
+        LineageVerticesAndEdges lineageVerticesAndEdges = new LineageVerticesAndEdges(new ArrayList<>(), new ArrayList<>());
+        return new LineageResponse(lineageVerticesAndEdges);
+    }
+
+    private void addSourceCondensation(List<Vertex> sourcesList, List<LineageVertex> lineageVertices, List<LineageEdge> lineageEdges, Vertex originalQueriedVertex, LineageVertex queriedVertex, String edgeLabel) {
         //Only add condensed node if there is something to condense in the first place. The gremlin query returns the queried node
         //when there isn't any.
-        if (!sourcesList.get(0).property(PROPERTY_KEY_ENTITY_NODE_ID).equals(originalQueriedVertex.property(PROPERTY_KEY_ENTITY_NODE_ID))) {
+        if (!sourcesList.isEmpty() && !sourcesList.get(0).property(PROPERTY_KEY_ENTITY_NODE_ID).equals(originalQueriedVertex.property(PROPERTY_KEY_ENTITY_NODE_ID))) {
             LineageVertex condensedVertex = new LineageVertex("condensedSource", NODE_LABEL_CONDENSED);
             lineageVertices.add(condensedVertex);
 
             for (Vertex originalVertex : sourcesList) {
                 LineageVertex newVertex = abstractVertex(originalVertex);
+                if (originalVertex.edges(Direction.IN, edgeLabel).hasNext())
+                    markTruncated(newVertex);
                 LineageEdge newEdge = new LineageEdge(
                         EDGE_LABEL_CONDENSED,
                         newVertex.getNodeID(),
@@ -364,13 +539,15 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         }
     }
 
-    private void addDestinationCondensation(List<Vertex> destinationsList, List<LineageVertex> lineageVertices, List<LineageEdge> lineageEdges, Vertex originalQueriedVertex, LineageVertex queriedVertex) {
+    private void addDestinationCondensation(List<Vertex> destinationsList, List<LineageVertex> lineageVertices, List<LineageEdge> lineageEdges, Vertex originalQueriedVertex, LineageVertex queriedVertex, String edgeLabel) {
         //Only add condensed node if there is something to condense in the first place. The gremlin query returns the queried node
         //when there isn't any.
-        if (!destinationsList.get(0).property(PROPERTY_KEY_ENTITY_NODE_ID).equals(originalQueriedVertex.property(PROPERTY_KEY_ENTITY_NODE_ID))) {
+        if (!destinationsList.isEmpty() && !destinationsList.get(0).property(PROPERTY_KEY_ENTITY_NODE_ID).equals(originalQueriedVertex.property(PROPERTY_KEY_ENTITY_NODE_ID))) {
             LineageVertex condensedDestinationVertex = new LineageVertex("condensedDestination", NODE_LABEL_CONDENSED);
             for (Vertex originalVertex : destinationsList) {
                 LineageVertex newVertex = abstractVertex(originalVertex);
+                if (originalVertex.edges(Direction.OUT, edgeLabel).hasNext())
+                    markTruncated(newVertex);
                 LineageEdge newEdge = new LineageEdge(
                         EDGE_LABEL_CONDENSED,
                         condensedDestinationVertex.getNodeID(),
@@ -391,6 +568,23 @@ public class MainGraphConnector extends MainGraphConnectorBase {
         }
     }
 
+    /**
+     * Mark a vertex that was only returned because the traversal stopped at the maximum depth, so that it is
+     * not mistaken for an ultimate source or destination.
+     *
+     * @param lineageVertex the vertex to mark.
+     */
+    private void markTruncated(LineageVertex lineageVertex) {
+        if (lineageVertex == null)
+            return;
+        Map<String, String> attributes = lineageVertex.getAttributes();
+        if (attributes == null) {
+            attributes = new HashMap<>();
+            lineageVertex.setAttributes(attributes);
+        }
+        attributes.put(PROPERTY_NAME_LINEAGE_TRUNCATED, "true");
+        log.debug("Lineage of node {} was truncated at the maximum depth of {}", lineageVertex.getNodeID(), maxLineageDepth);
+    }
 
     /**
      * Returns a subgraph containing all columns or tables connected to the queried glossary term, as well as all
@@ -403,10 +597,17 @@ public class MainGraphConnector extends MainGraphConnectorBase {
     private LineageResponse glossary(Graph graph, String guid) {
         GraphTraversalSource g = graph.traversal();
 
+        Vertex originalQueriedVertex = getQueriedVertex(g, guid);
+        if (originalQueriedVertex == null) {
+            return emptyLineageResponse();
+        }
+
         Graph subGraph = (Graph)
-                g.V().has(GraphConstants.PROPERTY_KEY_ENTITY_NODE_ID, guid)
+                g.V(originalQueriedVertex)
                         .emit().
-                        repeat(bothE(EDGE_LABEL_GLOSSARYTERM_TO_GLOSSARYTERM).subgraph("subGraph").simplePath().otherV())
+                        repeat(bothE(EDGE_LABEL_GLOSSARYTERM_TO_GLOSSARYTERM).subgraph("subGraph").otherV()
+                                .dedup().barrier())
+                        .until(loops().is(P.gte(maxLineageDepth)))
                         .inE(EDGE_LABEL_SEMANTIC).subgraph("subGraph").outV()
                         .cap("subGraph").next();
 
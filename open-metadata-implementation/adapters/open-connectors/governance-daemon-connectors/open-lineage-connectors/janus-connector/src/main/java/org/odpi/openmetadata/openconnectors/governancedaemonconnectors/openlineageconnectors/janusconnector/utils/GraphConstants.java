@@ -33,6 +33,7 @@ public class GraphConstants {
     public static final String PROPERTY_NAME_PROCESS_TYPE = "processType";
     public static final String PROPERTY_NAME_PARENT_PROCESS_GUID = "parent.process.guid";
     public static final String PROPERTY_NAME_GLOSSARY = "glossary";
+    public static final String PROPERTY_NAME_LINEAGE_TRUNCATED = "lineageTruncated";
 
 
     public static final String NODE_LABEL_TABLE = "table";
@@ -96,6 +97,7 @@ public class GraphConstants {
         put(PROPERTY_NAME_UPDATE_TIME, "java.lang.Date");
         put(PROPERTY_NAME_LABEL, "java.lang.String");
         put(PROPERTY_NAME_PROXY, "java.lang.Boolean");
+        put(PROPERTY_NAME_NODE_ID, "java.lang.String");
 
     }};
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.openconnectors.governancedaemonconnectors.openlineageconnectors.janusconnector.buffergraph;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate the queue of changed entities that the buffer graph connector processes into the main graph.
+ */
+public class PendingChangesTest {
+
+    /**
+     * Batches are taken in the order the entities arrived and an entity is only queued once.
+     */
+    @Test
+    public void testBatches() {
+        PendingChanges pendingChanges = new PendingChanges(3);
+
+        pendingChanges.add("guid-1");
+        pendingChanges.add("guid-2");
+        pendingChanges.add("guid-1");
+        pendingChanges.add("guid-3");
+
+        assertEquals(pendingChanges.size(), 3);
+        assertEquals(pendingChanges.takeBatch(2), Arrays.asList("guid-1", "guid-2"));
+        assertEquals(pendingChanges.takeBatch(2), Collections.singletonList("guid-3"));
+        assertTrue(pendingChanges.takeBatch(2).isEmpty());
+    }
+
+    /**
+     * A failed entity is queued again until it has failed the maximum number of times, and is then dropped.
+     */
+    @Test
+    public void testFailedChangesRequeuedThenDropped() {
+        PendingChanges pendingChanges = new PendingChanges(3);
+
+        pendingChanges.add("guid-1");
+
+        for (int attempt = 1; attempt < 3; attempt++) {
+            assertEquals(pendingChanges.takeBatch(10), Collections.singletonList("guid-1"));
+            assertTrue(pendingChanges.failed(Collections.singletonList("guid-1")).isEmpty());
+            assertEquals(pendingChanges.size(), 1);
+        }
+
+        assertEquals(pendingChanges.takeBatch(10), Collections.singletonList("guid-1"));
+        assertEquals(pendingChanges.failed(Collections.singletonList("guid-1")), Collections.singletonList("guid-1"));
+        assertEquals(pendingChanges.size(), 0);
+
+        assertEquals(pendingChanges.takeDropped(), Collections.singletonList("guid-1"));
+        assertTrue(pendingChanges.takeDropped().isEmpty());
+    }
+
+    /**
+     * A new event for an entity, or its lineage being processed, gives it a fresh set of attempts.
+     */
+    @Test
+    public void testAttemptsReset() {
+        PendingChanges pendingChanges = new PendingChanges(2);
+
+        pendingChanges.failed(Arrays.asList("guid-1", "guid-2"));
+        pendingChanges.takeBatch(10);
+
+        pendingChanges.add("guid-1");
+        pendingChanges.completed(Collections.singletonList("guid-2"));
+
+        assertTrue(pendingChanges.failed(Arrays.asList("guid-1", "guid-2")).isEmpty());
+        assertEquals(pendingChanges.failed(Arrays.asList("guid-1", "guid-2")), Arrays.asList("guid-1", "guid-2"));
+    }
+}
@@ -0,0 +1,221 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+/**
+ * AuditLogIndexEntry locates one audit log record within a segment's data file along with the values of the
+ * record that are used to select it in queries.  Each entry is stored as a single tab-separated line of the
+ * segment's index file.
+ */
+class AuditLogIndexEntry
+{
+    private static final char separator     = '\t';
+    private static final int  numberOfFields = 6;
+
+    private final long   offset;
+    private final int    length;
+    private final long   timeStamp;
+    private final String severity;
+    private final String componentName;
+    private final String guid;
+
+
+    /**
+     * Constructor
+     *
+     * @param offset position of the record in the data file
+     * @param length number of bytes in the record
+     * @param timeStamp time that the record was created
+     * @param severity severity of the record
+     * @param componentName name of the component that reported the record
+     * @param guid unique identifier of the record
+     */
+    AuditLogIndexEntry(long   offset,
+                       int    length,
+                       long   timeStamp,
+                       String severity,
+                       String componentName,
+                       String guid)
+    {
+        this.offset = offset;
+        this.length = length;
+        this.timeStamp = timeStamp;
+        this.severity = clean(severity);
+        this.componentName = clean(componentName);
+        this.guid = clean(guid);
+    }
+
+
+    /**
+     * Parse a line from an index file.
+     *
+     * @param line line from the file
+     * @return index entry or null if the line is incomplete
+     */
+    static AuditLogIndexEntry fromLine(String line)
+    {
+        String[] fields = line.split(String.valueOf(separator), -1);
+
+        if (fields.length != numberOfFields)
+        {
+            return null;
+        }
+
+        try
+        {
+            return new AuditLogIndexEntry(Long.parseLong(fields[0]),
+                                          Integer.parseInt(fields[1]),
+                                          Long.parseLong(fields[2]),
+                                          emptyToNull(fields[3]),
+                                          emptyToNull(fields[4]),
+                                          emptyToNull(fields[5]));
+        }
+        catch (NumberFormatException error)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the entry formatted as a line of the index file (without the line separator).
+     *
+     * @return line
+     */
+    String toLine()
+    {
+        return Long.toString(offset) + separator +
+               Integer.toString(length) + separator +
+               Long.toString(timeStamp) + separator +
+               nullToEmpty(severity) + separator +
+               nullToEmpty(componentName) + separator +
+               nullToEmpty(guid);
+    }
+
+
+    /**
+     * Remove the characters used to delimit the fields and lines of the index file.
+     *
+     * @param value value to store
+     * @return cleaned value
+     */
+    private static String clean(String value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+
+        return value.replace(separator, ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+
+    /**
+     * Convert a null value to an empty field.
+     *
+     * @param value stored value
+     * @return field
+     */
+    private static String nullToEmpty(String value)
+    {
+        return (value == null) ? "" : value;
+    }
+
+
+    /**
+     * Convert an empty field back to null.
+     *
+     * @param value field
+     * @return stored value
+     */
+    private static String emptyToNull(String value)
+    {
+        return value.isEmpty() ? null : value;
+    }
+
+
+    /**
+     * Return the position of the record in the data file.
+     *
+     * @return byte offset
+     */
+    long getOffset()
+    {
+        return offset;
+    }
+
+
+    /**
+     * Return the number of bytes in the record.
+     *
+     * @return length
+     */
+    int getLength()
+    {
+        return length;
+    }
+
+
+    /**
+     * Return the time that the record was created.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getTimeStamp()
+    {
+        return timeStamp;
+    }
+
+
+    /**
+     * Return the severity of the record.
+     *
+     * @return severity name
+     */
+    String getSeverity()
+    {
+        return severity;
+    }
+
+
+    /**
+     * Return the name of the component that reported the record.
+     *
+     * @return component name
+     */
+    String getComponentName()
+    {
+        return componentName;
+    }
+
+
+    /**
+     * Return the unique identifier of the record.
+     *
+     * @return guid
+     */
+    String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Test whether the entry matches the query values.  Null query values match every entry.
+     *
+     * @param startTime earliest time stamp
+     * @param endTime latest time stamp
+     * @param severity required severity
+     * @param componentName required component name
+     * @return boolean
+     */
+    boolean matches(long   startTime,
+                    long   endTime,
+                    String severity,
+                    String componentName)
+    {
+        return (timeStamp >= startTime) && (timeStamp <= endTime) &&
+               ((severity == null) || (severity.equals(this.severity))) &&
+               ((componentName == null) || (componentName.equals(this.componentName)));
+    }
+}
@@ -0,0 +1,353 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * AuditLogSegment is one file of the file based audit log store.  The records are appended to the segment's
+ * data file as lines of JSON.  Alongside the data file is an index file with a line for each record giving
+ * its position in the data file, time stamp, severity, reporting component and guid.  The segment also keeps
+ * a summary of its time range, severities and components in memory so that queries can skip segments that
+ * do not contain any matching records without reading their files.
+ * <p>
+ * Only the store's writer thread appends to a segment.  Records are appended in groups and only become visible
+ * to queries once the group has been committed, at which point both files have been flushed.
+ * </p>
+ */
+class AuditLogSegment
+{
+    static final String segmentFilePrefix   = "auditlog-";
+    static final String dataFileExtension   = ".log";
+    static final String indexFileExtension  = ".idx";
+
+    private final long  startTime;
+    private final File  dataFile;
+    private final File  indexFile;
+
+    private volatile long  earliestTimeStamp = Long.MAX_VALUE;
+    private volatile long  latestTimeStamp   = Long.MIN_VALUE;
+    private volatile int   recordCount       = 0;
+
+    private final Set<String> severities     = ConcurrentHashMap.newKeySet();
+    private final Set<String> componentNames = ConcurrentHashMap.newKeySet();
+
+    /*
+     * Only used while the segment is being written.
+     */
+    private volatile List<AuditLogIndexEntry> committedEntries = null;
+    private List<AuditLogIndexEntry>          pendingEntries   = null;
+    private OutputStream                      dataStream       = null;
+    private Writer                            indexWriter      = null;
+    private long                              dataLength       = 0;
+
+
+    /**
+     * Constructor
+     *
+     * @param directory directory holding the segment files
+     * @param startTime time that the segment was started - used to name the files
+     */
+    private AuditLogSegment(File directory,
+                            long startTime)
+    {
+        this.startTime = startTime;
+        this.dataFile  = new File(directory, segmentFilePrefix + startTime + dataFileExtension);
+        this.indexFile = new File(directory, segmentFilePrefix + startTime + indexFileExtension);
+    }
+
+
+    /**
+     * Create a new segment that is ready to receive records.
+     *
+     * @param directory directory holding the segment files
+     * @param startTime time that the segment is starting
+     * @return new segment
+     * @throws IOException the files can not be created
+     */
+    static AuditLogSegment createSegment(File directory,
+                                         long startTime) throws IOException
+    {
+        AuditLogSegment segment = new AuditLogSegment(directory, startTime);
+
+        segment.dataStream       = new BufferedOutputStream(new FileOutputStream(segment.dataFile, true));
+        segment.indexWriter      = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(segment.indexFile, true),
+                                                                             StandardCharsets.UTF_8));
+        segment.dataLength       = segment.dataFile.length();
+        segment.committedEntries = Collections.synchronizedList(new ArrayList<>());
+        segment.pendingEntries   = new ArrayList<>();
+
+        return segment;
+    }
+
+
+    /**
+     * Load the summary of a segment written by an earlier run of the server.
+     *
+     * @param directory directory holding the segment files
+     * @param indexFileName name of the segment's index file
+     * @return segment or null if the file name is not that of a segment
+     * @throws IOException the index file can not be read
+     */
+    static AuditLogSegment loadSegment(File   directory,
+                                       String indexFileName) throws IOException
+    {
+        if ((! indexFileName.startsWith(segmentFilePrefix)) || (! indexFileName.endsWith(indexFileExtension)))
+        {
+            return null;
+        }
+
+        long startTime;
+
+        try
+        {
+            startTime = Long.parseLong(indexFileName.substring(segmentFilePrefix.length(),
+                                                               indexFileName.length() - indexFileExtension.length()));
+        }
+        catch (NumberFormatException error)
+        {
+            return null;
+        }
+
+        AuditLogSegment segment = new AuditLogSegment(directory, startTime);
+
+        for (AuditLogIndexEntry entry : segment.readIndexFile())
+        {
+            segment.addToSummary(entry);
+        }
+
+        return segment;
+    }
+
+
+    /**
+     * Return the time that the segment was started.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getStartTime()
+    {
+        return startTime;
+    }
+
+
+    /**
+     * Return the number of committed records in the segment.
+     *
+     * @return count
+     */
+    int getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Test whether the segment may hold records that match the query values, using only the summary.
+     *
+     * @param startTime earliest time stamp
+     * @param endTime latest time stamp
+     * @param severity required severity or null
+     * @param componentName required component name or null
+     * @return false if the segment has no matching records
+     */
+    boolean mayContain(long   startTime,
+                       long   endTime,
+                       String severity,
+                       String componentName)
+    {
+        return (recordCount > 0) &&
+               (earliestTimeStamp <= endTime) && (latestTimeStamp >= startTime) &&
+               ((severity == null) || (severities.contains(severity))) &&
+               ((componentName == null) || (componentNames.contains(componentName)));
+    }
+
+
+    /**
+     * Append a record to the segment.  It is not visible to queries until the next commit.
+     *
+     * @param record JSON form of the record
+     * @param timeStamp time that the record was created
+     * @param severity severity of the record
+     * @param componentName component that reported the record
+     * @param guid unique identifier of the record
+     * @throws IOException the record can not be written
+     */
+    void append(byte[] record,
+                long   timeStamp,
+                String severity,
+                String componentName,
+                String guid) throws IOException
+    {
+        AuditLogIndexEntry entry = new AuditLogIndexEntry(dataLength, record.length, timeStamp, severity, componentName, guid);
+
+        dataStream.write(record);
+        dataStream.write('\n');
+        dataLength += record.length + 1;
+
+        indexWriter.write(entry.toLine());
+        indexWriter.write('\n');
+
+        pendingEntries.add(entry);
+    }
+
+
+    /**
+     * Flush the records appended since the last commit and make them visible to queries.  The data file is
+     * flushed before the index file so an index entry never refers to a record that has not been written.
+     * If either flush fails the records stay pending and are not visible to queries.
+     *
+     * @throws IOException the files can not be written
+     */
+    void commit() throws IOException
+    {
+        dataStream.flush();
+        indexWriter.flush();
+
+        for (AuditLogIndexEntry entry : pendingEntries)
+        {
+            this.addToSummary(entry);
+        }
+
+        committedEntries.addAll(pendingEntries);
+        pendingEntries.clear();
+    }
+
+
+    /**
+     * Commit any remaining records and close the files.  After this the index entries are read from
+     * the index file when they are needed.
+     *
+     * @throws IOException the files can not be written
+     */
+    void close() throws IOException
+    {
+        try
+        {
+            this.commit();
+        }
+        finally
+        {
+            dataStream.close();
+            indexWriter.close();
+
+            committedEntries = null;
+        }
+    }
+
+
+    /**
+     * Return the index entries for the committed records in the order they were written.
+     *
+     * @return list of entries
+     * @throws IOException the index file can not be read
+     */
+    List<AuditLogIndexEntry> getIndexEntries() throws IOException
+    {
+        List<AuditLogIndexEntry> entries = committedEntries;
+
+        if (entries != null)
+        {
+            synchronized (entries)
+            {
+                return new ArrayList<>(entries);
+            }
+        }
+
+        return this.readIndexFile();
+    }
+
+
+    /**
+     * Read a record from the data file.
+     *
+     * @param entry index entry for the record
+     * @return JSON form of the record
+     * @throws IOException the data file can not be read
+     */
+    byte[] readRecord(AuditLogIndexEntry entry) throws IOException
+    {
+        byte[] record = new byte[entry.getLength()];
+
+        try (RandomAccessFile file = new RandomAccessFile(dataFile, "r"))
+        {
+            file.seek(entry.getOffset());
+            file.readFully(record);
+        }
+
+        return record;
+    }
+
+
+    /**
+     * Read the entries from the index file.  An incomplete last line, or an entry for a record that did not
+     * reach the data file, left by a failure part way through a write, is ignored.
+     *
+     * @return list of entries
+     * @throws IOException the index file can not be read
+     */
+    private List<AuditLogIndexEntry> readIndexFile() throws IOException
+    {
+        List<AuditLogIndexEntry> entries    = new ArrayList<>();
+        long                     dataLength = dataFile.length();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(indexFile.toPath()),
+                                                                              StandardCharsets.UTF_8)))
+        {
+            String line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                AuditLogIndexEntry entry = AuditLogIndexEntry.fromLine(line);
+
+                if ((entry != null) && (entry.getOffset() + entry.getLength() <= dataLength))
+                {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        return entries;
+    }
+
+
+    /**
+     * Include an entry in the segment's summary.
+     *
+     * @param entry index entry
+     */
+    private void addToSummary(AuditLogIndexEntry entry)
+    {
+        if (entry.getSeverity() != null)
+        {
+            severities.add(entry.getSeverity());
+        }
+
+        if (entry.getComponentName() != null)
+        {
+            componentNames.add(entry.getComponentName());
+        }
+
+        earliestTimeStamp = Math.min(earliestTimeStamp, entry.getTimeStamp());
+        latestTimeStamp = Math.max(latestTimeStamp, entry.getTimeStamp());
+        recordCount++;
+    }
+}
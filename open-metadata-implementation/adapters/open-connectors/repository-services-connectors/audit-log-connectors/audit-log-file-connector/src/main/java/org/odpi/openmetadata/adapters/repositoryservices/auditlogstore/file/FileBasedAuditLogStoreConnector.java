@@ -2,27 +2,80 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in the directory named in the endpoint of the connection as a series of segments.
+ * Each segment covers a period of time and is made up of a data file, where the records are appended as lines
+ * of JSON, and an index file giving the position, time stamp, severity, reporting component and guid of each
+ * record.  The queries use a summary of each segment, kept in memory, to skip the segments that can not
+ * contain matching records and then use the index to read only the records that are returned.
+ * <p>
+ * Records are written by a background thread so the caller of storeLogRecord never waits for the disk.
+ * The thread writes the waiting records as a group and flushes them once for the whole group.  The length of
+ * time covered by each segment is set with the "segmentDurationMinutes" configuration property and the
+ * maximum number of records waiting to be written with "maxQueuedRecords".  If the writer falls so far behind
+ * that this limit is reached, new records are discarded rather than holding up the caller.
+ * </p>
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
+    private static final ObjectReader recordReader = new ObjectMapper().readerFor(OMRSAuditLogRecord.class);
+    private static final ObjectWriter recordWriter = new ObjectMapper().writerFor(OMRSAuditLogRecord.class);
+
+    private static final String defaultDirectoryName          = "omrs.auditlog";
+    private static final String segmentDurationProperty       = "segmentDurationMinutes";
+    private static final String maxQueuedRecordsProperty      = "maxQueuedRecords";
+    private static final int    defaultSegmentDurationMinutes = 60;
+    private static final int    defaultMaxQueuedRecords       = 10000;
+    private static final int    maxRecordsPerCommit           = 1000;
+    private static final long   writerPollTime                = 1000L;
+    private static final long   queryWaitTime                 = 5000L;
+
+    private String                            directoryName    = defaultDirectoryName;
+    private File                              directory        = null;
+    private long                              segmentDuration  = defaultSegmentDurationMinutes * 60000L;
+    private BlockingQueue<OMRSAuditLogRecord> queuedRecords    = new LinkedBlockingQueue<>(defaultMaxQueuedRecords);
+    private final List<AuditLogSegment>       segments         = new CopyOnWriteArrayList<>();
+    private AuditLogSegment                   activeSegment    = null;
+    private Thread                            writerThread     = null;
+    private volatile boolean                  running          = false;
+
+    private final AtomicLong                  queuedCount      = new AtomicLong(0);
+    private final AtomicLong                  committedCount   = new AtomicLong(0);
+    private final AtomicLong                  discardedCount   = new AtomicLong(0);
+    private final Object                      commitLock       = new Object();
+
 
     /**
      * Default constructor used by the connector provider.
@@ -33,7 +86,46 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Store the audit log record in the audit log store.
+     * Initialize the connector.
+     *
+     * @param connectorInstanceId - unique id for the connector instance - useful for messages etc
+     * @param connectionProperties - POJO for the configuration used to create the connector.
+     */
+    @Override
+    public void initialize(String connectorInstanceId, ConnectionProperties connectionProperties)
+    {
+        super.initialize(connectorInstanceId, connectionProperties);
+
+        EndpointProperties endpoint = connectionProperties.getEndpoint();
+
+        if ((endpoint != null) && (endpoint.getAddress() != null))
+        {
+            directoryName = endpoint.getAddress();
+        }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object segmentDurationMinutes = configurationProperties.get(segmentDurationProperty);
+            Object maxQueuedRecords       = configurationProperties.get(maxQueuedRecordsProperty);
+
+            if ((segmentDurationMinutes instanceof Integer) && ((Integer)segmentDurationMinutes > 0))
+            {
+                segmentDuration = (Integer)segmentDurationMinutes * 60000L;
+            }
+
+            if ((maxQueuedRecords instanceof Integer) && ((Integer)maxQueuedRecords > 0))
+            {
+                queuedRecords = new LinkedBlockingQueue<>((Integer)maxQueuedRecords);
+            }
+        }
+    }
+
+
+    /**
+     * Store the audit log record in the audit log store.  The record is queued for the writer thread and
+     * a guid is assigned if it does not already have one.
      *
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
@@ -56,9 +148,23 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                 errorCode.getUserAction());
         }
 
-        log.debug("AuditLogRecord: " + logRecord.toString());
+        if (logRecord.getGUID() == null)
+        {
+            logRecord.setGUID(UUID.randomUUID().toString());
+        }
 
-        return null;
+        if (queuedRecords.offer(logRecord))
+        {
+            queuedCount.incrementAndGet();
+        }
+        else
+        {
+            long discarded = discardedCount.incrementAndGet();
+
+            log.error("Audit log store " + directoryName + " is full; " + discarded + " records discarded.  Discarding: " + logRecord.toString());
+        }
+
+        return logRecord.getGUID();
     }
 
 
@@ -71,6 +177,33 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      */
     public OMRSAuditLogRecord  getAuditLogRecord(String     logRecordId) throws InvalidParameterException
     {
+        final String methodName = "getAuditLogRecord";
+
+        this.validateQueryValue(logRecordId, "logRecordId", methodName);
+        this.waitForQueuedRecords();
+
+        /*
+         * Recent records are the most likely to be requested.
+         */
+        for (int i = segments.size() - 1; i >= 0; i--)
+        {
+            AuditLogSegment segment = segments.get(i);
+
+            try
+            {
+                for (AuditLogIndexEntry entry : segment.getIndexEntries())
+                {
+                    if (logRecordId.equals(entry.getGUID()))
+                    {
+                        return this.readRecord(segment, entry);
+                    }
+                }
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to read audit log segment " + segment.getStartTime() + " from " + directoryName, error);
+            }
+        }
 
         return null;
     }
@@ -94,7 +227,9 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int     maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String methodName = "getAuditLogRecordsByTimeStamp";
+
+        return this.findRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
     /**
@@ -117,7 +252,11 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                  int      maximumRecords) throws InvalidParameterException,
                                                                                                  PagingErrorException
     {
-        return null;
+        final String methodName = "getAuditLogRecordsBySeverity";
+
+        this.validateQueryValue(severity, "severity", methodName);
+
+        return this.findRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -141,28 +280,495 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                   int    maximumRecords) throws InvalidParameterException,
                                                                                                 PagingErrorException
     {
-        return null;
+        final String methodName = "getAuditLogRecordsByComponent";
+
+        this.validateQueryValue(component, "component", methodName);
+
+        return this.findRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
+    }
+
+
+    /**
+     * Locate the records matching the query values.  The records are returned in the order they were written.
+     * Null dates leave that end of the time period open and a maximumRecords of zero means there is no limit.
+     *
+     * @param severity required severity or null
+     * @param componentName required component name or null
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset number of matching records to skip
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @return list of log records or null if there are none
+     * @throws InvalidParameterException the dates are the wrong way round
+     * @throws PagingErrorException the offset or maximumRecords is negative
+     */
+    private List<OMRSAuditLogRecord> findRecords(String severity,
+                                                 String componentName,
+                                                 Date   startDate,
+                                                 Date   endDate,
+                                                 int    offset,
+                                                 int    maximumRecords,
+                                                 String methodName) throws InvalidParameterException,
+                                                                           PagingErrorException
+    {
+        this.validateQueryPeriod(startDate, endDate, methodName);
+        this.validatePagingValue(offset, "offset", methodName);
+        this.validatePagingValue(maximumRecords, "maximumRecords", methodName);
+
+        this.waitForQueuedRecords();
+
+        long startTime = (startDate == null) ? Long.MIN_VALUE : startDate.getTime();
+        long endTime   = (endDate == null) ? Long.MAX_VALUE : endDate.getTime();
+
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+        int                      skipped = 0;
+
+        for (AuditLogSegment segment : segments)
+        {
+            if (segment.mayContain(startTime, endTime, severity, componentName))
+            {
+                try
+                {
+                    for (AuditLogIndexEntry entry : segment.getIndexEntries())
+                    {
+                        if (entry.matches(startTime, endTime, severity, componentName))
+                        {
+                            if (skipped < offset)
+                            {
+                                skipped++;
+                            }
+                            else
+                            {
+                                OMRSAuditLogRecord logRecord = this.readRecord(segment, entry);
+
+                                if (logRecord != null)
+                                {
+                                    results.add(logRecord);
+                                }
+
+                                if ((maximumRecords > 0) && (results.size() >= maximumRecords))
+                                {
+                                    return results;
+                                }
+                            }
+                        }
+                    }
+                }
+                catch (IOException error)
+                {
+                    log.error("Unable to read audit log segment " + segment.getStartTime() + " from " + directoryName, error);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Read a single record from a segment.
+     *
+     * @param segment segment holding the record
+     * @param entry index entry for the record
+     * @return log record or null if it can not be parsed
+     * @throws IOException the segment can not be read
+     */
+    private OMRSAuditLogRecord readRecord(AuditLogSegment    segment,
+                                          AuditLogIndexEntry entry) throws IOException
+    {
+        try
+        {
+            return recordReader.readValue(segment.readRecord(entry));
+        }
+        catch (JsonProcessingException error)
+        {
+            log.error("Unable to parse audit log record " + entry.getGUID() + " from " + directoryName, error);
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Wait for the records queued before the query to be written so that the query sees them.  The wait
+     * is bounded in case the writer is not able to keep up.
+     */
+    private void waitForQueuedRecords()
+    {
+        long target   = queuedCount.get();
+        long deadline = System.currentTimeMillis() + queryWaitTime;
+
+        synchronized (commitLock)
+        {
+            while ((running) && (committedCount.get() < target))
+            {
+                long remainingTime = deadline - System.currentTimeMillis();
+
+                if (remainingTime <= 0)
+                {
+                    return;
+                }
+
+                try
+                {
+                    commitLock.wait(remainingTime);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Throw an exception if a query value is null.
+     *
+     * @param value value to test
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the value is null
+     */
+    private void validateQueryValue(String value,
+                                    String parameterName,
+                                    String methodName) throws InvalidParameterException
+    {
+        if (value == null)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.NULL_AUDIT_LOG_QUERY_VALUE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(parameterName,
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
     }
 
 
     /**
-     * Indicates that the connector is completely configured and can begin processing.
+     * Throw an exception if the start date is after the end date.
+     *
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param methodName calling method
+     * @throws InvalidParameterException the dates are the wrong way round
+     */
+    private void validateQueryPeriod(Date   startDate,
+                                     Date   endDate,
+                                     String methodName) throws InvalidParameterException
+    {
+        if ((startDate != null) && (endDate != null) && (startDate.after(endDate)))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.INVALID_AUDIT_LOG_TIME_PERIOD;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(startDate.toString(),
+                                                                                                            endDate.toString(),
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new InvalidParameterException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Throw an exception if a paging value is negative.
+     *
+     * @param value value to test
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws PagingErrorException the value is negative
+     */
+    private void validatePagingValue(int    value,
+                                     String parameterName,
+                                     String methodName) throws PagingErrorException
+    {
+        if (value < 0)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.NEGATIVE_AUDIT_LOG_PAGING_VALUE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(Integer.toString(value),
+                                                                                                            parameterName,
+                                                                                                            methodName,
+                                                                                                            directoryName);
+
+            throw new PagingErrorException(errorCode.getHTTPErrorCode(),
+                                           this.getClass().getName(),
+                                           methodName,
+                                           errorMessage,
+                                           errorCode.getSystemAction(),
+                                           errorCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Write the queued records to the active segment until the connector is disconnected.  Each group of
+     * records taken from the queue is committed with a single flush.
+     */
+    private void writeQueuedRecords()
+    {
+        List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+
+        while (running || (! queuedRecords.isEmpty()))
+        {
+            try
+            {
+                OMRSAuditLogRecord firstRecord = queuedRecords.poll(writerPollTime, TimeUnit.MILLISECONDS);
+
+                if (firstRecord != null)
+                {
+                    logRecords.add(firstRecord);
+                    queuedRecords.drainTo(logRecords, maxRecordsPerCommit - 1);
+
+                    this.writeRecords(logRecords);
+                    logRecords.clear();
+                }
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Audit log writer interrupted");
+            }
+        }
+
+        try
+        {
+            if (activeSegment != null)
+            {
+                activeSegment.close();
+            }
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to close audit log segment in " + directoryName, error);
+        }
+    }
+
+
+    /**
+     * Append a group of records to the active segment, starting a new segment if the active one has
+     * covered its period of time.
+     *
+     * @param logRecords records to write
+     */
+    private void writeRecords(List<OMRSAuditLogRecord> logRecords)
+    {
+        try
+        {
+            long now = System.currentTimeMillis();
+
+            if ((activeSegment == null) || (now >= activeSegment.getStartTime() + segmentDuration))
+            {
+                this.rollSegment(now);
+            }
+
+            for (OMRSAuditLogRecord logRecord : logRecords)
+            {
+                try
+                {
+                    String componentName = null;
+
+                    if (logRecord.getReportingComponent() != null)
+                    {
+                        componentName = logRecord.getReportingComponent().getComponentName();
+                    }
+
+                    activeSegment.append(recordWriter.writeValueAsBytes(logRecord),
+                                         (logRecord.getTimeStamp() == null) ? now : logRecord.getTimeStamp().getTime(),
+                                         logRecord.getSeverity(),
+                                         componentName,
+                                         logRecord.getGUID());
+                }
+                catch (JsonProcessingException error)
+                {
+                    log.error("Unable to format audit log record " + logRecord.toString(), error);
+                }
+            }
+
+            activeSegment.commit();
+        }
+        catch (IOException error)
+        {
+            log.error("Unable to write " + logRecords.size() + " audit log records to " + directoryName, error);
+
+            this.abandonSegment();
+        }
+        finally
+        {
+            committedCount.addAndGet(logRecords.size());
+
+            synchronized (commitLock)
+            {
+                commitLock.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * Close the active segment after a failed write so that the next group of records starts a new segment
+     * rather than appending after a partly written one.
+     */
+    private void abandonSegment()
+    {
+        if (activeSegment != null)
+        {
+            try
+            {
+                activeSegment.close();
+            }
+            catch (IOException error)
+            {
+                log.error("Unable to close audit log segment " + activeSegment.getStartTime() + " in " + directoryName, error);
+            }
+
+            activeSegment = null;
+        }
+    }
+
+
+    /**
+     * Close the active segment and start a new one.
+     *
+     * @param now current time
+     * @throws IOException the new segment can not be created
+     */
+    private void rollSegment(long now) throws IOException
+    {
+        if (activeSegment != null)
+        {
+            activeSegment.close();
+        }
+
+        activeSegment = AuditLogSegment.createSegment(directory, now);
+        segments.add(activeSegment);
+    }
+
+
+    /**
+     * Load the segments written by earlier runs of the server in time order.
+     *
+     * @throws IOException a segment can not be read
+     */
+    private void loadSegments() throws IOException
+    {
+        String[] fileNames = directory.list();
+
+        if (fileNames != null)
+        {
+            List<AuditLogSegment> existingSegments = new ArrayList<>();
+
+            for (String fileName : fileNames)
+            {
+                AuditLogSegment segment = AuditLogSegment.loadSegment(directory, fileName);
+
+                if (segment != null)
+                {
+                    existingSegments.add(segment);
+                }
+            }
+
+            existingSegments.sort(Comparator.comparingLong(AuditLogSegment::getStartTime));
+            segments.addAll(existingSegments);
+        }
+    }
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.  It loads the
+     * summaries of the existing segments and starts the writer thread.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     public void start() throws ConnectorCheckedException
     {
+        final String methodName = "start";
+
         super.start();
+
+        directory = new File(directoryName);
+
+        if ((! directory.isDirectory()) && (! directory.mkdirs()))
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.AUDIT_LOG_STORE_NOT_USABLE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(directoryName,
+                                                                                                            "the directory could not be created");
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction());
+        }
+
+        try
+        {
+            this.loadSegments();
+        }
+        catch (IOException error)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.AUDIT_LOG_STORE_NOT_USABLE;
+            String        errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(directoryName,
+                                                                                                            error.getMessage());
+
+            throw new ConnectorCheckedException(errorCode.getHTTPErrorCode(),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                errorMessage,
+                                                errorCode.getSystemAction(),
+                                                errorCode.getUserAction(),
+                                                error);
+        }
+
+        running = true;
+
+        writerThread = new Thread(this::writeQueuedRecords, "FileBasedAuditLogStore-" + directoryName);
+        writerThread.setDaemon(true);
+        writerThread.start();
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Free up any resources held since the connector is no longer needed.  The records waiting to be written
+     * are written before the segment is closed.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     public  void disconnect() throws ConnectorCheckedException
     {
+        running = false;
+
+        if (writerThread != null)
+        {
+            try
+            {
+                writerThread.join();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            writerThread = null;
+        }
+
         super.disconnect();
     }
 }
@@ -0,0 +1,182 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecordOriginator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate that FileBasedAuditLogStoreConnector stores audit log records and returns them from its queries,
+ * including after the connector has been restarted.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    /**
+     * Create and start a connector for the directory.
+     *
+     * @param directory directory holding the audit log
+     * @return started connector
+     * @throws Exception problem starting the connector
+     */
+    private FileBasedAuditLogStoreConnector getConnector(File directory) throws Exception
+    {
+        Endpoint   endpoint   = new Endpoint();
+        Connection connection = new Connection();
+
+        endpoint.setAddress(directory.getAbsolutePath());
+        connection.setEndpoint(endpoint);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+
+        connector.initialize("TestConnector", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Create a log record.
+     *
+     * @param componentName reporting component
+     * @param severity severity of the record
+     * @param timeStamp time of the record
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(String componentName,
+                                            String severity,
+                                            long   timeStamp)
+    {
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord(new OMRSAuditLogRecordOriginator(),
+                                                              new OMRSAuditLogReportingComponent(1, componentName, null, null),
+                                                              severity,
+                                                              "TEST-0001",
+                                                              "Test message at " + timeStamp,
+                                                              null,
+                                                              null,
+                                                              null);
+        logRecord.setTimeStamp(new Date(timeStamp));
+
+        return logRecord;
+    }
+
+
+    /**
+     * Validate the queries before and after a restart.
+     *
+     * @throws Exception problem with the audit log
+     */
+    @Test
+    public void testStoreAndQuery() throws Exception
+    {
+        File         directory = Files.createTempDirectory("auditlog").toFile();
+        List<String> guids     = new ArrayList<>();
+
+        FileBasedAuditLogStoreConnector connector = this.getConnector(directory);
+
+        for (int i = 0; i < 100; i++)
+        {
+            guids.add(connector.storeLogRecord(this.getLogRecord((i % 2 == 0) ? "ComponentA" : "ComponentB",
+                                                                 (i % 10 == 0) ? "Error" : "Information",
+                                                                 1000L + i)));
+        }
+
+        assertEquals(connector.getAuditLogRecordsByComponent("ComponentA", null, null, 0, 0).size(), 50);
+        assertEquals(connector.getAuditLogRecordsBySeverity("Error", null, null, 0, 0).size(), 10);
+        assertNull(connector.getAuditLogRecordsByComponent("ComponentC", null, null, 0, 0));
+
+        List<OMRSAuditLogRecord> page = connector.getAuditLogRecordsByTimeStamp(new Date(1010L), new Date(1049L), 5, 10);
+
+        assertEquals(page.size(), 10);
+        assertEquals(page.get(0).getTimeStamp().getTime(), 1015L);
+        assertEquals(page.get(9).getTimeStamp().getTime(), 1024L);
+
+        connector.disconnect();
+
+        connector = this.getConnector(directory);
+
+        try
+        {
+            OMRSAuditLogRecord logRecord = connector.getAuditLogRecord(guids.get(42));
+
+            assertNotNull(logRecord);
+            assertEquals(logRecord.getTimeStamp().getTime(), 1042L);
+
+            connector.storeLogRecord(this.getLogRecord("ComponentA", "Error", 2000L));
+
+            assertEquals(connector.getAuditLogRecordsBySeverity("Error", null, null, 0, 0).size(), 11);
+            assertEquals(connector.getAuditLogRecordsByComponent("ComponentB", new Date(1090L), null, 0, 0).size(), 5);
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that invalid query values are rejected.
+     *
+     * @throws Exception problem with the audit log
+     */
+    @Test
+    public void testInvalidQueries() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = this.getConnector(Files.createTempDirectory("auditlog").toFile());
+
+        try
+        {
+            try
+            {
+                connector.getAuditLogRecordsByTimeStamp(new Date(2000L), new Date(1000L), 0, 0);
+                fail("Dates in the wrong order were accepted");
+            }
+            catch (InvalidParameterException expected)
+            {
+                // expected
+            }
+
+            try
+            {
+                connector.getAuditLogRecordsBySeverity("Error", null, null, -1, 0);
+                fail("Negative offset was accepted");
+            }
+            catch (PagingErrorException expected)
+            {
+                // expected
+            }
+
+            try
+            {
+                connector.getAuditLogRecordsByComponent(null, null, null, 0, 0);
+                fail("Null component was accepted");
+            }
+            catch (InvalidParameterException expected)
+            {
+                // expected
+            }
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+}
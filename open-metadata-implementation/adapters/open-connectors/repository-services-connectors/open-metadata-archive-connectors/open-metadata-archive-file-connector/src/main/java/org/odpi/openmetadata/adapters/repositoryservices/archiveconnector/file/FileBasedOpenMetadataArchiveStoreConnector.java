@@ -2,19 +2,43 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
-import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReplayer;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamListener;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.function.Consumer;
 
+/**
+ * FileBasedOpenMetadataArchiveStoreConnector stores an open metadata archive as a JSON file.  The file is read and
+ * written with Jackson's streaming parser and generator so that the processing of the archive, one element at a time,
+ * does not need the whole archive in memory.
+ */
 public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
     /*
@@ -22,10 +46,34 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     private static final String defaultFilename = "open.metadata.archive";
 
+    /*
+     * These are the names of the fields in the archive file.  The sections of the archive are written in the
+     * order of archiveSections.  The class field holds the type name that Jackson uses to select the bean.
+     */
+    private static final String   classField                = "class";
+    private static final String   archivePropertiesField    = "archiveProperties";
+    private static final String   archiveTypeStoreField     = "archiveTypeStore";
+    private static final String   archiveInstanceStoreField = "archiveInstanceStore";
+    private static final String   attributeTypeDefsField    = "attributeTypeDefs";
+    private static final String   typeDefPatchesField       = "typeDefPatches";
+    private static final String   newTypeDefsField          = "newTypeDefs";
+    private static final String   entitiesField             = "entities";
+    private static final String   relationshipsField        = "relationships";
+    private static final String   classificationsField      = "classifications";
+
+    private static final String[] archiveSections = { archivePropertiesField,
+                                                      attributeTypeDefsField,
+                                                      typeDefPatchesField,
+                                                      newTypeDefsField,
+                                                      entitiesField,
+                                                      relationshipsField,
+                                                      classificationsField };
+
     /*
      * Variables used in writing to the file.
      */
-    private String archiveStoreName = null;
+    private String       archiveStoreName = null;
+    private ObjectMapper objectMapper     = new ObjectMapper();
 
     /*
      * Variables used for logging and debug.
@@ -72,21 +120,17 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
 
         try
         {
-            log.debug("Retrieving server configuration properties");
-
-            String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
-
-            ObjectMapper objectMapper = new ObjectMapper();
+            log.debug("Retrieving open metadata archive " + archiveStoreName);
 
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            newOpenMetadataArchive = objectMapper.readValue(archiveStoreFile, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
             /*
-             * The config file is not found, create a new one ...
+             * The archive file is not found or is not readable, return an empty archive ...
              */
 
-            log.debug("New server config Store", ioException);
+            log.debug("Unusable open metadata archive " + archiveStoreName, ioException);
 
             newOpenMetadataArchive = new OpenMetadataArchive();
         }
@@ -102,29 +146,257 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
      */
     public void setArchiveContents(OpenMetadataArchive   archiveContents)
     {
-        File    archiveStoreFile = new File(archiveStoreName);
+        log.debug("Writing open metadata archive " + archiveStoreName);
 
-        try
+        if (archiveContents == null)
+        {
+            File archiveStoreFile = new File(archiveStoreName);
+
+            archiveStoreFile.delete();
+        }
+        else
+        {
+            OpenMetadataArchiveReplayer.replay(archiveContents, this.getArchiveStreamWriter());
+        }
+    }
+
+
+    /**
+     * Pass the contents of the archive file to the listener one element at a time, finishing with a call to
+     * processArchiveComplete.  The elements are read from the file as they are passed so only one element is
+     * held in memory at a time.  If the type store or instance store comes before the archive properties in
+     * the file, it is read in full and passed to the listener after the archive properties.
+     *
+     * A missing file is passed as an empty archive.  If the file can not be read or parsed, an exception is
+     * thrown and processArchiveComplete is not called.
+     *
+     * @param listener receiver of the archive's elements
+     * @throws OMRSLogicErrorException the archive file can not be read
+     */
+    @Override
+    public void processArchiveContents(OpenMetadataArchiveStreamListener listener) throws OMRSLogicErrorException
+    {
+        final String methodName = "processArchiveContents";
+
+        File                             archiveStoreFile      = new File(archiveStoreName);
+        OpenMetadataArchiveTypeStore     deferredTypeStore     = null;
+        OpenMetadataArchiveInstanceStore deferredInstanceStore = null;
+
+        if (! archiveStoreFile.exists())
+        {
+            log.debug("Missing open metadata archive " + archiveStoreName);
+
+            listener.processArchiveComplete();
+            return;
+        }
+
+        log.debug("Streaming open metadata archive " + archiveStoreName);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(archiveStoreFile))
         {
-            log.debug("Writing open metadata archive store properties: " + archiveContents);
+            boolean propertiesProcessed = false;
 
-            if (archiveContents == null)
+            if (parser.nextToken() == JsonToken.START_OBJECT)
             {
-                archiveStoreFile.delete();
+                while (parser.nextToken() == JsonToken.FIELD_NAME)
+                {
+                    String fieldName = parser.getCurrentName();
+
+                    parser.nextToken();
+
+                    if (archivePropertiesField.equals(fieldName))
+                    {
+                        OpenMetadataArchiveProperties archiveProperties = parser.readValueAs(OpenMetadataArchiveProperties.class);
+
+                        if (archiveProperties != null)
+                        {
+                            listener.processArchiveProperties(archiveProperties);
+                        }
+
+                        propertiesProcessed = true;
+
+                        OpenMetadataArchiveReplayer.replayTypeStore(deferredTypeStore, listener);
+                        OpenMetadataArchiveReplayer.replayInstanceStore(deferredInstanceStore, listener);
+
+                        deferredTypeStore = null;
+                        deferredInstanceStore = null;
+                    }
+                    else if (archiveTypeStoreField.equals(fieldName))
+                    {
+                        if (propertiesProcessed)
+                        {
+                            this.processTypeStore(parser, listener);
+                        }
+                        else
+                        {
+                            deferredTypeStore = parser.readValueAs(OpenMetadataArchiveTypeStore.class);
+                        }
+                    }
+                    else if (archiveInstanceStoreField.equals(fieldName))
+                    {
+                        if (propertiesProcessed)
+                        {
+                            this.processInstanceStore(parser, listener);
+                        }
+                        else
+                        {
+                            deferredInstanceStore = parser.readValueAs(OpenMetadataArchiveInstanceStore.class);
+                        }
+                    }
+                    else
+                    {
+                        parser.skipChildren();
+                    }
+                }
             }
-            else
+        }
+        catch (IOException ioException)
+        {
+            log.error("Unusable open metadata archive " + archiveStoreName, ioException);
+
+            OMRSErrorCode errorCode = OMRSErrorCode.UNREADABLE_ARCHIVE;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(archiveStoreName,
+                                                                            ioException.getClass().getName(),
+                                                                            ioException.getMessage());
+
+            throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              errorMessage,
+                                              errorCode.getSystemAction(),
+                                              errorCode.getUserAction(),
+                                              ioException);
+        }
+
+        /*
+         * Any sections still deferred come from an archive without properties.
+         */
+        OpenMetadataArchiveReplayer.replayTypeStore(deferredTypeStore, listener);
+        OpenMetadataArchiveReplayer.replayInstanceStore(deferredInstanceStore, listener);
+
+        listener.processArchiveComplete();
+    }
+
+
+    /**
+     * Pass the elements of the type store to the listener.  The parser is positioned at the start of the type store.
+     *
+     * @param parser parser for the archive file
+     * @param listener receiver of the archive's elements
+     * @throws IOException the file can not be read
+     */
+    private void processTypeStore(JsonParser                        parser,
+                                  OpenMetadataArchiveStreamListener listener) throws IOException
+    {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT)
+        {
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if (attributeTypeDefsField.equals(fieldName))
+                {
+                    this.processArray(parser, AttributeTypeDef.class, listener::processAttributeTypeDef);
+                }
+                else if (typeDefPatchesField.equals(fieldName))
+                {
+                    this.processArray(parser, TypeDefPatch.class, listener::processTypeDefPatch);
+                }
+                else if (newTypeDefsField.equals(fieldName))
+                {
+                    this.processArray(parser, TypeDef.class, listener::processNewTypeDef);
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
 
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
 
-                FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
+    /**
+     * Pass the elements of the instance store to the listener.  The parser is positioned at the start of the
+     * instance store.
+     *
+     * @param parser parser for the archive file
+     * @param listener receiver of the archive's elements
+     * @throws IOException the file can not be read
+     */
+    private void processInstanceStore(JsonParser                        parser,
+                                      OpenMetadataArchiveStreamListener listener) throws IOException
+    {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT)
+        {
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                String fieldName = parser.getCurrentName();
+
+                parser.nextToken();
+
+                if (entitiesField.equals(fieldName))
+                {
+                    this.processArray(parser, EntityDetail.class, listener::processEntity);
+                }
+                else if (relationshipsField.equals(fieldName))
+                {
+                    this.processArray(parser, Relationship.class, listener::processRelationship);
+                }
+                else if (classificationsField.equals(fieldName))
+                {
+                    this.processArray(parser, ClassificationEntityExtension.class, listener::processClassification);
+                }
+                else
+                {
+                    parser.skipChildren();
+                }
             }
         }
-        catch (IOException   ioException)
+    }
+
+
+    /**
+     * Read the elements of an array one at a time, passing each to the element processor.  The parser is
+     * positioned at the start of the array.
+     *
+     * @param parser parser for the archive file
+     * @param elementClass class of the elements in the array
+     * @param elementProcessor receiver of each element
+     * @param <T> type of the elements
+     * @throws IOException the file can not be read
+     */
+    private <T> void processArray(JsonParser  parser,
+                                  Class<T>    elementClass,
+                                  Consumer<T> elementProcessor) throws IOException
+    {
+        if (parser.getCurrentToken() == JsonToken.START_ARRAY)
         {
-            log.debug("Unusable Server config Store :(", ioException);
+            while (parser.nextToken() != JsonToken.END_ARRAY)
+            {
+                elementProcessor.accept(parser.readValueAs(elementClass));
+            }
         }
+        else
+        {
+            parser.skipChildren();
+        }
+    }
+
+
+    /**
+     * Return a listener that writes the elements passed to it straight to the archive file, overriding any
+     * content previously stored.  The elements must be passed in archive order and the file is closed
+     * once processArchiveComplete is called.
+     *
+     * @return listener that writes to the archive file
+     */
+    @Override
+    public OpenMetadataArchiveStreamListener getArchiveStreamWriter()
+    {
+        return new ArchiveFileWriter();
     }
 
 
@@ -148,6 +420,283 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     {
         super.disconnect();
 
-        log.debug("Closing Config Store.");
+        log.debug("Closing open metadata archive " + archiveStoreName);
+    }
+
+
+    /**
+     * ArchiveFileWriter writes the elements passed to it into the archive file using a JSON generator.
+     * The file has the same layout as one written from an OpenMetadataArchive bean so that it can be read
+     * back by either getArchiveContents or processArchiveContents.
+     */
+    private class ArchiveFileWriter implements OpenMetadataArchiveStreamListener
+    {
+        private JsonGenerator generator      = null;
+        private int           currentSection = -1;
+
+
+        /**
+         * Open the archive file and start the archive object.
+         */
+        ArchiveFileWriter()
+        {
+            try
+            {
+                generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(new FileOutputStream(archiveStoreName)),
+                                                                      JsonEncoding.UTF8);
+
+                generator.writeStartObject();
+                generator.writeStringField(classField, OpenMetadataArchive.class.getSimpleName());
+            }
+            catch (IOException ioException)
+            {
+                this.writeFailed(ioException);
+            }
+        }
+
+
+        /**
+         * Write the archive properties.
+         *
+         * @param archiveProperties properties of the archive
+         */
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.writeElement(0, archiveProperties);
+        }
+
+
+        /**
+         * Write an AttributeTypeDef.
+         *
+         * @param attributeTypeDef new AttributeTypeDef
+         */
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            this.writeElement(1, attributeTypeDef);
+        }
+
+
+        /**
+         * Write a TypeDef patch.
+         *
+         * @param typeDefPatch patch to a TypeDef
+         */
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            this.writeElement(2, typeDefPatch);
+        }
+
+
+        /**
+         * Write a new TypeDef.
+         *
+         * @param typeDef new TypeDef
+         */
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            this.writeElement(3, typeDef);
+        }
+
+
+        /**
+         * Write an entity.
+         *
+         * @param entity entity
+         */
+        public void processEntity(EntityDetail entity)
+        {
+            this.writeElement(4, entity);
+        }
+
+
+        /**
+         * Write a relationship.
+         *
+         * @param relationship relationship
+         */
+        public void processRelationship(Relationship relationship)
+        {
+            this.writeElement(5, relationship);
+        }
+
+
+        /**
+         * Write a classification.
+         *
+         * @param classification classification and the entity it belongs to
+         */
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            this.writeElement(6, classification);
+        }
+
+
+        /**
+         * Close any open section, finish the archive object and close the file.
+         */
+        public void processArchiveComplete()
+        {
+            if (generator != null)
+            {
+                try
+                {
+                    this.moveToSection(archiveSections.length);
+
+                    generator.writeEndObject();
+                    generator.close();
+                    generator = null;
+                }
+                catch (IOException ioException)
+                {
+                    this.writeFailed(ioException);
+                }
+            }
+        }
+
+
+        /**
+         * Write an element into its section of the archive file.  The archive properties are a single object;
+         * the other sections are arrays.
+         *
+         * @param section index of the element's section in archiveSections
+         * @param element element to write
+         */
+        private void writeElement(int    section,
+                                  Object element)
+        {
+            final String methodName = "writeElement";
+
+            if ((section < currentSection) || ((section == 0) && (currentSection == 0)))
+            {
+                OMRSErrorCode errorCode = OMRSErrorCode.ARCHIVE_ELEMENT_OUT_OF_ORDER;
+                String        errorMessage = errorCode.getErrorMessageId()
+                                           + errorCode.getFormattedErrorMessage(archiveSections[section],
+                                                                                archiveStoreName,
+                                                                                archiveSections[Math.min(currentSection, archiveSections.length - 1)]);
+
+                throw new OMRSLogicErrorException(errorCode.getHTTPErrorCode(),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  errorMessage,
+                                                  errorCode.getSystemAction(),
+                                                  errorCode.getUserAction());
+            }
+
+            if (generator != null)
+            {
+                try
+                {
+                    this.moveToSection(section);
+
+                    if (section == 0)
+                    {
+                        generator.writeObjectField(archivePropertiesField, element);
+                    }
+                    else
+                    {
+                        generator.writeObject(element);
+                    }
+                }
+                catch (IOException ioException)
+                {
+                    this.writeFailed(ioException);
+                }
+            }
+        }
+
+
+        /**
+         * Close the array and store of the current section and open those of the requested section.
+         * Sections are numbered as in archiveSections: 1-3 are in the type store and 4-6 in the instance store.
+         *
+         * @param section index of the next section in archiveSections, or its length to close all sections
+         * @throws IOException the file can not be written
+         */
+        private void moveToSection(int section) throws IOException
+        {
+            if (section != currentSection)
+            {
+                String currentStore = this.getStoreField(currentSection);
+                String nextStore    = this.getStoreField(section);
+
+                if (currentStore != null)
+                {
+                    generator.writeEndArray();
+
+                    if (! currentStore.equals(nextStore))
+                    {
+                        generator.writeEndObject();
+                    }
+                }
+
+                if ((nextStore != null) && (! nextStore.equals(currentStore)))
+                {
+                    generator.writeObjectFieldStart(nextStore);
+
+                    if (archiveTypeStoreField.equals(nextStore))
+                    {
+                        generator.writeStringField(classField, OpenMetadataArchiveTypeStore.class.getSimpleName());
+                    }
+                    else
+                    {
+                        generator.writeStringField(classField, OpenMetadataArchiveInstanceStore.class.getSimpleName());
+                    }
+                }
+
+                if (nextStore != null)
+                {
+                    generator.writeArrayFieldStart(archiveSections[section]);
+                }
+
+                currentSection = section;
+            }
+        }
+
+
+        /**
+         * Return the name of the store that holds the section.
+         *
+         * @param section index of the section in archiveSections
+         * @return store field name or null for the archive properties and the positions before and after the sections
+         */
+        private String getStoreField(int section)
+        {
+            if ((section >= 1) && (section <= 3))
+            {
+                return archiveTypeStoreField;
+            }
+            else if ((section >= 4) && (section <= 6))
+            {
+                return archiveInstanceStoreField;
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Record a failure to write the archive file.  Nothing more is written.
+         *
+         * @param ioException error from the file
+         */
+        private void writeFailed(IOException ioException)
+        {
+            log.debug("Unusable open metadata archive " + archiveStoreName, ioException);
+
+            if (generator != null)
+            {
+                try
+                {
+                    generator.close();
+                }
+                catch (IOException closeException)
+                {
+                    log.debug("Unable to close open metadata archive " + archiveStoreName, closeException);
+                }
+
+                generator = null;
+            }
+        }
     }
 }
@@ -0,0 +1,374 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamListener;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Test that an archive written by the FileBasedOpenMetadataArchiveStoreConnector reads back the same
+ * through both the whole-archive and the streaming methods.
+ */
+public class TestFileBasedOpenMetadataArchiveStoreConnector
+{
+    private static final List<String> archiveOrder = Arrays.asList("properties:testArchiveGUID",
+                                                                   "attributeTypeDef:testAttributeTypeDefGUID",
+                                                                   "typeDefPatch:testPatchedTypeDefGUID",
+                                                                   "typeDef:testTypeDefGUID",
+                                                                   "entity:testEntityGUID",
+                                                                   "relationship:testRelationshipGUID",
+                                                                   "classification:testClassifiedEntityGUID",
+                                                                   "complete");
+
+    private File archiveFile = null;
+
+
+    /**
+     * Pick a file name for the archive.
+     *
+     * @throws IOException unable to create a temporary file
+     */
+    @BeforeMethod
+    public void createArchiveFile() throws IOException
+    {
+        archiveFile = File.createTempFile("TestArchive", ".json");
+        archiveFile.delete();
+    }
+
+
+    /**
+     * Remove the archive file.
+     */
+    @AfterMethod
+    public void removeArchiveFile()
+    {
+        archiveFile.delete();
+    }
+
+
+    /**
+     * An archive stored with setArchiveContents is returned unchanged by getArchiveContents and passed in
+     * archive order by processArchiveContents.
+     */
+    @Test
+    public void testRoundTrip()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        connector.setArchiveContents(getArchive());
+
+        OpenMetadataArchive archive = connector.getArchiveContents();
+
+        assertNotNull(archive);
+        assertEquals(archive.getArchiveProperties().getArchiveGUID(), "testArchiveGUID");
+        assertEquals(archive.getArchiveTypeStore().getAttributeTypeDefs().get(0).getGUID(), "testAttributeTypeDefGUID");
+        assertTrue(archive.getArchiveTypeStore().getAttributeTypeDefs().get(0) instanceof PrimitiveDef);
+        assertEquals(archive.getArchiveTypeStore().getTypeDefPatches().get(0).getTypeDefGUID(), "testPatchedTypeDefGUID");
+        assertEquals(archive.getArchiveTypeStore().getNewTypeDefs().get(0).getGUID(), "testTypeDefGUID");
+        assertTrue(archive.getArchiveTypeStore().getNewTypeDefs().get(0) instanceof EntityDef);
+        assertEquals(archive.getArchiveInstanceStore().getEntities().get(0).getGUID(), "testEntityGUID");
+        assertEquals(archive.getArchiveInstanceStore().getRelationships().get(0).getGUID(), "testRelationshipGUID");
+        assertEquals(archive.getArchiveInstanceStore().getClassifications().get(0).getEntityToClassify().getGUID(),
+                     "testClassifiedEntityGUID");
+
+        assertEquals(this.processArchive(connector), archiveOrder);
+    }
+
+
+    /**
+     * An archive written one element at a time reads back as if it was written whole.
+     */
+    @Test
+    public void testStreamWriter()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+        OpenMetadataArchive                        archive   = getArchive();
+        OpenMetadataArchiveStreamListener          writer    = connector.getArchiveStreamWriter();
+
+        writer.processArchiveProperties(archive.getArchiveProperties());
+        writer.processAttributeTypeDef(archive.getArchiveTypeStore().getAttributeTypeDefs().get(0));
+        writer.processTypeDefPatch(archive.getArchiveTypeStore().getTypeDefPatches().get(0));
+        writer.processNewTypeDef(archive.getArchiveTypeStore().getNewTypeDefs().get(0));
+        writer.processEntity(archive.getArchiveInstanceStore().getEntities().get(0));
+        writer.processRelationship(archive.getArchiveInstanceStore().getRelationships().get(0));
+        writer.processClassification(archive.getArchiveInstanceStore().getClassifications().get(0));
+        writer.processArchiveComplete();
+
+        assertEquals(this.processArchive(connector), archiveOrder);
+        assertEquals(connector.getArchiveContents().getArchiveInstanceStore().getEntities().get(0).getGUID(),
+                     "testEntityGUID");
+    }
+
+
+    /**
+     * The writer rejects an element that belongs to a section it has already passed.
+     */
+    @Test
+    public void testOutOfOrderWrite()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+        OpenMetadataArchive                        archive   = getArchive();
+        OpenMetadataArchiveStreamListener          writer    = connector.getArchiveStreamWriter();
+
+        writer.processArchiveProperties(archive.getArchiveProperties());
+        writer.processEntity(archive.getArchiveInstanceStore().getEntities().get(0));
+
+        try
+        {
+            writer.processNewTypeDef(archive.getArchiveTypeStore().getNewTypeDefs().get(0));
+            fail("TypeDef written after an entity");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("OMRS-ARCHIVE-STORE-400-001"));
+        }
+
+        try
+        {
+            writer.processArchiveProperties(archive.getArchiveProperties());
+            fail("Archive properties written twice");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("OMRS-ARCHIVE-STORE-400-001"));
+        }
+
+        /*
+         * The elements in order are still written.
+         */
+        writer.processRelationship(archive.getArchiveInstanceStore().getRelationships().get(0));
+        writer.processArchiveComplete();
+
+        assertEquals(this.processArchive(connector), Arrays.asList("properties:testArchiveGUID",
+                                                                   "entity:testEntityGUID",
+                                                                   "relationship:testRelationshipGUID",
+                                                                   "complete"));
+    }
+
+
+    /**
+     * The archive properties are passed first even when they come last in the file.
+     *
+     * @throws IOException unable to write the test file
+     */
+    @Test
+    public void testPropertiesLast() throws IOException
+    {
+        ObjectMapper        objectMapper = new ObjectMapper();
+        OpenMetadataArchive archive      = getArchive();
+
+        try (Writer writer = new FileWriter(archiveFile))
+        {
+            writer.write("{\"class\":\"OpenMetadataArchive\",\"archiveInstanceStore\":");
+            writer.write(objectMapper.writeValueAsString(archive.getArchiveInstanceStore()));
+            writer.write(",\"archiveTypeStore\":");
+            writer.write(objectMapper.writeValueAsString(archive.getArchiveTypeStore()));
+            writer.write(",\"archiveProperties\":");
+            writer.write(objectMapper.writeValueAsString(archive.getArchiveProperties()));
+            writer.write("}");
+        }
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        assertEquals(this.processArchive(connector), archiveOrder);
+        assertEquals(connector.getArchiveContents().getArchiveProperties().getArchiveGUID(), "testArchiveGUID");
+    }
+
+
+    /**
+     * A missing file is an empty archive.
+     */
+    @Test
+    public void testMissingArchive()
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        assertEquals(this.processArchive(connector), Collections.singletonList("complete"));
+    }
+
+
+    /**
+     * A truncated file is reported as an error rather than as a complete archive.
+     *
+     * @throws IOException unable to write the test file
+     */
+    @Test
+    public void testTruncatedArchive() throws IOException
+    {
+        FileBasedOpenMetadataArchiveStoreConnector connector = getConnector();
+
+        connector.setArchiveContents(getArchive());
+
+        String archiveText = new String(Files.readAllBytes(archiveFile.toPath()), "UTF-8");
+        int    truncation  = archiveText.indexOf("testRelationshipGUID");
+
+        try (Writer writer = new FileWriter(archiveFile))
+        {
+            writer.write(archiveText.substring(0, truncation));
+        }
+
+        List<String> calls = new ArrayList<>();
+
+        try
+        {
+            connector.processArchiveContents(new RecordingListener(calls));
+            fail("Truncated archive processed");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            assertTrue(error.getErrorMessage().startsWith("OMRS-ARCHIVE-STORE-500-001"));
+        }
+
+        assertTrue(calls.contains("entity:testEntityGUID"));
+        assertFalse(calls.contains("complete"));
+    }
+
+
+    /**
+     * Return a connector for the archive file.
+     *
+     * @return connector
+     */
+    private FileBasedOpenMetadataArchiveStoreConnector getConnector()
+    {
+        Endpoint   endpoint   = new Endpoint();
+        Connection connection = new Connection();
+
+        endpoint.setAddress(archiveFile.getPath());
+        connection.setEndpoint(endpoint);
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+
+        connector.initialize(UUID.randomUUID().toString(), new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    /**
+     * Return the calls made by processArchiveContents.
+     *
+     * @param connector connector to the archive
+     * @return list of calls
+     */
+    private List<String> processArchive(FileBasedOpenMetadataArchiveStoreConnector connector)
+    {
+        List<String> calls = new ArrayList<>();
+
+        connector.processArchiveContents(new RecordingListener(calls));
+
+        return calls;
+    }
+
+
+    /**
+     * Return an archive with one element in each section.
+     *
+     * @return archive
+     */
+    private OpenMetadataArchive getArchive()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+
+        archiveProperties.setArchiveGUID("testArchiveGUID");
+        archiveProperties.setArchiveName("testArchive");
+
+        PrimitiveDef attributeTypeDef = new PrimitiveDef();
+        TypeDefPatch typeDefPatch     = new TypeDefPatch();
+        EntityDef    typeDef          = new EntityDef();
+
+        attributeTypeDef.setGUID("testAttributeTypeDefGUID");
+        typeDefPatch.setTypeDefGUID("testPatchedTypeDefGUID");
+        typeDef.setGUID("testTypeDefGUID");
+
+        OpenMetadataArchiveTypeStore typeStore = new OpenMetadataArchiveTypeStore();
+
+        typeStore.setAttributeTypeDefs(Collections.singletonList(attributeTypeDef));
+        typeStore.setTypeDefPatches(Collections.singletonList(typeDefPatch));
+        typeStore.setNewTypeDefs(Collections.singletonList(typeDef));
+
+        EntityDetail                  entity         = new EntityDetail();
+        Relationship                  relationship   = new Relationship();
+        EntityProxy                   classified     = new EntityProxy();
+        ClassificationEntityExtension classification = new ClassificationEntityExtension();
+
+        entity.setGUID("testEntityGUID");
+        relationship.setGUID("testRelationshipGUID");
+        classified.setGUID("testClassifiedEntityGUID");
+        classification.setEntityToClassify(classified);
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+
+        instanceStore.setEntities(Collections.singletonList(entity));
+        instanceStore.setRelationships(Collections.singletonList(relationship));
+        instanceStore.setClassifications(Collections.singletonList(classification));
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(typeStore);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Listener that records the calls made to it.
+     */
+    private static class RecordingListener implements OpenMetadataArchiveStreamListener
+    {
+        private List<String> calls;
+
+        RecordingListener(List<String> calls)
+        {
+            this.calls = calls;
+        }
+
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties) { calls.add("properties:" + archiveProperties.getArchiveGUID()); }
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef) { calls.add("attributeTypeDef:" + attributeTypeDef.getGUID()); }
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch) { calls.add("typeDefPatch:" + typeDefPatch.getTypeDefGUID()); }
+        public void processNewTypeDef(TypeDef typeDef) { calls.add("typeDef:" + typeDef.getGUID()); }
+        public void processEntity(EntityDetail entity) { calls.add("entity:" + entity.getGUID()); }
+        public void processRelationship(Relationship relationship) { calls.add("relationship:" + relationship.getGUID()); }
+        public void processClassification(ClassificationEntityExtension classification) { calls.add("classification:" + classification.getEntityToClassify().getGUID()); }
+        public void processArchiveComplete() { calls.add("complete"); }
+    }
+}
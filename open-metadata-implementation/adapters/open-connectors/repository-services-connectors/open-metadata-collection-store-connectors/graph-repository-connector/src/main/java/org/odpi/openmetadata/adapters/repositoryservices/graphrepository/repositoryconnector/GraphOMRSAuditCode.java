@@ -44,6 +44,11 @@ public enum GraphOMRSAuditCode {
             "The OMRS Graph Repository has been opened.",
             "The local server has created and initialized the Local OMRS Graph Repository database.",
             "No action is required. This is part of the normal operation of the Graph Repository."),
+    GRAPH_REPOSITORY_BULK_LOAD_DUPLICATES_MERGED("OMRS-GRAPH-REPOSITORY-0004",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The bulk load of {0} instances to the OMRS Graph Repository stored more than one copy of the instances with GUIDs {1}",
+            "The system has merged the copies of each instance into one and saved the affected instances again one at a time.",
+            "Check for other processes that were updating the graph database while the instances were loaded."),
     ;
 
     private String                     logMessageId;
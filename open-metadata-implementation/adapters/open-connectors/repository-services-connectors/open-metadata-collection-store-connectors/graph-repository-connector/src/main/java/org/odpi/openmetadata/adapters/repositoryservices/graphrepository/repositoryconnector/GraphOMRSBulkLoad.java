@@ -0,0 +1,218 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GraphOMRSBulkLoad saves reference copies of many entities and relationships, for example when an open metadata
+ * archive is loaded.  The instances are saved in batches of up to batchSize instances, in the order supplied.
+ *
+ * If a batch can not be saved, it is rolled back and its instances are saved one at a time through the locked
+ * per-instance path.  The valid instances are all saved and then the first error is thrown.
+ *
+ * The batches are saved without the checks that keep the GUIDs unique, so the batched instances are checked
+ * afterwards.  Any GUID stored more than once has its copies merged into one, and the batched instances affected
+ * are saved again one at a time so the surviving copy matches the request.  If duplicates remain after that, an
+ * exception is thrown.
+ */
+class GraphOMRSBulkLoad
+{
+    private static final Logger log = LoggerFactory.getLogger(GraphOMRSBulkLoad.class);
+
+    private static final String methodName = "saveInstanceReferenceCopiesToStore";
+
+    /**
+     * The graph operations that the bulk load is built from.
+     */
+    interface InstanceStore
+    {
+        /**
+         * Save the instances in a single batch-loading transaction.
+         *
+         * @param batch entities and relationships
+         * @return false if the batch was rolled back
+         */
+        boolean saveBatch(List<InstanceHeader> batch);
+
+        /**
+         * Save a single instance in its own transaction, holding its locks.
+         *
+         * @param instance entity or relationship
+         * @throws InvalidParameterException the instance conflicts with the stored instance
+         * @throws RepositoryErrorException there is a problem with the graph
+         */
+        void saveInstance(InstanceHeader instance) throws InvalidParameterException, RepositoryErrorException;
+
+        /**
+         * Return the GUIDs of the instances, and of the entities at the ends of the relationships, that are
+         * stored more than once.
+         *
+         * @param instances entities and relationships
+         * @return GUIDs
+         * @throws RepositoryErrorException there is a problem with the graph
+         */
+        Set<String> findDuplicates(List<InstanceHeader> instances) throws RepositoryErrorException;
+
+        /**
+         * Merge the copies of each instance into one, holding the instances' locks.
+         *
+         * @param guids GUIDs of the duplicated instances
+         * @throws RepositoryErrorException there is a problem with the graph
+         */
+        void mergeDuplicates(Set<String> guids) throws RepositoryErrorException;
+    }
+
+
+    private final String        repositoryName;
+    private final int           batchSize;
+    private final OMRSAuditLog  auditLog;
+    private final InstanceStore instanceStore;
+
+
+    /**
+     * Constructor
+     *
+     * @param repositoryName name of the repository
+     * @param batchSize maximum number of instances in a batch
+     * @param auditLog audit log for the duplicates found
+     * @param instanceStore graph operations
+     */
+    GraphOMRSBulkLoad(String        repositoryName,
+                      int           batchSize,
+                      OMRSAuditLog  auditLog,
+                      InstanceStore instanceStore)
+    {
+        this.repositoryName = repositoryName;
+        this.batchSize = batchSize;
+        this.auditLog = auditLog;
+        this.instanceStore = instanceStore;
+    }
+
+
+    /**
+     * Save the instances.
+     *
+     * @param instances entities and relationships, entities first
+     * @throws InvalidParameterException an instance conflicts with a stored instance - the others are saved
+     * @throws RepositoryErrorException there is a problem with the graph, or duplicates could not be merged
+     */
+    void saveInstances(List<InstanceHeader> instances)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        List<InstanceHeader> batchedInstances = new ArrayList<>();
+        Exception firstError = null;
+
+        for (int batchStart = 0; batchStart < instances.size(); batchStart += batchSize) {
+
+            List<InstanceHeader> batch = instances.subList(batchStart, Math.min(batchStart + batchSize, instances.size()));
+
+            if (instanceStore.saveBatch(batch)) {
+                batchedInstances.addAll(batch);
+            }
+            else {
+                for (InstanceHeader instance : batch) {
+                    firstError = saveInstance(instance, firstError);
+                }
+            }
+        }
+
+        log.debug("{} saved {} of {} instances in batches", methodName, batchedInstances.size(), instances.size());
+
+        Set<String> duplicateGUIDs = instanceStore.findDuplicates(batchedInstances);
+
+        if (! duplicateGUIDs.isEmpty()) {
+            log.error("{} found duplicate instances with GUIDs {}, merging them", methodName, duplicateGUIDs);
+
+            GraphOMRSAuditCode auditCode = GraphOMRSAuditCode.GRAPH_REPOSITORY_BULK_LOAD_DUPLICATES_MERGED;
+            auditLog.logRecord(methodName,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(Integer.toString(instances.size()), duplicateGUIDs.toString()),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+
+            instanceStore.mergeDuplicates(duplicateGUIDs);
+
+            for (InstanceHeader instance : batchedInstances) {
+                if (isAffected(instance, duplicateGUIDs)) {
+                    firstError = saveInstance(instance, firstError);
+                }
+            }
+
+            duplicateGUIDs = instanceStore.findDuplicates(batchedInstances);
+
+            if (! duplicateGUIDs.isEmpty()) {
+                log.error("{} could not merge duplicate instances with GUIDs {}", methodName, duplicateGUIDs);
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.BULK_LOAD_INCONSISTENT;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(Integer.toString(instances.size()), methodName,
+                        this.getClass().getName(),
+                        repositoryName,
+                        duplicateGUIDs.toString());
+
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+        }
+
+        if (firstError instanceof InvalidParameterException) {
+            throw (InvalidParameterException) firstError;
+        }
+        if (firstError instanceof RepositoryErrorException) {
+            throw (RepositoryErrorException) firstError;
+        }
+    }
+
+
+    // Save one instance through the locked path, returning the first error seen so far
+    private Exception saveInstance(InstanceHeader instance, Exception firstError)
+    {
+        try {
+            instanceStore.saveInstance(instance);
+        }
+        catch (InvalidParameterException | RepositoryErrorException e) {
+            log.error("{} could not save instance {}: {}", methodName, instance.getGUID(), e.getMessage());
+            if (firstError == null) {
+                return e;
+            }
+        }
+
+        return firstError;
+    }
+
+
+    // Determine whether the instance, or an entity at the end of the relationship, was duplicated
+    private boolean isAffected(InstanceHeader instance, Set<String> duplicateGUIDs)
+    {
+        if (duplicateGUIDs.contains(instance.getGUID())) {
+            return true;
+        }
+
+        if (instance instanceof Relationship) {
+            Relationship relationship = (Relationship) instance;
+
+            return ((relationship.getEntityOneProxy() != null) && duplicateGUIDs.contains(relationship.getEntityOneProxy().getGUID()))
+                || ((relationship.getEntityTwoProxy() != null) && duplicateGUIDs.contains(relationship.getEntityTwoProxy().getGUID()));
+        }
+
+        return false;
+    }
+}
@@ -125,6 +125,10 @@ public enum GraphOMRSErrorCode
             "There is an already a relationship with GUID {0} so cannot honour request to create relationship in {1} method of class {2} to open metadata repository {3}",
             "The system is unable to perform the request because there is already a relationship with the same GUID.",
             "Correct the caller's code and retry the request."),
+    BULK_LOAD_INCONSISTENT(500, "OMRS-GRAPH-REPOSITORY-500-001 ",
+            "The bulk load of {0} instances in {1} method of class {2} to open metadata repository {3} stored more than one copy of the instances with GUIDs {4}",
+            "The system saved the instances and tried to merge the copies, but the graph database still holds duplicate instances.",
+            "Check for other processes updating the graph database and remove the duplicate instances."),
 
     ;
 
@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GraphOMRSInstanceLocks serializes the updates that the GraphOMRSMetadataStore makes to the same instance.
+ * There is a fixed number of locks and the hash code of an instance's GUID selects its lock, so unrelated
+ * instances occasionally share a lock.  When several locks are needed they are always acquired in the same
+ * order so that two threads locking overlapping sets of instances can not deadlock.
+ */
+class GraphOMRSInstanceLocks
+{
+    private final Lock[] instanceLocks;
+
+
+    /**
+     * Constructor
+     *
+     * @param stripes number of locks
+     */
+    GraphOMRSInstanceLocks(int stripes)
+    {
+        instanceLocks = new Lock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            instanceLocks[i] = new ReentrantLock();
+        }
+    }
+
+
+    /**
+     * Acquire the lock that serializes updates to the instance with the supplied GUID.
+     *
+     * @param guid unique identifier of the instance
+     * @return the lock, which the caller must unlock
+     */
+    Lock lockInstance(String guid)
+    {
+        Lock lock = instanceLocks[getLockStripe(guid)];
+        lock.lock();
+        return lock;
+    }
+
+
+    /**
+     * Acquire the locks that serialize updates to a relationship and to the entities at its ends.  The end
+     * entities are locked too because saving the relationship may create or update their vertices.
+     *
+     * @param relationship relationship that is to be updated
+     * @return the locks, which the caller must unlock
+     */
+    List<Lock> lockRelationship(Relationship relationship)
+    {
+        return lockInstances(Collections.singletonList(relationship));
+    }
+
+
+    /**
+     * Acquire the locks that serialize updates to the supplied instances and to the entities at the ends of
+     * the relationships.
+     *
+     * @param instances entities and relationships that are to be updated
+     * @return the locks, which the caller must unlock
+     */
+    List<Lock> lockInstances(List<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (InstanceHeader instance : instances) {
+            guids.add(instance.getGUID());
+
+            if (instance instanceof Relationship) {
+                Relationship relationship = (Relationship) instance;
+                if (relationship.getEntityOneProxy() != null) {
+                    guids.add(relationship.getEntityOneProxy().getGUID());
+                }
+                if (relationship.getEntityTwoProxy() != null) {
+                    guids.add(relationship.getEntityTwoProxy().getGUID());
+                }
+            }
+        }
+
+        return lockGUIDs(guids);
+    }
+
+
+    /**
+     * Acquire the locks that serialize updates to the instances with the supplied GUIDs.
+     *
+     * @param guids unique identifiers of the instances
+     * @return the locks, which the caller must unlock
+     */
+    List<Lock> lockGUIDs(Collection<String> guids)
+    {
+        boolean[] stripes = new boolean[instanceLocks.length];
+
+        for (String guid : guids) {
+            stripes[getLockStripe(guid)] = true;
+        }
+
+        List<Lock> locks = new ArrayList<>();
+        for (int stripe = 0; stripe < instanceLocks.length; stripe++) {
+            if (stripes[stripe]) {
+                instanceLocks[stripe].lock();
+                locks.add(instanceLocks[stripe]);
+            }
+        }
+
+        return locks;
+    }
+
+
+    /**
+     * Release locks acquired by lockRelationship, lockInstances or lockGUIDs.
+     *
+     * @param locks the locks
+     */
+    void unlock(List<Lock> locks)
+    {
+        for (Lock lock : locks) {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Return the index of the lock used for the instance with the supplied GUID.
+     *
+     * @param guid unique identifier of the instance
+     * @return lock index
+     */
+    int getLockStripe(String guid)
+    {
+        if (guid == null) {
+            return 0;
+        }
+
+        return (guid.hashCode() & Integer.MAX_VALUE) % instanceLocks.length;
+    }
+}
@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -386,6 +387,40 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getEntityDetails
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation - all of the entities are retrieved in one traversal of the graph
+         */
+
+        Map<String, EntityDetail> entities = graphStore.getEntityDetailsFromStore(guids);
+
+        List<EntityDetail> results = new ArrayList<>(guids.size());
+        for (String guid : guids) {
+            EntityDetail entity = entities.get(guid);
+            if (entity != null && entity.getStatus() == InstanceStatus.DELETED) {
+                entity = null;
+            }
+            results.add(entity);
+        }
+
+        return results;
+    }
+
+
     // addRelationship
     public Relationship addRelationship(String               userId,
                                         String               relationshipTypeGUID,
@@ -1171,6 +1206,46 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // countRelationshipsForEntity
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+        final String  typeGUIDParameterName = "relationshipTypeGUID";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                entityGUID,
+                relationshipTypeGUID,
+                limitResultsByStatus);
+
+        /*
+         * Perform operation - the relationships are counted in the graph rather than being retrieved
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        String relationshipTypeName = null;
+        if (relationshipTypeGUID != null) {
+            relationshipTypeName = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, relationshipTypeGUID, methodName).getName();
+        }
+
+        return graphStore.countRelationshipsForEntity(entityGUID, relationshipTypeName, limitResultsByStatus);
+    }
+
+
     // findEntitiesByProperty
     public List<EntityDetail> findEntitiesByProperty(String                 userId,
                                                      String                 entityTypeGUID,
@@ -2858,6 +2933,63 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    /*
+     * The instances are validated and then passed to the graph store together so that it can save them in batches
+     * rather than one graph transaction per instance.  Instances from the local metadata collection are ignored.
+     */
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            UserNotAuthorizedException
+    {
+        final String  methodName                = "saveInstanceReferenceCopies";
+        final String  entityParameterName       = "entity";
+        final String  relationshipParameterName = "relationship";
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        /*
+         * Validate parameters
+         */
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, entity, entityParameterName, methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    super.referenceInstanceParameterValidation(userId, relationship, relationshipParameterName, methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        /*
+         * Save instances
+         */
+        graphStore.saveInstanceReferenceCopiesToStore(entities, relationships);
+    }
+
+
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
                                                String   typeDefGUID,
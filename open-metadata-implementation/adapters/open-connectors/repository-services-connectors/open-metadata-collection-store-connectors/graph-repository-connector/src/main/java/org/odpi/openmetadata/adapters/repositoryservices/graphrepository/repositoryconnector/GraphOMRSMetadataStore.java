@@ -3,6 +3,7 @@
 
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
+import com.sleepycat.je.LockConflictException;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
@@ -12,7 +13,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.janusgraph.core.attribute.Text;
+import org.janusgraph.diskstorage.TemporaryBackendException;
+import org.janusgraph.diskstorage.locking.PermanentLockingException;
+import org.janusgraph.graphdb.relations.RelationIdentifier;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
@@ -20,6 +26,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
@@ -55,6 +62,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -62,16 +70,28 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
 
 /**
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * Each thread works in its own JanusGraph transaction, so requests are processed concurrently.  Updates to the
+ * same instance are serialized with a lock per GUID (the locks are striped so their number is fixed).  Updates to a
+ * relationship also hold the locks of the entities at its ends.  An update that fails to commit because of a
+ * conflict with a concurrent transaction is retried.
  */
 class GraphOMRSMetadataStore {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSMetadataStore.class);
 
+    private static final int  instanceLockStripes        = 64;
+    private static final int  maxTransactionAttempts     = 5;
+    private static final long transactionRetryDelayMillis = 20;
+    private static final int  bulkLoadBatchSize           = 1000;
+
     private String               repositoryName;
     private String               metadataCollectionId;
     private String               metadataCollectionName = null;
@@ -84,6 +104,9 @@ class GraphOMRSMetadataStore {
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
 
+    // Locks used to serialize updates to the same instance - the GUID's hash code selects the lock.
+    private final GraphOMRSInstanceLocks instanceLocks = new GraphOMRSInstanceLocks(instanceLockStripes);
+
 
     /**
      * Default constructor
@@ -116,7 +139,70 @@ class GraphOMRSMetadataStore {
         this.relationshipMapper = new GraphOMRSRelationshipMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
+    }
+
+
+    /**
+     * Handle an exception from a graph transaction.  The transaction is rolled back and, if the exception was
+     * caused by a conflict with a concurrent transaction and there are attempts left, the method returns after
+     * a short delay so that the caller can retry.  Otherwise the exception is rethrown.
+     *
+     * @param exception exception from the graph
+     * @param methodName calling method
+     * @param guid unique identifier of the instance being updated
+     * @param attempt number of the attempt that failed, starting at 1
+     */
+    private void handleTransactionConflict(JanusGraphException exception,
+                                           String              methodName,
+                                           String              guid,
+                                           int                 attempt)
+    {
+        if (instanceGraph.tx().isOpen()) {
+            instanceGraph.tx().rollback();
+        }
+
+        if ((attempt >= maxTransactionAttempts) || (! isTransactionConflict(exception))) {
+            throw exception;
+        }
+
+        log.debug("{} transaction for instance {} conflicted with another transaction, retrying (attempt {})", methodName, guid, attempt);
+
+        try {
+            // Back off for longer on each attempt, with some jitter so that conflicting threads do not retry in step
+            Thread.sleep(transactionRetryDelayMillis * attempt + ThreadLocalRandom.current().nextLong(transactionRetryDelayMillis));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw exception;
+        }
+    }
+
+
+    /**
+     * Determine whether an exception was caused by a conflict with a concurrent transaction, in which case
+     * the transaction can be retried.
+     *
+     * @param exception exception from the graph
+     * @return boolean
+     */
+    private boolean isTransactionConflict(Throwable exception)
+    {
+        /*
+         * JanusGraph reports lock contention on the unique GUID indexes as a locking exception and BerkeleyJE
+         * reports a lock conflict or deadlock as a LockConflictException wrapped in a backend exception.
+         */
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if ((cause instanceof TemporaryBackendException)
+                    || (cause instanceof PermanentLockingException)
+                    || (cause instanceof LockConflictException)) {
+                return true;
+            }
 
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
     }
 
 
@@ -126,7 +212,29 @@ class GraphOMRSMetadataStore {
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    EntityDetail createEntityInStore(EntityDetail entity)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        final String methodName = "createEntityInStore";
+
+        Lock lock = instanceLocks.lockInstance(entity.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return createEntityInTransaction(entity);
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entity.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform createEntityInStore in the graph transaction of the current thread
+    private EntityDetail createEntityInTransaction(EntityDetail entity)
             throws
             RepositoryErrorException,
             InvalidParameterException
@@ -242,14 +350,38 @@ class GraphOMRSMetadataStore {
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    void createEntityProxyInStore(EntityProxy entityProxy)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+    {
+        final String methodName = "createEntityProxyInStore";
+
+        Lock lock = instanceLocks.lockInstance(entityProxy.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                GraphTraversalSource g = instanceGraph.traversal();
+                try {
+                    createEntityProxyInTransaction(g, entityProxy);
+                    g.tx().commit();
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entityProxy.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform createEntityProxyInStore in the supplied graph transaction, which is left for the caller to commit
+    private void createEntityProxyInTransaction(GraphTraversalSource g, EntityProxy entityProxy)
             throws
             RepositoryErrorException,
             InvalidParameterException
     {
         final String methodName = "createEntityProxyInStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
         if (vertexIt.hasNext()) {
             Vertex vertex = vertexIt.next();
@@ -302,8 +434,6 @@ class GraphOMRSMetadataStore {
                     errorCode.getUserAction());
         }
 
-        g.tx().commit();
-
     }
 
 
@@ -345,7 +475,33 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
+
+        Lock lock = instanceLocks.lockInstance(entity.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                GraphTraversalSource g = instanceGraph.traversal();
+                try {
+                    saveEntityReferenceCopyInTransaction(g, entity);
+                    g.tx().commit();
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entity.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform saveEntityReferenceCopyToStore in the supplied graph transaction, which is left for the caller to commit
+    private void saveEntityReferenceCopyInTransaction(GraphTraversalSource g, EntityDetail entity)
         throws
             InvalidParameterException,
             RepositoryErrorException
@@ -356,7 +512,6 @@ class GraphOMRSMetadataStore {
 
         Vertex vertex;
 
-        GraphTraversalSource g = instanceGraph.traversal();
         Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
         if (vertexIt.hasNext()) {
@@ -442,15 +597,12 @@ class GraphOMRSMetadataStore {
                     errorCode.getUserAction());
         }
 
-
-        g.tx().commit();
-
         return;
     }
 
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    EntityDetail getEntityDetailFromStore(String guid)
             throws
             EntityNotKnownException,
             EntityProxyOnlyException,
@@ -551,7 +703,63 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    /*
+     * Retrieve a set of entities with a single traversal of the graph. The result is keyed by guid and only contains
+     * the entities that were found and are not proxies - the caller decides what to do about the guids that are missing.
+     */
+    Map<String, EntityDetail> getEntityDetailsFromStore(List<String> guids)
+            throws
+            RepositoryErrorException
+    {
+
+        String methodName = "getEntityDetailsFromStore";
+
+        Map<String, EntityDetail> entities = new HashMap<>();
+
+        // Look in the graph
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, within(new HashSet<>(guids)));
+
+        while (gt.hasNext()) {
+            Vertex vertex = gt.next();
+            String guid   = (String) vertex.property(PROPERTY_KEY_ENTITY_GUID).value();
+
+            log.debug("{} found entity vertex {}", methodName, vertex);
+
+            try {
+                // Proxies are left out of the result
+                if (!entityMapper.isProxy(vertex)) {
+                    EntityDetail entity = new EntityDetail();
+                    entityMapper.mapVertexToEntityDetail(vertex, entity);
+                    entities.put(guid, entity);
+                }
+            }
+            catch (RepositoryErrorException | EntityProxyOnlyException e) {
+
+                log.error("{} Caught exception {}", methodName, e.getMessage());
+                g.tx().rollback();
+                GraphOMRSErrorCode errorCode = GraphOMRSErrorCode.ENTITY_NOT_FOUND;
+
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(guid, methodName,
+                        this.getClass().getName(),
+                        repositoryName);
+
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+        }
+
+        g.tx().commit();
+
+        return entities;
+    }
+
+    EntitySummary getEntitySummaryFromStore(String guid)
             throws
             EntityNotKnownException,
             RepositoryErrorException
@@ -623,7 +831,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
             throws
             RepositoryErrorException
     {
@@ -681,7 +889,31 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    void createRelationshipInStore(Relationship relationship)
+            throws
+            RepositoryErrorException,
+            InvalidParameterException
+
+    {
+        final String methodName = "createRelationshipInStore";
+
+        List<Lock> locks = instanceLocks.lockRelationship(relationship);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    createRelationshipInTransaction(relationship);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, relationship.getGUID(), attempt);
+                }
+            }
+        } finally {
+            instanceLocks.unlock(locks);
+        }
+    }
+
+    // Perform createRelationshipInStore in the graph transaction of the current thread
+    private void createRelationshipInTransaction(Relationship relationship)
             throws
             RepositoryErrorException,
             InvalidParameterException
@@ -826,16 +1058,41 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
             throws
             InvalidParameterException,
             RepositoryErrorException
 
     {
-
         final String methodName = "saveRelationshipReferenceCopyToStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        List<Lock> locks = instanceLocks.lockRelationship(relationship);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                GraphTraversalSource g = instanceGraph.traversal();
+                try {
+                    saveRelationshipReferenceCopyInTransaction(g, relationship);
+                    log.debug("{} Commit tx containing creation or update of edge", methodName);
+                    g.tx().commit();
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, relationship.getGUID(), attempt);
+                }
+            }
+        } finally {
+            instanceLocks.unlock(locks);
+        }
+    }
+
+    // Perform saveRelationshipReferenceCopyToStore in the supplied graph transaction, which is left for the caller to commit
+    private void saveRelationshipReferenceCopyInTransaction(GraphTraversalSource g, Relationship relationship)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException
+
+    {
+
+        final String methodName = "saveRelationshipReferenceCopyToStore";
 
         Vertex vertex;
 
@@ -882,7 +1139,7 @@ class GraphOMRSMetadataStore {
         }
         else {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
+            createEntityProxyInTransaction(g, entityOne);
         }
 
         // Process end 2
@@ -927,7 +1184,7 @@ class GraphOMRSMetadataStore {
         }
         else {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
+            createEntityProxyInTransaction(g, entityTwo);
         }
 
 
@@ -1043,16 +1300,221 @@ class GraphOMRSMetadataStore {
                     errorCode.getUserAction());
         }
 
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
-        g.tx().commit();
-
         return;
     }
 
 
 
 
-    protected synchronized Relationship getRelationshipFromStore(String guid)
+    /*
+     * Save reference copies of many entities and relationships, for example when an open metadata archive is loaded.
+     *
+     * The instances are saved in batch-loading transactions of up to bulkLoadBatchSize instances, entities first.
+     * A batch-loading transaction skips JanusGraph's consistency checks and locking, and each commit writes the
+     * composite and mixed index updates for the whole batch at once rather than one instance at a time.  The locks
+     * of all of the instances in a batch are held until it is committed so no other thread in this server can
+     * update them at the same time.
+     *
+     * If any instance in a batch can not be saved, the batch is rolled back and its instances are saved one at a time
+     * in the normal way.  The valid instances are all saved and then the first error is thrown.
+     *
+     * Because the batch-loading transactions do not enforce the unique GUID indexes, the instances saved in batches
+     * are checked afterwards.  The copies of any instance stored more than once are merged, and the affected
+     * instances are saved again one at a time in the normal way.
+     */
+    void saveInstanceReferenceCopiesToStore(List<EntityDetail> entities, List<Relationship> relationships)
+        throws
+            InvalidParameterException,
+            RepositoryErrorException
+    {
+        List<InstanceHeader> instances = new ArrayList<>();
+        if (entities != null) {
+            instances.addAll(entities);
+        }
+        if (relationships != null) {
+            instances.addAll(relationships);
+        }
+
+        GraphOMRSBulkLoad bulkLoad = new GraphOMRSBulkLoad(repositoryName, bulkLoadBatchSize, auditLog, new GraphOMRSBulkLoad.InstanceStore()
+        {
+            @Override
+            public boolean saveBatch(List<InstanceHeader> batch)
+            {
+                return saveBatchInTransaction(batch);
+            }
+
+            @Override
+            public void saveInstance(InstanceHeader instance) throws InvalidParameterException, RepositoryErrorException
+            {
+                if (instance instanceof EntityDetail) {
+                    saveEntityReferenceCopyToStore((EntityDetail) instance);
+                }
+                else {
+                    saveRelationshipReferenceCopyToStore((Relationship) instance);
+                }
+            }
+
+            @Override
+            public Set<String> findDuplicates(List<InstanceHeader> batchedInstances)
+            {
+                return findDuplicateInstances(batchedInstances);
+            }
+
+            @Override
+            public void mergeDuplicates(Set<String> guids)
+            {
+                mergeDuplicateInstances(guids);
+            }
+        });
+
+        bulkLoad.saveInstances(instances);
+    }
+
+    // Save a batch of instances in a single batch-loading transaction, returning false if the batch was rolled back
+    private boolean saveBatchInTransaction(List<InstanceHeader> batch)
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        List<Lock> locks = instanceLocks.lockInstances(batch);
+        JanusGraphTransaction transaction = instanceGraph.buildTransaction().enableBatchLoading().start();
+        try {
+            GraphTraversalSource g = transaction.traversal();
+
+            for (InstanceHeader instance : batch) {
+                if (instance instanceof EntityDetail) {
+                    saveEntityReferenceCopyInTransaction(g, (EntityDetail) instance);
+                }
+                else {
+                    saveRelationshipReferenceCopyInTransaction(g, (Relationship) instance);
+                }
+            }
+
+            transaction.commit();
+            return true;
+        }
+        catch (Exception e) {
+            log.debug("{} could not save a batch of {} instances, saving them one at a time: {}", methodName, batch.size(), e.getMessage());
+            return false;
+        }
+        finally {
+            if (transaction.isOpen()) {
+                transaction.rollback();
+            }
+            instanceLocks.unlock(locks);
+        }
+    }
+
+    // Return the GUIDs of the instances saved in batches, and of the entities at the ends of relationships, that are stored more than once
+    private Set<String> findDuplicateInstances(List<InstanceHeader> instances)
+    {
+        Set<String> duplicateGUIDs = new HashSet<>();
+
+        GraphTraversalSource g = instanceGraph.traversal();
+        try {
+            for (InstanceHeader instance : instances) {
+                if (instance instanceof EntityDetail) {
+                    checkEntityStoredOnce(g, instance.getGUID(), duplicateGUIDs);
+                }
+                else {
+                    Relationship relationship = (Relationship) instance;
+                    if (g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID()).count().next() > 1) {
+                        duplicateGUIDs.add(relationship.getGUID());
+                    }
+                    checkEntityStoredOnce(g, relationship.getEntityOneProxy().getGUID(), duplicateGUIDs);
+                    checkEntityStoredOnce(g, relationship.getEntityTwoProxy().getGUID(), duplicateGUIDs);
+                }
+            }
+        }
+        finally {
+            g.tx().rollback();
+        }
+
+        return duplicateGUIDs;
+    }
+
+    // Merge the copies of each duplicated entity or relationship into one, holding the instances' locks
+    private void mergeDuplicateInstances(Set<String> guids)
+    {
+        final String methodName = "saveInstanceReferenceCopiesToStore";
+
+        List<Lock> locks = instanceLocks.lockGUIDs(guids);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                GraphTraversalSource g = instanceGraph.traversal();
+                try {
+                    for (String guid : guids) {
+                        mergeDuplicateEntityVertices(g, guid);
+                        removeDuplicateRelationshipEdges(g, guid);
+                    }
+                    g.tx().commit();
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, guids.toString(), attempt);
+                }
+            }
+        } finally {
+            instanceLocks.unlock(locks);
+        }
+    }
+
+    /*
+     * Keep the vertex with the lowest id for the entity and move the relationship edges of the other vertices onto it.  The
+     * classifications of the other vertices are removed - the entity is saved again afterwards, which sets the
+     * classifications of the remaining vertex from the request.
+     */
+    private void mergeDuplicateEntityVertices(GraphTraversalSource g, String guid)
+    {
+        List<Vertex> vertices = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid).toList();
+        if (vertices.size() < 2) {
+            return;
+        }
+        vertices.sort(Comparator.comparing(vertex -> (Long) vertex.id()));
+
+        Vertex keptVertex = vertices.get(0);
+        for (Vertex duplicateVertex : vertices.subList(1, vertices.size())) {
+            for (Edge edge : g.V(duplicateVertex).bothE("Relationship").dedup().toList()) {
+                Vertex outVertex = edge.outVertex().equals(duplicateVertex) ? keptVertex : edge.outVertex();
+                Vertex inVertex = edge.inVertex().equals(duplicateVertex) ? keptVertex : edge.inVertex();
+
+                Edge movedEdge = outVertex.addEdge(edge.label(), inVertex);
+                edge.properties().forEachRemaining(property -> movedEdge.property(property.key(), property.value()));
+                edge.remove();
+            }
+            for (Vertex classificationVertex : g.V(duplicateVertex).out("Classifier").toList()) {
+                classificationVertex.remove();
+            }
+            duplicateVertex.remove();
+        }
+        log.debug("Merged {} copies of entity {} into vertex {}", vertices.size(), guid, keptVertex.id());
+    }
+
+    // Keep the edge with the lowest id for the relationship and remove the others
+    private void removeDuplicateRelationshipEdges(GraphTraversalSource g, String guid)
+    {
+        List<Edge> edges = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid).toList();
+        if (edges.size() < 2) {
+            return;
+        }
+        edges.sort(Comparator.comparing(edge -> ((RelationIdentifier) edge.id()).getRelationId()));
+
+        for (Edge duplicateEdge : edges.subList(1, edges.size())) {
+            duplicateEdge.remove();
+        }
+        log.debug("Removed {} extra copies of relationship {}", edges.size() - 1, guid);
+    }
+
+    // Record the GUID if there is more than one entity vertex for it
+    private void checkEntityStoredOnce(GraphTraversalSource g, String guid, Set<String> duplicateGUIDs)
+    {
+        if (g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid).count().next() > 1) {
+            duplicateGUIDs.add(guid);
+        }
+    }
+
+
+
+
+    protected Relationship getRelationshipFromStore(String guid)
             throws RepositoryErrorException
     {
         String methodName = "getRelationshipFromStore";
@@ -1123,7 +1585,29 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    void updateEntityInStore(EntityDetail entity)
+            throws
+            RepositoryErrorException
+    {
+        final String methodName = "updateEntityInStore";
+
+        Lock lock = instanceLocks.lockInstance(entity.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    updateEntityInTransaction(entity);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entity.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform updateEntityInStore in the graph transaction of the current thread
+    private void updateEntityInTransaction(EntityDetail entity)
             throws
             RepositoryErrorException
     {
@@ -1178,7 +1662,29 @@ class GraphOMRSMetadataStore {
 
     }
 
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy)
+            throws
+            RepositoryErrorException
+    {
+        final String methodName = "updateEntityProxyInStore";
+
+        Lock lock = instanceLocks.lockInstance(entityProxy.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    updateEntityProxyInTransaction(entityProxy);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entityProxy.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform updateEntityProxyInStore in the graph transaction of the current thread
+    private void updateEntityProxyInTransaction(EntityProxy entityProxy)
             throws
             RepositoryErrorException
     {
@@ -1315,7 +1821,29 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    void updateRelationshipInStore(Relationship relationship)
+            throws
+            RepositoryErrorException
+    {
+        final String methodName = "updateRelationshipInStore";
+
+        Lock lock = instanceLocks.lockInstance(relationship.getGUID());
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    updateRelationshipInTransaction(relationship);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, relationship.getGUID(), attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform updateRelationshipInStore in the graph transaction of the current thread
+    private void updateRelationshipInTransaction(Relationship relationship)
             throws
             RepositoryErrorException
     {
@@ -1362,7 +1890,27 @@ class GraphOMRSMetadataStore {
     //
     // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    void removeEntityFromStore(String entityGUID)
+    {
+        final String methodName = "removeEntityFromStore";
+
+        Lock lock = instanceLocks.lockInstance(entityGUID);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    removeEntityInTransaction(entityGUID);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entityGUID, attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform removeEntityFromStore in the graph transaction of the current thread
+    private void removeEntityInTransaction(String entityGUID)
     {
         final String methodName = "removeEntityFromStore";
 
@@ -1412,7 +1960,27 @@ class GraphOMRSMetadataStore {
     }
 
     // removeEntityProxyFromStore
-    synchronized void removeEntityProxyFromStore(String entityGUID)
+    void removeEntityProxyFromStore(String entityGUID)
+    {
+        final String methodName = "removeEntityProxyFromStore";
+
+        Lock lock = instanceLocks.lockInstance(entityGUID);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    removeEntityProxyInTransaction(entityGUID);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, entityGUID, attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform removeEntityProxyFromStore in the graph transaction of the current thread
+    private void removeEntityProxyInTransaction(String entityGUID)
     {
         final String methodName = "removeEntityProxyFromStore";
         // TODO - could capture existing entity and move it to 'history'
@@ -1464,7 +2032,27 @@ class GraphOMRSMetadataStore {
     }
 
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    void removeRelationshipFromStore(String relationshipGUID)
+    {
+        final String methodName = "removeRelationshipFromStore";
+
+        Lock lock = instanceLocks.lockInstance(relationshipGUID);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    removeRelationshipInTransaction(relationshipGUID);
+                    return;
+                } catch (JanusGraphException e) {
+                    handleTransactionConflict(e, methodName, relationshipGUID, attempt);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Perform removeRelationshipFromStore in the graph transaction of the current thread
+    private void removeRelationshipInTransaction(String relationshipGUID)
     {
         final String methodName = "removeRelationshipFromStore";
         // TODO - could capture existing relationship and move it to 'history'
@@ -1484,7 +2072,7 @@ class GraphOMRSMetadataStore {
     }
 
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
             throws
             TypeErrorException,
@@ -1563,6 +2151,48 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /*
+     * Count the relationships of an entity without mapping them. The edges are filtered on the type name and status
+     * properties in the traversal and only the count is returned. Deleted relationships are never counted.
+     */
+    int countRelationshipsForEntity(String               entityGUID,
+                                                 String               relationshipTypeName,
+                                                 List<InstanceStatus> limitResultsByStatus)
+    {
+        final String methodName = "countRelationshipsForEntity";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Edge> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID).bothE("Relationship");
+
+        // Optionally filter by relationship type
+        if (relationshipTypeName != null) {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, relationshipTypeName);
+        }
+
+        // Filter by status, excluding DELETED relationships
+        if (limitResultsByStatus == null || limitResultsByStatus.isEmpty()) {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_STATUS, without(InstanceStatus.DELETED.getOrdinal()));
+        }
+        else {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus) {
+                if (status != null && status != InstanceStatus.DELETED) {
+                    statusOrdinals.add(status.getOrdinal());
+                }
+            }
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_STATUS, within(statusOrdinals));
+        }
+
+        long count = gt.count().next();
+        log.debug("{} entity {} has {} matching relationships", methodName, entityGUID, count);
+
+        g.tx().commit();
+
+        return (int) count;
+    }
+
+
     // findEntitiesByProperty
     List<EntityDetail> findEntitiesByProperty(String             typeDefName,
                                               InstanceProperties matchProperties,
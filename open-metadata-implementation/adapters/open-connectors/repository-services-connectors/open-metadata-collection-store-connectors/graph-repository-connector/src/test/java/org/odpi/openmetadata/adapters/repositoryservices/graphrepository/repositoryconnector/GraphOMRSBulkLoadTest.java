@@ -0,0 +1,247 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Validate the batching, the one-at-a-time fallback and the merging of duplicates in the bulk load of the graph
+ * repository.
+ */
+public class GraphOMRSBulkLoadTest
+{
+    /**
+     * The instances are saved in batches of the configured size and the batched instances are checked for
+     * duplicates.
+     *
+     * @throws Exception unexpected error from the bulk load
+     */
+    @Test
+    public void testBatches() throws Exception
+    {
+        TestInstanceStore    instanceStore = new TestInstanceStore();
+        List<InstanceHeader> instances     = getEntities(25);
+
+        new GraphOMRSBulkLoad("TestRepository", 10, new TestAuditLog(), instanceStore).saveInstances(instances);
+
+        assertEquals(instanceStore.batchSizes, Arrays.asList(10, 10, 5));
+        assertTrue(instanceStore.savedInstances.isEmpty());
+        assertEquals(instanceStore.checkedInstances, Collections.singletonList(instances));
+        assertTrue(instanceStore.mergedGUIDs.isEmpty());
+    }
+
+
+    /**
+     * The instances of a batch that is rolled back are saved one at a time.  Every valid instance is saved and
+     * then the first error, in the order of the instances, is thrown.
+     *
+     * @throws Exception unexpected error from the bulk load
+     */
+    @Test
+    public void testFallback() throws Exception
+    {
+        TestInstanceStore    instanceStore = new TestInstanceStore();
+        List<InstanceHeader> instances     = getEntities(6);
+
+        instanceStore.failedBatchStart = instances.get(3);
+        instanceStore.invalidGUIDs.add("entity-4");
+        instanceStore.invalidGUIDs.add("entity-5");
+
+        try {
+            new GraphOMRSBulkLoad("TestRepository", 3, new TestAuditLog(), instanceStore).saveInstances(instances);
+            fail("The invalid instances were not reported");
+        }
+        catch (InvalidParameterException e) {
+            assertTrue(e.getErrorMessage().contains("entity-4"), e.getErrorMessage());
+        }
+
+        assertEquals(instanceStore.savedInstances, instances.subList(3, 6));
+        assertEquals(instanceStore.checkedInstances, Collections.singletonList(instances.subList(0, 3)));
+    }
+
+
+    /**
+     * The copies of a duplicated entity are merged, and the batched instances that involve it are saved again
+     * one at a time.
+     *
+     * @throws Exception unexpected error from the bulk load
+     */
+    @Test
+    public void testDuplicatesMerged() throws Exception
+    {
+        TestInstanceStore    instanceStore = new TestInstanceStore();
+        TestAuditLog         auditLog      = new TestAuditLog();
+        List<InstanceHeader> instances     = getEntities(3);
+
+        instances.add(getRelationship("relationship-1", "entity-0", "entity-1"));
+        instances.add(getRelationship("relationship-2", "entity-0", "entity-2"));
+
+        instanceStore.duplicateGUIDs.add(new HashSet<>(Collections.singletonList("entity-1")));
+
+        new GraphOMRSBulkLoad("TestRepository", 10, auditLog, instanceStore).saveInstances(instances);
+
+        assertEquals(instanceStore.mergedGUIDs, Collections.singletonList(Collections.singleton("entity-1")));
+        assertEquals(instanceStore.savedInstances, Arrays.asList(instances.get(1), instances.get(3)));
+        assertEquals(instanceStore.checkedInstances.size(), 2);
+        assertEquals(auditLog.messageIds,
+                     Collections.singletonList(GraphOMRSAuditCode.GRAPH_REPOSITORY_BULK_LOAD_DUPLICATES_MERGED.getLogMessageId()));
+    }
+
+
+    /**
+     * An exception is thrown if the duplicates are still there after they have been merged.
+     *
+     * @throws Exception unexpected error from the bulk load
+     */
+    @Test(expectedExceptions = RepositoryErrorException.class)
+    public void testDuplicatesNotMerged() throws Exception
+    {
+        TestInstanceStore    instanceStore = new TestInstanceStore();
+        List<InstanceHeader> instances     = getEntities(3);
+
+        instanceStore.duplicateGUIDs.add(new HashSet<>(Collections.singletonList("entity-1")));
+        instanceStore.duplicateGUIDs.add(new HashSet<>(Collections.singletonList("entity-1")));
+
+        new GraphOMRSBulkLoad("TestRepository", 10, new TestAuditLog(), instanceStore).saveInstances(instances);
+    }
+
+
+    private List<InstanceHeader> getEntities(int count)
+    {
+        List<InstanceHeader> entities = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID("entity-" + i);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        EntityProxy entityOne = new EntityProxy();
+        entityOne.setGUID(entityOneGUID);
+
+        EntityProxy entityTwo = new EntityProxy();
+        entityTwo.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * Instance store that records the operations of the bulk load.
+     */
+    private static class TestInstanceStore implements GraphOMRSBulkLoad.InstanceStore
+    {
+        InstanceHeader             failedBatchStart = null;
+        Set<String>                invalidGUIDs     = new HashSet<>();
+        LinkedList<Set<String>>    duplicateGUIDs   = new LinkedList<>();
+
+        List<Integer>              batchSizes       = new ArrayList<>();
+        List<InstanceHeader>       savedInstances   = new ArrayList<>();
+        List<List<InstanceHeader>> checkedInstances = new ArrayList<>();
+        List<Set<String>>          mergedGUIDs      = new ArrayList<>();
+
+
+        @Override
+        public boolean saveBatch(List<InstanceHeader> batch)
+        {
+            if (batch.get(0) == failedBatchStart) {
+                return false;
+            }
+
+            batchSizes.add(batch.size());
+            return true;
+        }
+
+
+        @Override
+        public void saveInstance(InstanceHeader instance) throws InvalidParameterException
+        {
+            savedInstances.add(instance);
+
+            if (invalidGUIDs.contains(instance.getGUID())) {
+                throw new InvalidParameterException(400, "TestInstanceStore", "saveInstance",
+                                                    "Instance " + instance.getGUID() + " is not valid", "", "");
+            }
+        }
+
+
+        @Override
+        public Set<String> findDuplicates(List<InstanceHeader> instances)
+        {
+            checkedInstances.add(new ArrayList<>(instances));
+
+            if (duplicateGUIDs.isEmpty()) {
+                return new HashSet<>();
+            }
+
+            return duplicateGUIDs.removeFirst();
+        }
+
+
+        @Override
+        public void mergeDuplicates(Set<String> guids)
+        {
+            mergedGUIDs.add(guids);
+        }
+    }
+
+
+    /**
+     * Audit log that keeps the message ids of the records written to it.
+     */
+    private static class TestAuditLog extends OMRSAuditLog
+    {
+        List<String> messageIds = new ArrayList<>();
+
+
+        TestAuditLog()
+        {
+            super(new OMRSAuditLogDestination(null), 0, "GraphOMRSBulkLoadTest", "Test", null);
+        }
+
+
+        @Override
+        public void logRecord(String                     actionDescription,
+                              String                     logMessageId,
+                              OMRSAuditLogRecordSeverity severity,
+                              String                     logMessage,
+                              String                     additionalInformation,
+                              String                     systemAction,
+                              String                     userAction)
+        {
+            messageIds.add(logMessageId);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the instance locks serialize the updates that relationships make to the entities at their ends.
+ */
+public class GraphOMRSInstanceLocksTest
+{
+    private static final String SHARED_ENTITY_GUID = "shared-entity";
+
+    private static final int THREAD_COUNT              = 8;
+    private static final int RELATIONSHIPS_PER_THREAD  = 200;
+
+
+    /**
+     * Relationships to a shared end entity are created from several threads.  Each one looks for the vertex
+     * of the shared entity, creates it if it is missing, and updates it without any other synchronization,
+     * as the graph store does when it saves a relationship.  The vertex must be created once and no update
+     * may be lost.
+     *
+     * @throws Exception problem running the threads
+     */
+    @Test
+    public void testRelationshipsToSharedEntity() throws Exception
+    {
+        GraphOMRSInstanceLocks instanceLocks = new GraphOMRSInstanceLocks(64);
+        Map<String, int[]>     vertices      = new HashMap<>();
+        int[]                  creations     = new int[1];
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            final int threadNumber = thread;
+
+            tasks.add(() -> {
+                for (int i = 0; i < RELATIONSHIPS_PER_THREAD; i++) {
+                    Relationship relationship = getRelationship("relationship-" + threadNumber + "-" + i,
+                                                                "entity-" + threadNumber + "-" + i,
+                                                                SHARED_ENTITY_GUID);
+
+                    List<Lock> locks = instanceLocks.lockRelationship(relationship);
+                    try {
+                        int[] vertex = vertices.get(SHARED_ENTITY_GUID);
+                        if (vertex == null) {
+                            Thread.yield();
+                            vertex = new int[1];
+                            vertices.put(SHARED_ENTITY_GUID, vertex);
+                            creations[0]++;
+                        }
+
+                        int edgeCount = vertex[0];
+                        Thread.yield();
+                        vertex[0] = edgeCount + 1;
+                    }
+                    finally {
+                        instanceLocks.unlock(locks);
+                    }
+                }
+                return null;
+            });
+        }
+
+        runTasks(tasks);
+
+        Lock lock = instanceLocks.lockInstance(SHARED_ENTITY_GUID);
+        try {
+            assertEquals(creations[0], 1);
+            assertEquals(vertices.get(SHARED_ENTITY_GUID)[0], THREAD_COUNT * RELATIONSHIPS_PER_THREAD);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+
+    /**
+     * Threads saving relationships between the same entities in opposite directions, and batches that include
+     * them, acquire the locks in the same order and so do not deadlock.
+     *
+     * @throws Exception problem running the threads
+     */
+    @Test
+    public void testOppositeRelationshipsDoNotDeadlock() throws Exception
+    {
+        GraphOMRSInstanceLocks instanceLocks = new GraphOMRSInstanceLocks(64);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            final boolean forwards = (thread % 2 == 0);
+
+            tasks.add(() -> {
+                for (int i = 0; i < RELATIONSHIPS_PER_THREAD; i++) {
+                    Relationship relationship = forwards ?
+                            getRelationship("relationship-forwards-" + i, "entity-a-" + i, "entity-b-" + i) :
+                            getRelationship("relationship-backwards-" + i, "entity-b-" + i, "entity-a-" + i);
+
+                    List<Lock> locks;
+                    if (i % 3 == 0) {
+                        List<Relationship> batch = new ArrayList<>();
+                        batch.add(relationship);
+                        batch.add(getRelationship("relationship-batch-" + i, "entity-b-" + i, SHARED_ENTITY_GUID));
+                        locks = instanceLocks.lockInstances(batch);
+                    }
+                    else {
+                        locks = instanceLocks.lockRelationship(relationship);
+                    }
+                    instanceLocks.unlock(locks);
+                }
+                return null;
+            });
+        }
+
+        runTasks(tasks);
+    }
+
+
+    /**
+     * A relationship holds the locks of its own GUID and of both of its ends, and releases them all.
+     */
+    @Test
+    public void testRelationshipLocksEnds()
+    {
+        GraphOMRSInstanceLocks instanceLocks = new GraphOMRSInstanceLocks(64);
+        Relationship           relationship  = getRelationship("relationship-1", "entity-1", SHARED_ENTITY_GUID);
+
+        List<Lock> locks = instanceLocks.lockRelationship(relationship);
+
+        for (String guid : new String[] {"relationship-1", "entity-1", SHARED_ENTITY_GUID}) {
+            Lock lock = instanceLocks.lockInstance(guid);
+            lock.unlock();
+
+            assertTrue(locks.contains(lock), guid);
+            assertTrue(((ReentrantLock) lock).isHeldByCurrentThread(), guid);
+        }
+
+        instanceLocks.unlock(locks);
+
+        for (Lock lock : locks) {
+            assertFalse(((ReentrantLock) lock).isLocked());
+        }
+    }
+
+
+    private void runTasks(List<Callable<Void>> tasks) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch  start    = new CountDownLatch(1);
+
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        EntityProxy entityOne = new EntityProxy();
+        entityOne.setGUID(entityOneGUID);
+
+        EntityProxy entityTwo = new EntityProxy();
+        entityTwo.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        return relationship;
+    }
+}
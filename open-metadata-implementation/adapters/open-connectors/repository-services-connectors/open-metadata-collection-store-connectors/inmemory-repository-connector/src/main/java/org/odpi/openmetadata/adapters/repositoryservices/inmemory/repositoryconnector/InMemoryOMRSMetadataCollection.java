@@ -51,6 +51,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Set up the maximum number of earlier versions of each instance that are kept to support historical queries
+     * and the restoring of previous versions.
+     *
+     * @param maxHistoryVersions number of versions to keep (zero or less means no limit)
+     */
+    void setMaxHistoryVersions(int    maxHistoryVersions)
+    {
+        this.repositoryStore.setMaxHistoryVersions(maxHistoryVersions);
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -176,6 +188,52 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The parameters are validated
+     * once and each entity is read directly from the store.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the same order as the guids.  The entry for an entity that is
+     * not known, is deleted or is only a proxy in the metadata collection is null.
+     * @throws InvalidParameterException the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>(guids.size());
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = repositoryStore.getEntity(guid);
+
+            if ((entity != null) && (entity.getStatus() == InstanceStatus.DELETED))
+            {
+                entity = null;
+            }
+
+            results.add(entity);
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity - includes the header, classifications and properties of the entity.
      *
@@ -210,7 +268,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -298,9 +356,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : this.getCandidateRelationshipsForEntity(entityGUID, asOfTime))
         {
             if (storedRelationship != null)
             {
@@ -338,6 +394,79 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the number of relationships attached to a specific entity.  The relationships are counted in the
+     * store rather than being copied and sorted as they are for getRelationshipsForEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus) throws InvalidParameterException,
+                                                                                                   TypeErrorException,
+                                                                                                   RepositoryErrorException,
+                                                                                                   EntityNotKnownException,
+                                                                                                   UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        int count = 0;
+
+        for (Relationship  storedRelationship : this.getCandidateRelationshipsForEntity(entityGUID, null))
+        {
+            if ((storedRelationship != null) &&
+                (storedRelationship.getStatus() != InstanceStatus.DELETED) &&
+                ((limitResultsByStatus == null) || (limitResultsByStatus.isEmpty()) || (limitResultsByStatus.contains(storedRelationship.getStatus()))))
+            {
+                repositoryValidator.validRelationship(repositoryName, storedRelationship);
+
+                if (repositoryHelper.relatedEntity(repositoryName,
+                                                   entityGUID,
+                                                   storedRelationship))
+                {
+                    if ((relationshipTypeGUID == null) ||
+                        (relationshipTypeGUID.equals(storedRelationship.getType().getTypeDefGUID())))
+                    {
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -408,13 +537,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The indexes in the repository store narrow the search to the entities of the requested type and
+         * classifications.  Each of these candidates is then checked against the full search criteria.
          */
         List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        String                     classificationName = null;
+
+        if ((limitResultsByClassification != null) && (! limitResultsByClassification.isEmpty()))
+        {
+            classificationName = limitResultsByClassification.get(0);
+        }
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -511,16 +645,15 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The classification index in the repository store narrows the search to the entities that
+         * have the requested classification.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -636,12 +769,18 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The type index in the repository store narrows the search to the entities of the requested type.
+         * The property values of each of these candidates are then checked against the search criteria.
          */
         List<EntityDetail>   foundEntities = new ArrayList<>();
+        String               classificationName = null;
+
+        if ((limitResultsByClassification != null) && (! limitResultsByClassification.isEmpty()))
+        {
+            classificationName = limitResultsByClassification.get(0);
+        }
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -761,7 +900,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -844,13 +983,11 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The type index in the repository store narrows the search to the relationships of the requested type.
          */
         List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
@@ -942,12 +1079,11 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The type index in the repository store narrows the search to the relationships of the requested type.
          */
         List<Relationship>  foundRelationships = new ArrayList<>();
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
@@ -1632,33 +1768,9 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Locate/purge relationships for entity
          */
-        try
-        {
-            List<Relationship> relationships = this.getRelationshipsForEntity(userId,
-                                                                              deletedEntityGUID,
-                                                                              null,
-                                                                              0,
-                                                                              null,
-                                                                              null,
-                                                                              null,
-                                                                              null,
-                                                                              10000);
-
-
-            if (relationships != null)
-            {
-                for (Relationship relationship : relationships)
-                {
-                    if (relationship != null)
-                    {
-                        repositoryStore.removeRelationshipFromStore(relationship);
-                    }
-                }
-            }
-        }
-        catch (Throwable  error)
+        for (Relationship relationship : repositoryStore.getRelationshipsForEntity(deletedEntityGUID))
         {
-            // nothing to do - keep going
+            repositoryStore.removeRelationshipFromStore(relationship);
         }
 
         /*
@@ -2732,7 +2844,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         updatedEntity = repositoryHelper.incrementVersion(userId, entity, updatedEntity);
 
-        repositoryStore.updateEntityInStore(entity);
+        repositoryStore.updateEntityInStore(updatedEntity);
 
         /*
          * The repository store maintains an entity proxy for use with relationships.
@@ -3271,4 +3383,119 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
             super.reportRelationshipNotKnown(relationshipGUID, methodName);
         }
     }
+
+
+    /* ======================================================
+     * Private methods for locating candidate instances
+     */
+
+    /**
+     * Return the entities that may match a query.  Current entities are located through the indexes in the
+     * repository store.  Historical queries use the entities as they were at the requested time.
+     *
+     * @param entityTypeGUID unique identifier of the type of entity requested (null means any type).
+     * @param classificationName name of a classification that the entities must have (null means any).
+     * @param asOfTime time of the query (null means now).
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(String   entityTypeGUID,
+                                                          String   classificationName,
+                                                          Date     asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        if (classificationName != null)
+        {
+            return repositoryStore.getEntitiesWithClassification(classificationName);
+        }
+
+        if (entityTypeGUID != null)
+        {
+            List<EntityDetail> candidates = new ArrayList<>();
+
+            for (String typeName : repositoryStore.getEntityTypeNames())
+            {
+                List<EntityDetail> entitiesOfType = repositoryStore.getEntitiesOfType(typeName);
+
+                /*
+                 * All of the entities in the list have the same type so the first is used to test
+                 * whether the type matches the requested type or one of its subtypes.
+                 */
+                if ((! entitiesOfType.isEmpty()) &&
+                    (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitiesOfType.get(0))))
+                {
+                    candidates.addAll(entitiesOfType);
+                }
+            }
+
+            return candidates;
+        }
+
+        return repositoryStore.getEntities();
+    }
+
+
+    /**
+     * Return the relationships that may match a query.  Current relationships are located through the indexes in the
+     * repository store.  Historical queries use the relationships as they were at the requested time.
+     *
+     * @param relationshipTypeGUID unique identifier of the type of relationship requested (null means any type).
+     * @param asOfTime time of the query (null means now).
+     * @return candidate relationships
+     */
+    private Collection<Relationship> getCandidateRelationships(String   relationshipTypeGUID,
+                                                               Date     asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        if (relationshipTypeGUID != null)
+        {
+            List<Relationship> candidates = new ArrayList<>();
+
+            for (String typeName : repositoryStore.getRelationshipTypeNames())
+            {
+                List<Relationship> relationshipsOfType = repositoryStore.getRelationshipsOfType(typeName);
+
+                /*
+                 * All of the relationships in the list have the same type so the first is used to test
+                 * whether the type matches the requested type or one of its subtypes.
+                 */
+                if ((! relationshipsOfType.isEmpty()) &&
+                    (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipsOfType.get(0))))
+                {
+                    candidates.addAll(relationshipsOfType);
+                }
+            }
+
+            return candidates;
+        }
+
+        return repositoryStore.getRelationships();
+    }
+
+
+    /**
+     * Return the relationships that may be connected to an entity.  Current relationships are located through the
+     * index of relationship ends in the repository store.
+     *
+     * @param entityGUID unique identifier of the entity.
+     * @param asOfTime time of the query (null means now).
+     * @return candidate relationships
+     */
+    private Collection<Relationship> getCandidateRelationshipsForEntity(String   entityGUID,
+                                                                        Date     asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        return repositoryStore.getRelationshipsForEntity(entityGUID);
+    }
 }
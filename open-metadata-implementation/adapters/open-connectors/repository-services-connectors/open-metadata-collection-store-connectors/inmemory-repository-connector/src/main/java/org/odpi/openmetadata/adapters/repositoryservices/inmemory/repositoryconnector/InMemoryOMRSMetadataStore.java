@@ -3,25 +3,59 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ *
+ * Alongside the stores of the current instances it maintains secondary indexes that map type names,
+ * classification names and the GUIDs of the entities at either end of a relationship to the GUIDs of the
+ * current instances.  These indexes are updated whenever an instance is added to, replaced in or removed from
+ * the current stores.  They are used to narrow the set of candidate instances for a query.  The caller still
+ * validates each candidate against the full query criteria.
+ *
+ * The current stores and the indexes are concurrent maps so that requests reading the current instances do not
+ * need to lock the store.  They see each instance either before or after an update.  Updates are serialized
+ * through the store's monitor.
+ *
+ * The history store keeps the earlier versions of each instance in a navigable map keyed by the time the version
+ * was created or last updated.  A historical (asOfTime) lookup of an instance is therefore a floor lookup in its
+ * own version history rather than a scan of the history of every instance.  When the version history of an instance
+ * is full, its oldest versions are discarded.  By default, the number of versions kept is not limited.  Purging an
+ * instance removes its version history too, so purged instances are not returned by historical queries.
+ *
+ * A further index orders the GUIDs of the current instances by the time they were created.  A historical search
+ * uses it to visit only the instances that had been created by the requested time rather than every instance in
+ * the store.
  */
 class InMemoryOMRSMetadataStore
 {
     private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private final Map<String, EntityDetail>        entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>         entityProxyStore         = new ConcurrentHashMap<>();
+    private final Map<String, Relationship>        relationshipStore        = new ConcurrentHashMap<>();
+
+    private final Map<String, NavigableMap<Long, EntityDetail>>  entityHistoryStore       = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, Relationship>>  relationshipHistoryStore = new ConcurrentHashMap<>();
+    private volatile int                                         maxHistoryVersions       = 0;
+
+    private final Map<String, Set<String>>         entityTypeIndex             = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityClassificationIndex   = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         relationshipTypeIndex       = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityRelationshipIndex     = new ConcurrentHashMap<>();
+
+    private final CreationTimeIndex                entityCreationTimeIndex       = new CreationTimeIndex();
+    private final CreationTimeIndex                relationshipCreationTimeIndex = new CreationTimeIndex();
 
 
     /**
@@ -44,13 +78,25 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return a list of entities from the store that are at the latest level.
+     * Set up the maximum number of earlier versions of each instance that are kept in the history store.
      *
-     * @return list of EntityDetail objects
+     * @param maxHistoryVersions - number of versions to keep (zero or less means no limit)
+     */
+    void  setMaxHistoryVersions(int    maxHistoryVersions)
+    {
+        this.maxHistoryVersions = maxHistoryVersions;
+    }
+
+
+    /**
+     * Return the entities from the store that are at the latest level.  This is a read-only view of the
+     * store rather than a copy.  It reflects updates made while it is being iterated.
+     *
+     * @return collection of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    Collection<EntityDetail>   getEntities()
     {
-        return new ArrayList<>(entityStore.values());
+        return Collections.unmodifiableCollection(entityStore.values());
     }
 
 
@@ -60,116 +106,105 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
 
 
+    /**
+     * Return the entity identified by the guid as it was at the requested time.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time of the requested version (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return entityStore.get(guid);
+        }
+
+        return this.getVersionAsOf(entityStore.get(guid), entityHistoryStore.get(guid), asOfTime);
+    }
+
+
     /**
      * Return the entity proxy identified by the guid.
      *
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
 
 
     /**
-     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the names of the types of the current entities.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @return list of type names
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    List<String>  getEntityTypeNames()
     {
-        if (asOfTime == null)
-        {
-            return new HashMap<>(entityStore);
-        }
+        return this.getIndexKeys(entityTypeIndex);
+    }
 
-        Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (EntityDetail  entity : entityStore.values())
-        {
-            if (entity != null)
-            {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
+    /**
+     * Return the current entities of the named type.  Entities of subtypes are not included.
+     *
+     * @param typeName - name of the entity's type
+     * @return list of EntityDetail objects
+     */
+    List<EntityDetail>  getEntitiesOfType(String   typeName)
+    {
+        return this.getIndexedInstances(entityTypeIndex, typeName, entityStore);
+    }
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
-            }
-        }
 
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
-        {
-            if (oldEntity != null)
-            {
-                String entityGUID = oldEntity.getGUID();
+    /**
+     * Return the current entities that have the named classification attached.
+     *
+     * @param classificationName - name of the classification
+     * @return list of EntityDetail objects
+     */
+    List<EntityDetail>  getEntitiesWithClassification(String   classificationName)
+    {
+        return this.getIndexedInstances(entityClassificationIndex, classificationName, entityStore);
+    }
 
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
 
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
-            }
+    /**
+     * Return an entity store that contains entities as they were at the time supplied in the asOfTime
+     * parameter
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return entity store for the requested time - a read-only view of the current store if asOfTime is null
+     */
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(entityStore);
         }
 
-        return timeWarpedEntityStore;
+        return new TimeWarpedStore<>(entityStore, entityHistoryStore, entityCreationTimeIndex, asOfTime);
     }
 
 
     /**
-     * Return the list of relationships at their current level.
+     * Return the relationships at their current level.  This is a read-only view of the
+     * store rather than a copy.  It reflects updates made while it is being iterated.
      *
-     * @return list of relationships
+     * @return collection of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    Collection<Relationship>   getRelationships()
     {
-        return new ArrayList<>(relationshipStore.values());
+        return Collections.unmodifiableCollection(relationshipStore.values());
     }
 
 
@@ -179,95 +214,83 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+
     /**
-     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
-     * parameter
+     * Return the relationship identified by the guid as it was at the requested time.
      *
-     * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time of the requested version (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return relationshipStore.get(guid);
         }
 
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+        return this.getVersionAsOf(relationshipStore.get(guid), relationshipHistoryStore.get(guid), asOfTime);
+    }
 
 
-        /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
-         */
-        for (Relationship  relationship : relationshipStore.values())
-        {
-            if (relationship != null)
-            {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
+    /**
+     * Return the names of the types of the current relationships.
+     *
+     * @return list of type names
+     */
+    List<String>  getRelationshipTypeNames()
+    {
+        return this.getIndexKeys(relationshipTypeIndex);
+    }
 
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
-            }
-        }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
-        {
-            if (oldRelationship != null)
-            {
-                String relationshipGUID = oldRelationship.getGUID();
+    /**
+     * Return the current relationships of the named type.  Relationships of subtypes are not included.
+     *
+     * @param typeName - name of the relationship's type
+     * @return list of relationships
+     */
+    List<Relationship>  getRelationshipsOfType(String   typeName)
+    {
+        return this.getIndexedInstances(relationshipTypeIndex, typeName, relationshipStore);
+    }
 
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
-                }
-            }
+    /**
+     * Return the current relationships that have the identified entity at either end.
+     *
+     * @param entityGUID - unique identifier for the entity
+     * @return list of relationships
+     */
+    List<Relationship>  getRelationshipsForEntity(String   entityGUID)
+    {
+        return this.getIndexedInstances(entityRelationshipIndex, entityGUID, relationshipStore);
+    }
+
+    /**
+     * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
+     * parameter
+     *
+     * @param asOfTime - time for the store (or null means now)
+     * @return relationship store for the requested time - a read-only view of the current store if asOfTime is null
+     */
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
-        return timeWarpedRelationshipStore;
+        return new TimeWarpedStore<>(relationshipStore, relationshipHistoryStore, relationshipCreationTimeIndex, asOfTime);
     }
 
+
     /**
      * Create a new entity in the entity store.
      *
@@ -280,14 +303,13 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
-
-        while (existingEntity != null)
+        while (entityStore.containsKey(entity.getGUID()))
         {
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
         }
 
+        this.putEntity(entity);
+
         return entity;
     }
 
@@ -304,14 +326,13 @@ class InMemoryOMRSMetadataStore
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        while (existingRelationship != null)
+        while (relationshipStore.containsKey(relationship.getGUID()))
         {
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
         }
 
+        this.putRelationship(relationship);
+
         return relationship;
     }
 
@@ -329,18 +350,15 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The previous version is added to the history before it is replaced so that a concurrent historical
+     * query always finds one or the other.
      *
      * @param entity - new version of the entity
      */
     synchronized void updateEntityInStore(EntityDetail    entity)
     {
-        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
-        {
-            entityHistoryStore.add(0, oldEntity);
-        }
+        this.addToHistory(entityHistoryStore, entityStore.get(entity.getGUID()));
+        this.putEntity(entity);
     }
 
 
@@ -357,19 +375,14 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The previous version is added to the history before it is replaced.
      *
      * @param relationship - new version of the relationship
      */
     synchronized void updateRelationshipInStore(Relationship    relationship)
     {
-
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
-        }
+        this.addToHistory(relationshipHistoryStore, relationshipStore.get(relationship.getGUID()));
+        this.putRelationship(relationship);
     }
 
 
@@ -381,7 +394,7 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        this.putEntity(entity);
     }
 
 
@@ -393,13 +406,13 @@ class InMemoryOMRSMetadataStore
      */
     synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        this.putRelationship(relationship);
     }
 
 
     /**
-     * Retrieve the previous version of a Relationship.  This is the first instance of this element that
-     * appears in the history.
+     * Retrieve the previous version of a Relationship.  This is the most recent version of this element in
+     * the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
@@ -408,43 +421,38 @@ class InMemoryOMRSMetadataStore
     {
         if (guid != null)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
-
-            long versionNumber = 0;
+            NavigableMap<Long, Relationship> history = relationshipHistoryStore.get(guid);
 
-            if (currentVersionOfRelationship != null)
+            if ((history != null) && (! history.isEmpty()))
             {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
+                Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+                Relationship  relationship                 = history.lastEntry().getValue();
 
+                long versionNumber;
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
-                if (relationship != null)
+                if (currentVersionOfRelationship != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
-                    }
+                    versionNumber = currentVersionOfRelationship.getVersion() + 1;
+                }
+                else
+                {
+                    versionNumber = relationship.getVersion() + 1;
                 }
+
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                Relationship newRelationship = new Relationship(relationship);
+                newRelationship.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newRelationship.setUpdateTime(restoreTime);
+                this.addToHistory(relationshipHistoryStore, currentVersionOfRelationship);
+                this.putRelationship(newRelationship);
+                return newRelationship;
             }
         }
 
@@ -454,7 +462,7 @@ class InMemoryOMRSMetadataStore
 
     /**
      * Retrieve the previous version of an Entity from the history store and restore it in the entity store.
-     * This is the first instance of this element that appears in the history.
+     * This is the most recent version of this element in the history.
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
@@ -463,44 +471,38 @@ class InMemoryOMRSMetadataStore
     {
         if (guid != null)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
-
-            long versionNumber = 0;
-
-            if (currentVersionOfEntity != null)
-            {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+            NavigableMap<Long, EntityDetail> history = entityHistoryStore.get(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
+            if ((history != null) && (! history.isEmpty()))
             {
-                if (entity != null)
-                {
-                    if (guid.equals(entity.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
+                EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+                EntityDetail  entity                 = history.lastEntry().getValue();
 
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
+                long versionNumber;
 
-                    }
+                if (currentVersionOfEntity != null)
+                {
+                    versionNumber = currentVersionOfEntity.getVersion() + 1;
                 }
+                else
+                {
+                    versionNumber = entity.getVersion() + 1;
+                }
+
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                EntityDetail newEntity = new EntityDetail(entity);
+                newEntity.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newEntity.setUpdateTime(restoreTime);
+                this.addToHistory(entityHistoryStore, currentVersionOfEntity);
+                this.putEntity(newEntity);
+                return newEntity;
             }
         }
 
@@ -509,30 +511,27 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Purge an entity from the active store along with its version history.  Once purged, the entity is not
+     * returned by historical queries either.
      *
      * @param entity - entity to remove
      */
     synchronized void removeEntityFromStore(EntityDetail     entity)
     {
-        entityStore.remove(entity.getGUID());
-        entityHistoryStore.add(0, entity);
+        entityHistoryStore.remove(entity.getGUID());
+        this.removeEntity(entity.getGUID());
     }
 
 
     /**
-     * Remove a reference entity from the active store and add it to the history store.
+     * Purge a reference entity from the active store along with its version history.
      *
      * @param guid - entity to remove
      */
     synchronized void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
-        {
-            entityHistoryStore.add(0, entity);
-        }
+        entityHistoryStore.remove(guid);
+        this.removeEntity(guid);
     }
 
 
@@ -548,30 +547,772 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
+     * Purge a relationship from the active store along with its version history.  Once purged, the relationship
+     * is not returned by historical queries either.
      *
      * @param relationship - relationship to remove
      */
     synchronized void removeRelationshipFromStore(Relationship     relationship)
     {
-        relationshipStore.remove(relationship.getGUID());
-        relationshipHistoryStore.add(0, relationship);
+        relationshipHistoryStore.remove(relationship.getGUID());
+        this.removeRelationship(relationship.getGUID());
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Purge a reference relationship from the active store along with its version history.
      *
      * @param guid - relationship to remove
      */
     synchronized void removeReferenceRelationshipFromStore(String     guid)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        relationshipHistoryStore.remove(guid);
+        this.removeRelationship(guid);
+    }
 
-        if (relationship != null)
+
+    /**
+     * Add or replace an entity in the entity store and update the indexes.  The new version is indexed before
+     * the index entries that only applied to the previous version are removed, so an entity whose indexed values
+     * have not changed is never missing from the indexes.
+     *
+     * @param entity - new version of the entity
+     * @return previous version of the entity or null
+     */
+    private EntityDetail putEntity(EntityDetail    entity)
+    {
+        this.indexEntity(entity);
+        entityCreationTimeIndex.add(entity.getGUID(), this.getCreationTime(entity));
+
+        EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+
+        this.unindexEntity(oldEntity, entity);
+
+        return oldEntity;
+    }
+
+
+    /**
+     * Remove an entity from the entity store and the indexes.
+     *
+     * @param guid - unique identifier of the entity
+     * @return removed entity or null
+     */
+    private EntityDetail removeEntity(String    guid)
+    {
+        EntityDetail oldEntity = entityStore.remove(guid);
+
+        this.unindexEntity(oldEntity, null);
+        entityCreationTimeIndex.remove(guid);
+
+        Set<String> relationshipGUIDs = entityRelationshipIndex.get(guid);
+
+        if ((relationshipGUIDs != null) && (relationshipGUIDs.isEmpty()))
+        {
+            entityRelationshipIndex.remove(guid);
+        }
+
+        return oldEntity;
+    }
+
+
+    /**
+     * Add or replace a relationship in the relationship store and update the indexes.  As for entities, the new
+     * version is indexed before the index entries that only applied to the previous version are removed.
+     *
+     * @param relationship - new version of the relationship
+     * @return previous version of the relationship or null
+     */
+    private Relationship putRelationship(Relationship    relationship)
+    {
+        this.indexRelationship(relationship);
+        relationshipCreationTimeIndex.add(relationship.getGUID(), this.getCreationTime(relationship));
+
+        Relationship oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+        this.unindexRelationship(oldRelationship, relationship);
+
+        return oldRelationship;
+    }
+
+
+    /**
+     * Remove a relationship from the relationship store and the indexes.
+     *
+     * @param guid - unique identifier of the relationship
+     * @return removed relationship or null
+     */
+    private Relationship removeRelationship(String    guid)
+    {
+        Relationship oldRelationship = relationshipStore.remove(guid);
+
+        this.unindexRelationship(oldRelationship, null);
+        relationshipCreationTimeIndex.remove(guid);
+
+        return oldRelationship;
+    }
+
+
+    /**
+     * Add an entity's type and classifications to the indexes.
+     *
+     * @param entity - entity to index
+     */
+    private void indexEntity(EntityDetail    entity)
+    {
+        if (entity != null)
         {
-            relationshipHistoryStore.add(0, relationship);
+            if (entity.getType() != null)
+            {
+                this.addToIndex(entityTypeIndex, entity.getType().getTypeDefName(), entity.getGUID());
+            }
+
+            if (entity.getClassifications() != null)
+            {
+                for (Classification classification : entity.getClassifications())
+                {
+                    if (classification != null)
+                    {
+                        this.addToIndex(entityClassificationIndex, classification.getName(), entity.getGUID());
+                    }
+                }
+            }
         }
     }
 
+
+    /**
+     * Remove the index entries for an entity's type and classifications that do not apply to its new version.
+     *
+     * @param entity - version of the entity to remove
+     * @param newEntity - version of the entity that replaces it (or null if the entity is removed)
+     */
+    private void unindexEntity(EntityDetail    entity,
+                               EntityDetail    newEntity)
+    {
+        if (entity != null)
+        {
+            String      typeName               = this.getTypeName(entity);
+            Set<String> newClassificationNames = this.getClassificationNames(newEntity);
+
+            if ((typeName != null) && (! typeName.equals(this.getTypeName(newEntity))))
+            {
+                this.removeFromIndex(entityTypeIndex, typeName, entity.getGUID());
+            }
+
+            for (String classificationName : this.getClassificationNames(entity))
+            {
+                if (! newClassificationNames.contains(classificationName))
+                {
+                    this.removeFromIndex(entityClassificationIndex, classificationName, entity.getGUID());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the name of the type of an instance.
+     *
+     * @param instance - instance (may be null)
+     * @return type name or null
+     */
+    private String getTypeName(InstanceHeader    instance)
+    {
+        if ((instance != null) && (instance.getType() != null))
+        {
+            return instance.getType().getTypeDefName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the names of the classifications of an entity.
+     *
+     * @param entity - entity (may be null)
+     * @return set of classification names (may be empty)
+     */
+    private Set<String> getClassificationNames(EntityDetail    entity)
+    {
+        Set<String> classificationNames = new HashSet<>();
+
+        if ((entity != null) && (entity.getClassifications() != null))
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    classificationNames.add(classification.getName());
+                }
+            }
+        }
+
+        return classificationNames;
+    }
+
+
+    /**
+     * Return the GUIDs of the entities at either end of a relationship.
+     *
+     * @param relationship - relationship (may be null)
+     * @return set of entity GUIDs (may be empty)
+     */
+    private Set<String> getEndGUIDs(Relationship    relationship)
+    {
+        Set<String> endGUIDs = new HashSet<>();
+
+        if (relationship != null)
+        {
+            if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+            {
+                endGUIDs.add(relationship.getEntityOneProxy().getGUID());
+            }
+
+            if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+            {
+                endGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+            }
+        }
+
+        return endGUIDs;
+    }
+
+
+    /**
+     * Add a relationship's type and end entities to the indexes.
+     *
+     * @param relationship - relationship to index
+     */
+    private void indexRelationship(Relationship    relationship)
+    {
+        if (relationship != null)
+        {
+            if (relationship.getType() != null)
+            {
+                this.addToIndex(relationshipTypeIndex, relationship.getType().getTypeDefName(), relationship.getGUID());
+            }
+
+            if (relationship.getEntityOneProxy() != null)
+            {
+                this.addToIndex(entityRelationshipIndex, relationship.getEntityOneProxy().getGUID(), relationship.getGUID());
+            }
+
+            if (relationship.getEntityTwoProxy() != null)
+            {
+                this.addToIndex(entityRelationshipIndex, relationship.getEntityTwoProxy().getGUID(), relationship.getGUID());
+            }
+        }
+    }
+
+
+    /**
+     * Remove the index entries for a relationship's type and end entities that do not apply to its new version.
+     *
+     * @param relationship - version of the relationship to remove
+     * @param newRelationship - version of the relationship that replaces it (or null if the relationship is removed)
+     */
+    private void unindexRelationship(Relationship    relationship,
+                                     Relationship    newRelationship)
+    {
+        if (relationship != null)
+        {
+            String      typeName    = this.getTypeName(relationship);
+            Set<String> newEndGUIDs = this.getEndGUIDs(newRelationship);
+
+            if ((typeName != null) && (! typeName.equals(this.getTypeName(newRelationship))))
+            {
+                this.removeFromIndex(relationshipTypeIndex, typeName, relationship.getGUID());
+            }
+
+            for (String endGUID : this.getEndGUIDs(relationship))
+            {
+                if (! newEndGUIDs.contains(endGUID))
+                {
+                    this.removeFromIndex(entityRelationshipIndex, endGUID, relationship.getGUID());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add an instance GUID to an index entry.
+     *
+     * @param index - index to update
+     * @param key - index key
+     * @param guid - unique identifier of the instance
+     */
+    private void addToIndex(Map<String, Set<String>> index,
+                            String                   key,
+                            String                   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            index.computeIfAbsent(key, (newKey) -> ConcurrentHashMap.newKeySet()).add(guid);
+        }
+    }
+
+
+    /**
+     * Remove an instance GUID from an index entry.  The entry's set is kept even when it is empty because
+     * readers may still be iterating it; a set dropped from the index would not see instances added to the
+     * key afterwards.  The relationship index entry for an entity is only dropped, if it is empty, when the
+     * entity itself is removed from the store.
+     *
+     * @param index - index to update
+     * @param key - index key
+     * @param guid - unique identifier of the instance
+     */
+    private void removeFromIndex(Map<String, Set<String>> index,
+                                 String                   key,
+                                 String                   guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                guids.remove(guid);
+            }
+        }
+    }
+
+
+    /**
+     * Return the keys of an index that currently list at least one instance.
+     *
+     * @param index - index to use
+     * @return list of keys
+     */
+    private List<String> getIndexKeys(Map<String, Set<String>> index)
+    {
+        List<String> keys = new ArrayList<>();
+
+        for (Map.Entry<String, Set<String>> indexEntry : index.entrySet())
+        {
+            if (! indexEntry.getValue().isEmpty())
+            {
+                keys.add(indexEntry.getKey());
+            }
+        }
+
+        return keys;
+    }
+
+
+    /**
+     * Return the current instances listed under an index key.  The index entry is iterated without
+     * locking so instances that are added or removed during the call may or may not be included.
+     *
+     * @param index - index to use
+     * @param key - index key
+     * @param store - store holding the current instances
+     * @param <T> type of instance
+     * @return list of instances
+     */
+    private <T> List<T> getIndexedInstances(Map<String, Set<String>> index,
+                                            String                   key,
+                                            Map<String, T>           store)
+    {
+        List<T> instances = new ArrayList<>();
+
+        if (key != null)
+        {
+            Set<String> guids = index.get(key);
+
+            if (guids != null)
+            {
+                for (String guid : guids)
+                {
+                    T instance = store.get(guid);
+
+                    if (instance != null)
+                    {
+                        instances.add(instance);
+                    }
+                }
+            }
+        }
+
+        return instances;
+    }
+
+
+    /**
+     * Return the time that an instance was created.  If it has no create time, the time its version came into
+     * effect is used instead.  An instance with no timestamps is treated as having always existed so that it is
+     * never left out of a historical search by the creation time index.
+     *
+     * @param instance - version of the instance
+     * @return time in milliseconds
+     */
+    private long getCreationTime(InstanceHeader    instance)
+    {
+        if (instance.getCreateTime() != null)
+        {
+            return instance.getCreateTime().getTime();
+        }
+
+        Long versionTime = this.getVersionTime(instance);
+
+        if (versionTime == null)
+        {
+            return Long.MIN_VALUE;
+        }
+
+        return versionTime;
+    }
+
+
+    /**
+     * Return the time that a version of an instance came into effect.  This is its update time, or its create time
+     * if it has never been updated.
+     *
+     * @param instance - version of the instance
+     * @return time in milliseconds or null if the instance has no timestamps
+     */
+    private Long getVersionTime(InstanceHeader    instance)
+    {
+        if (instance != null)
+        {
+            if (instance.getUpdateTime() != null)
+            {
+                return instance.getUpdateTime().getTime();
+            }
+            else if (instance.getCreateTime() != null)
+            {
+                return instance.getCreateTime().getTime();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Add a version of an instance to its version history.  The history is keyed by the time the version came
+     * into effect.  If two versions have the same time, the later one replaces the earlier one because the earlier
+     * version can not be returned by a historical query.  Versions without timestamps are kept so that they
+     * can be restored, but they are never returned by a historical query.  Once the history holds more than the
+     * maximum number of versions, the oldest are discarded.
+     *
+     * @param historyStore - history store for the type of instance
+     * @param instance - version to add (may be null)
+     * @param <T> type of instance
+     */
+    private <T extends InstanceHeader> void addToHistory(Map<String, NavigableMap<Long, T>> historyStore,
+                                                         T                                  instance)
+    {
+        if ((instance != null) && (instance.getGUID() != null))
+        {
+            Long versionTime = this.getVersionTime(instance);
+
+            if (versionTime == null)
+            {
+                versionTime = Long.MIN_VALUE;
+            }
+
+            NavigableMap<Long, T> history = historyStore.computeIfAbsent(instance.getGUID(),
+                                                                         (newGUID) -> new ConcurrentSkipListMap<>());
+            history.put(versionTime, instance);
+
+            int maxVersions = this.maxHistoryVersions;
+
+            if (maxVersions > 0)
+            {
+                while (history.size() > maxVersions)
+                {
+                    history.pollFirstEntry();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the version of an instance that was in effect at the requested time.  The current version is checked
+     * first; if it came into effect after the requested time, the latest earlier version in the history is returned.
+     *
+     * @param currentVersion - version in the current store (or null)
+     * @param history - version history of the instance (or null)
+     * @param asOfTime - requested time
+     * @param <T> type of instance
+     * @return version of the instance or null if it did not exist at the requested time
+     */
+    private <T extends InstanceHeader> T getVersionAsOf(T                     currentVersion,
+                                                        NavigableMap<Long, T> history,
+                                                        Date                  asOfTime)
+    {
+        Long currentVersionTime = this.getVersionTime(currentVersion);
+
+        if ((currentVersionTime != null) && (currentVersionTime <= asOfTime.getTime()))
+        {
+            return currentVersion;
+        }
+
+        if (history != null)
+        {
+            Map.Entry<Long, T> previousVersion = history.floorEntry(asOfTime.getTime());
+
+            if ((previousVersion != null) && (previousVersion.getKey() != Long.MIN_VALUE))
+            {
+                return previousVersion.getValue();
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * CreationTimeIndex orders the GUIDs of the current instances of one kind by the time they were created.
+     * An instance created after the requested time of a historical search can not have had a version in effect at
+     * that time, so the search only needs the instances listed up to that time.  An instance is listed under the
+     * earliest creation time seen for it.
+     *
+     * The index is updated through the store's monitor and read without locking, like the other indexes.
+     */
+    private static class CreationTimeIndex
+    {
+        private final NavigableMap<Long, Set<String>> guidsByCreationTime = new ConcurrentSkipListMap<>();
+        private final Map<String, Long>               creationTimes       = new ConcurrentHashMap<>();
+
+
+        /**
+         * Add an instance to the index, or move it if the supplied creation time is earlier than the time it is
+         * listed under.  It is removed from its old time first so a reader never sees it twice.
+         *
+         * @param guid - unique identifier of the instance
+         * @param creationTime - creation time of the instance
+         */
+        void add(String    guid,
+                 long      creationTime)
+        {
+            if (guid != null)
+            {
+                Long indexedCreationTime = creationTimes.get(guid);
+
+                if ((indexedCreationTime == null) || (creationTime < indexedCreationTime))
+                {
+                    this.remove(guid);
+
+                    guidsByCreationTime.computeIfAbsent(creationTime, (newTime) -> ConcurrentHashMap.newKeySet()).add(guid);
+                    creationTimes.put(guid, creationTime);
+                }
+            }
+        }
+
+
+        /**
+         * Remove an instance from the index.  Times that no longer list any instances are dropped.
+         *
+         * @param guid - unique identifier of the instance
+         */
+        void remove(String    guid)
+        {
+            if (guid != null)
+            {
+                Long creationTime = creationTimes.remove(guid);
+
+                if (creationTime != null)
+                {
+                    Set<String> guids = guidsByCreationTime.get(creationTime);
+
+                    if (guids != null)
+                    {
+                        guids.remove(guid);
+
+                        if (guids.isEmpty())
+                        {
+                            guidsByCreationTime.remove(creationTime, guids);
+                        }
+                    }
+                }
+            }
+        }
+
+
+        /**
+         * Return the GUIDs of the instances created at or before the requested time.  The index is iterated
+         * without locking so instances that are added or removed during the call may or may not be included.
+         *
+         * @param asOfTime - requested time in milliseconds
+         * @return iterator over the GUIDs
+         */
+        Iterator<String> getGUIDsCreatedBy(long    asOfTime)
+        {
+            final Iterator<Set<String>> creationTimeEntries = guidsByCreationTime.headMap(asOfTime, true).values().iterator();
+
+            return new Iterator<String>()
+            {
+                private Iterator<String> guids = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext()
+                {
+                    while ((! guids.hasNext()) && (creationTimeEntries.hasNext()))
+                    {
+                        guids = creationTimeEntries.next().iterator();
+                    }
+
+                    return guids.hasNext();
+                }
+
+                @Override
+                public String next()
+                {
+                    if (! this.hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    return guids.next();
+                }
+            };
+        }
+    }
+
+
+    /**
+     * TimeWarpedStore is a read-only view of a store that shows each instance as it was at the requested time.
+     * Since a purge removes an instance's history along with the instance, every instance with a history is in
+     * the current store.  The view therefore walks the instances that the creation time index lists as created
+     * by the requested time and looks up the version of each instance in its own history as it goes.  Nothing is
+     * copied, and instances created after the requested time are not visited, so a historical query costs one
+     * lookup per instance that existed at that time.
+     *
+     * @param <T> type of instance
+     */
+    private class TimeWarpedStore<T extends InstanceHeader> extends AbstractMap<String, T>
+    {
+        private final Map<String, T>                     currentStore;
+        private final Map<String, NavigableMap<Long, T>> historyStore;
+        private final CreationTimeIndex                  creationTimeIndex;
+        private final Date                               asOfTime;
+
+
+        /**
+         * Constructor supplies the stores and the requested time.
+         *
+         * @param currentStore - store of current instances
+         * @param historyStore - version histories of the instances, keyed by GUID
+         * @param creationTimeIndex - GUIDs of the current instances ordered by creation time
+         * @param asOfTime - requested time
+         */
+        TimeWarpedStore(Map<String, T>                     currentStore,
+                        Map<String, NavigableMap<Long, T>> historyStore,
+                        CreationTimeIndex                  creationTimeIndex,
+                        Date                               asOfTime)
+        {
+            this.currentStore = currentStore;
+            this.historyStore = historyStore;
+            this.creationTimeIndex = creationTimeIndex;
+            this.asOfTime = asOfTime;
+        }
+
+
+        /**
+         * Return the version of the instance that was in effect at the requested time.
+         *
+         * @param guid - unique identifier of the instance
+         * @return instance or null if it did not exist at the requested time
+         */
+        @Override
+        public T get(Object guid)
+        {
+            if (guid instanceof String)
+            {
+                return getVersionAsOf(currentStore.get(guid), historyStore.get(guid), asOfTime);
+            }
+
+            return null;
+        }
+
+
+        /**
+         * Return whether the instance existed at the requested time.
+         *
+         * @param guid - unique identifier of the instance
+         * @return boolean
+         */
+        @Override
+        public boolean containsKey(Object guid)
+        {
+            return this.get(guid) != null;
+        }
+
+
+        /**
+         * Return the instances that existed at the requested time.  The versions are looked up as the set is
+         * iterated.
+         *
+         * @return set of GUID to instance entries
+         */
+        @Override
+        public Set<Map.Entry<String, T>> entrySet()
+        {
+            return new AbstractSet<Map.Entry<String, T>>()
+            {
+                @Override
+                public Iterator<Map.Entry<String, T>> iterator()
+                {
+                    final Iterator<String> createdInstances = creationTimeIndex.getGUIDsCreatedBy(asOfTime.getTime());
+
+                    return new Iterator<Map.Entry<String, T>>()
+                    {
+                        private Map.Entry<String, T> nextEntry = null;
+
+                        @Override
+                        public boolean hasNext()
+                        {
+                            while ((nextEntry == null) && (createdInstances.hasNext()))
+                            {
+                                String guid = createdInstances.next();
+
+                                T instance = getVersionAsOf(currentStore.get(guid), historyStore.get(guid), asOfTime);
+
+                                if (instance != null)
+                                {
+                                    nextEntry = new AbstractMap.SimpleImmutableEntry<>(guid, instance);
+                                }
+                            }
+
+                            return nextEntry != null;
+                        }
+
+                        @Override
+                        public Map.Entry<String, T> next()
+                        {
+                            if (! this.hasNext())
+                            {
+                                throw new NoSuchElementException();
+                            }
+
+                            Map.Entry<String, T> entry = nextEntry;
+
+                            nextEntry = null;
+
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    int size = 0;
+
+                    for (Iterator<Map.Entry<String, T>> entries = this.iterator(); entries.hasNext(); entries.next())
+                    {
+                        size++;
+                    }
+
+                    return size;
+                }
+            };
+        }
+    }
 }
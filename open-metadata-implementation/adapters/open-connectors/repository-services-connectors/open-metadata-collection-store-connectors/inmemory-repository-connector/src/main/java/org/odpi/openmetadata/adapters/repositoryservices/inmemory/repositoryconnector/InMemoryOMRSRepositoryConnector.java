@@ -5,13 +5,20 @@ package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositorycon
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.Map;
+
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
  * other members of connected open metadata repository cohorts.
+ *
+ * The number of earlier versions of each instance that the repository keeps for historical queries can be limited
+ * with the "maxHistoryVersions" configuration property.  By default every version is kept.
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
+    private static final String maxHistoryVersionsProperty = "maxHistoryVersions";
+
     /**
      * Default constructor used by the OCF Connector Provider.
      */
@@ -37,11 +44,28 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
             /*
              * Initialize the metadata collection only once the connector is properly set up.
              */
-            super.metadataCollection = new InMemoryOMRSMetadataCollection(this,
-                                                                          super.serverName,
-                                                                          repositoryHelper,
-                                                                          repositoryValidator,
-                                                                          metadataCollectionId);
+            InMemoryOMRSMetadataCollection inMemoryMetadataCollection = new InMemoryOMRSMetadataCollection(this,
+                                                                                                           super.serverName,
+                                                                                                           repositoryHelper,
+                                                                                                           repositoryValidator,
+                                                                                                           metadataCollectionId);
+
+            if (super.connectionProperties != null)
+            {
+                Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+                if (configurationProperties != null)
+                {
+                    Object maxHistoryVersions = configurationProperties.get(maxHistoryVersionsProperty);
+
+                    if (maxHistoryVersions instanceof Integer)
+                    {
+                        inMemoryMetadataCollection.setMaxHistoryVersions((Integer)maxHistoryVersions);
+                    }
+                }
+            }
+
+            super.metadataCollection = inMemoryMetadataCollection;
         }
     }
 }
\ No newline at end of file
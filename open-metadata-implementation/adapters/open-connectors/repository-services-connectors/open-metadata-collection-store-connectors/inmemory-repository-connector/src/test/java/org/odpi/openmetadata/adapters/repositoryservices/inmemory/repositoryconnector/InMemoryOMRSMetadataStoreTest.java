@@ -0,0 +1,342 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class InMemoryOMRSMetadataStoreTest
+{
+    @Test
+    void testTypeAndClassificationIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail entity1 = getEntity("1111", "GlossaryTerm");
+        EntityDetail entity2 = getEntity("2222", "GlossaryTerm");
+        EntityDetail entity3 = getEntity("3333", "Asset");
+
+        store.createEntityInStore(entity1);
+        store.createEntityInStore(entity2);
+        store.createEntityInStore(entity3);
+
+        assertEquals(store.getEntitiesOfType("GlossaryTerm").size(), 2);
+        assertEquals(store.getEntitiesOfType("Asset").size(), 1);
+        assertTrue(store.getEntitiesWithClassification("Confidentiality").isEmpty());
+
+        // classify
+        EntityDetail classifiedEntity = new EntityDetail(entity1);
+        List<Classification> classifications = new ArrayList<>();
+        Classification classification = new Classification();
+        classification.setName("Confidentiality");
+        classifications.add(classification);
+        classifiedEntity.setClassifications(classifications);
+        store.updateEntityInStore(classifiedEntity);
+
+        assertEquals(store.getEntitiesWithClassification("Confidentiality").size(), 1);
+        assertEquals(store.getEntitiesWithClassification("Confidentiality").get(0).getGUID(), "1111");
+        assertEquals(store.getEntitiesOfType("GlossaryTerm").size(), 2);
+
+        // re-type
+        EntityDetail retypedEntity = new EntityDetail(classifiedEntity);
+        retypedEntity.setType(getType("Asset"));
+        store.updateEntityInStore(retypedEntity);
+
+        assertEquals(store.getEntitiesOfType("GlossaryTerm").size(), 1);
+        assertEquals(store.getEntitiesOfType("Asset").size(), 2);
+
+        // re-identify
+        EntityDetail reidentifiedEntity = new EntityDetail(retypedEntity);
+        reidentifiedEntity.setGUID("4444");
+        store.removeEntityFromStore(retypedEntity);
+        store.createEntityInStore(reidentifiedEntity);
+
+        assertEquals(store.getEntitiesWithClassification("Confidentiality").get(0).getGUID(), "4444");
+        assertEquals(store.getEntitiesOfType("Asset").size(), 2);
+
+        // restore previous version
+        store.retrievePreviousVersionOfEntity("2222");
+        assertEquals(store.getEntitiesOfType("GlossaryTerm").size(), 1);
+
+        // remove
+        store.removeEntityFromStore(reidentifiedEntity);
+        store.removeReferenceEntityFromStore("2222");
+
+        assertTrue(store.getEntitiesWithClassification("Confidentiality").isEmpty());
+        assertTrue(store.getEntitiesOfType("GlossaryTerm").isEmpty());
+        assertEquals(store.getEntityTypeNames().size(), 1);
+    }
+
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        Relationship relationship1 = getRelationship("5555", "SemanticAssignment", "1111", "2222");
+        Relationship relationship2 = getRelationship("6666", "SemanticAssignment", "2222", "3333");
+        Relationship relationship3 = getRelationship("7777", "AttachedComment", "3333", "3333");
+
+        store.createRelationshipInStore(relationship1);
+        store.createRelationshipInStore(relationship2);
+        store.saveReferenceRelationshipToStore(relationship3);
+
+        assertEquals(store.getRelationshipsForEntity("1111").size(), 1);
+        assertEquals(store.getRelationshipsForEntity("2222").size(), 2);
+        assertEquals(store.getRelationshipsForEntity("3333").size(), 2);
+        assertEquals(store.getRelationshipsOfType("SemanticAssignment").size(), 2);
+
+        // update keeps the indexes
+        Relationship updatedRelationship = new Relationship(relationship2);
+        updatedRelationship.setVersion(2L);
+        store.updateRelationshipInStore(updatedRelationship);
+
+        assertEquals(store.getRelationshipsForEntity("2222").size(), 2);
+        assertEquals(store.getRelationshipsOfType("SemanticAssignment").size(), 2);
+
+        // purge
+        store.removeRelationshipFromStore(updatedRelationship);
+        store.removeReferenceRelationshipFromStore("7777");
+
+        assertEquals(store.getRelationshipsForEntity("2222").size(), 1);
+        assertTrue(store.getRelationshipsForEntity("3333").isEmpty());
+        assertTrue(store.getRelationshipsOfType("AttachedComment").isEmpty());
+        assertEquals(store.getRelationshipTypeNames().size(), 1);
+    }
+
+
+    @Test
+    void testVersionHistory()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1111", "GlossaryTerm");
+        version1.setCreateTime(new Date(1000L));
+        store.createEntityInStore(version1);
+
+        EntityDetail version2 = new EntityDetail(version1);
+        version2.setVersion(2L);
+        version2.setUpdateTime(new Date(2000L));
+        store.updateEntityInStore(version2);
+
+        EntityDetail version3 = new EntityDetail(version2);
+        version3.setVersion(3L);
+        version3.setUpdateTime(new Date(3000L));
+        store.updateEntityInStore(version3);
+
+        assertNull(store.getEntity("1111", new Date(999L)));
+        assertEquals(store.getEntity("1111", new Date(1000L)).getVersion(), 1L);
+        assertEquals(store.getEntity("1111", new Date(2500L)).getVersion(), 2L);
+        assertEquals(store.getEntity("1111", new Date(3000L)).getVersion(), 3L);
+        assertEquals(store.getEntity("1111", null).getVersion(), 3L);
+        assertEquals(store.timeWarpEntityStore(new Date(1500L)).get("1111").getVersion(), 1L);
+
+        assertEquals(store.timeWarpEntityStore(new Date(2500L)).size(), 1);
+        assertTrue(store.timeWarpEntityStore(new Date(999L)).isEmpty());
+
+        // restore the most recent version
+        EntityDetail restoredEntity = store.retrievePreviousVersionOfEntity("1111");
+        assertEquals(restoredEntity.getVersion(), 4L);
+        assertEquals(store.getEntity("1111").getVersion(), 4L);
+        assertEquals(store.getEntity("1111", new Date(3000L)).getVersion(), 3L);
+
+        // purged entities are not found by historical queries
+        store.removeEntityFromStore(restoredEntity);
+        assertNull(store.getEntity("1111", null));
+        assertNull(store.getEntity("1111", new Date(2500L)));
+        assertNull(store.timeWarpEntityStore(new Date(4000L)).get("1111"));
+        assertTrue(store.timeWarpEntityStore(new Date(4000L)).isEmpty());
+        assertNull(store.retrievePreviousVersionOfEntity("1111"));
+
+        // purged reference copies of relationships are not found by historical queries either
+        Relationship relationship = getRelationship("5555", "SemanticAssignment", "1111", "2222");
+        relationship.setCreateTime(new Date(1000L));
+        store.createRelationshipInStore(relationship);
+
+        Relationship updatedRelationship = new Relationship(relationship);
+        updatedRelationship.setVersion(2L);
+        updatedRelationship.setUpdateTime(new Date(2000L));
+        store.updateRelationshipInStore(updatedRelationship);
+
+        assertEquals(store.timeWarpRelationshipStore(new Date(1500L)).get("5555").getVersion(), 1L);
+
+        store.removeReferenceRelationshipFromStore("5555");
+        assertTrue(store.timeWarpRelationshipStore(new Date(1500L)).isEmpty());
+        assertNull(store.retrievePreviousVersionOfRelationship("5555"));
+
+        // limited history
+        InMemoryOMRSMetadataStore limitedStore = new InMemoryOMRSMetadataStore();
+        limitedStore.setMaxHistoryVersions(1);
+
+        limitedStore.createEntityInStore(new EntityDetail(version1));
+        limitedStore.updateEntityInStore(new EntityDetail(version2));
+        limitedStore.updateEntityInStore(new EntityDetail(version3));
+
+        assertNull(limitedStore.getEntity("1111", new Date(1500L)));
+        assertEquals(limitedStore.getEntity("1111", new Date(2500L)).getVersion(), 2L);
+    }
+
+
+    @Test
+    void testHistoricalSearchByCreationTime()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        for (int i = 1; i <= 3; i++)
+        {
+            EntityDetail entity = getEntity("guid" + i, "GlossaryTerm");
+            entity.setCreateTime(new Date(i * 1000L));
+            store.createEntityInStore(entity);
+        }
+
+        EntityDetail updatedEntity = new EntityDetail(store.getEntity("guid1"));
+        updatedEntity.setVersion(2L);
+        updatedEntity.setUpdateTime(new Date(2500L));
+        store.updateEntityInStore(updatedEntity);
+
+        assertTrue(store.timeWarpEntityStore(new Date(999L)).isEmpty());
+        assertEquals(store.timeWarpEntityStore(new Date(1500L)).size(), 1);
+        assertEquals(store.timeWarpEntityStore(new Date(2000L)).size(), 2);
+        assertEquals(store.timeWarpEntityStore(new Date(2000L)).get("guid1").getVersion(), 1L);
+        assertEquals(store.timeWarpEntityStore(new Date(2600L)).get("guid1").getVersion(), 2L);
+        assertNull(store.timeWarpEntityStore(new Date(2600L)).get("guid3"));
+        assertEquals(store.timeWarpEntityStore(new Date(3000L)).size(), 3);
+
+        // an instance purged and created again is listed under its new creation time
+        store.removeEntityFromStore(store.getEntity("guid1"));
+
+        EntityDetail recreatedEntity = getEntity("guid1", "GlossaryTerm");
+        recreatedEntity.setCreateTime(new Date(5000L));
+        store.createEntityInStore(recreatedEntity);
+
+        assertEquals(store.timeWarpEntityStore(new Date(3000L)).size(), 2);
+        assertEquals(store.timeWarpEntityStore(new Date(5000L)).size(), 3);
+
+        // relationships
+        Relationship relationship = getRelationship("5555", "SemanticAssignment", "guid2", "guid3");
+        relationship.setCreateTime(new Date(4000L));
+        store.createRelationshipInStore(relationship);
+
+        assertTrue(store.timeWarpRelationshipStore(new Date(3999L)).isEmpty());
+        assertEquals(store.timeWarpRelationshipStore(new Date(4000L)).size(), 1);
+    }
+
+
+    @Test
+    void testReadsDuringUpdates() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        for (int i = 0; i < 100; i++)
+        {
+            store.createEntityInStore(getEntity("guid" + i, "GlossaryTerm"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers  = new ArrayList<>();
+
+        try
+        {
+            for (int reader = 0; reader < 3; reader++)
+            {
+                readers.add(executor.submit(() ->
+                {
+                    for (int pass = 0; pass < 200; pass++)
+                    {
+                        int count = 0;
+
+                        for (EntityDetail entity : store.getEntities())
+                        {
+                            if (entity != null)
+                            {
+                                count++;
+                            }
+                        }
+
+                        assertTrue(count >= 100);
+                        assertTrue(store.getEntitiesOfType("GlossaryTerm").size() >= 100);
+                        assertTrue(store.getEntity("guid" + (pass % 100)) != null);
+                    }
+                }));
+            }
+
+            Future<?> writer = executor.submit(() ->
+            {
+                for (int i = 0; i < 200; i++)
+                {
+                    EntityDetail updatedEntity = getEntity("guid" + (i % 100), "GlossaryTerm");
+                    updatedEntity.setVersion(i + 2L);
+                    store.updateEntityInStore(updatedEntity);
+                    store.createEntityInStore(getEntity("extra" + i, "GlossaryTerm"));
+                }
+            });
+
+            writer.get(30, TimeUnit.SECONDS);
+
+            for (Future<?> reader : readers)
+            {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(store.getEntities().size(), 300);
+        assertEquals(store.getEntitiesOfType("GlossaryTerm").size(), 300);
+    }
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+        type.setTypeDefGUID(typeName + "GUID");
+
+        return type;
+    }
+
+
+    private EntityDetail getEntity(String guid, String typeName)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(getType(typeName));
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String typeName, String end1GUID, String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(getType(typeName));
+        relationship.setVersion(1L);
+
+        EntityProxy entityProxy1 = new EntityProxy();
+        entityProxy1.setGUID(end1GUID);
+        EntityProxy entityProxy2 = new EntityProxy();
+        entityProxy2.setGUID(end2GUID);
+
+        relationship.setEntityOneProxy(entityProxy1);
+        relationship.setEntityTwoProxy(entityProxy2);
+
+        return relationship;
+    }
+}
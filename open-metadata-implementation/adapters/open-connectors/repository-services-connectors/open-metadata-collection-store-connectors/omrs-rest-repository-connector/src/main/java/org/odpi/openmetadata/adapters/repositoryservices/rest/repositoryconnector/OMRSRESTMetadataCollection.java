@@ -941,6 +941,31 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The result is in the same order
+     * as the requested guids.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids  list of unique identifiers for the entities.
+     * @return list of EntityDetail structures.  The entry for an entity that is not known, or is only
+     * a proxy, in the metadata collection is null.
+     * @throws InvalidParameterException  the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException   there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+
+        validateClient(methodName);
+        return omrsClient.getEntityDetails(userId, guids);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1004,6 +1029,43 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of relationships attached to a specific entity.
+     *
+     * @param userId                  unique identifier for requesting user.
+     * @param entityGUID              String unique identifier for the entity.
+     * @param relationshipTypeGUID    String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus    By default, relationships in all statuses are counted.  However, it is possible
+     *                                to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                                status values.
+     * @return count of the relationships.
+     * @throws InvalidParameterException     a parameter is invalid or null.
+     * @throws TypeErrorException            the type guid passed on the request is not known by the
+     *                                       metadata collection.
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws EntityNotKnownException       the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus) throws InvalidParameterException,
+                                                                                             TypeErrorException,
+                                                                                             RepositoryErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             UserNotAuthorizedException
+    {
+        final String             methodName = "countRelationshipsForEntity";
+
+        validateClient(methodName);
+        return omrsClient.countRelationshipsForEntity(userId,
+                                                      entityGUID,
+                                                      relationshipTypeGUID,
+                                                      limitResultsByStatus);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
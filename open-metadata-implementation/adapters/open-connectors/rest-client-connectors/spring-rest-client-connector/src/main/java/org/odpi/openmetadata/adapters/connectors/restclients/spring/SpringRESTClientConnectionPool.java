@@ -0,0 +1,201 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * SpringRESTClientConnectionPool holds a pool of persistent (keep-alive) HTTP connections and the HTTP client
+ * that uses them.  Connectors that are configured with the same pool settings share the same pool so that
+ * the many clients running in a server reuse the connections to the platforms they call rather than
+ * opening a new TCP connection (and TLS session) for every request.
+ * <p>
+ * HTTPS connections use the JVM's default SSL socket factory and host name verifier so that the
+ * strict.ssl setting of the platform continues to apply.  Stale connections are detected when they are
+ * leased from the pool after a period of inactivity, which avoids the need for a background eviction thread.
+ * </p>
+ */
+class SpringRESTClientConnectionPool
+{
+    private static final int validateAfterInactivityMillis = 2000;
+
+    private static final Map<String, SpringRESTClientConnectionPool> connectionPools = new HashMap<>();
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final HttpComponentsClientHttpRequestFactory requestFactory;
+
+
+    /**
+     * Constructor builds the connection manager and the HTTP client.
+     *
+     * @param maxConnectionsTotal maximum number of connections in the pool
+     * @param maxConnectionsPerRoute maximum number of connections to a single host and port
+     * @param connectTimeoutMillis timeout for establishing a connection (0 means no timeout)
+     * @param readTimeoutMillis timeout waiting for data on an open connection (0 means no timeout)
+     * @param keepAliveMillis maximum time an idle connection is kept for reuse
+     * @param compressResponses request that responses are compressed by the server
+     */
+    private SpringRESTClientConnectionPool(int     maxConnectionsTotal,
+                                           int     maxConnectionsPerRoute,
+                                           int     connectTimeoutMillis,
+                                           int     readTimeoutMillis,
+                                           long    keepAliveMillis,
+                                           boolean compressResponses)
+    {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(HttpsURLConnection.getDefaultSSLSocketFactory(),
+                                                                  HttpsURLConnection.getDefaultHostnameVerifier()))
+                .build();
+
+        connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(maxConnectionsTotal);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+
+        /*
+         * The connection request timeout limits how long a call waits for a free connection when the pool is
+         * exhausted.
+         */
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout(connectTimeoutMillis)
+                                                   .setConnectionRequestTimeout(connectTimeoutMillis)
+                                                   .setSocketTimeout(readTimeoutMillis)
+                                                   .build();
+
+        HttpClientBuilder clientBuilder = HttpClientBuilder.create()
+                                                           .setConnectionManager(connectionManager)
+                                                           .setDefaultRequestConfig(requestConfig)
+                                                           .setKeepAliveStrategy((response, context) -> getKeepAliveDuration(response,
+                                                                                                                              context,
+                                                                                                                              keepAliveMillis))
+                                                           .useSystemProperties();
+
+        if (! compressResponses)
+        {
+            clientBuilder.disableContentCompression();
+        }
+
+        CloseableHttpClient httpClient = clientBuilder.build();
+
+        requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+
+    /**
+     * Return the pool for the requested settings, creating it if this is the first connector to use them.
+     *
+     * @param maxConnectionsTotal maximum number of connections in the pool
+     * @param maxConnectionsPerRoute maximum number of connections to a single host and port
+     * @param connectTimeoutMillis timeout for establishing a connection (0 means no timeout)
+     * @param readTimeoutMillis timeout waiting for data on an open connection (0 means no timeout)
+     * @param keepAliveMillis maximum time an idle connection is kept for reuse
+     * @param compressResponses request that responses are compressed by the server
+     * @return connection pool
+     */
+    static synchronized SpringRESTClientConnectionPool getConnectionPool(int     maxConnectionsTotal,
+                                                                         int     maxConnectionsPerRoute,
+                                                                         int     connectTimeoutMillis,
+                                                                         int     readTimeoutMillis,
+                                                                         long    keepAliveMillis,
+                                                                         boolean compressResponses)
+    {
+        String poolKey = maxConnectionsTotal + ":" + maxConnectionsPerRoute + ":" + connectTimeoutMillis + ":"
+                       + readTimeoutMillis + ":" + keepAliveMillis + ":" + compressResponses;
+
+        SpringRESTClientConnectionPool connectionPool = connectionPools.get(poolKey);
+
+        if (connectionPool == null)
+        {
+            connectionPool = new SpringRESTClientConnectionPool(maxConnectionsTotal,
+                                                                maxConnectionsPerRoute,
+                                                                connectTimeoutMillis,
+                                                                readTimeoutMillis,
+                                                                keepAliveMillis,
+                                                                compressResponses);
+            connectionPools.put(poolKey, connectionPool);
+        }
+
+        return connectionPool;
+    }
+
+
+    /**
+     * Return the request factory that the REST template uses to create requests on the pooled connections.
+     *
+     * @return request factory
+     */
+    ClientHttpRequestFactory getRequestFactory()
+    {
+        return requestFactory;
+    }
+
+
+    /**
+     * Return the current utilization of the pool.
+     *
+     * @return statistics covering all routes
+     */
+    PoolStats getTotalStats()
+    {
+        return connectionManager.getTotalStats();
+    }
+
+
+    /**
+     * Work out how long a connection may be kept idle in the pool.  A timeout sent by the server in the
+     * Keep-Alive header is honored if it is shorter than the configured limit.
+     *
+     * @param response response received on the connection
+     * @param context context of the request
+     * @param keepAliveMillis configured limit
+     * @return milliseconds
+     */
+    private static long getKeepAliveDuration(HttpResponse response,
+                                             HttpContext  context,
+                                             long         keepAliveMillis)
+    {
+        HeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+
+        while (iterator.hasNext())
+        {
+            HeaderElement headerElement = iterator.nextElement();
+
+            if (("timeout".equalsIgnoreCase(headerElement.getName())) && (headerElement.getValue() != null))
+            {
+                try
+                {
+                    return Math.min(Long.parseLong(headerElement.getValue()) * 1000L, keepAliveMillis);
+                }
+                catch (NumberFormatException error)
+                {
+                    break;
+                }
+            }
+        }
+
+        return keepAliveMillis;
+    }
+}
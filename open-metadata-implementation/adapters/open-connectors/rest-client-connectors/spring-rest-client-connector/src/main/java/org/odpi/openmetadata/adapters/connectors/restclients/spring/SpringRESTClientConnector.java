@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.restclients.spring;
 
+import org.apache.http.pool.PoolStats;
 import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
@@ -21,17 +22,52 @@ import org.springframework.web.client.RestTemplate;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * RESTClient is responsible for issuing calls to the server's REST APIs.
+ * <p>
+ * Calls are made over a pool of persistent HTTP connections that is shared by all of the connectors that use
+ * the same pool settings.  The pool is configured through the following configuration properties of the
+ * connection:
+ * </p>
+ * <ul>
+ *     <li>maxConnectionsTotal - maximum number of connections in the pool (default 200).</li>
+ *     <li>maxConnectionsPerRoute - maximum number of connections to one platform (default 50).</li>
+ *     <li>connectTimeoutMillis - timeout for opening a connection or obtaining one from the pool
+ *         (default 0, meaning no timeout).</li>
+ *     <li>readTimeoutMillis - timeout waiting for a response (default 0, meaning no timeout).</li>
+ *     <li>keepAliveMillis - maximum time an idle connection is kept for reuse (default 15000).</li>
+ *     <li>compressResponses - ask the server to gzip its responses (default true).</li>
+ *     <li>compressRequests - gzip request bodies larger than 1KB (default false since the server must be
+ *         able to accept compressed request bodies).</li>
+ * </ul>
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
-    private String       serverName               = null;
-    private String       serverPlatformURLRoot    = null;
-    private HttpHeaders  basicAuthorizationHeader = null;
+    private static final String maxConnectionsTotalProperty    = "maxConnectionsTotal";
+    private static final String maxConnectionsPerRouteProperty = "maxConnectionsPerRoute";
+    private static final String connectTimeoutMillisProperty   = "connectTimeoutMillis";
+    private static final String readTimeoutMillisProperty      = "readTimeoutMillis";
+    private static final String keepAliveMillisProperty        = "keepAliveMillis";
+    private static final String compressResponsesProperty      = "compressResponses";
+    private static final String compressRequestsProperty       = "compressRequests";
+
+    private static final int     defaultMaxConnectionsTotal    = 200;
+    private static final int     defaultMaxConnectionsPerRoute = 50;
+    private static final int     defaultConnectTimeoutMillis   = 0;
+    private static final int     defaultReadTimeoutMillis      = 0;
+    private static final int     defaultKeepAliveMillis        = 15000;
+    private static final boolean defaultCompressResponses      = true;
+    private static final boolean defaultCompressRequests       = false;
+    private static final int     minimumCompressionSize        = 1024;
+
+    private RestTemplate                   restTemplate;
+    private SpringRESTClientConnectionPool connectionPool;
+    private String                         serverName               = null;
+    private String                         serverPlatformURLRoot    = null;
+    private HttpHeaders                    basicAuthorizationHeader = null;
 
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
@@ -41,7 +77,14 @@ public class SpringRESTClientConnector extends RESTClientConnector
     public SpringRESTClientConnector()
     {
         super();
-        restTemplate = new RestTemplate();
+
+        connectionPool = SpringRESTClientConnectionPool.getConnectionPool(defaultMaxConnectionsTotal,
+                                                                          defaultMaxConnectionsPerRoute,
+                                                                          defaultConnectTimeoutMillis,
+                                                                          defaultReadTimeoutMillis,
+                                                                          defaultKeepAliveMillis,
+                                                                          defaultCompressResponses);
+        restTemplate = new RestTemplate(connectionPool.getRequestFactory());
         // Ensure that the REST template always uses UTF-8
         List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
         converters.removeIf(httpMessageConverter -> httpMessageConverter instanceof StringHttpMessageConverter);
@@ -89,6 +132,103 @@ public class SpringRESTClientConnector extends RESTClientConnector
             log.debug("Using no authentication to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
 
         }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            this.configureConnectionPool(configurationProperties);
+        }
+    }
+
+
+    /**
+     * Select the connection pool and request compression requested in the configuration properties.
+     *
+     * @param configurationProperties configuration properties from the connection
+     */
+    private void configureConnectionPool(Map<String, Object> configurationProperties)
+    {
+        int     maxConnectionsTotal    = getIntegerProperty(configurationProperties, maxConnectionsTotalProperty, 1, defaultMaxConnectionsTotal);
+        int     maxConnectionsPerRoute = getIntegerProperty(configurationProperties, maxConnectionsPerRouteProperty, 1, defaultMaxConnectionsPerRoute);
+        int     connectTimeoutMillis   = getIntegerProperty(configurationProperties, connectTimeoutMillisProperty, 0, defaultConnectTimeoutMillis);
+        int     readTimeoutMillis      = getIntegerProperty(configurationProperties, readTimeoutMillisProperty, 0, defaultReadTimeoutMillis);
+        int     keepAliveMillis        = getIntegerProperty(configurationProperties, keepAliveMillisProperty, 0, defaultKeepAliveMillis);
+        boolean compressResponses      = defaultCompressResponses;
+        boolean compressRequests       = defaultCompressRequests;
+
+        Object  compressResponsesValue = configurationProperties.get(compressResponsesProperty);
+        Object  compressRequestsValue  = configurationProperties.get(compressRequestsProperty);
+
+        if (compressResponsesValue instanceof Boolean)
+        {
+            compressResponses = (Boolean)compressResponsesValue;
+        }
+
+        if (compressRequestsValue instanceof Boolean)
+        {
+            compressRequests = (Boolean)compressRequestsValue;
+        }
+
+        log.debug("Using connection pool with maxConnectionsTotal=" + maxConnectionsTotal
+                          + ", maxConnectionsPerRoute=" + maxConnectionsPerRoute
+                          + ", connectTimeoutMillis=" + connectTimeoutMillis
+                          + ", readTimeoutMillis=" + readTimeoutMillis
+                          + ", keepAliveMillis=" + keepAliveMillis
+                          + ", compressResponses=" + compressResponses
+                          + " and compressRequests=" + compressRequests
+                          + " to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
+
+        connectionPool = SpringRESTClientConnectionPool.getConnectionPool(maxConnectionsTotal,
+                                                                          maxConnectionsPerRoute,
+                                                                          connectTimeoutMillis,
+                                                                          readTimeoutMillis,
+                                                                          keepAliveMillis,
+                                                                          compressResponses);
+        restTemplate.setRequestFactory(connectionPool.getRequestFactory());
+
+        if (compressRequests)
+        {
+            restTemplate.getInterceptors().add(new SpringRESTClientGzipInterceptor(minimumCompressionSize));
+        }
+    }
+
+
+    /**
+     * Return the value of an integer configuration property.  The default is returned if the property is
+     * not set or is not a valid value.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param minimumValue smallest valid value
+     * @param defaultValue value to use if the property is not set
+     * @return int
+     */
+    private int getIntegerProperty(Map<String, Object> configurationProperties,
+                                   String              propertyName,
+                                   int                 minimumValue,
+                                   int                 defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if ((propertyValue instanceof Integer) && ((Integer)propertyValue >= minimumValue))
+        {
+            return (Integer)propertyValue;
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the current utilization of the connection pool used by this connector.  The pool may be shared
+     * with other connectors so the statistics cover all of the calls made through it.
+     *
+     * @return statistics for the number of leased, available and pending connections and the maximum pool size
+     */
+    public PoolStats getConnectionPoolStatistics()
+    {
+        return connectionPool.getTotalStats();
     }
 
 
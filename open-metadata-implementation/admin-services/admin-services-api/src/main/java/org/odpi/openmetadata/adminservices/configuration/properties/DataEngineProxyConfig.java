@@ -29,6 +29,7 @@ public class DataEngineProxyConfig extends AdminServicesConfigHeader {
 
     private Connection dataEngineConnection    = null;
     private int        pollIntervalInSeconds   = 60;
+    private int        batchSize               = 100;
 
     /**
      * Default constuctor
@@ -48,6 +49,7 @@ public class DataEngineProxyConfig extends AdminServicesConfigHeader {
             this.accessServiceServerName = template.accessServiceServerName;
             this.dataEngineConnection    = template.dataEngineConnection;
             this.pollIntervalInSeconds   = template.pollIntervalInSeconds;
+            this.batchSize               = template.batchSize;
         }
     }
 
@@ -103,6 +105,20 @@ public class DataEngineProxyConfig extends AdminServicesConfigHeader {
      */
     public void setPollIntervalInSeconds(int pollIntervalInSeconds) { this.pollIntervalInSeconds = pollIntervalInSeconds; }
 
+    /**
+     * Provide the maximum number of changed elements of the same type to send to the Data Engine OMAS in a single
+     * request. Note that this is only used by Data Engine Connectors that require polling in order to find changes.
+     * @return int
+     */
+    public int getBatchSize() { return batchSize; }
+
+    /**
+     * Set the maximum number of changed elements of the same type to send to the Data Engine OMAS in a single
+     * request. Note that this is only used by Data Engine Connectors that require polling in order to find changes.
+     * @param batchSize the maximum number of elements in each request
+     */
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
     /**
      * {@inheritDoc}
      */
@@ -114,7 +130,8 @@ public class DataEngineProxyConfig extends AdminServicesConfigHeader {
         return Objects.equals(getAccessServiceRootURL(), that.getAccessServiceRootURL()) &&
                 Objects.equals(getAccessServiceServerName(), that.getAccessServiceServerName()) &&
                 Objects.equals(getDataEngineConnection(), that.getDataEngineConnection()) &&
-                Objects.equals(getPollIntervalInSeconds(), that.getPollIntervalInSeconds());
+                Objects.equals(getPollIntervalInSeconds(), that.getPollIntervalInSeconds()) &&
+                Objects.equals(getBatchSize(), that.getBatchSize());
     }
 
     /**
@@ -123,7 +140,7 @@ public class DataEngineProxyConfig extends AdminServicesConfigHeader {
     @Override
     public int hashCode() {
         return Objects.hash(getAccessServiceRootURL(), getAccessServiceServerName(),
-                getDataEngineConnection(), getPollIntervalInSeconds());
+                getDataEngineConnection(), getPollIntervalInSeconds(), getBatchSize());
     }
 
 }
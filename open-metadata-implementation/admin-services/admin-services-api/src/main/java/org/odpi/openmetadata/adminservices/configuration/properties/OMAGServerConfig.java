@@ -60,6 +60,12 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
  *
  *         The default value is 1000.
  *     </li>
+ *     <li>
+ *         accessServiceStartupThreads - the number of threads used to initialize the access services when the
+ *         server starts.  A value greater than 1 starts that many access services at a time.
+ *
+ *         The default value is 0, which starts the access services one at a time.
+ *     </li>
  * </ul>
  */
 @JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
@@ -79,6 +85,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     private static final String  defaultLocalServerURL                    = "http://localhost:8080";
     private static final String  defaultLocalServerUserId                 = "OMAGServer";
     private static final int     defaultMaxPageSize                       = 1000;
+    private static final int     defaultAccessServiceStartupThreads       = 0;
 
     /*
      * Configuration document version number - if not in document then assume V1.0.
@@ -96,6 +103,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     private String                    localServerUserId         = defaultLocalServerUserId;
     private String                    localServerPassword       = null;
     private int                       maxPageSize               = defaultMaxPageSize;
+    private int                       accessServiceStartupThreads = defaultAccessServiceStartupThreads;
     private Connection                serverSecurityConnection  = null;
     private EventBusConfig            eventBusConfig            = null;
     private List<AccessServiceConfig> accessServicesConfig      = null;
@@ -141,6 +149,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
             localServerUserId = template.getLocalServerUserId();
             localServerPassword = template.getLocalServerPassword();
             maxPageSize = template.getMaxPageSize();
+            accessServiceStartupThreads = template.getAccessServiceStartupThreads();
             serverSecurityConnection = template.getServerSecurityConnection();
             eventBusConfig = template.getEventBusConfig();
             accessServicesConfig = template.getAccessServicesConfig();
@@ -363,6 +372,30 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     }
 
 
+    /**
+     * Return the number of threads used to initialize the access services when the server starts.
+     * A value of 1 or less, including the default of 0, starts the access services one at a time.
+     *
+     * @return int number of threads
+     */
+    public int getAccessServiceStartupThreads()
+    {
+        return accessServiceStartupThreads;
+    }
+
+
+    /**
+     * Set up the number of threads used to initialize the access services when the server starts.
+     * A value of 1 or less starts the access services one at a time.
+     *
+     * @param accessServiceStartupThreads int number of threads
+     */
+    public void setAccessServiceStartupThreads(int accessServiceStartupThreads)
+    {
+        this.accessServiceStartupThreads = accessServiceStartupThreads;
+    }
+
+
     /**
      * Return the connection for the optional server security connector that validates calls to
      * this server from admin to operations to metadata and governance services.
@@ -679,6 +712,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
                 ", localServerURL='" + localServerURL + '\'' +
                 ", localServerUserId='" + localServerUserId + '\'' +
                 ", maxPageSize=" + maxPageSize +
+                ", accessServiceStartupThreads=" + accessServiceStartupThreads +
                 ", eventBusConfig=" + eventBusConfig +
                 ", accessServicesConfig=" + accessServicesConfig +
                 ", repositoryServicesConfig=" + repositoryServicesConfig +
@@ -713,6 +747,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
         }
         OMAGServerConfig that = (OMAGServerConfig) objectToCompare;
         return getMaxPageSize() == that.getMaxPageSize() &&
+                getAccessServiceStartupThreads() == that.getAccessServiceStartupThreads() &&
                 Objects.equals(getLocalServerId(), that.getLocalServerId()) &&
                 Objects.equals(getLocalServerName(), that.getLocalServerName()) &&
                 Objects.equals(getLocalServerType(), that.getLocalServerType()) &&
@@ -743,7 +778,7 @@ public class OMAGServerConfig extends AdminServicesConfigHeader
     public int hashCode()
     {
         return Objects.hash(getLocalServerId(), getLocalServerName(), getLocalServerType(), getOrganizationName(),
-                            getLocalServerURL(), getLocalServerUserId(), getMaxPageSize(), getEventBusConfig(),
+                            getLocalServerURL(), getLocalServerUserId(), getMaxPageSize(), getAccessServiceStartupThreads(), getEventBusConfig(),
                             getAccessServicesConfig(), getRepositoryServicesConfig(), getDiscoveryServerConfig(),
                             getStewardshipServicesConfig(), getSecuritySyncConfig(), getSecurityOfficerConfig(),
                             getAuditTrail(), getVirtualizationConfig(), getDataEngineProxyConfig(), getDataPlatformServicesConfig());
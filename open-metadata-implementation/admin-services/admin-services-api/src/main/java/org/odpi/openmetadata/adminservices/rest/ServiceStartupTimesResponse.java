@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices.rest;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * ServiceStartupTimesResponse is the response structure used on the OMAG REST API calls that return the
+ * time, in milliseconds, that each service took to start when the server was last activated.
+ * The services are listed in the order they were started.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class ServiceStartupTimesResponse extends AdminServicesAPIResponse
+{
+    private Map<String, Long> serviceStartupTimes = null;
+
+
+    /**
+     * Default constructor
+     */
+    public ServiceStartupTimesResponse()
+    {
+    }
+
+
+    /**
+     * Return the startup time of each service, keyed by service name.
+     *
+     * @return map of service name to milliseconds
+     */
+    public Map<String, Long> getServiceStartupTimes()
+    {
+        if (serviceStartupTimes == null)
+        {
+            return null;
+        }
+        else if (serviceStartupTimes.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return new LinkedHashMap<>(serviceStartupTimes);
+        }
+    }
+
+
+    /**
+     * Set up the startup time of each service, keyed by service name.
+     *
+     * @param serviceStartupTimes map of service name to milliseconds
+     */
+    public void setServiceStartupTimes(Map<String, Long> serviceStartupTimes)
+    {
+        this.serviceStartupTimes = serviceStartupTimes;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "ServiceStartupTimesResponse{" +
+                "serviceStartupTimes=" + serviceStartupTimes +
+                ", relatedHTTPCode=" + getRelatedHTTPCode() +
+                ", exceptionClassName='" + getExceptionClassName() + '\'' +
+                ", exceptionErrorMessage='" + getExceptionErrorMessage() + '\'' +
+                ", exceptionSystemAction='" + getExceptionSystemAction() + '\'' +
+                ", exceptionUserAction='" + getExceptionUserAction() + '\'' +
+                ", exceptionProperties=" + getExceptionProperties() +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof ServiceStartupTimesResponse))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        ServiceStartupTimesResponse that = (ServiceStartupTimesResponse) objectToCompare;
+        return Objects.equals(getServiceStartupTimes(), that.getServiceStartupTimes());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getServiceStartupTimes());
+    }
+}
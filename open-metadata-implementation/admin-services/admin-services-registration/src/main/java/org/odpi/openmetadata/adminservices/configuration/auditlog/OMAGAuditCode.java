@@ -92,6 +92,12 @@ public enum OMAGAuditCode
                         "The access service has not been passed valid configuration.",
                         "Correct the configuration and restart the service."),
 
+    SERVICE_STARTUP_TIME("OMAG-ADMIN-0012",
+                         OMRSAuditLogRecordSeverity.INFO,
+                         "The {0} Open Metadata Access Service (OMAS) took {1} milliseconds to initialize in server {2}",
+                         "The access service has been initialized.  The startup times of all of the services in the server can be retrieved from the admin services.",
+                         "No action is required.  This is part of the normal operation of the server."),
+
     ;
 
     private String                     logMessageId;
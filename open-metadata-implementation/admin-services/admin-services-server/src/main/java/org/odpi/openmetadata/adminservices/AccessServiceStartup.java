@@ -0,0 +1,234 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.odpi.openmetadata.adminservices.configuration.auditlog.OMAGAuditCode;
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AccessServiceStartup initializes one Open Metadata Access Service (OMAS) for a server.  The admin object,
+ * enterprise repository connector and audit log are created by the caller so that the initialization of
+ * the access services, which do not depend on one another, can run on separate threads.  The time taken,
+ * or the error that stopped the access service from starting, is saved for the caller to retrieve.
+ */
+class AccessServiceStartup implements Callable<Long>
+{
+    private final AccessServiceConfig     accessServiceConfig;
+    private final AccessServiceAdmin      accessServiceAdmin;
+    private final OMRSTopicConnector      enterpriseTopicConnector;
+    private final OMRSRepositoryConnector enterpriseRepositoryConnector;
+    private final OMRSAuditLog            auditLog;
+    private final String                  serverName;
+    private final String                  serverUserId;
+
+    private volatile long                 startupTime  = 0;
+    private volatile Throwable            startupError = null;
+
+
+    /**
+     * Constructor supplies the objects needed to initialize the access service.
+     *
+     * @param accessServiceConfig configuration for the access service
+     * @param accessServiceAdmin admin object for the access service
+     * @param enterpriseTopicConnector connector to the enterprise OMRS topic
+     * @param enterpriseRepositoryConnector connector to the enterprise repository services
+     * @param auditLog audit log for the access service
+     * @param serverName name of the server
+     * @param serverUserId userId that the server uses for its own requests
+     */
+    AccessServiceStartup(AccessServiceConfig     accessServiceConfig,
+                         AccessServiceAdmin      accessServiceAdmin,
+                         OMRSTopicConnector      enterpriseTopicConnector,
+                         OMRSRepositoryConnector enterpriseRepositoryConnector,
+                         OMRSAuditLog            auditLog,
+                         String                  serverName,
+                         String                  serverUserId)
+    {
+        this.accessServiceConfig = accessServiceConfig;
+        this.accessServiceAdmin = accessServiceAdmin;
+        this.enterpriseTopicConnector = enterpriseTopicConnector;
+        this.enterpriseRepositoryConnector = enterpriseRepositoryConnector;
+        this.auditLog = auditLog;
+        this.serverName = serverName;
+        this.serverUserId = serverUserId;
+    }
+
+
+    /**
+     * Initialize the access service and record how long it took.  Errors are saved rather than thrown so
+     * that the other access services starting at the same time are not affected.
+     *
+     * @return number of milliseconds taken to initialize the access service
+     */
+    @Override
+    public Long call()
+    {
+        final String actionDescription = "initialize";
+
+        long startTime = System.currentTimeMillis();
+
+        try
+        {
+            accessServiceAdmin.initialize(accessServiceConfig,
+                                          enterpriseTopicConnector,
+                                          enterpriseRepositoryConnector,
+                                          auditLog,
+                                          serverUserId);
+
+            startupTime = System.currentTimeMillis() - startTime;
+
+            if (auditLog != null)
+            {
+                OMAGAuditCode auditCode = OMAGAuditCode.SERVICE_STARTUP_TIME;
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(accessServiceConfig.getAccessServiceName(),
+                                                                    Long.toString(startupTime),
+                                                                    serverName),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+        }
+        catch (Throwable error)
+        {
+            startupTime = System.currentTimeMillis() - startTime;
+            startupError = error;
+        }
+
+        return startupTime;
+    }
+
+
+    /**
+     * Return the configuration of the access service.
+     *
+     * @return AccessServiceConfig object
+     */
+    AccessServiceConfig getAccessServiceConfig()
+    {
+        return accessServiceConfig;
+    }
+
+
+    /**
+     * Return the admin object for the access service.
+     *
+     * @return AccessServiceAdmin object
+     */
+    AccessServiceAdmin getAccessServiceAdmin()
+    {
+        return accessServiceAdmin;
+    }
+
+
+    /**
+     * Return the number of milliseconds the access service took to initialize.
+     *
+     * @return long milliseconds
+     */
+    long getStartupTime()
+    {
+        return startupTime;
+    }
+
+
+    /**
+     * Return the error that stopped the access service from initializing.
+     *
+     * @return exception or null if the access service started
+     */
+    Throwable getStartupError()
+    {
+        return startupError;
+    }
+
+
+    /**
+     * Run the initialization of the access services.  They are started one at a time on the calling thread
+     * unless the server is configured with more than one startup thread, in which case they are run on a pool
+     * of that many threads.  This method returns when all of the access services have either started or failed.
+     *
+     * @param serverName name of the server being started
+     * @param accessServiceStartupList access services to initialize
+     * @param accessServiceStartupThreads configured number of threads - one or less means one at a time
+     * @throws InterruptedException the server start up was interrupted
+     */
+    static void initializeAccessServices(String                     serverName,
+                                         List<AccessServiceStartup> accessServiceStartupList,
+                                         int                        accessServiceStartupThreads) throws InterruptedException
+    {
+        int threadCount = Math.min(accessServiceStartupThreads, accessServiceStartupList.size());
+
+        if (threadCount <= 1)
+        {
+            for (AccessServiceStartup accessServiceStartup : accessServiceStartupList)
+            {
+                accessServiceStartup.call();
+            }
+
+            return;
+        }
+
+        final AtomicInteger threadNumber = new AtomicInteger(0);
+        final String        threadPrefix = serverName + "-OMAS-startup-";
+
+        ExecutorService startupPool = Executors.newFixedThreadPool(threadCount, (runnable) ->
+        {
+            Thread thread = new Thread(runnable, threadPrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try
+        {
+            startupPool.invokeAll(accessServiceStartupList);
+        }
+        finally
+        {
+            startupPool.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Build the exception for an access service whose admin class could not be created or initialized.
+     *
+     * @param serverName name of the server being started
+     * @param accessServiceConfig configuration of the access service
+     * @param reportingClassName name of the class reporting the error
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    static OMAGConfigurationErrorException getBadAccessServiceAdminClassException(String              serverName,
+                                                                                  AccessServiceConfig accessServiceConfig,
+                                                                                  String              reportingClassName,
+                                                                                  String              methodName)
+    {
+        OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS;
+        String        errorMessage = errorCode.getErrorMessageId()
+                                   + errorCode.getFormattedErrorMessage(serverName,
+                                                                        accessServiceConfig.getAccessServiceAdminClass(),
+                                                                        accessServiceConfig.getAccessServiceName());
+
+        return new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
+                                                   reportingClassName,
+                                                   methodName,
+                                                   errorMessage,
+                                                   errorCode.getSystemAction(),
+                                                   errorCode.getUserAction());
+    }
+}
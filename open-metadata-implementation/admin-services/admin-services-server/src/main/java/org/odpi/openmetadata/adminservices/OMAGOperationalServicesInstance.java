@@ -18,7 +18,9 @@ import org.odpi.openmetadata.securitysyncservices.registration.SecuritySyncOpera
 import org.odpi.openmetadata.governanceservers.virtualizationservices.admin.VirtualizationOperationalServices;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OMAGOperationalServicesInstance provides the references to the active services for an instance of an OMAG Server.
@@ -39,6 +41,7 @@ public class OMAGOperationalServicesInstance extends OMAGServerServiceInstance
     private VirtualizationOperationalServices   operationalVirtualizationServices   = null;
     private DataEngineProxyOperationalServices  operationalDataEngineProxyServices  = null;
     private DataPlatformOperationalServices     operationalDataPlatformServices     = null;
+    private Map<String, Long>                   serviceStartupTimes                 = new LinkedHashMap<>();
 
 
     /**
@@ -155,6 +158,29 @@ public class OMAGOperationalServicesInstance extends OMAGServerServiceInstance
     }
 
 
+    /**
+     * Return the number of milliseconds each service took to start, keyed by service name and in the order
+     * that the services were started.
+     *
+     * @return map of service name to milliseconds
+     */
+    Map<String, Long> getServiceStartupTimes()
+    {
+        return serviceStartupTimes;
+    }
+
+
+    /**
+     * Set up the number of milliseconds each service took to start, keyed by service name.
+     *
+     * @param serviceStartupTimes map of service name to milliseconds
+     */
+    void setServiceStartupTimes(Map<String, Long> serviceStartupTimes)
+    {
+        this.serviceStartupTimes = serviceStartupTimes;
+    }
+
+
     /**
      * Return the running instance of the conformance suite operational services for this server.
      *
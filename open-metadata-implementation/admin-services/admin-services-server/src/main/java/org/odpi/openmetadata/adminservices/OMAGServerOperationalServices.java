@@ -14,6 +14,7 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationError
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGInvalidParameterException;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGNotAuthorizedException;
 import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigResponse;
+import org.odpi.openmetadata.adminservices.rest.ServiceStartupTimesResponse;
 import org.odpi.openmetadata.adminservices.rest.SuccessMessageResponse;
 import org.odpi.openmetadata.commonservices.ffdc.exceptions.PropertyServerException;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
@@ -39,6 +40,7 @@ import org.odpi.openmetadata.securitysyncservices.registration.SecuritySyncOpera
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OMAGServerOperationalServices will provide support to start, manage and stop services in the OMAG Server.
@@ -231,6 +233,8 @@ public class OMAGServerOperationalServices
              */
             instance.setOperationalConfiguration(configuration);
 
+            Map<String, Long> serviceStartupTimes = instance.getServiceStartupTimes();
+
             /*
              * Ready to start services
              */
@@ -258,7 +262,11 @@ public class OMAGServerOperationalServices
              * shutdown.
              */
             instance.setOperationalRepositoryServices(operationalRepositoryServices);
+
+            long repositoryServicesStartTime = System.currentTimeMillis();
             operationalRepositoryServices.initialize(repositoryServicesConfig);
+            serviceStartupTimes.put(CommonServicesDescription.REPOSITORY_SERVICES.getServiceName(),
+                                    System.currentTimeMillis() - repositoryServicesStartTime);
 
 
             /*
@@ -310,6 +318,11 @@ public class OMAGServerOperationalServices
              * appropriate admin object (specified in the configuration) and initialize it with its own configuration
              * document.  The admin object then does the rest.  The admin objects are stored in the instance since
              * they also need to be called for shutdown.
+             *
+             * The access services only depend on the repository services and the enterprise topic connector (which
+             * is not started until they have all registered their listeners) so they can be initialized in parallel
+             * when the server is configured with more than one access service startup thread.  Their repository
+             * connectors and audit logs are created first on this thread.
              */
             OMRSTopicConnector        enterpriseTopicConnector = operationalRepositoryServices.getEnterpriseOMRSTopicConnector();
 
@@ -317,6 +330,8 @@ public class OMAGServerOperationalServices
             List<AccessServiceAdmin>        operationalAccessServiceAdminList = instance.getOperationalAccessServiceAdminList();
             if (accessServiceConfigList != null)
             {
+                List<AccessServiceStartup>  accessServiceStartupList = new ArrayList<>();
+
                 for (AccessServiceConfig  accessServiceConfig : accessServiceConfigList)
                 {
                     /*
@@ -332,31 +347,23 @@ public class OMAGServerOperationalServices
                             {
                                 AccessServiceAdmin accessServiceAdmin = (AccessServiceAdmin)Class.forName(accessServiceAdminClassName).newInstance();
 
-                                accessServiceAdmin.initialize(accessServiceConfig,
-                                                              enterpriseTopicConnector,
-                                                              operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceName()),
-                                                              operationalRepositoryServices.getAuditLog(accessServiceConfig.getAccessServiceId(),
-                                                                                                        accessServiceConfig.getAccessServiceName(),
-                                                                                                        accessServiceConfig.getAccessServiceDescription(),
-                                                                                                        accessServiceConfig.getAccessServiceWiki()),
-                                                              configuration.getLocalServerUserId());
-                                operationalAccessServiceAdminList.add(accessServiceAdmin);
-                                activatedServiceList.add(accessServiceConfig.getAccessServiceName() + " OMAS");
+                                accessServiceStartupList.add(new AccessServiceStartup(accessServiceConfig,
+                                                                                      accessServiceAdmin,
+                                                                                      enterpriseTopicConnector,
+                                                                                      operationalRepositoryServices.getEnterpriseOMRSRepositoryConnector(accessServiceConfig.getAccessServiceName()),
+                                                                                      operationalRepositoryServices.getAuditLog(accessServiceConfig.getAccessServiceId(),
+                                                                                                                                accessServiceConfig.getAccessServiceName(),
+                                                                                                                                accessServiceConfig.getAccessServiceDescription(),
+                                                                                                                                accessServiceConfig.getAccessServiceWiki()),
+                                                                                      serverName,
+                                                                                      configuration.getLocalServerUserId()));
                             }
                             catch (Throwable  error)
                             {
-                                OMAGAdminErrorCode errorCode = OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS;
-                                String        errorMessage = errorCode.getErrorMessageId()
-                                                           + errorCode.getFormattedErrorMessage(serverName,
-                                                                                                accessServiceAdminClassName,
-                                                                                                accessServiceConfig.getAccessServiceName());
-
-                                throw new OMAGConfigurationErrorException(errorCode.getHTTPErrorCode(),
-                                                                          this.getClass().getName(),
-                                                                          methodName,
-                                                                          errorMessage,
-                                                                          errorCode.getSystemAction(),
-                                                                          errorCode.getUserAction());
+                                throw AccessServiceStartup.getBadAccessServiceAdminClassException(serverName,
+                                                                                                  accessServiceConfig,
+                                                                                                  this.getClass().getName(),
+                                                                                                  methodName);
                             }
                         }
                         else
@@ -375,6 +382,40 @@ public class OMAGServerOperationalServices
                         }
                     }
                 }
+
+                AccessServiceStartup.initializeAccessServices(serverName,
+                                                              accessServiceStartupList,
+                                                              configuration.getAccessServiceStartupThreads());
+
+                /*
+                 * The access services that started are saved in the order they were configured so they are
+                 * shutdown even if another access service failed.
+                 */
+                AccessServiceStartup failedAccessServiceStartup = null;
+
+                for (AccessServiceStartup accessServiceStartup : accessServiceStartupList)
+                {
+                    if (accessServiceStartup.getStartupError() == null)
+                    {
+                        String accessServiceName = accessServiceStartup.getAccessServiceConfig().getAccessServiceName() + " OMAS";
+
+                        operationalAccessServiceAdminList.add(accessServiceStartup.getAccessServiceAdmin());
+                        activatedServiceList.add(accessServiceName);
+                        serviceStartupTimes.put(accessServiceName, accessServiceStartup.getStartupTime());
+                    }
+                    else if (failedAccessServiceStartup == null)
+                    {
+                        failedAccessServiceStartup = accessServiceStartup;
+                    }
+                }
+
+                if (failedAccessServiceStartup != null)
+                {
+                    throw AccessServiceStartup.getBadAccessServiceAdminClassException(serverName,
+                                                                                      failedAccessServiceStartup.getAccessServiceConfig(),
+                                                                                      this.getClass().getName(),
+                                                                                      methodName);
+                }
             }
 
 
@@ -923,6 +964,51 @@ public class OMAGServerOperationalServices
     }
 
 
+    /**
+     * Return the number of milliseconds that each service took to start when the server was activated.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @return map of service name to startup time or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException invalid serverName parameter.
+     */
+    public ServiceStartupTimesResponse getServiceStartupTimes(String userId,
+                                                              String serverName)
+    {
+        final String methodName = "getServiceStartupTimes";
+
+        ServiceStartupTimesResponse response = new ServiceStartupTimesResponse();
+
+        try
+        {
+            errorHandler.validateUserId(userId, serverName, methodName);
+
+            OMAGOperationalServicesInstance instance = instanceHandler.getServerServiceInstance(userId, serverName, methodName);
+
+            response.setServiceStartupTimes(instance.getServiceStartupTimes());
+        }
+        catch (InvalidParameterException error)
+        {
+            exceptionHandler.captureInvalidParameterException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (OMAGNotAuthorizedException error)
+        {
+            exceptionHandler.captureNotAuthorizedException(response, error);
+        }
+        catch (Throwable error)
+        {
+            exceptionHandler.captureRuntimeException(serverName, methodName, response, error);
+        }
+
+        return response;
+    }
+
+
     /**
      * Add a new open metadata archive to running repository.
      *
@@ -0,0 +1,294 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adminservices;
+
+import org.odpi.openmetadata.adminservices.configuration.auditlog.OMAGAuditCode;
+import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
+import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
+import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
+import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the access services are started one at a time unless more startup threads are configured, and
+ * that their startup times and errors are recorded.
+ */
+public class AccessServiceStartupTest
+{
+    private static final String SERVER_NAME = "TestServer";
+    private static final String SERVER_USER = "TestUser";
+
+
+    /**
+     * With the default of zero startup threads, or a negative number, the access services are started one at a
+     * time on the calling thread, in the order they were configured.
+     *
+     * @throws Exception problem starting the access services
+     */
+    @Test
+    public void testSequentialByDefault() throws Exception
+    {
+        for (int accessServiceStartupThreads : new int[] {0, -1, 1})
+        {
+            List<String>               startedServices = new ArrayList<>();
+            List<AccessServiceStartup> startupList     = new ArrayList<>();
+
+            for (int i = 0; i < 4; i++)
+            {
+                final String accessServiceName = "Service" + i;
+
+                startupList.add(getAccessServiceStartup(accessServiceName, new TestAuditLog(), () ->
+                {
+                    assertEquals(Thread.currentThread().getName(), "main-test-thread");
+                    startedServices.add(accessServiceName);
+                }));
+            }
+
+            String callingThreadName = Thread.currentThread().getName();
+            Thread.currentThread().setName("main-test-thread");
+            try
+            {
+                AccessServiceStartup.initializeAccessServices(SERVER_NAME, startupList, accessServiceStartupThreads);
+            }
+            finally
+            {
+                Thread.currentThread().setName(callingThreadName);
+            }
+
+            for (AccessServiceStartup accessServiceStartup : startupList)
+            {
+                assertNull(accessServiceStartup.getStartupError());
+            }
+            assertEquals(startedServices.size(), 4);
+            assertEquals(startedServices.get(0), "Service0");
+            assertEquals(startedServices.get(3), "Service3");
+        }
+    }
+
+
+    /**
+     * When more than one startup thread is configured, the access services are started at the same time on
+     * the startup threads.
+     *
+     * @throws Exception problem starting the access services
+     */
+    @Test
+    public void testParallelWhenConfigured() throws Exception
+    {
+        CyclicBarrier              allStarting = new CyclicBarrier(3);
+        List<AccessServiceStartup> startupList = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++)
+        {
+            startupList.add(getAccessServiceStartup("Service" + i, new TestAuditLog(), () ->
+            {
+                assertTrue(Thread.currentThread().getName().startsWith(SERVER_NAME + "-OMAS-startup-"));
+                allStarting.await(10, TimeUnit.SECONDS);
+            }));
+        }
+
+        AccessServiceStartup.initializeAccessServices(SERVER_NAME, startupList, 3);
+
+        for (AccessServiceStartup accessServiceStartup : startupList)
+        {
+            assertNull(accessServiceStartup.getStartupError());
+        }
+    }
+
+
+    /**
+     * An access service that fails to initialize keeps its error, the others still start, and the failure is
+     * reported as a bad access service admin class.
+     *
+     * @throws Exception problem starting the access services
+     */
+    @Test
+    public void testFailedStartup() throws Exception
+    {
+        TestAuditLog               failedAuditLog = new TestAuditLog();
+        TestAuditLog               otherAuditLog  = new TestAuditLog();
+        List<AccessServiceStartup> startupList    = new ArrayList<>();
+
+        OMAGConfigurationErrorException initializeError = new OMAGConfigurationErrorException(400,
+                                                                                              "TestAccessServiceAdmin",
+                                                                                              "initialize",
+                                                                                              "Test failure",
+                                                                                              "",
+                                                                                              "");
+
+        startupList.add(getAccessServiceStartup("FailingService", failedAuditLog, () ->
+        {
+            throw initializeError;
+        }));
+        startupList.add(getAccessServiceStartup("OtherService", otherAuditLog, () -> { }));
+
+        AccessServiceStartup.initializeAccessServices(SERVER_NAME, startupList, 0);
+
+        AccessServiceStartup failedStartup = startupList.get(0);
+
+        assertSame(failedStartup.getStartupError(), initializeError);
+        assertTrue(failedAuditLog.messageIds.isEmpty());
+        assertNull(startupList.get(1).getStartupError());
+        assertEquals(otherAuditLog.messageIds.size(), 1);
+
+        OMAGConfigurationErrorException error =
+                AccessServiceStartup.getBadAccessServiceAdminClassException(SERVER_NAME,
+                                                                            failedStartup.getAccessServiceConfig(),
+                                                                            this.getClass().getName(),
+                                                                            "initialize");
+
+        assertTrue(error.getErrorMessage().startsWith(OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS.getErrorMessageId()),
+                   error.getErrorMessage());
+        assertTrue(error.getErrorMessage().contains("FailingService"), error.getErrorMessage());
+        assertEquals(error.getReportedHTTPCode(), OMAGAdminErrorCode.BAD_ACCESS_SERVICE_ADMIN_CLASS.getHTTPErrorCode());
+    }
+
+
+    /**
+     * The time taken to initialize each access service is saved and written to its audit log.
+     *
+     * @throws Exception problem starting the access services
+     */
+    @Test
+    public void testStartupTime() throws Exception
+    {
+        final long initializeTime = 100;
+
+        TestAuditLog               auditLog    = new TestAuditLog();
+        List<AccessServiceStartup> startupList = new ArrayList<>();
+
+        startupList.add(getAccessServiceStartup("SlowService", auditLog, () -> Thread.sleep(initializeTime)));
+        startupList.add(getAccessServiceStartup("FastService", new TestAuditLog(), () -> { }));
+
+        AccessServiceStartup.initializeAccessServices(SERVER_NAME, startupList, 2);
+
+        AccessServiceStartup slowStartup = startupList.get(0);
+
+        assertNull(slowStartup.getStartupError());
+        assertTrue(slowStartup.getStartupTime() >= initializeTime, Long.toString(slowStartup.getStartupTime()));
+        assertTrue(startupList.get(1).getStartupTime() < slowStartup.getStartupTime());
+
+        assertEquals(auditLog.messageIds.size(), 1);
+        assertEquals(auditLog.messageIds.get(0), OMAGAuditCode.SERVICE_STARTUP_TIME.getLogMessageId());
+        assertNotNull(auditLog.messages.get(0));
+        assertTrue(auditLog.messages.get(0).contains("SlowService"), auditLog.messages.get(0));
+        assertTrue(auditLog.messages.get(0).contains(Long.toString(slowStartup.getStartupTime())), auditLog.messages.get(0));
+    }
+
+
+    private AccessServiceStartup getAccessServiceStartup(String              accessServiceName,
+                                                         OMRSAuditLog        auditLog,
+                                                         InitializeBehaviour initializeBehaviour)
+    {
+        AccessServiceConfig accessServiceConfig = new AccessServiceConfig();
+
+        accessServiceConfig.setAccessServiceName(accessServiceName);
+        accessServiceConfig.setAccessServiceAdminClass(TestAccessServiceAdmin.class.getName());
+
+        return new AccessServiceStartup(accessServiceConfig,
+                                        new TestAccessServiceAdmin(initializeBehaviour),
+                                        null,
+                                        null,
+                                        auditLog,
+                                        SERVER_NAME,
+                                        SERVER_USER);
+    }
+
+
+    /**
+     * The work done by a test access service when it is initialized.
+     */
+    private interface InitializeBehaviour
+    {
+        void initialize() throws Exception;
+    }
+
+
+    /**
+     * Access service admin that runs the supplied behaviour when it is initialized.
+     */
+    private static class TestAccessServiceAdmin extends AccessServiceAdmin
+    {
+        private final InitializeBehaviour initializeBehaviour;
+
+
+        TestAccessServiceAdmin(InitializeBehaviour initializeBehaviour)
+        {
+            this.initializeBehaviour = initializeBehaviour;
+        }
+
+
+        @Override
+        public void initialize(AccessServiceConfig     accessServiceConfigurationProperties,
+                               OMRSTopicConnector      enterpriseOMRSTopicConnector,
+                               OMRSRepositoryConnector enterpriseOMRSRepositoryConnector,
+                               OMRSAuditLog            auditLog,
+                               String                  serverUserName) throws OMAGConfigurationErrorException
+        {
+            try
+            {
+                initializeBehaviour.initialize();
+            }
+            catch (OMAGConfigurationErrorException error)
+            {
+                throw error;
+            }
+            catch (Exception error)
+            {
+                throw new IllegalStateException(error);
+            }
+        }
+
+
+        @Override
+        public void shutdown()
+        {
+        }
+    }
+
+
+    /**
+     * Audit log that keeps the records written to it.
+     */
+    private static class TestAuditLog extends OMRSAuditLog
+    {
+        List<String> messageIds = new ArrayList<>();
+        List<String> messages   = new ArrayList<>();
+
+
+        TestAuditLog()
+        {
+            super(new OMRSAuditLogDestination(null), 0, "AccessServiceStartupTest", "Test", null);
+        }
+
+
+        @Override
+        public synchronized void logRecord(String                     actionDescription,
+                                           String                     logMessageId,
+                                           OMRSAuditLogRecordSeverity severity,
+                                           String                     logMessage,
+                                           String                     additionalInformation,
+                                           String                     systemAction,
+                                           String                     userAction)
+        {
+            messageIds.add(logMessageId);
+            messages.add(logMessage);
+        }
+    }
+}
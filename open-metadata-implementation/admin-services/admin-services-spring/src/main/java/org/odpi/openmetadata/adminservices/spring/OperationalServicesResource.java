@@ -5,6 +5,7 @@ package org.odpi.openmetadata.adminservices.spring;
 import org.odpi.openmetadata.adminservices.OMAGServerOperationalServices;
 import org.odpi.openmetadata.adminservices.configuration.properties.OMAGServerConfig;
 import org.odpi.openmetadata.adminservices.rest.OMAGServerConfigResponse;
+import org.odpi.openmetadata.adminservices.rest.ServiceStartupTimesResponse;
 import org.odpi.openmetadata.adminservices.rest.SuccessMessageResponse;
 import org.odpi.openmetadata.commonservices.ffdc.rest.VoidResponse;
 import org.springframework.web.bind.annotation.*;
@@ -122,6 +123,23 @@ public class OperationalServicesResource
     }
 
 
+    /**
+     * Return the number of milliseconds that each service took to start when the server was last activated.
+     *
+     * @param userId  user that is issuing the request
+     * @param serverName  local server name
+     * @return map of service name to startup time or
+     * OMAGNotAuthorizedException the supplied userId is not authorized to issue this command or
+     * OMAGInvalidParameterException the server name is invalid.
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/instance/startup-times")
+    public ServiceStartupTimesResponse getServiceStartupTimes(@PathVariable String           userId,
+                                                              @PathVariable String           serverName)
+    {
+        return operationalServices.getServiceStartupTimes(userId, serverName);
+    }
+
+
     /**
      * Add a new open metadata archive to running repository.
      *
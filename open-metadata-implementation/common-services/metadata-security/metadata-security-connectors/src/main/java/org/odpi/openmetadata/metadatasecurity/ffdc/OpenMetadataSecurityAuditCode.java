@@ -139,6 +139,13 @@ public enum OpenMetadataSecurityAuditCode
                              "The security service detected an unauthorized change of an open metadata instance.",
                              "Review the security policies and settings to determine if this access should be allowed or not." +
                                      "  Take action to either change the security sessions or determine the reason for the unauthorized request."),
+
+    DECISION_CACHE_STATISTICS("OPEN-METADATA-SECURITY-0018",
+                             OMRSAuditLogRecordSeverity.INFO,
+                             "The security decision cache for server {0} answered {1} access checks, passed {2} access checks to the security connector and holds {3} decisions",
+                             "The server is shutting down and has recorded how effective the cache of the security connector's decisions has been.",
+                             "No action is required.  If few access checks are answered from the cache, review the " +
+                                     "decisionCacheTimeToLive and decisionCacheMaxEntries configuration properties of the security connector."),
     ;
 
     private String                     logMessageId;
@@ -0,0 +1,188 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * AuthorizationDecisionCache remembers the access checks that the server security connector has granted so
+ * the checks made on every request do not re-run the connector's policy evaluation.  Only grants are cached,
+ * so a denial is always re-evaluated and reported with a fresh exception.
+ *
+ * Entries expire after a fixed time to live so changes to the connector's policies are picked up.  The cache is
+ * bounded.  When it is full the expired entries are removed and, if it is still full, it is emptied.
+ */
+class AuthorizationDecisionCache
+{
+    private static final char  keySeparator = '\u0000';
+
+    private final Map<String, Long> grantedDecisions = new ConcurrentHashMap<>();
+    private final long              timeToLive;
+    private final int               maxEntries;
+
+    private final AtomicLong        hitCount  = new AtomicLong(0);
+    private final AtomicLong        missCount = new AtomicLong(0);
+
+
+    /**
+     * Constructor sets up the bounds of the cache.
+     *
+     * @param timeToLive number of milliseconds a decision is remembered - zero or less disables the cache
+     * @param maxEntries maximum number of decisions remembered
+     */
+    AuthorizationDecisionCache(long timeToLive,
+                               int  maxEntries)
+    {
+        this.timeToLive = timeToLive;
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+
+    /**
+     * Build the key for an access check from its type and parameters.
+     *
+     * @param checkName name of the access check
+     * @param parameters values that the decision depends on
+     * @return cache key
+     */
+    static String getKey(String    checkName,
+                         String... parameters)
+    {
+        StringBuilder key = new StringBuilder(checkName);
+
+        for (String parameter : parameters)
+        {
+            key.append(keySeparator);
+
+            if (parameter != null)
+            {
+                key.append(parameter);
+            }
+        }
+
+        return key.toString();
+    }
+
+
+    /**
+     * Return a canonical form of a zone list so the order of the zones does not affect the key.
+     *
+     * @param zones list of zones (may be null)
+     * @return zone set as a string
+     */
+    static String getZoneSetKey(List<String> zones)
+    {
+        if ((zones == null) || (zones.isEmpty()))
+        {
+            return "";
+        }
+
+        List<String> sortedZones = new ArrayList<>(zones);
+        sortedZones.removeIf(zone -> zone == null);
+        Collections.sort(sortedZones);
+
+        return String.join(",", sortedZones);
+    }
+
+
+    /**
+     * Return whether the access check has been granted recently.  The hit and miss counts are updated.
+     *
+     * @param key key of the access check
+     * @return boolean
+     */
+    boolean isGranted(String key)
+    {
+        if (timeToLive <= 0)
+        {
+            return false;
+        }
+
+        Long expiryTime = grantedDecisions.get(key);
+
+        if ((expiryTime != null) && (expiryTime > System.currentTimeMillis()))
+        {
+            hitCount.incrementAndGet();
+            return true;
+        }
+
+        missCount.incrementAndGet();
+        return false;
+    }
+
+
+    /**
+     * Remember that the access check was granted.
+     *
+     * @param key key of the access check
+     */
+    void setGranted(String key)
+    {
+        if (timeToLive <= 0)
+        {
+            return;
+        }
+
+        if (grantedDecisions.size() >= maxEntries)
+        {
+            long now = System.currentTimeMillis();
+
+            grantedDecisions.values().removeIf(expiryTime -> expiryTime <= now);
+
+            if (grantedDecisions.size() >= maxEntries)
+            {
+                grantedDecisions.clear();
+            }
+        }
+
+        grantedDecisions.put(key, System.currentTimeMillis() + timeToLive);
+    }
+
+
+    /**
+     * Forget all of the decisions, for example because the security connector or zones have changed.
+     */
+    void clear()
+    {
+        grantedDecisions.clear();
+    }
+
+
+    /**
+     * Return the number of access checks answered from the cache.
+     *
+     * @return count
+     */
+    long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Return the number of access checks passed to the security connector.
+     *
+     * @return count
+     */
+    long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Return the number of decisions currently remembered.
+     *
+     * @return count
+     */
+    int getSize()
+    {
+        return grantedDecisions.size();
+    }
+}
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.metadatasecurity.*;
 import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityAuditCode;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
 import org.odpi.openmetadata.metadatasecurity.samples.CocoPharmaPlatformSecurityConnector;
@@ -23,12 +24,18 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 
 import java.util.List;
+import java.util.Map;
 
 
 /**
  * OpenMetadataServerSecurityVerifier provides the plug-in point for the open metadata server connector.
  * It supports the same security interfaces, and handles the fact that the security connector is
  * optional.
+ *
+ * The server, service, service operation and asset read checks are made on almost every request, so the
+ * decisions that the connector grants for these checks are cached for a short time.  The asset read decision is
+ * keyed on the asset's zones and owner.  A connector whose asset read policy depends on other asset
+ * properties should set the decisionCacheTimeToLive configuration property to 0 to turn the cache off.
  */
 public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositorySecurity,
                                                            OpenMetadataServerSecurity,
@@ -36,7 +43,20 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                            OpenMetadataConnectionSecurity,
                                                            OpenMetadataAssetSecurity
 {
-    private OpenMetadataServerSecurityConnector connector   = null;
+    /*
+     * Names of the configuration properties in the connection for the security connector that control the
+     * decision cache.
+     */
+    public static final String decisionCacheTimeToLiveProperty = "decisionCacheTimeToLive";
+    public static final String decisionCacheMaxEntriesProperty = "decisionCacheMaxEntries";
+
+    private static final long  defaultDecisionCacheTimeToLive  = 60000;
+    private static final int   defaultDecisionCacheMaxEntries  = 10000;
+
+    private volatile OpenMetadataServerSecurityConnector connector     = null;
+    private volatile AuthorizationDecisionCache          decisionCache = new AuthorizationDecisionCache(0, 1);
+    private volatile OMRSAuditLog                        auditLog      = null;
+    private volatile String                              serverName    = null;
 
     // Todo remove - temporary workaround to being connectors into class path
     private CocoPharmaServerSecurityConnector   demoObject1 = null;
@@ -69,10 +89,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     {
         try
         {
-            this.connector = this.getServerSecurityConnector(localServerUserId,
-                                                             serverName,
-                                                             auditLog,
-                                                             connection);
+            OpenMetadataServerSecurityConnector newConnector = this.getServerSecurityConnector(localServerUserId,
+                                                                                               serverName,
+                                                                                               auditLog,
+                                                                                               connection);
+
+            /*
+             * Decisions made by a previous connector no longer apply.  The new cache is in place before the
+             * new connector so a request never finds the new connector with the old connector's decisions.
+             */
+            this.decisionCache = this.getDecisionCache(connection);
+            this.connector = newConnector;
+            this.auditLog = auditLog;
+            this.serverName = serverName;
         }
         catch (InvalidParameterException error)
         {
@@ -140,6 +169,119 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Create the cache for the security connector's decisions using the settings from its connection.
+     *
+     * @param connection connection from the configuration document
+     * @return decision cache
+     */
+    private AuthorizationDecisionCache getDecisionCache(Connection   connection)
+    {
+        long timeToLive = defaultDecisionCacheTimeToLive;
+        int  maxEntries = defaultDecisionCacheMaxEntries;
+
+        if ((connection != null) && (connection.getConfigurationProperties() != null))
+        {
+            Map<String, Object> configurationProperties = connection.getConfigurationProperties();
+
+            Object timeToLiveProperty = configurationProperties.get(decisionCacheTimeToLiveProperty);
+            Object maxEntriesProperty = configurationProperties.get(decisionCacheMaxEntriesProperty);
+
+            try
+            {
+                if (timeToLiveProperty != null)
+                {
+                    timeToLive = Long.parseLong(timeToLiveProperty.toString());
+                }
+
+                if (maxEntriesProperty != null)
+                {
+                    maxEntries = Integer.parseInt(maxEntriesProperty.toString());
+                }
+            }
+            catch (NumberFormatException error)
+            {
+                /*
+                 * Badly formatted values are ignored and the defaults are used.
+                 */
+            }
+        }
+
+        return new AuthorizationDecisionCache(timeToLive, maxEntries);
+    }
+
+
+    /**
+     * Forget the decisions cached from the security connector.  This is called when the services of the
+     * server, and the supported and default zones they are configured with, are registered or removed.
+     */
+    public void clearDecisionCache()
+    {
+        decisionCache.clear();
+    }
+
+
+    /**
+     * Write the decision cache statistics to the audit log.  This is called when the server shuts down.
+     */
+    public void logDecisionCacheStatistics()
+    {
+        final String actionDescription = "logDecisionCacheStatistics";
+
+        OMRSAuditLog               serverAuditLog = auditLog;
+        AuthorizationDecisionCache cache          = decisionCache;
+
+        if ((serverAuditLog != null) && (connector != null))
+        {
+            OpenMetadataSecurityAuditCode auditCode = OpenMetadataSecurityAuditCode.DECISION_CACHE_STATISTICS;
+
+            serverAuditLog.logRecord(actionDescription,
+                                     auditCode.getLogMessageId(),
+                                     auditCode.getSeverity(),
+                                     auditCode.getFormattedLogMessage(serverName,
+                                                                      Long.toString(cache.getHitCount()),
+                                                                      Long.toString(cache.getMissCount()),
+                                                                      Integer.toString(cache.getSize())),
+                                     null,
+                                     auditCode.getSystemAction(),
+                                     auditCode.getUserAction());
+        }
+    }
+
+
+    /**
+     * Return the number of access checks that were answered from the decision cache.
+     *
+     * @return count
+     */
+    public long getDecisionCacheHitCount()
+    {
+        return decisionCache.getHitCount();
+    }
+
+
+    /**
+     * Return the number of access checks that were passed to the security connector.
+     *
+     * @return count
+     */
+    public long getDecisionCacheMissCount()
+    {
+        return decisionCache.getMissCount();
+    }
+
+
+    /**
+     * Return the number of granted decisions currently cached.
+     *
+     * @return count
+     */
+    public int getDecisionCacheSize()
+    {
+        return decisionCache.getSize();
+    }
+
+
     /**
      * Determine the appropriate setting for the supported zones depending on the user and the
      * default supported zones set up for the service.  This is called whenever an asset is accessed.
@@ -254,9 +396,20 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
      */
     public void  validateUserForServer(String   userId) throws UserNotAuthorizedException
     {
-        if (connector != null)
+        final String checkName = "validateUserForServer";
+
+        OpenMetadataServerSecurityConnector securityConnector = connector;
+
+        if (securityConnector != null)
         {
-            connector.validateUserForServer(userId);
+            AuthorizationDecisionCache cache = decisionCache;
+            String                     key   = AuthorizationDecisionCache.getKey(checkName, userId);
+
+            if (! cache.isGranted(key))
+            {
+                securityConnector.validateUserForServer(userId);
+                cache.setGranted(key);
+            }
         }
     }
 
@@ -320,9 +473,20 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public void  validateUserForService(String   userId,
                                         String   serviceName) throws UserNotAuthorizedException
     {
-        if (connector != null)
+        final String checkName = "validateUserForService";
+
+        OpenMetadataServerSecurityConnector securityConnector = connector;
+
+        if (securityConnector != null)
         {
-            connector.validateUserForService(userId, serviceName);
+            AuthorizationDecisionCache cache = decisionCache;
+            String                     key   = AuthorizationDecisionCache.getKey(checkName, userId, serviceName);
+
+            if (! cache.isGranted(key))
+            {
+                securityConnector.validateUserForService(userId, serviceName);
+                cache.setGranted(key);
+            }
         }
     }
 
@@ -340,9 +504,23 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                  String   serviceName,
                                                  String   serviceOperationName) throws UserNotAuthorizedException
     {
-        if (connector != null)
+        final String checkName = "validateUserForServiceOperation";
+
+        OpenMetadataServerSecurityConnector securityConnector = connector;
+
+        if (securityConnector != null)
         {
-            connector.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+            AuthorizationDecisionCache cache = decisionCache;
+            String                     key   = AuthorizationDecisionCache.getKey(checkName,
+                                                                                 userId,
+                                                                                 serviceName,
+                                                                                 serviceOperationName);
+
+            if (! cache.isGranted(key))
+            {
+                securityConnector.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+                cache.setGranted(key);
+            }
         }
     }
 
@@ -389,9 +567,30 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public void  validateUserForAssetRead(String     userId,
                                           Asset      asset) throws UserNotAuthorizedException
     {
-        if (connector != null)
+        final String checkName = "validateUserForAssetRead";
+
+        OpenMetadataServerSecurityConnector securityConnector = connector;
+
+        if (securityConnector != null)
         {
-            connector.validateUserForAssetRead(userId, new Asset(asset));
+            if (asset == null)
+            {
+                securityConnector.validateUserForAssetRead(userId, new Asset(asset));
+                return;
+            }
+
+            AuthorizationDecisionCache cache = decisionCache;
+            String                     key   = AuthorizationDecisionCache.getKey(checkName,
+                                                                                 userId,
+                                                                                 AuthorizationDecisionCache.getZoneSetKey(asset.getZoneMembership()),
+                                                                                 asset.getOwner(),
+                                                                                 String.valueOf(asset.getOwnerType()));
+
+            if (! cache.isGranted(key))
+            {
+                securityConnector.validateUserForAssetRead(userId, new Asset(asset));
+                cache.setGranted(key);
+            }
         }
     }
 
@@ -0,0 +1,136 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the keys, expiry and bounds of the cache of security decisions.
+ */
+public class AuthorizationDecisionCacheTest
+{
+    private static final String checkName = "validateUserForAssetRead";
+
+
+    /**
+     * The order of the zones does not change the key but the zones and the owner do.
+     */
+    @Test
+    public void testKey()
+    {
+        String zonesAB = AuthorizationDecisionCache.getZoneSetKey(Arrays.asList("zoneA", "zoneB"));
+        String zonesBA = AuthorizationDecisionCache.getZoneSetKey(Arrays.asList("zoneB", null, "zoneA"));
+        String zonesA  = AuthorizationDecisionCache.getZoneSetKey(Arrays.asList("zoneA"));
+
+        assertEquals(zonesAB, zonesBA);
+        assertNotEquals(zonesAB, zonesA);
+        assertEquals(AuthorizationDecisionCache.getZoneSetKey(null), "");
+
+        assertEquals(AuthorizationDecisionCache.getKey(checkName, "user", zonesAB, "owner"),
+                     AuthorizationDecisionCache.getKey(checkName, "user", zonesBA, "owner"));
+        assertNotEquals(AuthorizationDecisionCache.getKey(checkName, "user", zonesAB, "owner"),
+                        AuthorizationDecisionCache.getKey(checkName, "user", zonesAB, "otherOwner"));
+        assertNotEquals(AuthorizationDecisionCache.getKey(checkName, "user", zonesAB, "owner"),
+                        AuthorizationDecisionCache.getKey(checkName, "user", zonesA, "owner"));
+        assertNotEquals(AuthorizationDecisionCache.getKey(checkName, "user", zonesAB, "owner"),
+                        AuthorizationDecisionCache.getKey(checkName, "otherUser", zonesAB, "owner"));
+
+        /*
+         * Parameters that run together must not make the same key.
+         */
+        assertNotEquals(AuthorizationDecisionCache.getKey(checkName, "ab", "c"),
+                        AuthorizationDecisionCache.getKey(checkName, "a", "bc"));
+        assertNotEquals(AuthorizationDecisionCache.getKey(checkName, "user", null),
+                        AuthorizationDecisionCache.getKey(checkName, "user"));
+    }
+
+
+    /**
+     * A granted decision is remembered and counted as a hit.
+     */
+    @Test
+    public void testGranted()
+    {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(60000, 10);
+        String                     key   = AuthorizationDecisionCache.getKey(checkName, "user");
+
+        assertFalse(cache.isGranted(key));
+        cache.setGranted(key);
+        assertTrue(cache.isGranted(key));
+
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+        assertEquals(cache.getSize(), 1);
+
+        cache.clear();
+
+        assertFalse(cache.isGranted(key));
+        assertEquals(cache.getSize(), 0);
+    }
+
+
+    /**
+     * A decision is forgotten once its time to live has passed.
+     *
+     * @throws InterruptedException interrupted sleep
+     */
+    @Test
+    public void testTimeToLive() throws InterruptedException
+    {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(50, 10);
+        String                     key   = AuthorizationDecisionCache.getKey(checkName, "user");
+
+        cache.setGranted(key);
+        assertTrue(cache.isGranted(key));
+
+        Thread.sleep(100);
+
+        assertFalse(cache.isGranted(key));
+    }
+
+
+    /**
+     * A time to live of zero turns the cache off.
+     */
+    @Test
+    public void testDisabled()
+    {
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(0, 10);
+        String                     key   = AuthorizationDecisionCache.getKey(checkName, "user");
+
+        cache.setGranted(key);
+
+        assertFalse(cache.isGranted(key));
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getHitCount(), 0);
+    }
+
+
+    /**
+     * The cache never holds more than its maximum number of decisions.
+     */
+    @Test
+    public void testSizeBound()
+    {
+        final int maxEntries = 3;
+
+        AuthorizationDecisionCache cache = new AuthorizationDecisionCache(60000, maxEntries);
+
+        for (int i = 0; i < 10; i++)
+        {
+            String key = AuthorizationDecisionCache.getKey(checkName, "user" + i);
+
+            cache.setGranted(key);
+
+            assertTrue(cache.getSize() <= maxEntries);
+            assertTrue(cache.isGranted(key));
+        }
+    }
+}
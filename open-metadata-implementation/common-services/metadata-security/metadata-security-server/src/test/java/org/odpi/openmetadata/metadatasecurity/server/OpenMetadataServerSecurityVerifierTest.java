@@ -0,0 +1,301 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Asset;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that the security verifier caches the security connector's grants, but not its denials.
+ */
+public class OpenMetadataServerSecurityVerifierTest
+{
+    private static final String serverName   = "testServer";
+    private static final String serverUserId = "testServerUser";
+    private static final String userId       = "testUser";
+    private static final String deniedUserId = "deniedUser";
+
+    private static final AtomicInteger connectorCalls = new AtomicInteger(0);
+
+
+    /**
+     * Reset the count of calls to the security connector.
+     */
+    @BeforeMethod
+    public void resetConnectorCalls()
+    {
+        connectorCalls.set(0);
+    }
+
+
+    /**
+     * A granted decision is made by the connector once and then answered from the cache.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testGrantCached() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier(null);
+
+        verifier.validateUserForServer(userId);
+        verifier.validateUserForServer(userId);
+        verifier.validateUserForService(userId, "testService");
+        verifier.validateUserForService(userId, "testService");
+
+        assertEquals(connectorCalls.get(), 2);
+        assertEquals(verifier.getDecisionCacheHitCount(), 2);
+        assertEquals(verifier.getDecisionCacheMissCount(), 2);
+        assertEquals(verifier.getDecisionCacheSize(), 2);
+
+        verifier.clearDecisionCache();
+        verifier.validateUserForServer(userId);
+
+        assertEquals(connectorCalls.get(), 3);
+    }
+
+
+    /**
+     * A denial is passed to the connector every time.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testDenialNotCached() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier(null);
+
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                verifier.validateUserForServer(deniedUserId);
+                fail("Denied user was allowed access");
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                /*
+                 * Expected
+                 */
+            }
+        }
+
+        assertEquals(connectorCalls.get(), 2);
+        assertEquals(verifier.getDecisionCacheSize(), 0);
+    }
+
+
+    /**
+     * The asset read decision is shared by assets with the same zones, in any order, and the same owner.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testAssetReadKey() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier(null);
+
+        verifier.validateUserForAssetRead(userId, getAsset("owner", "zoneA", "zoneB"));
+        verifier.validateUserForAssetRead(userId, getAsset("owner", "zoneB", "zoneA"));
+
+        assertEquals(connectorCalls.get(), 1);
+
+        verifier.validateUserForAssetRead(userId, getAsset("otherOwner", "zoneA", "zoneB"));
+
+        assertEquals(connectorCalls.get(), 2);
+
+        verifier.validateUserForAssetRead(userId, getAsset("owner", "zoneA"));
+
+        assertEquals(connectorCalls.get(), 3);
+    }
+
+
+    /**
+     * Registering a connector again replaces the decisions made under the previous registration.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testReRegistration() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier(null);
+
+        verifier.validateUserForServer(userId);
+        verifier.validateUserForServer(userId);
+
+        assertEquals(connectorCalls.get(), 1);
+        assertEquals(verifier.getDecisionCacheSize(), 1);
+
+        verifier.registerSecurityValidator(serverUserId, serverName, null, getConnection(null));
+
+        assertEquals(verifier.getDecisionCacheSize(), 0);
+        assertEquals(verifier.getDecisionCacheHitCount(), 0);
+
+        verifier.validateUserForServer(userId);
+
+        assertEquals(connectorCalls.get(), 2);
+    }
+
+
+    /**
+     * A time to live of zero in the connection turns the cache off.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testCacheTurnedOff() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier("0");
+
+        verifier.validateUserForServer(userId);
+        verifier.validateUserForServer(userId);
+
+        assertEquals(connectorCalls.get(), 2);
+        assertEquals(verifier.getDecisionCacheSize(), 0);
+    }
+
+
+    /**
+     * Return a verifier with the test security connector registered.
+     *
+     * @param timeToLive value for the time to live configuration property (or null for the default)
+     * @return verifier
+     * @throws Exception unable to create the connector
+     */
+    private OpenMetadataServerSecurityVerifier getVerifier(String timeToLive) throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = new OpenMetadataServerSecurityVerifier();
+
+        verifier.registerSecurityValidator(serverUserId, serverName, null, getConnection(timeToLive));
+
+        return verifier;
+    }
+
+
+    /**
+     * Return the connection for the test security connector.
+     *
+     * @param timeToLive value for the time to live configuration property (or null for the default)
+     * @return connection
+     */
+    private Connection getConnection(String timeToLive)
+    {
+        ConnectorType connectorType = new ConnectorType();
+        Connection    connection    = new Connection();
+
+        connectorType.setConnectorProviderClassName(TestSecurityProvider.class.getName());
+        connection.setConnectorType(connectorType);
+
+        if (timeToLive != null)
+        {
+            Map<String, Object> configurationProperties = new HashMap<>();
+
+            configurationProperties.put(OpenMetadataServerSecurityVerifier.decisionCacheTimeToLiveProperty, timeToLive);
+            connection.setConfigurationProperties(configurationProperties);
+        }
+
+        return connection;
+    }
+
+
+    /**
+     * Return an asset with the requested owner and zones.
+     *
+     * @param owner owner of the asset
+     * @param zones zones of the asset
+     * @return asset
+     */
+    private Asset getAsset(String    owner,
+                           String... zones)
+    {
+        Asset asset = new Asset();
+
+        asset.setOwner(owner);
+        asset.setZoneMembership(Arrays.asList(zones));
+
+        return asset;
+    }
+
+
+    /**
+     * Provider for the test security connector.
+     */
+    public static class TestSecurityProvider extends OpenMetadataServerSecurityProvider
+    {
+        /**
+         * Constructor sets up the class name of the test security connector.
+         */
+        public TestSecurityProvider()
+        {
+            super();
+
+            super.setConnectorClassName(TestSecurityConnector.class.getName());
+        }
+    }
+
+
+    /**
+     * Security connector that counts its calls and denies access to the denied user.
+     */
+    public static class TestSecurityConnector extends OpenMetadataServerSecurityConnector
+    {
+        /**
+         * Check that the calling user is authorized to issue a (any) request to the OMAG Server.
+         *
+         * @param userId calling user
+         * @throws UserNotAuthorizedException the user is the denied user
+         */
+        @Override
+        public void validateUserForServer(String userId) throws UserNotAuthorizedException
+        {
+            connectorCalls.incrementAndGet();
+
+            if (deniedUserId.equals(userId))
+            {
+                super.validateUserForServer(userId);
+            }
+        }
+
+
+        /**
+         * Check that the calling user is authorized to use the service.
+         *
+         * @param userId calling user
+         * @param serviceName name of called service
+         */
+        @Override
+        public void validateUserForService(String userId,
+                                           String serviceName)
+        {
+            connectorCalls.incrementAndGet();
+        }
+
+
+        /**
+         * Check that the calling user is authorized to read the asset.
+         *
+         * @param userId calling user
+         * @param asset asset to read
+         */
+        @Override
+        public void validateUserForAssetRead(String userId,
+                                             Asset  asset)
+        {
+            connectorCalls.incrementAndGet();
+        }
+    }
+}
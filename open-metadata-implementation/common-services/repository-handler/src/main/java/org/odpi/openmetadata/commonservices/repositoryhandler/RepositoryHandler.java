@@ -1124,6 +1124,8 @@ public class RepositoryHandler
 
             if (relationships != null)
             {
+                List<String> requiredEndGUIDs = new ArrayList<>();
+
                 for (Relationship relationship : relationships)
                 {
                     EntityProxy requiredEnd = relationship.getEntityOneProxy();
@@ -1132,8 +1134,10 @@ public class RepositoryHandler
                         requiredEnd = relationship.getEntityTwoProxy();
                     }
 
-                    results.add(metadataCollection.getEntityDetail(userId, requiredEnd.getGUID()));
+                    requiredEndGUIDs.add(requiredEnd.getGUID());
                 }
+
+                this.addEntityDetails(userId, requiredEndGUIDs, results);
             }
             else
             {
@@ -1164,6 +1168,41 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Retrieve the entities for a list of guids with a single request to the metadata collection and add
+     * the ones that were found to the results.
+     *
+     * @param userId  user making the request
+     * @param guids  unique identifiers of the entities to retrieve
+     * @param results  list to add the retrieved entities to
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException one of the guids is null
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException problem accessing the repository
+     * @throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException security access problem
+     */
+    private void addEntityDetails(String             userId,
+                                  List<String>       guids,
+                                  List<EntityDetail> results) throws org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException,
+                                                                     org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException,
+                                                                     org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException
+    {
+        if (! guids.isEmpty())
+        {
+            List<EntityDetail> entities = metadataCollection.getEntityDetails(userId, guids);
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if (entity != null)
+                    {
+                        results.add(entity);
+                    }
+                }
+            }
+        }
+    }
+
+
     /**
      * Return the list of entities at the requested end of the requested relationship type.
      *
@@ -1207,6 +1246,8 @@ public class RepositoryHandler
 
             if (relationships != null)
             {
+                List<String> requiredEndGUIDs = new ArrayList<>();
+
                 for (Relationship relationship : relationships)
                 {
                     EntityProxy anchorEndProxy = relationship.getEntityOneProxy();
@@ -1220,9 +1261,11 @@ public class RepositoryHandler
 
                     if (anchorEntityGUID.equals(anchorEndProxy.getGUID()))
                     {
-                        results.add(metadataCollection.getEntityDetail(userId, requiredEndProxy.getGUID()));
+                        requiredEndGUIDs.add(requiredEndProxy.getGUID());
                     }
                 }
+
+                this.addEntityDetails(userId, requiredEndGUIDs, results);
             }
             else
             {
@@ -2157,25 +2200,29 @@ public class RepositoryHandler
                                                 String                 methodName) throws PropertyServerException,
                                                                                           UserNotAuthorizedException
     {
-        List<Relationship> relationships = this.getRelationshipsByType(userId,
-                                                                       anchorEntityGUID,
-                                                                       anchorEntityTypeName,
-                                                                       relationshipTypeGUID,
-                                                                       relationshipTypeName,
-                                                                       methodName);
-
         int count = 0;
 
-        if (relationships != null)
+        try
         {
-            for (Relationship relationship : relationships)
+            count = metadataCollection.countRelationshipsForEntity(userId,
+                                                                   anchorEntityGUID,
+                                                                   relationshipTypeGUID,
+                                                                   null);
+
+            if ((count == 0) && (log.isDebugEnabled()))
             {
-                if (relationship != null)
-                {
-                    count ++;
-                }
+                log.debug("No relationships of type " + relationshipTypeName +
+                          " found for " + anchorEntityTypeName + " entity " + anchorEntityGUID);
             }
         }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName);
+        }
 
         return count;
     }
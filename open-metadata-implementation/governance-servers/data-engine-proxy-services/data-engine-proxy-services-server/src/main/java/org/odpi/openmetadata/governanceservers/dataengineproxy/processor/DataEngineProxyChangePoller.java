@@ -3,6 +3,10 @@
 package org.odpi.openmetadata.governanceservers.dataengineproxy.processor;
 
 import org.odpi.openmetadata.accessservices.dataengine.client.DataEngineImpl;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortAlias;
+import org.odpi.openmetadata.accessservices.dataengine.model.PortImplementation;
+import org.odpi.openmetadata.accessservices.dataengine.model.Process;
+import org.odpi.openmetadata.accessservices.dataengine.model.SchemaType;
 import org.odpi.openmetadata.adminservices.configuration.properties.DataEngineProxyConfig;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.*;
 import org.odpi.openmetadata.governanceservers.dataengineproxy.auditlog.DataEngineProxyAuditCode;
@@ -14,9 +18,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * Class to handle periodically polling a Data Engine for changes, for those data engines that do not
@@ -26,6 +41,8 @@ public class DataEngineProxyChangePoller implements Runnable {
 
     private static final Logger log = LoggerFactory.getLogger(DataEngineProxyChangePoller.class);
 
+    private static final int SUBMISSION_THREADS = 4;
+
     private OMRSAuditLog auditLog;
     private DataEngineProxyConfig dataEngineProxyConfig;
     private DataEngineImpl dataEngineOMASClient;
@@ -33,6 +50,7 @@ public class DataEngineProxyChangePoller implements Runnable {
     private String engineGuid;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService submissionPool = Executors.newFixedThreadPool(SUBMISSION_THREADS);
 
     public void start() {
         Thread worker = new Thread(this);
@@ -41,6 +59,7 @@ public class DataEngineProxyChangePoller implements Runnable {
 
     public void stop() {
         running.set(false);
+        submissionPool.shutdown();
     }
 
     /**
@@ -154,39 +173,51 @@ public class DataEngineProxyChangePoller implements Runnable {
                     dataEngineOMASClient.setExternalSourceName(connector.getDataEngineDetails().getSoftwareServerCapability().getQualifiedName());
                 }
                 if (log.isInfoEnabled()) { log.info("Polling for changes since: {}", changesLastSynced); }
+
+                // Each type of change is sent in batches that are submitted in parallel, but all of the batches of one
+                // type must complete before the next type is sent, as the later types refer to the earlier ones
                 List<DataEngineSchemaType> changedSchemaTypes = connector.getChangedSchemaTypes(changesLastSynced, changesCutoff);
-                if (changedSchemaTypes != null) {
-                    for (DataEngineSchemaType changedSchemaType : changedSchemaTypes) {
-                        dataEngineOMASClient.createOrUpdateSchemaType(changedSchemaType.getUserId(), changedSchemaType.getSchemaType());
-                    }
-                }
+                submitInBatches(groupByUser(changedSchemaTypes, DataEngineSchemaType::getUserId,
+                        changedSchemaType -> Collections.singletonList(changedSchemaType.getSchemaType())),
+                        SchemaType::getQualifiedName, true, dataEngineOMASClient::createOrUpdateSchemaTypes);
                 List<DataEnginePortImplementation> changedPortImplementations = connector.getChangedPortImplementations(changesLastSynced, changesCutoff);
-                if (changedPortImplementations != null) {
-                    for (DataEnginePortImplementation changedPortImplementation : changedPortImplementations) {
-                        dataEngineOMASClient.createOrUpdatePortImplementation(changedPortImplementation.getUserId(), changedPortImplementation.getPortImplementation());
-                    }
-                }
+                submitInBatches(groupByUser(changedPortImplementations, DataEnginePortImplementation::getUserId,
+                        changedPortImplementation -> Collections.singletonList(changedPortImplementation.getPortImplementation())),
+                        PortImplementation::getQualifiedName, true, dataEngineOMASClient::createOrUpdatePortImplementations);
                 List<DataEnginePortAlias> changedPortAliases = connector.getChangedPortAliases(changesLastSynced, changesCutoff);
-                if (changedPortAliases != null) {
-                    for (DataEnginePortAlias changedPortAlias : changedPortAliases) {
-                        dataEngineOMASClient.createOrUpdatePortAlias(changedPortAlias.getUserId(), changedPortAlias.getPortAlias());
-                    }
-                }
+                submitInBatches(groupByUser(changedPortAliases, DataEnginePortAlias::getUserId,
+                        changedPortAlias -> Collections.singletonList(changedPortAlias.getPortAlias())),
+                        PortAlias::getQualifiedName, true, dataEngineOMASClient::createOrUpdatePortAliases);
                 if (log.isInfoEnabled()) { log.info(" ... getting changed processes."); }
                 List<DataEngineProcess> changedProcesses = connector.getChangedProcesses(changesLastSynced, changesCutoff);
                 if (changedProcesses != null) {
+                    // processes that only have port aliases are sent one batch at a time, as multiple processes can
+                    // define the same port alias
+                    List<DataEngineProcess> processesWithPortImplementations = new ArrayList<>();
+                    List<DataEngineProcess> processesWithoutPortImplementations = new ArrayList<>();
                     for (DataEngineProcess changedProcess : changedProcesses) {
-                        dataEngineOMASClient.createOrUpdateProcess(changedProcess.getUserId(), changedProcess.getProcess());
+                        List<PortImplementation> portImplementations = changedProcess.getProcess().getPortImplementations();
+                        if (portImplementations != null && !portImplementations.isEmpty()) {
+                            processesWithPortImplementations.add(changedProcess);
+                        } else {
+                            processesWithoutPortImplementations.add(changedProcess);
+                        }
                     }
+                    submitInBatches(groupByUser(processesWithPortImplementations, DataEngineProcess::getUserId,
+                            changedProcess -> Collections.singletonList(changedProcess.getProcess())),
+                            Process::getQualifiedName, true, dataEngineOMASClient::createOrUpdateProcesses);
+                    submitInBatches(groupByUser(processesWithoutPortImplementations, DataEngineProcess::getUserId,
+                            changedProcess -> Collections.singletonList(changedProcess.getProcess())),
+                            Process::getQualifiedName, false, dataEngineOMASClient::createOrUpdateProcesses);
                     if (log.isInfoEnabled()) { log.info(" ... completing process changes."); }
                 }
                 if (log.isInfoEnabled()) { log.info(" ... getting changed lineage mappings."); }
                 List<DataEngineLineageMappings> changedLineageMappings = connector.getChangedLineageMappings(changesLastSynced, changesCutoff);
-                if (changedLineageMappings != null) {
-                    for (DataEngineLineageMappings changedLineageMapping : changedLineageMappings) {
-                        dataEngineOMASClient.addLineageMappings(changedLineageMapping.getUserId(), new ArrayList<>(changedLineageMapping.getLineageMappings()));
-                    }
-                }
+                submitInBatches(groupByUser(changedLineageMappings, DataEngineLineageMappings::getUserId,
+                        DataEngineLineageMappings::getLineageMappings),
+                        lineageMapping -> lineageMapping.getSourceAttribute() + " -> " + lineageMapping.getTargetAttribute(),
+                        true, dataEngineOMASClient::addLineageMappings);
+                // only reached once every batch has been accepted, so any change in a failed batch is polled again
                 connector.setChangesLastSynced(changesCutoff);
                 Thread.sleep(dataEngineProxyConfig.getPollIntervalInSeconds() * 1000L);
             } catch (InvalidParameterException | PropertyServerException e) {
@@ -222,4 +253,158 @@ public class DataEngineProxyChangePoller implements Runnable {
 
     }
 
+    /**
+     * Group the elements of the supplied changes by the user that is to submit them.
+     *
+     * @param changes    the changes returned by the connector (may be null)
+     * @param userIdOf   retrieves the userId from a change
+     * @param elementsOf retrieves the elements to submit from a change
+     * @param <C>        type of change
+     * @param <E>        type of element to submit
+     * @return the elements to submit, keyed by userId
+     */
+    private <C, E> Map<String, List<E>> groupByUser(List<C> changes,
+                                                    Function<C, String> userIdOf,
+                                                    Function<C, Collection<E>> elementsOf) {
+        Map<String, List<E>> elementsByUser = new LinkedHashMap<>();
+        if (changes != null) {
+            for (C change : changes) {
+                Collection<E> elements = elementsOf.apply(change);
+                if (elements != null) {
+                    elementsByUser.computeIfAbsent(userIdOf.apply(change), userId -> new ArrayList<>()).addAll(elements);
+                }
+            }
+        }
+        return elementsByUser;
+    }
+
+    /**
+     * Send the elements to the Data Engine OMAS in batches of at most the configured batch size. The elements are
+     * sent in rounds that each hold at most one element with a given key (qualifiedName), so that two changes to the
+     * same element are never in the same batch or in batches running at the same time, and are sent in the order
+     * they were polled. Most polls have each key only once and are sent in a single round. Within a round, each
+     * batch is submitted on the submission pool when parallel is true, or in turn on this thread otherwise. Each
+     * round only starts once every batch of the previous round has completed. If a batch fails, the later rounds
+     * are not sent and the first error from the failed round is thrown.
+     *
+     * @param elementsByUser the elements to submit, keyed by userId
+     * @param keyOf          retrieves the key that identifies the element in the metadata repositories
+     * @param parallel       whether the batches of a round may be submitted at the same time
+     * @param submission     the Data Engine OMAS call that submits a batch
+     * @param <E>            type of element to submit
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     * @throws InterruptedException the poller was interrupted while waiting for the batches to complete
+     */
+    private <E> void submitInBatches(Map<String, List<E>> elementsByUser,
+                                     Function<E, String> keyOf,
+                                     boolean parallel,
+                                     BatchSubmission<E> submission) throws InvalidParameterException,
+                                                                           PropertyServerException,
+                                                                           UserNotAuthorizedException,
+                                                                           InterruptedException {
+        List<Map<String, List<E>>> rounds = new ArrayList<>();
+        Map<String, Integer> roundCountByKey = new HashMap<>();
+        for (Map.Entry<String, List<E>> entry : elementsByUser.entrySet()) {
+            for (E element : entry.getValue()) {
+                String key = keyOf.apply(element);
+                int round = (key == null) ? 0 : roundCountByKey.merge(key, 1, Integer::sum) - 1;
+                if (round == rounds.size()) {
+                    rounds.add(new LinkedHashMap<>());
+                }
+                rounds.get(round).computeIfAbsent(entry.getKey(), userId -> new ArrayList<>()).add(element);
+            }
+        }
+
+        for (Map<String, List<E>> round : rounds) {
+            submitRound(round, parallel, submission);
+        }
+    }
+
+    /**
+     * Send one round of elements to the Data Engine OMAS in batches of at most the configured batch size. The method
+     * only returns once every batch has completed, and then throws the first error from any batch.
+     *
+     * @param elementsByUser the elements to submit, keyed by userId
+     * @param parallel       whether the batches may be submitted at the same time
+     * @param submission     the Data Engine OMAS call that submits a batch
+     * @param <E>            type of element to submit
+     * @throws InvalidParameterException the bean properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException problem accessing the property server
+     * @throws InterruptedException the poller was interrupted while waiting for the batches to complete
+     */
+    private <E> void submitRound(Map<String, List<E>> elementsByUser,
+                                 boolean parallel,
+                                 BatchSubmission<E> submission) throws InvalidParameterException,
+                                                                       PropertyServerException,
+                                                                       UserNotAuthorizedException,
+                                                                       InterruptedException {
+        int batchSize = Math.max(1, dataEngineProxyConfig.getBatchSize());
+
+        List<Callable<Void>> batches = new ArrayList<>();
+        for (Map.Entry<String, List<E>> entry : elementsByUser.entrySet()) {
+            List<E> elements = entry.getValue();
+            for (int start = 0; start < elements.size(); start += batchSize) {
+                List<E> batch = new ArrayList<>(elements.subList(start, Math.min(start + batchSize, elements.size())));
+                batches.add(() -> {
+                    submission.submit(entry.getKey(), batch);
+                    return null;
+                });
+            }
+        }
+
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        Throwable firstError = null;
+        if (parallel && batches.size() > 1) {
+            for (Future<Void> result : submissionPool.invokeAll(batches)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    if (firstError == null) {
+                        firstError = e.getCause();
+                    }
+                }
+            }
+        } else {
+            for (Callable<Void> batch : batches) {
+                try {
+                    batch.call();
+                } catch (Exception e) {
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+            }
+        }
+
+        if (firstError instanceof InvalidParameterException) {
+            throw (InvalidParameterException) firstError;
+        } else if (firstError instanceof PropertyServerException) {
+            throw (PropertyServerException) firstError;
+        } else if (firstError instanceof UserNotAuthorizedException) {
+            throw (UserNotAuthorizedException) firstError;
+        } else if (firstError instanceof RuntimeException) {
+            throw (RuntimeException) firstError;
+        } else if (firstError instanceof Error) {
+            throw (Error) firstError;
+        }
+    }
+
+    /**
+     * A call to the Data Engine OMAS that submits a batch of elements on behalf of a user.
+     *
+     * @param <E> type of element to submit
+     */
+    @FunctionalInterface
+    private interface BatchSubmission<E> {
+        void submit(String userId, List<E> batch) throws InvalidParameterException,
+                                                         PropertyServerException,
+                                                         UserNotAuthorizedException;
+    }
+
 }
@@ -5,6 +5,8 @@ package org.odpi.openmetadata.governanceservers.openlineage.buffergraphstore;
 import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
 import org.odpi.openmetadata.governanceservers.openlineage.OpenLineageGraphStore;
 
+import java.util.List;
+
 public interface BufferGraph extends OpenLineageGraphStore {
 
     /**
@@ -15,11 +17,34 @@ public interface BufferGraph extends OpenLineageGraphStore {
     void addEntity(LineageEvent lineageEvent);
 
     /**
-     * Task that the scheduler performs based on the interval
+     * Reprocess the whole of the buffer graph into the main graph.
      *
      */
     void schedulerTask();
 
+    /**
+     * Move the lineage affected by the entities added since the last call into the main graph.
+     *
+     * @param maxBatchSize maximum number of added entities to process
+     * @return number of added entities that were processed
+     */
+    int processChanges(int maxBatchSize);
+
+    /**
+     * Return the number of added entities that are waiting to be processed into the main graph.
+     *
+     * @return count
+     */
+    int getPendingChangeCount();
+
+    /**
+     * Return the added entities that have been dropped since the last call because their lineage could not be
+     * moved into the main graph after repeated attempts.
+     *
+     * @return unique identifiers of the entities
+     */
+    List<String> takeDroppedChanges();
+
     void setMainGraph(Object mainGraph);
 
 }
@@ -7,6 +7,9 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class BufferGraphConnectorBase extends ConnectorBase implements BufferGraph {
 
     /**
@@ -40,6 +43,21 @@ public class BufferGraphConnectorBase extends ConnectorBase implements BufferGra
 
     }
 
+    @Override
+    public int processChanges(int maxBatchSize) {
+        return 0;
+    }
+
+    @Override
+    public int getPendingChangeCount() {
+        return 0;
+    }
+
+    @Override
+    public List<String> takeDroppedChanges() {
+        return new ArrayList<>();
+    }
+
     @Override
     public void setMainGraph(Object mainGraph) {
 
@@ -44,6 +44,11 @@ public interface MainGraph extends OpenLineageGraphStore {
      */
     String exportGraph(String graphName);
 
+    /**
+     * Discard any lineage results that have been cached.  Called after the main graph has been changed.
+     */
+    void invalidateLineageCache();
+
     Object getMainGraph();
 }
 
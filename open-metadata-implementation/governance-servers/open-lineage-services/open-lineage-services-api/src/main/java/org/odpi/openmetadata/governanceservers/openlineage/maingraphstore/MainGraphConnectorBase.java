@@ -53,6 +53,11 @@ public class MainGraphConnectorBase extends ConnectorBase implements MainGraph {
         return null;
     }
 
+    @Override
+    public void invalidateLineageCache() {
+
+    }
+
     @Override
     public Object getMainGraph() {
         return null;
@@ -25,6 +25,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSConfigErrorEx
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
 
 /**
  * OpenLineageOperationalServices is responsible for controlling the startup and shutdown of
@@ -34,6 +36,12 @@ public class OpenLineageOperationalServices {
     private static final Logger log = LoggerFactory.getLogger(OpenLineageOperationalServices.class);
 
     private static final String ACTION_DESCRIPTION = "initialize";
+    private static final String BATCH_SIZE_PROPERTY = "batchSize";
+    private static final String MAX_BATCH_DELAY_PROPERTY = "maxBatchDelayMillis";
+    private static final String STATISTICS_INTERVAL_PROPERTY = "statisticsIntervalMillis";
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_MAX_BATCH_DELAY_MILLIS = 500;
+    private static final int DEFAULT_STATISTICS_INTERVAL_MILLIS = 60000;
 
     private String localServerName;
     private String localServerType;
@@ -46,6 +54,7 @@ public class OpenLineageOperationalServices {
     private OpenMetadataTopicConnector inTopicConnector;
     private OpenLineageConfig openLineageConfig;
     private OpenLineageServicesInstance instance;
+    private GraphStoringServices graphStoringServices;
 
     /**
      * Constructor used at server startup.
@@ -99,7 +108,28 @@ public class OpenLineageOperationalServices {
             log.error("Could not start the main graph connector.");
         }
         //TODO check for null
-        GraphStoringServices graphStoringServices = new GraphStoringServices(bufferGraphConnector);
+        int batchSize = DEFAULT_BATCH_SIZE;
+        int maxBatchDelayMillis = DEFAULT_MAX_BATCH_DELAY_MILLIS;
+        int statisticsIntervalMillis = DEFAULT_STATISTICS_INTERVAL_MILLIS;
+        Map<String, Object> configurationProperties = bufferGraphConnection.getConfigurationProperties();
+        if (configurationProperties != null) {
+            Object batchSizeValue = configurationProperties.get(BATCH_SIZE_PROPERTY);
+            Object maxBatchDelayValue = configurationProperties.get(MAX_BATCH_DELAY_PROPERTY);
+            Object statisticsIntervalValue = configurationProperties.get(STATISTICS_INTERVAL_PROPERTY);
+
+            if (batchSizeValue instanceof Integer && (Integer) batchSizeValue > 0) {
+                batchSize = (Integer) batchSizeValue;
+            }
+            if (maxBatchDelayValue instanceof Integer && (Integer) maxBatchDelayValue > 0) {
+                maxBatchDelayMillis = (Integer) maxBatchDelayValue;
+            }
+            if (statisticsIntervalValue instanceof Integer && (Integer) statisticsIntervalValue > 0) {
+                statisticsIntervalMillis = (Integer) statisticsIntervalValue;
+            }
+        }
+
+        this.graphStoringServices = new GraphStoringServices(bufferGraphConnector, mainGraphConnector, auditLog,
+                batchSize, maxBatchDelayMillis, statisticsIntervalMillis);
         GraphQueryingServices graphServices = new GraphQueryingServices(mainGraphConnector);
 
         this.instance = new OpenLineageServicesInstance(graphServices, localServerName);
@@ -204,6 +234,10 @@ public class OpenLineageOperationalServices {
             return false;
         }
 
+        if (graphStoringServices != null) {
+            graphStoringServices.shutdown();
+        }
+
         if (instance != null) {
             instance.shutdown();
         }
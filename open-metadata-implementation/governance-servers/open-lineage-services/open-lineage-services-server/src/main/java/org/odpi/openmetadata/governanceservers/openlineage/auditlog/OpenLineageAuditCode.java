@@ -58,6 +58,16 @@ public enum OpenLineageAuditCode {
             "Open Lineage {0} is not configured with a configuration document",
             "The server is not able to retrieve its configuration.  It fails to start.",
             "Add the configuration document for this open lineage service."),
+    BUFFER_GRAPH_CHANGE_DROPPED("OPEN-LINEAGE-0009",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The lineage of entity {0} could not be moved from the buffer graph to the main graph after repeated attempts and has been dropped",
+            "The entity is no longer processed.  The lineage of the entity is missing from the main graph until a new event for it arrives.",
+            "Review the earlier errors for the entity and correct the entity or its lineage in the source of the events."),
+    BUFFER_GRAPH_STATISTICS("OPEN-LINEAGE-0010",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The Open Lineage Services buffer graph processor has processed {0} changes in {1} batches; {2} changes are waiting, the last batch had {3} changes, the last lag was {4} ms, the maximum lag was {5} ms and the throughput is {6} changes per second",
+            "The processor moves the changes in the buffer graph into the main graph in batches.",
+            "No action is required.  A growing number of waiting changes or lag means the main graph is falling behind the incoming events."),
     ;
 
     private static final Logger log = LoggerFactory.getLogger(OpenLineageAuditCode.class);
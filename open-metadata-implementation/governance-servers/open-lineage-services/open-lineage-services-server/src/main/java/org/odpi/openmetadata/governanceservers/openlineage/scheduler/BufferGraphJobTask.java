@@ -1,20 +0,0 @@
-/* SPDX-License-Identifier: Apache-2.0 */
-/* Copyright Contributors to the ODPi Egeria project. */
-package org.odpi.openmetadata.governanceservers.openlineage.scheduler;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-public class BufferGraphJobTask {
-
-    private static final Logger log = LoggerFactory.getLogger(BufferGraphJobTask.class);
-
-    public BufferGraphJobTask() { }
-
-    public void perform() {
-
-
-    }
-
-}
-
@@ -0,0 +1,334 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.openlineage.scheduler;
+
+import org.odpi.openmetadata.governanceservers.openlineage.auditlog.OpenLineageAuditCode;
+import org.odpi.openmetadata.governanceservers.openlineage.buffergraphstore.BufferGraph;
+import org.odpi.openmetadata.governanceservers.openlineage.maingraphstore.MainGraph;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BufferGraphProcessor moves the changes recorded in the buffer graph into the main graph in small batches.
+ * A batch is processed as soon as the number of changed entities reaches the batch size, or when the oldest
+ * change has waited for the maximum batch delay, whichever comes first.  When the processor starts, the whole
+ * buffer graph is processed once to pick up anything that was stored before the server restarted.
+ *
+ * The processor keeps metrics on the lag between a change arriving and it reaching the main graph, the size of
+ * the batches and the throughput.  They are written to the audit log once the statistics interval has passed
+ * since the last record and more batches have been processed, and when the processor stops.  After each batch,
+ * the lineage results cached by the main graph connector are discarded since they may no longer be complete.
+ * Each change that the buffer graph drops because it has failed too often is also written to the audit log.
+ */
+public class BufferGraphProcessor implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferGraphProcessor.class);
+    private static final String ACTION_DESCRIPTION = "processBufferGraph";
+
+    private final BufferGraph bufferGraph;
+    private final MainGraph mainGraph;
+    private final OMRSAuditLog auditLog;
+    private final int batchSize;
+    private final long maxBatchDelayMillis;
+    private final long statisticsIntervalMillis;
+
+    private final Object lock = new Object();
+    private volatile boolean running = false;
+    private Thread processorThread = null;
+    private long oldestChangeTime = 0;
+
+    private final AtomicLong processedChangeCount = new AtomicLong(0);
+    private final AtomicLong batchCount = new AtomicLong(0);
+    private volatile int lastBatchSize = 0;
+    private volatile long lastLagMillis = 0;
+    private volatile long maxLagMillis = 0;
+    private volatile long startTime = 0;
+    private volatile long lastStatisticsTime = 0;
+    private volatile long lastStatisticsBatchCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param bufferGraph buffer graph connector
+     * @param mainGraph main graph connector, or null if there are no lineage results to invalidate
+     * @param auditLog audit log for the statistics and the dropped changes
+     * @param batchSize number of changed entities that triggers a batch
+     * @param maxBatchDelayMillis longest time a change waits before it is processed
+     * @param statisticsIntervalMillis shortest time between the statistics records in the audit log
+     */
+    public BufferGraphProcessor(BufferGraph bufferGraph, MainGraph mainGraph, OMRSAuditLog auditLog, int batchSize,
+                                long maxBatchDelayMillis, long statisticsIntervalMillis) {
+        this.bufferGraph = bufferGraph;
+        this.mainGraph = mainGraph;
+        this.auditLog = auditLog;
+        this.batchSize = batchSize;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.statisticsIntervalMillis = statisticsIntervalMillis;
+    }
+
+    /**
+     * Start the processing thread.
+     */
+    public void start() {
+        running = true;
+        startTime = System.currentTimeMillis();
+        lastStatisticsTime = startTime;
+
+        processorThread = new Thread(this, "OpenLineageBufferGraphProcessor");
+        processorThread.setDaemon(true);
+        processorThread.start();
+    }
+
+    /**
+     * Stop the processing thread.  Changes that have not been processed stay in the buffer graph.  The statistics
+     * for the batches processed since the last statistics record are written to the audit log.
+     */
+    public void stop() {
+        running = false;
+
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+
+        if (processorThread != null) {
+            try {
+                processorThread.join(maxBatchDelayMillis + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processorThread = null;
+        }
+
+        if (batchCount.get() > lastStatisticsBatchCount) {
+            auditStatistics();
+        }
+    }
+
+    /**
+     * Called after an event has been added to the buffer graph.  Wakes the processor if a full batch is waiting.
+     */
+    public void changeRecorded() {
+        synchronized (lock) {
+            if (oldestChangeTime == 0) {
+                oldestChangeTime = System.currentTimeMillis();
+            }
+
+            if (bufferGraph.getPendingChangeCount() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Process the buffer graph until the processor is stopped.
+     */
+    @Override
+    public void run() {
+        try {
+            bufferGraph.schedulerTask();
+        } catch (Exception e) {
+            log.error("The buffer graph could not be processed on startup because of an error with message: {}", e.getMessage());
+        }
+        mainGraphChanged();
+
+        while (running) {
+            long batchOldestChangeTime = waitForBatch();
+
+            if (!running) {
+                break;
+            }
+
+            try {
+                int processed = bufferGraph.processChanges(batchSize);
+
+                if (processed > 0) {
+                    long lag = System.currentTimeMillis() - batchOldestChangeTime;
+
+                    processedChangeCount.addAndGet(processed);
+                    batchCount.incrementAndGet();
+                    lastBatchSize = processed;
+                    lastLagMillis = lag;
+                    maxLagMillis = Math.max(maxLagMillis, lag);
+
+                    log.debug("Processed a batch of {} changes with a lag of {} ms", processed, lag);
+                    mainGraphChanged();
+                }
+            } catch (Exception e) {
+                log.error("A batch of buffer graph changes could not be processed because of an error with message: {}", e.getMessage());
+                mainGraphChanged();
+            }
+
+            auditDroppedChanges();
+
+            if ((batchCount.get() > lastStatisticsBatchCount)
+                    && (System.currentTimeMillis() - lastStatisticsTime >= statisticsIntervalMillis)) {
+                auditStatistics();
+            }
+        }
+    }
+
+    /**
+     * Write an audit log record for each change that the buffer graph has dropped.
+     */
+    private void auditDroppedChanges() {
+        OpenLineageAuditCode auditCode = OpenLineageAuditCode.BUFFER_GRAPH_CHANGE_DROPPED;
+
+        for (String guid : bufferGraph.takeDroppedChanges()) {
+            auditLog.logRecord(ACTION_DESCRIPTION,
+                    auditCode.getLogMessageId(),
+                    auditCode.getSeverity(),
+                    auditCode.getFormattedLogMessage(guid),
+                    null,
+                    auditCode.getSystemAction(),
+                    auditCode.getUserAction());
+        }
+    }
+
+    /**
+     * Write the processing statistics to the audit log.
+     */
+    private synchronized void auditStatistics() {
+        OpenLineageAuditCode auditCode = OpenLineageAuditCode.BUFFER_GRAPH_STATISTICS;
+
+        lastStatisticsTime = System.currentTimeMillis();
+        lastStatisticsBatchCount = getBatchCount();
+
+        auditLog.logRecord(ACTION_DESCRIPTION,
+                auditCode.getLogMessageId(),
+                auditCode.getSeverity(),
+                auditCode.getFormattedLogMessage(Long.toString(getProcessedChangeCount()),
+                        Long.toString(lastStatisticsBatchCount),
+                        Integer.toString(getPendingChangeCount()),
+                        Integer.toString(getLastBatchSize()),
+                        Long.toString(getLastLagMillis()),
+                        Long.toString(getMaxLagMillis()),
+                        String.format("%.1f", getThroughput())),
+                null,
+                auditCode.getSystemAction(),
+                auditCode.getUserAction());
+    }
+
+    /**
+     * Tell the main graph connector that the main graph may have changed.
+     */
+    private void mainGraphChanged() {
+        if (mainGraph != null) {
+            mainGraph.invalidateLineageCache();
+        }
+    }
+
+    /**
+     * Wait until there is a full batch or the oldest change has waited long enough.
+     *
+     * @return time the oldest change in the batch arrived
+     */
+    private long waitForBatch() {
+        synchronized (lock) {
+            while (running) {
+                int pending = bufferGraph.getPendingChangeCount();
+                long now = System.currentTimeMillis();
+
+                if (pending == 0) {
+                    oldestChangeTime = 0;
+                } else if (oldestChangeTime == 0) {
+                    oldestChangeTime = now;
+                }
+
+                if ((pending >= batchSize) || ((pending > 0) && (now - oldestChangeTime >= maxBatchDelayMillis))) {
+                    long batchOldestChangeTime = oldestChangeTime;
+
+                    /*
+                     * Any changes left over after this batch are treated as arriving now.
+                     */
+                    oldestChangeTime = now;
+                    return batchOldestChangeTime;
+                }
+
+                try {
+                    if (oldestChangeTime == 0) {
+                        lock.wait(maxBatchDelayMillis);
+                    } else {
+                        lock.wait(Math.max(1, oldestChangeTime + maxBatchDelayMillis - now));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                }
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Return the number of changed entities processed into the main graph since the processor started.
+     *
+     * @return count
+     */
+    public long getProcessedChangeCount() {
+        return processedChangeCount.get();
+    }
+
+    /**
+     * Return the number of batches processed since the processor started.
+     *
+     * @return count
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Return the number of changed entities in the last batch.
+     *
+     * @return count
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Return the time between the oldest change in the last batch arriving and the batch completing.
+     *
+     * @return milliseconds
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * Return the longest lag seen since the processor started.
+     *
+     * @return milliseconds
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /**
+     * Return the number of changed entities waiting to be processed.
+     *
+     * @return count
+     */
+    public int getPendingChangeCount() {
+        return bufferGraph.getPendingChangeCount();
+    }
+
+    /**
+     * Return the average number of changed entities processed per second since the processor started.
+     *
+     * @return changes per second
+     */
+    public double getThroughput() {
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        if ((startTime == 0) || (elapsed <= 0)) {
+            return 0;
+        }
+
+        return processedChangeCount.get() * 1000.0 / elapsed;
+    }
+}
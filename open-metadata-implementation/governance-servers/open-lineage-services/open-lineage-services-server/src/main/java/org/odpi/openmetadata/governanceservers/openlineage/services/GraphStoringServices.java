@@ -4,7 +4,9 @@ package org.odpi.openmetadata.governanceservers.openlineage.services;
 
 import org.odpi.openmetadata.accessservices.assetlineage.event.LineageEvent;
 import org.odpi.openmetadata.governanceservers.openlineage.buffergraphstore.BufferGraph;
-import org.odpi.openmetadata.governanceservers.openlineage.scheduler.JobConfiguration;
+import org.odpi.openmetadata.governanceservers.openlineage.maingraphstore.MainGraph;
+import org.odpi.openmetadata.governanceservers.openlineage.scheduler.BufferGraphProcessor;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,16 +15,36 @@ public class GraphStoringServices {
     private static final Logger log = LoggerFactory.getLogger(GraphStoringServices.class);
 
     private BufferGraph bufferGraph;
-    private JobConfiguration jobConfiguration;
-
-    public GraphStoringServices(BufferGraph graphStore) {
+    private BufferGraphProcessor bufferGraphProcessor;
+
+    /**
+     * Constructor starts the processor that moves the changes in the buffer graph into the main graph.
+     *
+     * @param graphStore buffer graph connector
+     * @param mainGraph main graph connector that is told when the main graph changes
+     * @param auditLog audit log for the processing statistics and the dropped changes
+     * @param batchSize number of changed entities that triggers processing
+     * @param maxBatchDelayMillis longest time a change waits before it is processed
+     * @param statisticsIntervalMillis shortest time between the processing statistics records in the audit log
+     */
+    public GraphStoringServices(BufferGraph graphStore, MainGraph mainGraph, OMRSAuditLog auditLog, int batchSize,
+                                long maxBatchDelayMillis, long statisticsIntervalMillis) {
         this.bufferGraph = graphStore;
-        this.jobConfiguration = new JobConfiguration(graphStore);
-
+        this.bufferGraphProcessor = new BufferGraphProcessor(graphStore, mainGraph, auditLog, batchSize,
+                maxBatchDelayMillis, statisticsIntervalMillis);
+        this.bufferGraphProcessor.start();
     }
 
     public void addEntity(LineageEvent lineageEvent){
         bufferGraph.addEntity(lineageEvent);
+        bufferGraphProcessor.changeRecorded();
+    }
+
+    /**
+     * Stop processing the buffer graph.
+     */
+    public void shutdown() {
+        bufferGraphProcessor.stop();
     }
 
 }
@@ -0,0 +1,298 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.openlineage.scheduler;
+
+import org.odpi.openmetadata.governanceservers.openlineage.auditlog.OpenLineageAuditCode;
+import org.odpi.openmetadata.governanceservers.openlineage.buffergraphstore.BufferGraphConnectorBase;
+import org.odpi.openmetadata.governanceservers.openlineage.maingraphstore.MainGraphConnectorBase;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogDestination;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLogRecordSeverity;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the buffer graph processor processes the changes in batches, discards the cached lineage
+ * after each batch and reports dropped changes and its statistics in the audit log.
+ */
+public class BufferGraphProcessorTest {
+
+    private static final long WAIT_TIME = 10000;
+
+    /**
+     * A full batch is processed without waiting for the maximum batch delay.
+     *
+     * @throws Exception problem running the processor
+     */
+    @Test
+    public void testFullBatchProcessed() throws Exception {
+        TestBufferGraph bufferGraph = new TestBufferGraph();
+        BufferGraphProcessor processor = new BufferGraphProcessor(bufferGraph, new TestMainGraph(), new TestAuditLog(),
+                3, 60000, 60000);
+
+        processor.start();
+
+        try {
+            long startTime = System.currentTimeMillis();
+
+            recordChanges(processor, bufferGraph, 4);
+            waitFor(() -> processor.getBatchCount() == 1);
+
+            assertTrue(System.currentTimeMillis() - startTime < 60000);
+            assertEquals(bufferGraph.getBatchSizes(), Collections.singletonList(3));
+            assertEquals(processor.getPendingChangeCount(), 1);
+            assertEquals(processor.getProcessedChangeCount(), 3);
+        } finally {
+            processor.stop();
+        }
+    }
+
+    /**
+     * A batch that does not fill up is processed once the maximum batch delay has passed.
+     *
+     * @throws Exception problem running the processor
+     */
+    @Test
+    public void testPartialBatchProcessedAfterDelay() throws Exception {
+        final long maxBatchDelay = 500;
+
+        TestBufferGraph bufferGraph = new TestBufferGraph();
+        BufferGraphProcessor processor = new BufferGraphProcessor(bufferGraph, new TestMainGraph(), new TestAuditLog(),
+                100, maxBatchDelay, 60000);
+
+        processor.start();
+
+        try {
+            long startTime = System.currentTimeMillis();
+
+            recordChanges(processor, bufferGraph, 2);
+
+            Thread.sleep(100);
+            assertEquals(processor.getBatchCount(), 0);
+
+            waitFor(() -> processor.getBatchCount() == 1);
+
+            assertTrue(System.currentTimeMillis() - startTime >= maxBatchDelay);
+            assertEquals(bufferGraph.getBatchSizes(), Collections.singletonList(2));
+            assertTrue(processor.getLastLagMillis() >= maxBatchDelay);
+        } finally {
+            processor.stop();
+        }
+    }
+
+    /**
+     * The cached lineage is discarded after the startup processing and after each batch, including a batch
+     * that fails.
+     *
+     * @throws Exception problem running the processor
+     */
+    @Test
+    public void testLineageCacheInvalidated() throws Exception {
+        TestBufferGraph bufferGraph = new TestBufferGraph();
+        TestMainGraph mainGraph = new TestMainGraph();
+        BufferGraphProcessor processor = new BufferGraphProcessor(bufferGraph, mainGraph, new TestAuditLog(),
+                1, 60000, 60000);
+
+        processor.start();
+
+        try {
+            waitFor(() -> mainGraph.getInvalidationCount() == 1);
+
+            recordChanges(processor, bufferGraph, 1);
+            waitFor(() -> mainGraph.getInvalidationCount() == 2);
+
+            bufferGraph.failNextBatch();
+            recordChanges(processor, bufferGraph, 1);
+            waitFor(() -> mainGraph.getInvalidationCount() == 3);
+
+            assertEquals(processor.getBatchCount(), 1);
+        } finally {
+            processor.stop();
+        }
+    }
+
+    /**
+     * Each change dropped by the buffer graph is written to the audit log, and the statistics are written once
+     * the statistics interval has passed and when the processor stops.
+     *
+     * @throws Exception problem running the processor
+     */
+    @Test
+    public void testAuditRecords() throws Exception {
+        TestBufferGraph bufferGraph = new TestBufferGraph();
+        TestAuditLog auditLog = new TestAuditLog();
+        BufferGraphProcessor processor = new BufferGraphProcessor(bufferGraph, new TestMainGraph(), auditLog,
+                1, 60000, 0);
+
+        processor.start();
+
+        try {
+            bufferGraph.dropChange("guid-1");
+            recordChanges(processor, bufferGraph, 1);
+            waitFor(() -> processor.getBatchCount() == 1);
+            waitFor(() -> auditLog.getMessageIds().size() == 2);
+
+            assertEquals(auditLog.getMessageIds().get(0), OpenLineageAuditCode.BUFFER_GRAPH_CHANGE_DROPPED.getLogMessageId());
+            assertTrue(auditLog.getMessages().get(0).contains("guid-1"));
+            assertEquals(auditLog.getMessageIds().get(1), OpenLineageAuditCode.BUFFER_GRAPH_STATISTICS.getLogMessageId());
+        } finally {
+            processor.stop();
+        }
+
+        assertEquals(auditLog.getMessageIds().size(), 2);
+    }
+
+    /**
+     * The statistics for the batches since the last record are written when the processor stops.
+     *
+     * @throws Exception problem running the processor
+     */
+    @Test
+    public void testStatisticsOnStop() throws Exception {
+        TestBufferGraph bufferGraph = new TestBufferGraph();
+        TestAuditLog auditLog = new TestAuditLog();
+        BufferGraphProcessor processor = new BufferGraphProcessor(bufferGraph, new TestMainGraph(), auditLog,
+                2, 60000, 60000);
+
+        processor.start();
+        recordChanges(processor, bufferGraph, 2);
+        waitFor(() -> processor.getBatchCount() == 1);
+
+        assertTrue(auditLog.getMessageIds().isEmpty());
+
+        processor.stop();
+
+        assertEquals(auditLog.getMessageIds(),
+                Collections.singletonList(OpenLineageAuditCode.BUFFER_GRAPH_STATISTICS.getLogMessageId()));
+        assertTrue(auditLog.getMessages().get(0).startsWith("The Open Lineage Services buffer graph processor has processed 2 changes in 1 batches"));
+    }
+
+    private void recordChanges(BufferGraphProcessor processor, TestBufferGraph bufferGraph, int count) {
+        for (int i = 0; i < count; i++) {
+            bufferGraph.addChange();
+            processor.changeRecorded();
+        }
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long endTime = System.currentTimeMillis() + WAIT_TIME;
+
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < endTime) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Buffer graph that counts the changes waiting to be processed.
+     */
+    private static class TestBufferGraph extends BufferGraphConnectorBase {
+
+        private int pendingChanges = 0;
+        private boolean failNextBatch = false;
+        private List<Integer> batchSizes = new ArrayList<>();
+        private List<String> droppedChanges = new ArrayList<>();
+
+        synchronized void addChange() {
+            pendingChanges++;
+        }
+
+        synchronized void failNextBatch() {
+            failNextBatch = true;
+        }
+
+        synchronized void dropChange(String guid) {
+            droppedChanges.add(guid);
+        }
+
+        synchronized List<Integer> getBatchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+
+        @Override
+        public synchronized int processChanges(int maxBatchSize) {
+            if (failNextBatch) {
+                failNextBatch = false;
+                pendingChanges = 0;
+                throw new IllegalStateException("Test failure");
+            }
+
+            int processed = Math.min(pendingChanges, maxBatchSize);
+
+            if (processed > 0) {
+                pendingChanges -= processed;
+                batchSizes.add(processed);
+            }
+
+            return processed;
+        }
+
+        @Override
+        public synchronized int getPendingChangeCount() {
+            return pendingChanges;
+        }
+
+        @Override
+        public synchronized List<String> takeDroppedChanges() {
+            List<String> dropped = droppedChanges;
+
+            droppedChanges = new ArrayList<>();
+
+            return dropped;
+        }
+    }
+
+    /**
+     * Main graph that counts the requests to discard its cached lineage.
+     */
+    private static class TestMainGraph extends MainGraphConnectorBase {
+
+        private volatile int invalidationCount = 0;
+
+        int getInvalidationCount() {
+            return invalidationCount;
+        }
+
+        @Override
+        public synchronized void invalidateLineageCache() {
+            invalidationCount++;
+        }
+    }
+
+    /**
+     * Audit log that keeps the records written to it.
+     */
+    private static class TestAuditLog extends OMRSAuditLog {
+
+        private List<String> messageIds = new ArrayList<>();
+        private List<String> messages = new ArrayList<>();
+
+        TestAuditLog() {
+            super(new OMRSAuditLogDestination(null), 0, "BufferGraphProcessorTest", "Test", null);
+        }
+
+        synchronized List<String> getMessageIds() {
+            return new ArrayList<>(messageIds);
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+
+        @Override
+        public synchronized void logRecord(String actionDescription, String logMessageId,
+                                           OMRSAuditLogRecordSeverity severity, String logMessage,
+                                           String additionalInformation, String systemAction, String userAction) {
+            messageIds.add(logMessageId);
+            messages.add(logMessage);
+        }
+    }
+}
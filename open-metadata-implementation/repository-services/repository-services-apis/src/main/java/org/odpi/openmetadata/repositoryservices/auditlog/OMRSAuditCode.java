@@ -280,6 +280,13 @@ public enum OMRSAuditCode
                       "The connector will support access to the connected open metadata repositories.",
                       "No action is required.  This is part of the normal operation of the server."),
 
+    FEDERATED_REQUEST_TIMEOUT("OMRS-AUDIT-0044",
+                      OMRSAuditLogRecordSeverity.ERROR,
+                      "The enterprise OMRS Connector for the {0} Open Metadata Access Service (OMAS) cancelled the {1} request to metadata collection {2} because it did not respond within {3} milliseconds",
+                      "The results from this repository are not included in the response to the federated request.",
+                      "Check that the server hosting the metadata collection is running and is not overloaded.  " +
+                              "If the repository is just slow, increase the federation timeout in the enterprise connector's configuration properties."),
+
     PROCESSING_ARCHIVE("OMRS-AUDIT-0050",
                        OMRSAuditLogRecordSeverity.INFO,
                        "The Open Metadata Repository Services (OMRS) is about to process open metadata archive {0}",
@@ -306,6 +313,25 @@ public enum OMRSAuditCode
                        "The local server has completed the processing of the open metadata archive.",
                        "No action is required.  This is part of the normal operation of the server."),
 
+    ARCHIVE_TYPES_ALREADY_STORED("OMRS-AUDIT-0054",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "The Open Metadata Repository Services (OMRS) found {0} of the types from open metadata archive {1} already stored in the local repository at the same version",
+                       "The local server does not verify these types with the local repository again.",
+                       "No action is required.  This is part of the normal operation of the server."),
+
+    OPEN_METADATA_TYPES_LOADED("OMRS-AUDIT-0055",
+                       OMRSAuditLogRecordSeverity.INFO,
+                       "The Open Metadata Repository Services (OMRS) has loaded the open metadata types from {0} in {1} milliseconds",
+                       "The local server has completed the processing of the open metadata types.",
+                       "No action is required.  This is part of the normal operation of the server."),
+
+    FAILED_ARCHIVE("OMRS-AUDIT-0056",
+                       OMRSAuditLogRecordSeverity.ERROR,
+                       "The Open Metadata Repository Services (OMRS) stopped processing an open metadata archive after loading {0} types and {1} instances because of error: {2}",
+                       "The local server has loaded the part of the archive that was read before the error.",
+                       "Review the error message to determine why the archive could not be read.  " +
+                          "Replace the archive with a good copy and load it again."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.INFO,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -89,6 +89,19 @@ public class InternalOMRSEventProcessingContext
      {
         INSTANCE.set(null);
      }
+
+
+    /**
+     * Sets the {@link InternalOMRSEventProcessingContext} for the current thread.  This is
+     * used to put back the context of a thread that has processed an event on behalf of
+     * a listener.
+     *
+     * @param instance the context to use for the current thread
+     */
+    static void setInstance(InternalOMRSEventProcessingContext instance)
+    {
+        INSTANCE.set(instance);
+    }
      
     /**
      * Gets the unique identifier for the current message that
@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
@@ -13,19 +12,28 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1InstanceSection;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.properties.OMRSJSONSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -53,6 +61,19 @@ import java.util.List;
  *         connectors that implement OpenMetadataTopic.
  *     </li>
  * </ul>
+ * <p>
+ *     Inbound events are passed to the OMRSTopicListeners by a pool of worker threads so that a slow listener
+ *     does not hold up the others.  Each listener has its own bounded queue of events.  The size of the pool is
+ *     set with the "eventDispatchThreads" configuration property and the size of each listener's queue with
+ *     "listenerQueueSize".  By default there is one thread, so each listener receives its events one at a time
+ *     in the order they were received.  With more threads, events about the same entity are passed to a listener
+ *     in the order they were received, whereas events about different entities may be processed in parallel.
+ *     Events that refer to more than one instance (relationship events, and the deletion, purge or
+ *     re-identification of an entity), along with registry and type events, are only processed once all earlier
+ *     events for the listener are complete.  Setting "eventDispatchThreads" to 0 means the events are passed to
+ *     the listeners on the thread that receives them.  An inbound event is only reported as processed to the
+ *     event bus connector once every listener has finished with it.
+ * </p>
  */
 public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                                                  VirtualConnectorExtension,
@@ -63,11 +84,21 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private static final String connectorName    = "OMRSTopicListener";
 
+    private static final String eventDispatchThreadsProperty = "eventDispatchThreads";
+    private static final String listenerQueueSizeProperty    = "listenerQueueSize";
+    private static final int    defaultListenerQueueSize     = 1000;
+
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
+    private List<OMRSTopicListener>          internalTopicListeners = new CopyOnWriteArrayList<>();
     private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
+    private List<OMRSTopicListenerDispatcher> listenerDispatchers  = new CopyOnWriteArrayList<>();
+    private ExecutorService                   dispatchWorkerPool   = null;
+    private int                               eventDispatchThreads = 1;
+    private int                               listenerQueueSize    = defaultListenerQueueSize;
+    private boolean                           dispatchConfigured   = false;
+
     private String                    connectionName       = connectorName;
     private OMRSEventProtocolVersion  eventProtocolVersion = OMRSEventProtocolVersion.V1;
 
@@ -131,6 +162,17 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         if (topicListener != null)
         {
             internalTopicListeners.add(topicListener);
+
+            ExecutorService workerPool = this.getDispatchWorkerPool();
+
+            if (workerPool != null)
+            {
+                listenerDispatchers.add(new OMRSTopicListenerDispatcher(topicListener,
+                                                                        this.getListenerName(topicListener),
+                                                                        workerPool,
+                                                                        eventDispatchThreads,
+                                                                        listenerQueueSize));
+            }
         }
         else
         {
@@ -150,6 +192,98 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Return the pool of threads used to pass events to the listeners.  It is created from the connection's
+     * configuration properties when the first listener registers.
+     *
+     * @return thread pool or null if the events are passed to the listeners on the receiving thread
+     */
+    private synchronized ExecutorService getDispatchWorkerPool()
+    {
+        if (! dispatchConfigured)
+        {
+            dispatchConfigured = true;
+
+            if (super.connectionProperties != null)
+            {
+                Map<String, Object> configurationProperties = super.connectionProperties.getConfigurationProperties();
+
+                if (configurationProperties != null)
+                {
+                    Object threads   = configurationProperties.get(eventDispatchThreadsProperty);
+                    Object queueSize = configurationProperties.get(listenerQueueSizeProperty);
+
+                    if (threads instanceof Integer)
+                    {
+                        eventDispatchThreads = (Integer)threads;
+                    }
+
+                    if (queueSize instanceof Integer)
+                    {
+                        listenerQueueSize = (Integer)queueSize;
+                    }
+                }
+            }
+
+            if (eventDispatchThreads > 0)
+            {
+                final AtomicInteger threadNumber = new AtomicInteger(0);
+                final String        threadPrefix = connectorName + "-dispatcher-";
+
+                dispatchWorkerPool = Executors.newFixedThreadPool(eventDispatchThreads, (runnable) ->
+                {
+                    Thread thread = new Thread(runnable, threadPrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+
+        return dispatchWorkerPool;
+    }
+
+
+    /**
+     * Return a name for the listener to use in the dispatch status.
+     *
+     * @param topicListener listener
+     * @return name
+     */
+    private String getListenerName(OMRSTopicListener topicListener)
+    {
+        if (topicListener instanceof OMRSTopicListenerBase)
+        {
+            String serviceName = ((OMRSTopicListenerBase)topicListener).getServiceName();
+
+            if (serviceName != null)
+            {
+                return serviceName;
+            }
+        }
+
+        return topicListener.getClass().getName();
+    }
+
+
+    /**
+     * Return the status of the queues of events waiting for each of the registered listeners.  The list is
+     * empty if the events are passed to the listeners on the thread that receives them.
+     *
+     * @return list of status beans, one for each listener
+     */
+    public List<OMRSTopicListenerDispatchStatus> getListenerDispatchStatus()
+    {
+        List<OMRSTopicListenerDispatchStatus> statusList = new ArrayList<>();
+
+        for (OMRSTopicListenerDispatcher dispatcher : listenerDispatchers)
+        {
+            statusList.add(dispatcher.getStatus());
+        }
+
+        return statusList;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * OMRSTopicConnector needs to pass on the start() to its embedded connectors.
@@ -363,13 +497,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String jsonEvent = OMRSJSONSerializer.writeEvent(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(jsonEvent);
                     }
                 }
             }
@@ -433,9 +567,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = OMRSJSONSerializer.readEvent(event);
             }
             catch (Throwable   exception)
             {
@@ -460,34 +592,16 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             if (eventBean instanceof OMRSEventV1)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
-                {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
+                OMRSEventV1 eventV1 = (OMRSEventV1) eventBean;
 
-                        if (auditLog != null)
-                        {
-                            OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
-
-                            auditLog.logException(connectorName,
-                                                  auditCode.getLogMessageId(),
-                                                  auditCode.getSeverity(),
-                                                  auditCode.getFormattedLogMessage(event,
-                                                                                   error.toString(),
-                                                                                   topicListener.toString()),
-                                                  event,
-                                                  auditCode.getSystemAction(),
-                                                  auditCode.getUserAction(),
-                                                  error);
-                        }
-                    }
-                });
+                if (listenerDispatchers.isEmpty())
+                {
+                    internalTopicListeners.parallelStream().forEach((topicListener) -> this.passEventToListener(event, eventV1, topicListener));
+                }
+                else
+                {
+                    this.dispatchEvent(event, eventV1);
+                }
             }
         }
         else
@@ -510,6 +624,128 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Queue the event for each of the registered listeners.  The futures for the listeners' processing are
+     * added to the processing context of the receiving thread so that the event bus connector does not
+     * regard the event as processed until all of the listeners have finished with it.
+     *
+     * @param event inbound event
+     * @param eventBean parsed event
+     */
+    private void dispatchEvent(String      event,
+                               OMRSEventV1 eventBean)
+    {
+        InternalOMRSEventProcessingContext processingContext = InternalOMRSEventProcessingContext.getInstance();
+
+        String orderingKey = this.getOrderingKey(eventBean);
+        String messageId   = processingContext.getCurrentMessageId();
+
+        for (OMRSTopicListenerDispatcher dispatcher : listenerDispatchers)
+        {
+            final OMRSTopicListener topicListener = dispatcher.getTopicListener();
+
+            try
+            {
+                OMRSFuture future = dispatcher.dispatch(orderingKey,
+                                                        messageId,
+                                                        () -> this.passEventToListener(event, eventBean, topicListener));
+
+                processingContext.addAsyncProcessingResult(future);
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Interrupted while waiting to pass event to one of the topic listeners");
+
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+
+    /**
+     * Return the key used to keep the events for an entity in order.  This is the GUID of the entity.  Only events
+     * that change a single entity have a key.  Null is returned for all other events, including relationship events
+     * (which also refer to the entities at each end), the deletion or purge of an entity (which also removes its
+     * relationships), re-identification (which has two GUIDs), batches, and registry and type events.  Events without
+     * a key are processed after all earlier events so they stay in order with every instance they refer to.
+     *
+     * @param event parsed event
+     * @return entity GUID or null
+     */
+    String getOrderingKey(OMRSEventV1 event)
+    {
+        OMRSEventV1InstanceSection instanceSection = event.getInstanceEventSection();
+
+        if ((instanceSection != null) && (event.getEventCategory() == OMRSEventCategory.INSTANCE) && (instanceSection.getEventType() != null))
+        {
+            switch (instanceSection.getEventType())
+            {
+                case NEW_ENTITY_EVENT:
+                case UPDATED_ENTITY_EVENT:
+                case UNDONE_ENTITY_EVENT:
+                case CLASSIFIED_ENTITY_EVENT:
+                case DECLASSIFIED_ENTITY_EVENT:
+                case RECLASSIFIED_ENTITY_EVENT:
+                case RESTORED_ENTITY_EVENT:
+                case RETYPED_ENTITY_EVENT:
+                case RE_HOMED_ENTITY_EVENT:
+                case REFRESH_ENTITY_REQUEST:
+                case REFRESHED_ENTITY_EVENT:
+                    if (instanceSection.getEntity() != null)
+                    {
+                        return instanceSection.getEntity().getGUID();
+                    }
+
+                    return instanceSection.getInstanceGUID();
+
+                default:
+                    return null;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Pass the event to a listener, logging any error that the listener returns.
+     *
+     * @param event inbound event
+     * @param eventBean parsed event
+     * @param topicListener listener that will receive the event
+     */
+    private void passEventToListener(String             event,
+                                     OMRSEventV1        eventBean,
+                                     OMRSTopicListener  topicListener)
+    {
+        try
+        {
+            this.processOMRSEvent(eventBean, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            log.debug("Unable to pass event to one of the topic listeners");
+
+            if (auditLog != null)
+            {
+                OMRSAuditCode auditCode = OMRSAuditCode.EVENT_PROCESSING_ERROR;
+
+                auditLog.logException(connectorName,
+                                      auditCode.getLogMessageId(),
+                                      auditCode.getSeverity(),
+                                      auditCode.getFormattedLogMessage(event,
+                                                                       error.toString(),
+                                                                       topicListener.toString()),
+                                      event,
+                                      auditCode.getSystemAction(),
+                                      auditCode.getUserAction(),
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -603,6 +839,14 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        synchronized (this)
+        {
+            if (dispatchWorkerPool != null)
+            {
+                dispatchWorkerPool.shutdown();
+            }
+        }
+
         if (auditLog != null)
         {
             OMRSAuditCode auditCode = OMRSAuditCode.OMRS_TOPIC_LISTENER_DISCONNECTED;
@@ -54,6 +54,17 @@ public class OMRSTopicListenerBase implements OMRSTopicListener
     }
 
 
+    /**
+     * Return the name of the service that this is listening on behalf of.
+     *
+     * @return name of service
+     */
+    public String getServiceName()
+    {
+        return serviceName;
+    }
+
+
     /**
      * Log an audit log message to record an unexpected exception.  We should never see this message.
      * It indicates a logic error in the service that threw the exception.
@@ -0,0 +1,222 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * OMRSTopicListenerDispatchStatus describes the events that the OMRSTopicConnector is holding for one of its
+ * listeners.  The queue depth is the number of events waiting to be passed to the listener and the lag is the
+ * time in milliseconds that the oldest of these events has been waiting.  A listener with a growing lag
+ * is not keeping up with the events arriving from the cohort.
+ */
+public class OMRSTopicListenerDispatchStatus implements Serializable
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String  listenerName     = null;
+    private int     queueDepth       = 0;
+    private int     queueCapacity    = 0;
+    private long    lag              = 0;
+    private int     eventsInProgress = 0;
+    private long    eventsProcessed  = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicListenerDispatchStatus()
+    {
+    }
+
+
+    /**
+     * Return the name of the listener.
+     *
+     * @return name
+     */
+    public String getListenerName()
+    {
+        return listenerName;
+    }
+
+
+    /**
+     * Set up the name of the listener.
+     *
+     * @param listenerName name
+     */
+    public void setListenerName(String listenerName)
+    {
+        this.listenerName = listenerName;
+    }
+
+
+    /**
+     * Return the number of events waiting to be processed by the listener.
+     *
+     * @return count
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+
+    /**
+     * Set up the number of events waiting to be processed by the listener.
+     *
+     * @param queueDepth count
+     */
+    public void setQueueDepth(int queueDepth)
+    {
+        this.queueDepth = queueDepth;
+    }
+
+
+    /**
+     * Return the maximum number of events that can wait for the listener.
+     *
+     * @return count
+     */
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+
+    /**
+     * Set up the maximum number of events that can wait for the listener.
+     *
+     * @param queueCapacity count
+     */
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /**
+     * Return the number of milliseconds that the oldest waiting event has been queued.
+     *
+     * @return milliseconds
+     */
+    public long getLag()
+    {
+        return lag;
+    }
+
+
+    /**
+     * Set up the number of milliseconds that the oldest waiting event has been queued.
+     *
+     * @param lag milliseconds
+     */
+    public void setLag(long lag)
+    {
+        this.lag = lag;
+    }
+
+
+    /**
+     * Return the number of events that the listener is currently processing.
+     *
+     * @return count
+     */
+    public int getEventsInProgress()
+    {
+        return eventsInProgress;
+    }
+
+
+    /**
+     * Set up the number of events that the listener is currently processing.
+     *
+     * @param eventsInProgress count
+     */
+    public void setEventsInProgress(int eventsInProgress)
+    {
+        this.eventsInProgress = eventsInProgress;
+    }
+
+
+    /**
+     * Return the number of events that the listener has processed since the connector started.
+     *
+     * @return count
+     */
+    public long getEventsProcessed()
+    {
+        return eventsProcessed;
+    }
+
+
+    /**
+     * Set up the number of events that the listener has processed since the connector started.
+     *
+     * @param eventsProcessed count
+     */
+    public void setEventsProcessed(long eventsProcessed)
+    {
+        this.eventsProcessed = eventsProcessed;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicListenerDispatchStatus{" +
+                "listenerName='" + listenerName + '\'' +
+                ", queueDepth=" + queueDepth +
+                ", queueCapacity=" + queueCapacity +
+                ", lag=" + lag +
+                ", eventsInProgress=" + eventsInProgress +
+                ", eventsProcessed=" + eventsProcessed +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        OMRSTopicListenerDispatchStatus that = (OMRSTopicListenerDispatchStatus) objectToCompare;
+        return queueDepth == that.queueDepth &&
+                queueCapacity == that.queueCapacity &&
+                lag == that.lag &&
+                eventsInProgress == that.eventsInProgress &&
+                eventsProcessed == that.eventsProcessed &&
+                Objects.equals(listenerName, that.listenerName);
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(listenerName, queueDepth, queueCapacity, lag, eventsInProgress, eventsProcessed);
+    }
+}
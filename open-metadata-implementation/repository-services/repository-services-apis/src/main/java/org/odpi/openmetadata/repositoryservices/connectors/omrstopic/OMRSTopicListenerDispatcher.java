@@ -0,0 +1,357 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.future.DelegatableFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OMRSTopicListenerDispatcher passes events to a single OMRSTopicListener using threads from a worker pool
+ * that is shared by all of the listeners of an OMRSTopicConnector.  This means a slow listener only delays
+ * its own events rather than the events for every listener.
+ * <p>
+ * Each event that changes a single entity is given an ordering key, the GUID of the entity.  The dispatcher has a
+ * fixed number of lanes and the key selects the lane.  Each lane passes its events to the listener one at a
+ * time in the order they arrived, so events for the same entity are always processed in order, while events
+ * for entities in different lanes are processed in parallel.  Events without an ordering key (events that refer
+ * to more than one instance, and registry and type events) act as a barrier.  They wait for all of the lanes to empty and are then processed on the
+ * caller's thread, so they are ordered with respect to every other event.
+ * </p>
+ * <p>
+ * The lanes are bounded.  When a lane is full the caller is blocked until there is space.  This pushes back
+ * on the topic connector, which in turn stops reading from the event bus.
+ * </p>
+ */
+class OMRSTopicListenerDispatcher
+{
+    private final OMRSTopicListener topicListener;
+    private final String            listenerName;
+    private final Executor          workerPool;
+    private final DispatchLane[]    lanes;
+    private final int               queueCapacity;
+
+    private final AtomicInteger     pendingEvents   = new AtomicInteger(0);
+    private final AtomicLong        processedEvents = new AtomicLong(0);
+    private final Object            idleLock        = new Object();
+
+
+    /**
+     * Constructor supplies the listener and the resources used to dispatch events to it.
+     *
+     * @param topicListener listener to receive the events
+     * @param listenerName name of the listener for diagnostics
+     * @param workerPool threads used to call the listener
+     * @param numberOfLanes number of events that may be processed by the listener in parallel
+     * @param queueCapacity maximum number of events waiting to be processed by the listener
+     */
+    OMRSTopicListenerDispatcher(OMRSTopicListener topicListener,
+                                String            listenerName,
+                                Executor          workerPool,
+                                int               numberOfLanes,
+                                int               queueCapacity)
+    {
+        this.topicListener = topicListener;
+        this.listenerName  = listenerName;
+        this.workerPool    = workerPool;
+        this.lanes         = new DispatchLane[Math.max(numberOfLanes, 1)];
+
+        int laneCapacity = Math.max(queueCapacity / lanes.length, 1);
+
+        for (int i = 0; i < lanes.length; i++)
+        {
+            lanes[i] = new DispatchLane(laneCapacity);
+        }
+
+        this.queueCapacity = laneCapacity * lanes.length;
+    }
+
+
+    /**
+     * Return the listener that this dispatcher is passing events to.
+     *
+     * @return topic listener
+     */
+    OMRSTopicListener getTopicListener()
+    {
+        return topicListener;
+    }
+
+
+    /**
+     * Queue an event for the listener.  The returned future completes once the listener has processed the
+     * event along with any asynchronous processing the listener registered while doing so.
+     *
+     * @param orderingKey key of the instance the event refers to - null means the event is a barrier
+     * @param messageId identifier of the message on the event bus
+     * @param processing call to the listener
+     * @return future for the processing of the event
+     * @throws InterruptedException the caller was interrupted waiting for space in the queue
+     */
+    OMRSFuture dispatch(String    orderingKey,
+                        String    messageId,
+                        Runnable  processing) throws InterruptedException
+    {
+        DispatchedEvent dispatchedEvent = new DispatchedEvent(messageId, processing);
+
+        pendingEvents.incrementAndGet();
+
+        if (orderingKey == null)
+        {
+            this.awaitIdle();
+            dispatchedEvent.process();
+        }
+        else
+        {
+            DispatchLane lane = lanes[(orderingKey.hashCode() & Integer.MAX_VALUE) % lanes.length];
+
+            try
+            {
+                lane.add(dispatchedEvent);
+            }
+            catch (InterruptedException error)
+            {
+                this.eventComplete();
+                throw error;
+            }
+        }
+
+        return dispatchedEvent.future;
+    }
+
+
+    /**
+     * Wait until all of the events that have been queued have been processed.
+     *
+     * @throws InterruptedException the caller was interrupted
+     */
+    private void awaitIdle() throws InterruptedException
+    {
+        synchronized (idleLock)
+        {
+            /*
+             * The count includes the barrier event itself.
+             */
+            while (pendingEvents.get() > 1)
+            {
+                idleLock.wait();
+            }
+        }
+    }
+
+
+    /**
+     * Record that an event has been processed and wake anyone waiting for the lanes to empty.
+     */
+    private void eventComplete()
+    {
+        if (pendingEvents.decrementAndGet() <= 1)
+        {
+            synchronized (idleLock)
+            {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * Return the current status of the dispatcher.
+     *
+     * @return status bean
+     */
+    OMRSTopicListenerDispatchStatus getStatus()
+    {
+        OMRSTopicListenerDispatchStatus status = new OMRSTopicListenerDispatchStatus();
+        long                            now    = System.currentTimeMillis();
+        int                             queued = 0;
+        long                            lag    = 0;
+
+        for (DispatchLane lane : lanes)
+        {
+            queued += lane.queue.size();
+
+            DispatchedEvent oldestEvent = lane.queue.peek();
+
+            if (oldestEvent != null)
+            {
+                lag = Math.max(lag, now - oldestEvent.queuedTime);
+            }
+        }
+
+        status.setListenerName(listenerName);
+        status.setQueueDepth(queued);
+        status.setQueueCapacity(queueCapacity);
+        status.setLag(lag);
+        status.setEventsInProgress(Math.max(pendingEvents.get() - queued, 0));
+        status.setEventsProcessed(processedEvents.get());
+
+        return status;
+    }
+
+
+    /**
+     * An event waiting to be passed to the listener.
+     */
+    private class DispatchedEvent
+    {
+        private final String            messageId;
+        private final Runnable          processing;
+        private final long              queuedTime = System.currentTimeMillis();
+        private final DelegatableFuture future     = new DelegatableFuture();
+
+
+        /**
+         * Constructor for the event.
+         *
+         * @param messageId identifier of the message on the event bus
+         * @param processing call to the listener
+         */
+        DispatchedEvent(String   messageId,
+                        Runnable processing)
+        {
+            this.messageId  = messageId;
+            this.processing = processing;
+        }
+
+
+        /**
+         * Call the listener.  The listener is given its own processing context so the future for this event
+         * covers any asynchronous work the listener starts.  The caller's context is restored afterwards since
+         * barrier events are processed on the caller's thread.
+         */
+        void process()
+        {
+            InternalOMRSEventProcessingContext callerContext = InternalOMRSEventProcessingContext.getInstance();
+
+            InternalOMRSEventProcessingContext.clear();
+
+            InternalOMRSEventProcessingContext listenerContext = InternalOMRSEventProcessingContext.getInstance();
+            listenerContext.setCurrentMessageId(messageId);
+
+            try
+            {
+                processing.run();
+            }
+            finally
+            {
+                future.setDelegate(listenerContext.getOverallAsyncProcessingResult());
+                InternalOMRSEventProcessingContext.setInstance(callerContext);
+
+                processedEvents.incrementAndGet();
+                eventComplete();
+            }
+        }
+    }
+
+
+    /**
+     * A lane holds the events for a subset of the ordering keys.  At most one worker thread drains a lane at a
+     * time, which keeps the events in the lane in order.
+     */
+    private class DispatchLane implements Runnable
+    {
+        /*
+         * Number of events processed before the worker thread is returned to the pool so lanes of other
+         * listeners get a turn.
+         */
+        private static final int maxEventsPerTurn = 100;
+
+        private final BlockingQueue<DispatchedEvent> queue;
+        private final AtomicBoolean                  scheduled = new AtomicBoolean(false);
+
+
+        /**
+         * Constructor for the lane.
+         *
+         * @param capacity maximum number of waiting events
+         */
+        DispatchLane(int capacity)
+        {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+
+        /**
+         * Add an event to the lane, waiting for space if the lane is full.
+         *
+         * @param dispatchedEvent event to add
+         * @throws InterruptedException the caller was interrupted while waiting
+         */
+        void add(DispatchedEvent dispatchedEvent) throws InterruptedException
+        {
+            queue.put(dispatchedEvent);
+            this.schedule();
+        }
+
+
+        /**
+         * Hand the lane to a worker thread if it is not already being drained.
+         */
+        private void schedule()
+        {
+            if (scheduled.compareAndSet(false, true))
+            {
+                try
+                {
+                    workerPool.execute(this);
+                }
+                catch (RejectedExecutionException error)
+                {
+                    /*
+                     * The pool has been shut down so process the events on the caller's thread.
+                     */
+                    scheduled.set(false);
+                    this.drain(Integer.MAX_VALUE);
+                }
+            }
+        }
+
+
+        /**
+         * Process the waiting events in order.
+         *
+         * @param maxEvents maximum number of events to process
+         */
+        private void drain(int maxEvents)
+        {
+            DispatchedEvent dispatchedEvent;
+            int             count = 0;
+
+            while ((count < maxEvents) && ((dispatchedEvent = queue.poll()) != null))
+            {
+                dispatchedEvent.process();
+                count++;
+            }
+        }
+
+
+        /**
+         * Run on a worker thread to process the waiting events.
+         */
+        public void run()
+        {
+            try
+            {
+                this.drain(maxEventsPerTurn);
+            }
+            finally
+            {
+                scheduled.set(false);
+
+                if (! queue.isEmpty())
+                {
+                    this.schedule();
+                }
+            }
+        }
+    }
+}
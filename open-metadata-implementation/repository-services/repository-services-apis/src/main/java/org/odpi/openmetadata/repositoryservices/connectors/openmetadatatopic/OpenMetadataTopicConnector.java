@@ -6,6 +6,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
@@ -25,7 +28,12 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should pass the events to the protected pushIncomingEvents() method as soon
+ *         as they arrive.  The listener thread wakes up and distributes them straight away.  The number of events
+ *         waiting to be distributed is returned by getNumberOfPendingIncomingEvents() so that the implementation
+ *         can stop reading from the event bus while the listeners catch up.  Implementations that do
+ *         not push events can instead override checkForIncomingEvents(), which is called every sleepTime
+ *         milliseconds.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -51,6 +59,8 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
     private String                          topicName          = defaultTopicName;
     private int                             sleepTime          = 100;
 
+    private final BlockingQueue<IncomingEvent> pushedEvents = new LinkedBlockingQueue<>();
+
     protected OMRSAuditLog auditLog = null;
 
     /**
@@ -87,23 +97,38 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                            auditCode.getSystemAction(),
                            auditCode.getUserAction());
 
+        boolean  eventsPolled = false;
+
         while (keepRunning)
         {
             try
             {
+                List<IncomingEvent> receivedEvents = new ArrayList<>();
+
+                /*
+                 * Wait for pushed events.  The wait ends as soon as an event arrives, so the sleep time only
+                 * delays the events of connectors that are polled.  There is no wait if the last poll
+                 * returned events since there may be more to collect.
+                 */
+                IncomingEvent firstPushedEvent = eventsPolled ? pushedEvents.poll()
+                                                              : pushedEvents.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                if (firstPushedEvent != null)
+                {
+                    receivedEvents.add(firstPushedEvent);
+                    pushedEvents.drainTo(receivedEvents);
+                }
+
+                eventsPolled = false;
+
                 try
                 {
-                    List<IncomingEvent> receivedEvents = checkForIncomingEvents();
+                    List<IncomingEvent> polledEvents = checkForIncomingEvents();
 
-                    if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
+                    if ((polledEvents != null) && (!polledEvents.isEmpty()))
                     {
-                        for (IncomingEvent event : receivedEvents)
-                        {
-                            if (event != null)
-                            {
-                                this.distributeEvent(event);
-                            }
-                        }
+                        receivedEvents.addAll(polledEvents);
+                        eventsPolled = true;
                     }
                 }
                 catch (Throwable   error)
@@ -111,7 +136,13 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                for (IncomingEvent event : receivedEvents)
+                {
+                    if (event != null)
+                    {
+                        this.distributeEvent(event);
+                    }
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -178,7 +209,36 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
 
     /**
-     * Look to see if there is one of more new events to process.
+     * Pass events that have been received from the event bus to the listener thread.  The listener thread
+     * is woken up so the events are distributed to the registered listeners without waiting for the
+     * next poll.  The events are distributed in the order they are supplied.
+     *
+     * @param events received events
+     */
+    protected void pushIncomingEvents(List<IncomingEvent>  events)
+    {
+        if (events != null)
+        {
+            pushedEvents.addAll(events);
+        }
+    }
+
+
+    /**
+     * Return the number of events that have been pushed to the listener thread but have not yet been
+     * distributed to the listeners.  This is used to apply back-pressure to the event bus.
+     *
+     * @return count of events
+     */
+    protected int getNumberOfPendingIncomingEvents()
+    {
+        return pushedEvents.size();
+    }
+
+
+    /**
+     * Look to see if there is one of more new events to process.  This is the polling alternative
+     * to pushIncomingEvents().
      *
      * @return a list of received events or null
      */
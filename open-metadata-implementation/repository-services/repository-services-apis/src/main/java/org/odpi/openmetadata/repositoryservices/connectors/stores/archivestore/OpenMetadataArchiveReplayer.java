@@ -0,0 +1,137 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+import java.util.List;
+
+/**
+ * OpenMetadataArchiveReplayer passes the contents of an open metadata archive that is held in memory to an
+ * OpenMetadataArchiveStreamListener, one element at a time and in archive order.
+ */
+public class OpenMetadataArchiveReplayer
+{
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private OpenMetadataArchiveReplayer()
+    {
+    }
+
+
+    /**
+     * Pass the whole archive to the listener, finishing with a call to processArchiveComplete.
+     *
+     * @param archiveContents archive to replay (may be null)
+     * @param listener receiver of the archive's elements
+     */
+    public static void replay(OpenMetadataArchive               archiveContents,
+                              OpenMetadataArchiveStreamListener listener)
+    {
+        if (archiveContents != null)
+        {
+            if (archiveContents.getArchiveProperties() != null)
+            {
+                listener.processArchiveProperties(archiveContents.getArchiveProperties());
+            }
+
+            replayTypeStore(archiveContents.getArchiveTypeStore(), listener);
+            replayInstanceStore(archiveContents.getArchiveInstanceStore(), listener);
+        }
+
+        listener.processArchiveComplete();
+    }
+
+
+    /**
+     * Pass the contents of an archive's type store to the listener.
+     *
+     * @param archiveTypeStore type store to replay (may be null)
+     * @param listener receiver of the type store's elements
+     */
+    public static void replayTypeStore(OpenMetadataArchiveTypeStore      archiveTypeStore,
+                                       OpenMetadataArchiveStreamListener listener)
+    {
+        if (archiveTypeStore != null)
+        {
+            List<AttributeTypeDef> attributeTypeDefs = archiveTypeStore.getAttributeTypeDefs();
+            List<TypeDefPatch>     typeDefPatches    = archiveTypeStore.getTypeDefPatches();
+            List<TypeDef>          newTypeDefs       = archiveTypeStore.getNewTypeDefs();
+
+            if (attributeTypeDefs != null)
+            {
+                for (AttributeTypeDef attributeTypeDef : attributeTypeDefs)
+                {
+                    listener.processAttributeTypeDef(attributeTypeDef);
+                }
+            }
+
+            if (typeDefPatches != null)
+            {
+                for (TypeDefPatch typeDefPatch : typeDefPatches)
+                {
+                    listener.processTypeDefPatch(typeDefPatch);
+                }
+            }
+
+            if (newTypeDefs != null)
+            {
+                for (TypeDef typeDef : newTypeDefs)
+                {
+                    listener.processNewTypeDef(typeDef);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Pass the contents of an archive's instance store to the listener.
+     *
+     * @param archiveInstanceStore instance store to replay (may be null)
+     * @param listener receiver of the instance store's elements
+     */
+    public static void replayInstanceStore(OpenMetadataArchiveInstanceStore  archiveInstanceStore,
+                                           OpenMetadataArchiveStreamListener listener)
+    {
+        if (archiveInstanceStore != null)
+        {
+            List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
+            List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
+            List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    listener.processEntity(entity);
+                }
+            }
+
+            if (relationships != null)
+            {
+                for (Relationship relationship : relationships)
+                {
+                    listener.processRelationship(relationship);
+                }
+            }
+
+            if (classifications != null)
+            {
+                for (ClassificationEntityExtension classification : classifications)
+                {
+                    listener.processClassification(classification);
+                }
+            }
+        }
+    }
+}
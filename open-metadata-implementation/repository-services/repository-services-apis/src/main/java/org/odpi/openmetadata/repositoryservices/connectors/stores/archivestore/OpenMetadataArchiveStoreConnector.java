@@ -5,9 +5,26 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.auditable.AuditableConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * OpenMetadataArchiveStoreConnector is the base class for connectors that support the OpenMetadataArchiveStore
+ * OpenMetadataArchiveStoreConnector is the base class for connectors that support the OpenMetadataArchiveStore.
+ * As well as the whole-archive methods of OpenMetadataArchiveStore, it offers methods to read and write the
+ * archive one element at a time.  The implementations here work through getArchiveContents and setArchiveContents.
+ * Connectors to archives that may be too large to hold in memory override them.
  */
 public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase implements OpenMetadataArchiveStore,
                                                                                          AuditableConnector
@@ -25,4 +42,159 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Pass the contents of the archive to the listener one element at a time, finishing with a call to
+     * processArchiveComplete.  If the archive can not be read, an exception is thrown instead of the call
+     * to processArchiveComplete.
+     *
+     * @param listener receiver of the archive's elements
+     * @throws OMRSLogicErrorException the archive can not be read
+     */
+    public void processArchiveContents(OpenMetadataArchiveStreamListener listener) throws OMRSLogicErrorException
+    {
+        OpenMetadataArchiveReplayer.replay(this.getArchiveContents(), listener);
+    }
+
+
+    /**
+     * Return a listener that writes the elements passed to it into the archive, overriding any content
+     * previously stored.  The elements must be passed in archive order and the new content is complete
+     * once processArchiveComplete is called.
+     *
+     * @return listener that writes to the archive
+     */
+    public OpenMetadataArchiveStreamListener getArchiveStreamWriter()
+    {
+        return new ArchiveContentsCollector();
+    }
+
+
+    /**
+     * ArchiveContentsCollector gathers the elements passed to it into an OpenMetadataArchive that is passed
+     * to setArchiveContents when the archive is complete.
+     */
+    private class ArchiveContentsCollector implements OpenMetadataArchiveStreamListener
+    {
+        private OpenMetadataArchiveProperties       archiveProperties = null;
+        private List<AttributeTypeDef>              attributeTypeDefs = new ArrayList<>();
+        private List<TypeDefPatch>                  typeDefPatches    = new ArrayList<>();
+        private List<TypeDef>                       newTypeDefs       = new ArrayList<>();
+        private List<EntityDetail>                  entities          = new ArrayList<>();
+        private List<Relationship>                  relationships     = new ArrayList<>();
+        private List<ClassificationEntityExtension> classifications   = new ArrayList<>();
+
+
+        /**
+         * Save the properties of the archive.
+         *
+         * @param archiveProperties properties of the archive
+         */
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.archiveProperties = archiveProperties;
+        }
+
+
+        /**
+         * Save an AttributeTypeDef.
+         *
+         * @param attributeTypeDef new AttributeTypeDef
+         */
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            attributeTypeDefs.add(attributeTypeDef);
+        }
+
+
+        /**
+         * Save a TypeDef patch.
+         *
+         * @param typeDefPatch patch to a TypeDef
+         */
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            typeDefPatches.add(typeDefPatch);
+        }
+
+
+        /**
+         * Save a new TypeDef.
+         *
+         * @param typeDef new TypeDef
+         */
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            newTypeDefs.add(typeDef);
+        }
+
+
+        /**
+         * Save an entity.
+         *
+         * @param entity entity
+         */
+        public void processEntity(EntityDetail entity)
+        {
+            entities.add(entity);
+        }
+
+
+        /**
+         * Save a relationship.
+         *
+         * @param relationship relationship
+         */
+        public void processRelationship(Relationship relationship)
+        {
+            relationships.add(relationship);
+        }
+
+
+        /**
+         * Save a classification.
+         *
+         * @param classification classification and the entity it belongs to
+         */
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            classifications.add(classification);
+        }
+
+
+        /**
+         * Build the archive from the saved elements and store it.
+         */
+        public void processArchiveComplete()
+        {
+            OpenMetadataArchive archiveContents = new OpenMetadataArchive();
+
+            archiveContents.setArchiveProperties(archiveProperties);
+
+            if ((! attributeTypeDefs.isEmpty()) || (! typeDefPatches.isEmpty()) || (! newTypeDefs.isEmpty()))
+            {
+                OpenMetadataArchiveTypeStore archiveTypeStore = new OpenMetadataArchiveTypeStore();
+
+                archiveTypeStore.setAttributeTypeDefs(attributeTypeDefs);
+                archiveTypeStore.setTypeDefPatches(typeDefPatches);
+                archiveTypeStore.setNewTypeDefs(newTypeDefs);
+
+                archiveContents.setArchiveTypeStore(archiveTypeStore);
+            }
+
+            if ((! entities.isEmpty()) || (! relationships.isEmpty()) || (! classifications.isEmpty()))
+            {
+                OpenMetadataArchiveInstanceStore archiveInstanceStore = new OpenMetadataArchiveInstanceStore();
+
+                archiveInstanceStore.setEntities(entities);
+                archiveInstanceStore.setRelationships(relationships);
+                archiveInstanceStore.setClassifications(classifications);
+
+                archiveContents.setArchiveInstanceStore(archiveInstanceStore);
+            }
+
+            setArchiveContents(archiveContents);
+        }
+    }
 }
@@ -0,0 +1,86 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+
+/**
+ * <p>
+ * OpenMetadataArchiveStreamListener receives the contents of an open metadata archive one element at a time.
+ * It allows an archive to be processed, or written, without holding all of its contents in memory.
+ * </p>
+ * <p>
+ * The elements are passed in archive order: the archive properties, then the AttributeTypeDefs, TypeDef patches
+ * and new TypeDefs, then the entities, relationships and classifications.  Sections that are not present in
+ * the archive are skipped.  Once all of the elements have been passed, processArchiveComplete is called.
+ * </p>
+ */
+public interface OpenMetadataArchiveStreamListener
+{
+    /**
+     * Receive the properties that describe the archive.
+     *
+     * @param archiveProperties properties of the archive
+     */
+    void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Receive a new AttributeTypeDef from the archive's type store.
+     *
+     * @param attributeTypeDef new AttributeTypeDef
+     */
+    void processAttributeTypeDef(AttributeTypeDef attributeTypeDef);
+
+
+    /**
+     * Receive a patch to an existing TypeDef from the archive's type store.
+     *
+     * @param typeDefPatch patch to a TypeDef
+     */
+    void processTypeDefPatch(TypeDefPatch typeDefPatch);
+
+
+    /**
+     * Receive a new TypeDef from the archive's type store.
+     *
+     * @param typeDef new TypeDef
+     */
+    void processNewTypeDef(TypeDef typeDef);
+
+
+    /**
+     * Receive an entity from the archive's instance store.
+     *
+     * @param entity entity
+     */
+    void processEntity(EntityDetail entity);
+
+
+    /**
+     * Receive a relationship from the archive's instance store.
+     *
+     * @param relationship relationship
+     */
+    void processRelationship(Relationship relationship);
+
+
+    /**
+     * Receive a classification from the archive's instance store.
+     *
+     * @param classification classification and the entity it belongs to
+     */
+    void processClassification(ClassificationEntityExtension classification);
+
+
+    /**
+     * All of the contents of the archive have been passed to the listener.
+     */
+    void processArchiveComplete();
+}
@@ -25,6 +25,14 @@ public class OMRSAuditLogReportingComponent
     private  String   componentWikiURL = null;
 
 
+    /**
+     * Default constructor used when the description is read back from a stored audit log record.
+     */
+    public OMRSAuditLogReportingComponent()
+    {
+    }
+
+
     /**
      * Construct the description of the reporting component.
      *
@@ -55,6 +63,17 @@ public class OMRSAuditLogReportingComponent
     }
 
 
+    /**
+     * Set up the numerical code for the component.
+     *
+     * @param componentId numerical identifier for the component.
+     */
+    public void setComponentId(int componentId)
+    {
+        this.componentId = componentId;
+    }
+
+
     /**
      * Return the name of the component.  This is the name used in the audit log records.
      *
@@ -66,6 +85,17 @@ public class OMRSAuditLogReportingComponent
     }
 
 
+    /**
+     * Set up the name of the component.
+     *
+     * @param componentName display name for the component.
+     */
+    public void setComponentName(String componentName)
+    {
+        this.componentName = componentName;
+    }
+
+
     /**
      * Return the short description of the component. This is an English description.  Natural language support for
      * these values can be added to UIs using a resource bundle indexed with the component Id.  This value is
@@ -79,6 +109,17 @@ public class OMRSAuditLogReportingComponent
     }
 
 
+    /**
+     * Set up the short description of the component.
+     *
+     * @param componentDescription description of the component.
+     */
+    public void setComponentDescription(String componentDescription)
+    {
+        this.componentDescription = componentDescription;
+    }
+
+
     /**
      * URL link to the wiki page that describes this component.  This provides more information to the log reader
      * on the operation of the component.
@@ -91,6 +132,17 @@ public class OMRSAuditLogReportingComponent
     }
 
 
+    /**
+     * Set up the URL link to the wiki page that describes this component.
+     *
+     * @param componentWikiURL link to more information.
+     */
+    public void setComponentWikiURL(String componentWikiURL)
+    {
+        this.componentWikiURL = componentWikiURL;
+    }
+
+
     /**
      * Standard toString method.
      *
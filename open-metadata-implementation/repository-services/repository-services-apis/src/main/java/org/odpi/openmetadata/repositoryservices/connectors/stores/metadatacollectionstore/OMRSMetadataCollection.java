@@ -34,6 +34,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidEntityExce
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidRelationshipException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidTypeDefException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSCheckedExceptionBase;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PatchErrorException;
@@ -871,6 +872,26 @@ public abstract class OMRSMetadataCollection
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  This avoids
+     * a separate call to the repository (and, for remote repositories, a separate network round trip) for each
+     * entity when, for example, retrieving the entities at the ends of a page of relationships.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the same order as the guids.  The entry for an entity that is not
+     * known, or is only a proxy, in the metadata collection is null.
+     * @throws InvalidParameterException the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract List<EntityDetail> getEntityDetails(String        userId,
+                                                        List<String>  guids) throws InvalidParameterException,
+                                                                                    RepositoryErrorException,
+                                                                                    UserNotAuthorizedException;
+
+
 
     /**
      * Return the relationships for a specific entity.
@@ -921,6 +942,35 @@ public abstract class OMRSMetadataCollection
 
 
 
+    /**
+     * Return the number of relationships attached to a specific entity.  This allows a caller that only needs the
+     * count (for example the number of likes or comments on an asset) to avoid retrieving the relationships.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract int countRelationshipsForEntity(String                     userId,
+                                                    String                     entityGUID,
+                                                    String                     relationshipTypeGUID,
+                                                    List<InstanceStatus>       limitResultsByStatus) throws InvalidParameterException,
+                                                                                                            TypeErrorException,
+                                                                                                            RepositoryErrorException,
+                                                                                                            EntityNotKnownException,
+                                                                                                            UserNotAuthorizedException;
+
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -2749,6 +2799,8 @@ public abstract class OMRSMetadataCollection
      * Save the entities and relationships supplied in the instance graph as a reference copies.
      * The id of the home metadata collection is already set up in the instances.
      * Any instances from the home metadata collection are ignored.
+     * An instance that can not be saved does not stop the others being saved.  Once every instance has been
+     * tried, the error from the first instance that could not be saved is thrown.
      *
      * @param userId unique identifier for requesting server.
      * @param instances instances to save.
@@ -2787,38 +2839,146 @@ public abstract class OMRSMetadataCollection
          */
         if (instances != null)
         {
-            try
+            OMRSCheckedExceptionBase firstError = null;
+
+            if (instances.getEntities() != null)
             {
-                if (instances.getEntities() != null)
+                for (EntityDetail entity : instances.getEntities())
                 {
-                    for (EntityDetail entity : instances.getEntities())
+                    if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
                     {
-                        if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                        try
                         {
                             saveEntityReferenceCopy(userId, entity);
                         }
+                        catch (HomeEntityException  exception)
+                        {
+
+                        }
+                        catch (InvalidParameterException | RepositoryErrorException | TypeErrorException |
+                               PropertyErrorException | EntityConflictException | InvalidEntityException |
+                               FunctionNotSupportedException | UserNotAuthorizedException exception)
+                        {
+                            if (firstError == null)
+                            {
+                                firstError = exception;
+                            }
+                        }
                     }
                 }
+            }
 
-                if (instances.getRelationships() != null)
+            if (instances.getRelationships() != null)
+            {
+                for (Relationship relationship : instances.getRelationships())
                 {
-                    for (Relationship relationship : instances.getRelationships())
+                    if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
                     {
-                        if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                        try
                         {
                             saveRelationshipReferenceCopy(userId, relationship);
                         }
+                        catch (HomeRelationshipException exception)
+                        {
+
+                        }
+                        catch (InvalidParameterException | RepositoryErrorException | TypeErrorException |
+                               EntityNotKnownException | PropertyErrorException | RelationshipConflictException |
+                               InvalidRelationshipException | FunctionNotSupportedException |
+                               UserNotAuthorizedException exception)
+                        {
+                            if (firstError == null)
+                            {
+                                firstError = exception;
+                            }
+                        }
                     }
                 }
             }
-            catch (HomeEntityException  exception)
-            {
 
-            }
-            catch (HomeRelationshipException exception)
+            if (firstError != null)
             {
-
+                throwReferenceCopyError(firstError);
             }
         }
     }
+
+
+    /**
+     * Throw an exception saved while saving a list of reference copies.
+     *
+     * @param error saved exception
+     * @throws InvalidParameterException the relationship is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws EntityNotKnownException one of the entities identified by the relationship is not found in the
+     *                                   metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for this relationship's type.
+     * @throws EntityConflictException the new entity conflicts with an existing entity.
+     * @throws InvalidEntityException the new entity has invalid contents.
+     * @throws RelationshipConflictException the new relationship conflicts with an existing relationship.
+     * @throws InvalidRelationshipException the new relationship has invalid contents.
+     * @throws FunctionNotSupportedException the repository does not support reference copies of instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private void throwReferenceCopyError(OMRSCheckedExceptionBase error) throws InvalidParameterException,
+                                                                                RepositoryErrorException,
+                                                                                TypeErrorException,
+                                                                                EntityNotKnownException,
+                                                                                PropertyErrorException,
+                                                                                EntityConflictException,
+                                                                                RelationshipConflictException,
+                                                                                InvalidEntityException,
+                                                                                InvalidRelationshipException,
+                                                                                FunctionNotSupportedException,
+                                                                                UserNotAuthorizedException
+    {
+        if (error instanceof InvalidParameterException)
+        {
+            throw (InvalidParameterException) error;
+        }
+        else if (error instanceof RepositoryErrorException)
+        {
+            throw (RepositoryErrorException) error;
+        }
+        else if (error instanceof TypeErrorException)
+        {
+            throw (TypeErrorException) error;
+        }
+        else if (error instanceof EntityNotKnownException)
+        {
+            throw (EntityNotKnownException) error;
+        }
+        else if (error instanceof PropertyErrorException)
+        {
+            throw (PropertyErrorException) error;
+        }
+        else if (error instanceof EntityConflictException)
+        {
+            throw (EntityConflictException) error;
+        }
+        else if (error instanceof RelationshipConflictException)
+        {
+            throw (RelationshipConflictException) error;
+        }
+        else if (error instanceof InvalidEntityException)
+        {
+            throw (InvalidEntityException) error;
+        }
+        else if (error instanceof InvalidRelationshipException)
+        {
+            throw (InvalidRelationshipException) error;
+        }
+        else if (error instanceof FunctionNotSupportedException)
+        {
+            throw (FunctionNotSupportedException) error;
+        }
+        else if (error instanceof UserNotAuthorizedException)
+        {
+            throw (UserNotAuthorizedException) error;
+        }
+    }
 }
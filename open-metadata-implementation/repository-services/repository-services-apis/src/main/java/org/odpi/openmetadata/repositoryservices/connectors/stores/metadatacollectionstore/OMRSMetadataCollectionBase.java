@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchStringMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -532,7 +533,8 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     {
         if (typeDefName != null)
         {
-            List<TypeDef>         matchedTypeDefs = new ArrayList<>();
+            OMRSSearchStringMatcher nameMatcher     = OMRSSearchStringMatcher.getMatcher(typeDefName);
+            List<TypeDef>           matchedTypeDefs = new ArrayList<>();
 
             if (allTypeDefs != null)
             {
@@ -540,7 +542,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (typeDef != null)
                     {
-                        if (typeDef.getName().matches(typeDefName))
+                        if (nameMatcher.matches(typeDef.getName()))
                         {
                             matchedTypeDefs.add(typeDef);
                         }
@@ -556,7 +558,7 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
                 {
                     if (attributeTypeDef != null)
                     {
-                        if (attributeTypeDef.getName().matches(typeDefName))
+                        if (nameMatcher.matches(attributeTypeDef.getName()))
                         {
                             matchedAttributeTypeDefs.add(attributeTypeDef);
                         }
@@ -1000,13 +1002,14 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     {
         if (allTypes != null)
         {
-            List<TypeDef> matchedTypeDefs = new ArrayList<>();
+            OMRSSearchStringMatcher searchMatcher   = OMRSSearchStringMatcher.getMatcher(searchCriteria);
+            List<TypeDef>           matchedTypeDefs = new ArrayList<>();
 
             for (TypeDef typeDef : allTypes)
             {
                 if (typeDef != null)
                 {
-                    if (typeDef.getName().matches(searchCriteria))
+                    if (searchMatcher.matches(typeDef.getName()))
                     {
                         matchedTypeDefs.add(typeDef);
                     }
@@ -1824,6 +1827,41 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for the retrieve of a list of instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException the metadata collection is not set up correctly
+     */
+    protected  void getInstancesParameterValidation(String        userId,
+                                                    List<String>  guids,
+                                                    String        methodName) throws InvalidParameterException,
+                                                                                     RepositoryErrorException
+    {
+        final String  guidsParameterName = "guids";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (guids == null)
+        {
+            repositoryValidator.validateGUID(repositoryName, guidsParameterName, null, methodName);
+        }
+        else
+        {
+            for (String guid : guids)
+            {
+                repositoryValidator.validateGUID(repositoryName, guidsParameterName, guid, methodName);
+            }
+        }
+    }
+
+
     /**
      * Validate the parameters for a retrieve of a historical version of an instance.
      *
@@ -1912,6 +1950,44 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for countRelationshipsForEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected void countRelationshipsForEntityParameterValidation(String                     userId,
+                                                                  String                     entityGUID,
+                                                                  String                     relationshipTypeGUID,
+                                                                  List<InstanceStatus>       limitResultsByStatus) throws InvalidParameterException,
+                                                                                                                          TypeErrorException,
+                                                                                                                          RepositoryErrorException,
+                                                                                                                          UserNotAuthorizedException
+    {
+        final String methodName        = "countRelationshipsForEntity";
+        final String guidParameterName = "entityGUID";
+        final String typeGUIDParameter = "relationshipTypeGUID";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+        repositoryValidator.validateGUID(repositoryName, guidParameterName, entityGUID, methodName);
+        repositoryValidator.validateOptionalTypeGUID(repositoryName, typeGUIDParameter, relationshipTypeGUID,
+                                                     methodName);
+    }
+
+
     /**
      * Validate the parameters for findEntitiesByProperty.
      *
@@ -2611,6 +2687,59 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     * This default implementation calls getEntityDetail for each entity.  Repositories that can retrieve
+     * many entities in a single operation should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of EntityDetail structures in the same order as the guids.  The entry for an entity that is not
+     * known, or is only a proxy, in the metadata collection is null.
+     * @throws InvalidParameterException the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String        userId,
+                                               List<String>  guids) throws InvalidParameterException,
+                                                                           RepositoryErrorException,
+                                                                           UserNotAuthorizedException
+    {
+        final String  methodName = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>(guids.size());
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = null;
+
+            try
+            {
+                entity = this.getEntityDetail(userId, guid);
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException error)
+            {
+                /*
+                 * The entity is not available from this metadata collection.
+                 */
+            }
+
+            results.add(entity);
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -2683,6 +2812,94 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the number of relationships attached to a specific entity.  This default implementation pages
+     * through the relationships returned by getRelationshipsForEntity.  Repositories that can count the
+     * relationships without retrieving them should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the count to.  Null means all
+     *                             status values.
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus) throws InvalidParameterException,
+                                                                                                   TypeErrorException,
+                                                                                                   RepositoryErrorException,
+                                                                                                   EntityNotKnownException,
+                                                                                                   UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+        final int     pageSize   = 100;
+
+        /*
+         * Validate parameters
+         */
+        this.countRelationshipsForEntityParameterValidation(userId,
+                                                            entityGUID,
+                                                            relationshipTypeGUID,
+                                                            limitResultsByStatus);
+
+        /*
+         * Perform operation
+         */
+        int count = 0;
+
+        try
+        {
+            List<Relationship> relationships;
+
+            do
+            {
+                relationships = this.getRelationshipsForEntity(userId,
+                                                               entityGUID,
+                                                               relationshipTypeGUID,
+                                                               count,
+                                                               limitResultsByStatus,
+                                                               null,
+                                                               null,
+                                                               null,
+                                                               pageSize);
+
+                if (relationships != null)
+                {
+                    count = count + relationships.size();
+                }
+            }
+            while ((relationships != null) && (relationships.size() == pageSize));
+        }
+        catch (PropertyErrorException | PagingErrorException | FunctionNotSupportedException error)
+        {
+            OMRSErrorCode errorCode    = OMRSErrorCode.REPOSITORY_LOGIC_ERROR;
+            String        errorMessage = errorCode.getErrorMessageId()
+                                       + errorCode.getFormattedErrorMessage(repositoryName,
+                                                                            methodName,
+                                                                            error.getErrorMessage());
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction(),
+                                               error);
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -0,0 +1,286 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * OMRSSearchStringMatcher tests string values against a search string that is a regular expression, with the
+ * same result as String.matches().  Search strings built by the exact match, starts with, ends with and
+ * contains helper methods of OMRSRepositoryHelper (that is, strings of the form \Qliteral\E, \Qliteral\E.*,
+ * .*\Qliteral\E and .*\Qliteral\E.*) are tested with simple string comparisons.  Other search strings are
+ * compiled into a Pattern.
+ * <p>
+ * Matchers are held in a bounded concurrent cache so that a search that tests many instances against the
+ * same search string only compiles it once, without serializing the threads that look up matchers.  When the
+ * cache is full, matchers that have not been used since the last eviction sweep are removed first.
+ * </p>
+ */
+public final class OMRSSearchStringMatcher
+{
+    private static final int maxCachedMatchers = 256;
+
+    private static final ConcurrentMap<String, OMRSSearchStringMatcher> matcherCache = new ConcurrentHashMap<>();
+
+    private enum MatchStyle
+    {
+        EXACT,
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS,
+        REGEX
+    }
+
+    private final String     searchString;
+    private final MatchStyle matchStyle;
+    private final String     literal;
+    private volatile Pattern pattern = null;
+    private volatile boolean recentlyUsed = false;
+
+
+    /**
+     * Constructor works out how the search string is to be matched.
+     *
+     * @param searchString regular expression
+     * @throws PatternSyntaxException the search string is not a valid regular expression
+     */
+    private OMRSSearchStringMatcher(String searchString) throws PatternSyntaxException
+    {
+        this.searchString = searchString;
+
+        if (isQuotedLiteral(searchString))
+        {
+            matchStyle = MatchStyle.EXACT;
+            literal    = searchString.substring(2, searchString.length() - 2);
+        }
+        else if ((searchString.length() >= 4) && searchString.startsWith(".*") && searchString.endsWith(".*")
+                    && isQuotedLiteral(searchString.substring(2, searchString.length() - 2)))
+        {
+            matchStyle = MatchStyle.CONTAINS;
+            literal    = searchString.substring(4, searchString.length() - 4);
+        }
+        else if (searchString.endsWith(".*") && isQuotedLiteral(searchString.substring(0, searchString.length() - 2)))
+        {
+            matchStyle = MatchStyle.STARTS_WITH;
+            literal    = searchString.substring(2, searchString.length() - 4);
+        }
+        else if (searchString.startsWith(".*") && isQuotedLiteral(searchString.substring(2)))
+        {
+            matchStyle = MatchStyle.ENDS_WITH;
+            literal    = searchString.substring(4, searchString.length() - 2);
+        }
+        else
+        {
+            matchStyle = MatchStyle.REGEX;
+            literal    = null;
+            pattern    = Pattern.compile(searchString);
+        }
+    }
+
+
+    /**
+     * Return the matcher for a search string.
+     *
+     * @param searchString regular expression
+     * @return matcher
+     * @throws PatternSyntaxException the search string is not a valid regular expression
+     */
+    public static OMRSSearchStringMatcher getMatcher(String searchString) throws PatternSyntaxException
+    {
+        if (searchString == null)
+        {
+            throw new PatternSyntaxException("Null search string", null, -1);
+        }
+
+        OMRSSearchStringMatcher matcher = matcherCache.get(searchString);
+
+        if (matcher != null)
+        {
+            if (! matcher.recentlyUsed)
+            {
+                matcher.recentlyUsed = true;
+            }
+
+            return matcher;
+        }
+
+        /*
+         * If two threads compile the same search string, the first one to be cached is used by both.
+         */
+        OMRSSearchStringMatcher newMatcher      = new OMRSSearchStringMatcher(searchString);
+        OMRSSearchStringMatcher existingMatcher = matcherCache.putIfAbsent(searchString, newMatcher);
+
+        if (existingMatcher != null)
+        {
+            return existingMatcher;
+        }
+
+        if (matcherCache.size() > maxCachedMatchers)
+        {
+            evictMatchers();
+        }
+
+        return newMatcher;
+    }
+
+
+    /**
+     * Remove matchers from the cache until it is back within its bound.  A matcher that has been used since
+     * the last sweep is given a second chance and only removed if no unused matcher can be found.
+     */
+    private static void evictMatchers()
+    {
+        Iterator<OMRSSearchStringMatcher> iterator = matcherCache.values().iterator();
+
+        while ((matcherCache.size() > maxCachedMatchers) && (iterator.hasNext()))
+        {
+            OMRSSearchStringMatcher matcher = iterator.next();
+
+            if (matcher.recentlyUsed)
+            {
+                matcher.recentlyUsed = false;
+            }
+            else
+            {
+                iterator.remove();
+            }
+        }
+
+        iterator = matcherCache.values().iterator();
+
+        while ((matcherCache.size() > maxCachedMatchers) && (iterator.hasNext()))
+        {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+
+    /**
+     * Return the search string this matcher was created from.
+     *
+     * @return regular expression
+     */
+    public String getSearchString()
+    {
+        return searchString;
+    }
+
+
+    /**
+     * Test whether the value matches the whole of the search string.
+     *
+     * @param value value to test
+     * @return boolean - false if the value is null
+     */
+    public boolean matches(String value)
+    {
+        if (value == null)
+        {
+            return false;
+        }
+
+        switch (matchStyle)
+        {
+            case EXACT:
+                return value.equals(literal);
+
+            case STARTS_WITH:
+                if (! value.startsWith(literal))
+                {
+                    return false;
+                }
+                break;
+
+            case ENDS_WITH:
+                if (! value.endsWith(literal))
+                {
+                    return false;
+                }
+                break;
+
+            case CONTAINS:
+                if (! value.contains(literal))
+                {
+                    return false;
+                }
+                break;
+
+            default:
+                break;
+        }
+
+        /*
+         * The .* wrapping does not match line terminators so values containing them are passed to the
+         * regular expression to make sure the result is the same as String.matches().
+         */
+        if ((matchStyle != MatchStyle.REGEX) && (! hasLineTerminator(value)))
+        {
+            return true;
+        }
+
+        return getPattern().matcher(value).matches();
+    }
+
+
+    /**
+     * Return the compiled search string, compiling it if this has not already been done.
+     *
+     * @return pattern
+     */
+    private Pattern getPattern()
+    {
+        Pattern compiledPattern = pattern;
+
+        if (compiledPattern == null)
+        {
+            compiledPattern = Pattern.compile(searchString);
+            pattern = compiledPattern;
+        }
+
+        return compiledPattern;
+    }
+
+
+    /**
+     * Test whether the string is a single literal quoted with \Q and \E.  This is the same test as
+     * isExactMatchRegex in OMRSRepositoryHelper.
+     *
+     * @param searchString string to test
+     * @return boolean
+     */
+    private static boolean isQuotedLiteral(String searchString)
+    {
+        return (searchString.length() >= 4)
+                && searchString.startsWith("\\Q")
+                && searchString.endsWith("\\E")
+                && searchString.indexOf("\\E") == searchString.length() - 2;
+    }
+
+
+    /**
+     * Test whether the value contains a character that the . regular expression construct does not match.
+     *
+     * @param value value to test
+     * @return boolean
+     */
+    private static boolean hasLineTerminator(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char character = value.charAt(i);
+
+            if ((character == '\n') || (character == '\r') || (character == 0x0085) || (character == 0x2028) || (character == 0x2029))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -461,6 +461,10 @@ public enum OMRSErrorCode
             "Type name {0} is invalid because it contains a blank character.",
             "The build of the archive terminates.",
             "Verify the definition of the types being added to the archive. Once the definitions have been corrected, rerun the request."),
+    ARCHIVE_ELEMENT_OUT_OF_ORDER(400, "OMRS-ARCHIVE-STORE-400-001 ",
+            "An element from the {0} section was written to open metadata archive {1} after the {2} section.",
+            "The element is rejected because the sections of an open metadata archive are written in a fixed order: archive properties, AttributeTypeDefs, TypeDef patches, new TypeDefs, entities, relationships and then classifications.",
+            "Change the code writing the archive so that it passes the elements to the archive in the order of the sections."),
     NULL_LOG_RECORD(400, "OMRS-AUDIT-LOG-400-001 ",
             "A null log record has been passed by the audit log to the audit log store.",
             "The audit log store throws an exception and the log record is not written to the audit log store.",
@@ -469,6 +473,18 @@ public enum OMRSErrorCode
             "A null log record originator has been passed by the audit log to the audit log store.",
             "The audit log store throws an exception and the log record is not written to the audit log store.",
             "This is probably an internal error in the audit log.  Raise a Github issue to get this fixed."),
+    NULL_AUDIT_LOG_QUERY_VALUE(400, "OMRS-AUDIT-LOG-400-003 ",
+            "A null {0} parameter has been passed on the {1} request to audit log store {2}",
+            "The audit log store is unable to process the request because it needs the parameter value.",
+            "Correct the caller's code and retry the request."),
+    INVALID_AUDIT_LOG_TIME_PERIOD(400, "OMRS-AUDIT-LOG-400-004 ",
+            "The start date {0} is after the end date {1} on the {2} request to audit log store {3}",
+            "The audit log store is unable to process the request because the time period is empty.",
+            "Correct the caller's code and retry the request."),
+    NEGATIVE_AUDIT_LOG_PAGING_VALUE(400, "OMRS-AUDIT-LOG-400-005 ",
+            "A negative value of {0} has been passed for the {1} parameter on the {2} request to audit log store {3}",
+            "The audit log store is unable to process the request.",
+            "The paging parameters are supplied by the caller to the API. Correct the caller's code and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001 ",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -642,6 +658,10 @@ public enum OMRSErrorCode
             "The archive builder failed to initialize.",
             "There is an internal error in the archive building process.",
             "Raise a Github issue to get this fixed."),
+    UNREADABLE_ARCHIVE(500, "OMRS-ARCHIVE-STORE-500-001 ",
+            "Open metadata archive {0} could not be read because of a {1} exception with message {2}.",
+            "The processing of the archive stops.  The elements read before the error have already been passed on.",
+            "Check that the archive file is complete and is valid JSON.  Replace the archive file with a good copy and load it again."),
     NULL_EXCHANGE_RULE(500, "OMRS-EVENT-MANAGEMENT-500-001 ",
             "A null exchange rule has been passed to one of the event management components on method {0}.",
             "There is an internal error in the OMRS initialization.",
@@ -678,6 +698,10 @@ public enum OMRSErrorCode
              "Connector {0} is unable to send a null event",
              "There is an internal error in the open metadata repository.",
              "Raise a Github issue to get this fixed."),
+    AUDIT_LOG_STORE_NOT_USABLE(500, "OMRS-AUDIT-LOG-500-001 ",
+            "The file based audit log store is unable to use directory {0}. The exception message was: {1}",
+            "The audit log store is not able to record or retrieve audit log records.",
+            "Check that the directory named in the endpoint of the audit log store connection can be created and written by the server."),
     METHOD_NOT_IMPLEMENTED(501, "OMRS-METADATA-COLLECTION-501-001 ",
             "OMRSMetadataInstanceStore method {0} for OMRS Connector {1} to repository type {2} is not implemented",
             "A method in MetadataCollectionBase was called which means that the connector's OMRSMetadataInstanceStore " +
@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.properties;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * OMRSJSONSerializer converts OMRS events and instance properties to and from JSON.  Creating a Jackson
+ * ObjectMapper is expensive and so is the first use of each of the types it maps, since Jackson introspects
+ * the classes and builds its serializers and deserializers at that point.  This class builds a single mapper
+ * along with readers and writers for the commonly used types when it is loaded.  The readers and writers are
+ * immutable and thread-safe so they are shared by all of the callers.
+ */
+public class OMRSJSONSerializer
+{
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final ObjectReader eventReader              = objectMapper.readerFor(OMRSEventBean.class);
+    private static final ObjectWriter eventWriter              = objectMapper.writerFor(OMRSEventBean.class);
+    private static final ObjectReader instancePropertiesReader = objectMapper.readerFor(InstanceProperties.class);
+    private static final ObjectWriter instancePropertiesWriter = objectMapper.writerFor(InstanceProperties.class);
+    private static final ObjectReader stringListReader         = objectMapper.readerFor(new TypeReference<List<String>>(){});
+    private static final ObjectWriter stringListWriter         = objectMapper.writerFor(new TypeReference<List<String>>(){});
+
+
+    /**
+     * Private constructor since all methods are static.
+     */
+    private OMRSJSONSerializer()
+    {
+    }
+
+
+    /**
+     * Convert an OMRS event into its JSON form.
+     *
+     * @param event event to convert
+     * @return JSON string
+     * @throws JsonProcessingException the event can not be serialized
+     */
+    public static String writeEvent(OMRSEventBean   event) throws JsonProcessingException
+    {
+        return eventWriter.writeValueAsString(event);
+    }
+
+
+    /**
+     * Parse a JSON string into an OMRS event.  The event's class is identified from the JSON.
+     *
+     * @param json JSON string
+     * @return event bean
+     * @throws IOException the string is not a valid event
+     */
+    public static OMRSEventBean readEvent(String   json) throws IOException
+    {
+        return eventReader.readValue(json);
+    }
+
+
+    /**
+     * Convert instance properties into their JSON form.
+     *
+     * @param instanceProperties properties to convert
+     * @return JSON string
+     * @throws JsonProcessingException the properties can not be serialized
+     */
+    public static String writeInstanceProperties(InstanceProperties   instanceProperties) throws JsonProcessingException
+    {
+        return instancePropertiesWriter.writeValueAsString(instanceProperties);
+    }
+
+
+    /**
+     * Parse a JSON string into instance properties.
+     *
+     * @param json JSON string
+     * @return instance properties
+     * @throws IOException the string is not valid instance properties
+     */
+    public static InstanceProperties readInstanceProperties(String   json) throws IOException
+    {
+        return instancePropertiesReader.readValue(json);
+    }
+
+
+    /**
+     * Convert a list of strings, such as the maintainedBy list of an instance, into its JSON form.
+     *
+     * @param strings list to convert
+     * @return JSON string
+     * @throws JsonProcessingException the list can not be serialized
+     */
+    public static String writeStringList(List<String>   strings) throws JsonProcessingException
+    {
+        return stringListWriter.writeValueAsString(strings);
+    }
+
+
+    /**
+     * Parse a JSON array into a list of strings.
+     *
+     * @param json JSON string
+     * @return list of strings
+     * @throws IOException the string is not a valid JSON array of strings
+     */
+    public static List<String> readStringList(String   json) throws IOException
+    {
+        return stringListReader.readValue(json);
+    }
+}
@@ -69,9 +69,19 @@ public class EntityListResponse extends OMRSAPIPagedResponse
         {
             List<EntityDetail>  clonedEntities = new ArrayList<>();
 
-            for (EntityDetail  attributeTypeDef : entities)
+            for (EntityDetail  entity : entities)
             {
-                clonedEntities.add(new EntityDetail(attributeTypeDef));
+                /*
+                 * The list returned by getEntityDetails has a null entry for each unknown entity.
+                 */
+                if (entity == null)
+                {
+                    clonedEntities.add(null);
+                }
+                else
+                {
+                    clonedEntities.add(new EntityDetail(entity));
+                }
             }
 
             return clonedEntities;
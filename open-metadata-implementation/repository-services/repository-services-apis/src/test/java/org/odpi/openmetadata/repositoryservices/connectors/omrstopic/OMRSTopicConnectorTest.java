@@ -0,0 +1,109 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1InstanceSection;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Validate that OMRSTopicConnector only gives an ordering key to events that change a single entity, so every
+ * other event is processed as a barrier.
+ */
+public class OMRSTopicConnectorTest
+{
+    private static final String entityGUID       = "entityGUID";
+    private static final String otherEntityGUID  = "otherEntityGUID";
+    private static final String relationshipGUID = "relationshipGUID";
+
+
+    /**
+     * Events for a single entity are keyed by the entity's GUID.
+     */
+    @Test
+    public void testEntityEventsKeyed()
+    {
+        OMRSTopicConnector connector = new OMRSTopicConnector();
+
+        assertEquals(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.NEW_ENTITY_EVENT)), entityGUID);
+        assertEquals(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT)), entityGUID);
+        assertEquals(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT)), entityGUID);
+
+        OMRSEventV1InstanceSection refreshRequest = new OMRSEventV1InstanceSection();
+        refreshRequest.setEventType(OMRSInstanceEventType.REFRESH_ENTITY_REQUEST);
+        refreshRequest.setInstanceGUID(entityGUID);
+
+        assertEquals(connector.getOrderingKey(getEvent(refreshRequest)), entityGUID);
+    }
+
+
+    /**
+     * Events that refer to more than one instance, and type events, have no key.
+     */
+    @Test
+    public void testMultipleInstanceEventsNotKeyed()
+    {
+        OMRSTopicConnector connector = new OMRSTopicConnector();
+
+        assertNull(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.DELETED_ENTITY_EVENT)));
+        assertNull(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.PURGED_ENTITY_EVENT)));
+        assertNull(connector.getOrderingKey(getEntityEvent(OMRSInstanceEventType.DELETE_PURGED_ENTITY_EVENT)));
+
+        OMRSEventV1InstanceSection reIdentified = getEntityEvent(OMRSInstanceEventType.RE_IDENTIFIED_ENTITY_EVENT).getInstanceEventSection();
+        reIdentified.setOriginalInstanceGUID(otherEntityGUID);
+
+        assertNull(connector.getOrderingKey(getEvent(reIdentified)));
+
+        Relationship relationship = new Relationship();
+        EntityProxy  entityOne    = new EntityProxy();
+        EntityProxy  entityTwo    = new EntityProxy();
+
+        entityOne.setGUID(entityGUID);
+        entityTwo.setGUID(otherEntityGUID);
+        relationship.setGUID(relationshipGUID);
+        relationship.setEntityOneProxy(entityOne);
+        relationship.setEntityTwoProxy(entityTwo);
+
+        OMRSEventV1InstanceSection newRelationship = new OMRSEventV1InstanceSection();
+        newRelationship.setEventType(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT);
+        newRelationship.setRelationship(relationship);
+
+        assertNull(connector.getOrderingKey(getEvent(newRelationship)));
+
+        OMRSEventV1 typeDefEvent = new OMRSEventV1();
+        typeDefEvent.setEventCategory(OMRSEventCategory.TYPEDEF);
+
+        assertNull(connector.getOrderingKey(typeDefEvent));
+    }
+
+
+    private OMRSEventV1 getEntityEvent(OMRSInstanceEventType eventType)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(entityGUID);
+
+        OMRSEventV1InstanceSection instanceSection = new OMRSEventV1InstanceSection();
+        instanceSection.setEventType(eventType);
+        instanceSection.setEntity(entity);
+
+        return getEvent(instanceSection);
+    }
+
+
+    private OMRSEventV1 getEvent(OMRSEventV1InstanceSection instanceSection)
+    {
+        OMRSEventV1 event = new OMRSEventV1();
+        event.setEventCategory(OMRSEventCategory.INSTANCE);
+        event.setInstanceEventSection(instanceSection);
+
+        return event;
+    }
+}
@@ -0,0 +1,105 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMRSTopicListenerDispatcher keeps the events for each key in order, processes barrier events
+ * after everything queued before them and completes the futures for the events.
+ */
+public class OMRSTopicListenerDispatcherTest
+{
+    /**
+     * Validate the ordering of the events and the futures.
+     *
+     * @throws Exception problem dispatching the events
+     */
+    @Test
+    public void testOrderedDispatch() throws Exception
+    {
+        final int numberOfKeys = 8;
+        final int eventsPerKey = 200;
+
+        ExecutorService             workerPool  = Executors.newFixedThreadPool(4);
+        OMRSTopicListenerDispatcher dispatcher  = new OMRSTopicListenerDispatcher(new OMRSTopicListenerBase("Test"),
+                                                                                  "Test",
+                                                                                  workerPool,
+                                                                                  4,
+                                                                                  16);
+        Map<String, List<Integer>>  processed   = new HashMap<>();
+        List<Integer>               barrierSeen = new ArrayList<>();
+        List<OMRSFuture>            futures     = new ArrayList<>();
+
+        for (int key = 0; key < numberOfKeys; key++)
+        {
+            processed.put("guid-" + key, Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        try
+        {
+            for (int i = 0; i < eventsPerKey; i++)
+            {
+                for (int key = 0; key < numberOfKeys; key++)
+                {
+                    final List<Integer> keyEvents = processed.get("guid-" + key);
+                    final int           sequence  = i;
+
+                    futures.add(dispatcher.dispatch("guid-" + key, null, () -> keyEvents.add(sequence)));
+                }
+            }
+
+            OMRSFuture barrier = dispatcher.dispatch(null, null, () ->
+            {
+                int total = 0;
+
+                for (List<Integer> keyEvents : processed.values())
+                {
+                    total += keyEvents.size();
+                }
+
+                barrierSeen.add(total);
+            });
+
+            assertTrue(barrier.isDone());
+            assertEquals(barrierSeen, Collections.singletonList(numberOfKeys * eventsPerKey));
+
+            for (List<Integer> keyEvents : processed.values())
+            {
+                assertEquals(keyEvents.size(), eventsPerKey);
+
+                for (int i = 0; i < eventsPerKey; i++)
+                {
+                    assertEquals((int)keyEvents.get(i), i);
+                }
+            }
+
+            for (OMRSFuture future : futures)
+            {
+                assertTrue(future.isDone());
+            }
+
+            OMRSTopicListenerDispatchStatus status = dispatcher.getStatus();
+
+            assertEquals(status.getQueueDepth(), 0);
+            assertEquals(status.getQueueCapacity(), 16);
+            assertEquals(status.getEventsProcessed(), numberOfKeys * eventsPerKey + 1);
+        }
+        finally
+        {
+            workerPool.shutdown();
+        }
+    }
+}
@@ -6,6 +6,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.p
 
 public class MockOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveStoreConnector
 {
+    private OpenMetadataArchive archiveContents = null;
+
+
     /**
      * Return the contents of the archive.
      *
@@ -13,7 +16,7 @@ public class MockOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveSt
      */
     public OpenMetadataArchive getArchiveContents()
     {
-        return null;
+        return archiveContents;
     }
 
 
@@ -24,6 +27,6 @@ public class MockOpenMetadataArchiveStoreConnector extends OpenMetadataArchiveSt
      */
     public void setArchiveContents(OpenMetadataArchive   archiveContents)
     {
-
+        this.archiveContents = archiveContents;
     }
 }
@@ -2,11 +2,28 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
 /**
- * OpenMetadataArchiveStoreConnectorTest just tests the null constructor and the fact that the connector
- * is auditable.
+ * OpenMetadataArchiveStoreConnectorTest tests the null constructor, the fact that the connector
+ * is auditable and the default implementations of the streaming methods.
  */
 public class OpenMetadataArchiveStoreConnectorTest
 {
@@ -16,4 +33,87 @@ public class OpenMetadataArchiveStoreConnectorTest
 
        connector.setAuditLog(null);
    }
+
+
+   @Test public void testArchiveStream()
+   {
+       OpenMetadataArchiveStoreConnector connector = new MockOpenMetadataArchiveStoreConnector();
+
+       /*
+        * An empty archive only produces the call to processArchiveComplete.
+        */
+       List<String> calls = new ArrayList<>();
+
+       connector.processArchiveContents(new RecordingListener(calls));
+
+       assertEquals(calls, Collections.singletonList("complete"));
+
+       /*
+        * Elements passed to the writer are stored in the archive when it is complete.
+        */
+       OpenMetadataArchiveStreamListener writer = connector.getArchiveStreamWriter();
+
+       assertNotNull(writer);
+
+       OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+       EntityDetail                  entity            = new EntityDetail();
+       Relationship                  relationship      = new Relationship();
+
+       archiveProperties.setArchiveGUID("testArchiveGUID");
+       entity.setGUID("testEntityGUID");
+       relationship.setGUID("testRelationshipGUID");
+
+       writer.processArchiveProperties(archiveProperties);
+       writer.processEntity(entity);
+       writer.processRelationship(relationship);
+
+       assertNull(connector.getArchiveContents());
+
+       writer.processArchiveComplete();
+
+       OpenMetadataArchive archive = connector.getArchiveContents();
+
+       assertNotNull(archive);
+       assertEquals(archive.getArchiveProperties().getArchiveGUID(), "testArchiveGUID");
+       assertNull(archive.getArchiveTypeStore());
+       assertEquals(archive.getArchiveInstanceStore().getEntities().size(), 1);
+       assertEquals(archive.getArchiveInstanceStore().getEntities().get(0).getGUID(), "testEntityGUID");
+       assertEquals(archive.getArchiveInstanceStore().getRelationships().size(), 1);
+       assertEquals(archive.getArchiveInstanceStore().getRelationships().get(0).getGUID(), "testRelationshipGUID");
+       assertNull(archive.getArchiveInstanceStore().getClassifications());
+
+       /*
+        * The stored archive is passed back in archive order.
+        */
+       calls.clear();
+       connector.processArchiveContents(new RecordingListener(calls));
+
+       assertEquals(calls, Arrays.asList("properties:testArchiveGUID",
+                                         "entity:testEntityGUID",
+                                         "relationship:testRelationshipGUID",
+                                         "complete"));
+   }
+
+
+   /**
+    * Listener that records the calls made to it.
+    */
+   private static class RecordingListener implements OpenMetadataArchiveStreamListener
+   {
+       private List<String> calls;
+
+       RecordingListener(List<String> calls)
+       {
+           this.calls = calls;
+       }
+
+       public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties) { calls.add("properties:" + archiveProperties.getArchiveGUID()); }
+       public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef) { calls.add("attributeTypeDef:" + attributeTypeDef.getGUID()); }
+       public void processTypeDefPatch(TypeDefPatch typeDefPatch) { calls.add("typeDefPatch:" + typeDefPatch.getTypeDefGUID()); }
+       public void processNewTypeDef(TypeDef typeDef) { calls.add("typeDef:" + typeDef.getGUID()); }
+       public void processEntity(EntityDetail entity) { calls.add("entity:" + entity.getGUID()); }
+       public void processRelationship(Relationship relationship) { calls.add("relationship:" + relationship.getGUID()); }
+       public void processClassification(ClassificationEntityExtension classification) { calls.add("classification"); }
+       public void processArchiveComplete() { calls.add("complete"); }
+   }
 }
@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that OMRSSearchStringMatcher gives the same results as String.matches() for the search strings built by
+ * the repository helper and for general regular expressions.
+ */
+public class OMRSSearchStringMatcherTest
+{
+    private static final String[] literals = { "Asset", "my-search-string", "a.b*c", "", "\\Qquoted\\E", "x\\Ey" };
+
+    private static final String[] values = { "Asset", "DataAsset", "AssetSchema", "MyAssetType", "asset",
+                                             "my-search-string", "a.b*c", "abbbc", "Data\nAsset", "Asset\r\n",
+                                             "", "\\Qquoted\\E", "x\\Ey", "prefix x\\Ey suffix" };
+
+
+    /**
+     * Compare the matcher with String.matches() for a search string.
+     *
+     * @param searchString regular expression
+     */
+    private void verifySameResults(String searchString)
+    {
+        OMRSSearchStringMatcher matcher = OMRSSearchStringMatcher.getMatcher(searchString);
+
+        for (String value : values)
+        {
+            assertEquals(matcher.matches(value), value.matches(searchString), searchString + " against " + value);
+        }
+    }
+
+
+    /**
+     * Validate the exact match, starts with, ends with and contains search strings.
+     */
+    @Test public void testLiteralSearchStrings()
+    {
+        for (String literal : literals)
+        {
+            String quoted = Pattern.quote(literal);
+
+            verifySameResults(quoted);
+            verifySameResults(quoted + ".*");
+            verifySameResults(".*" + quoted);
+            verifySameResults(".*" + quoted + ".*");
+        }
+    }
+
+
+    /**
+     * Validate general regular expressions.
+     */
+    @Test public void testRegexSearchStrings()
+    {
+        verifySameResults("Asset");
+        verifySameResults(".*Asset.*");
+        verifySameResults("(?i).*asset.*");
+        verifySameResults("a.b*c");
+        verifySameResults(".*");
+        verifySameResults(".*.*");
+        verifySameResults("\\Q\\E");
+    }
+
+
+    /**
+     * Validate the handling of null values, the cache and invalid search strings.
+     */
+    @Test public void testEdgeCases()
+    {
+        assertFalse(OMRSSearchStringMatcher.getMatcher(".*").matches(null));
+        assertSame(OMRSSearchStringMatcher.getMatcher("Asset.*"), OMRSSearchStringMatcher.getMatcher("Asset.*"));
+
+        try
+        {
+            OMRSSearchStringMatcher.getMatcher("Asset(");
+            fail();
+        }
+        catch (PatternSyntaxException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            OMRSSearchStringMatcher.getMatcher(null);
+            fail();
+        }
+        catch (PatternSyntaxException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Validate that matchers stay correct while many threads fill the cache beyond its bound.
+     *
+     * @throws Exception test failure
+     */
+    @Test public void testConcurrentCache() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> results  = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++)
+        {
+            results.add(executor.submit(() ->
+            {
+                for (int i = 0; i < 1000; i++)
+                {
+                    String literal = "Asset" + (i % 600);
+
+                    assertTrue(OMRSSearchStringMatcher.getMatcher(Pattern.quote(literal) + ".*").matches(literal + "Schema"));
+                    assertFalse(OMRSSearchStringMatcher.getMatcher(Pattern.quote(literal)).matches(literal + "Schema"));
+                    assertTrue(OMRSSearchStringMatcher.getMatcher("(?i)" + literal).matches(literal.toUpperCase()));
+                }
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertSame(OMRSSearchStringMatcher.getMatcher("Asset.*"), OMRSSearchStringMatcher.getMatcher("Asset.*"));
+    }
+}
@@ -0,0 +1,87 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.properties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that OMRSJSONSerializer produces the same JSON as a freshly created ObjectMapper and that
+ * the JSON can be parsed back into the original objects.
+ */
+public class OMRSJSONSerializerTest
+{
+    /**
+     * Validate that events survive a round trip and keep their class information.
+     *
+     * @throws Exception problem with the serialization
+     */
+    @Test
+    public void testEvent() throws Exception
+    {
+        OMRSEventV1 event = new OMRSEventV1();
+
+        event.setTimestamp(new Date(1000L));
+        event.setEventCategory(OMRSEventCategory.INSTANCE);
+
+        String json = OMRSJSONSerializer.writeEvent(event);
+
+        assertEquals(json, new ObjectMapper().writeValueAsString(event));
+
+        OMRSEventBean eventBean = OMRSJSONSerializer.readEvent(json);
+
+        assertTrue(eventBean instanceof OMRSEventV1);
+        assertEquals(((OMRSEventV1)eventBean).getTimestamp(), event.getTimestamp());
+        assertEquals(((OMRSEventV1)eventBean).getEventCategory(), OMRSEventCategory.INSTANCE);
+    }
+
+
+    /**
+     * Validate that instance properties survive a round trip.
+     *
+     * @throws Exception problem with the serialization
+     */
+    @Test
+    public void testInstanceProperties() throws Exception
+    {
+        InstanceProperties     instanceProperties = new InstanceProperties();
+        PrimitivePropertyValue propertyValue      = new PrimitivePropertyValue();
+
+        propertyValue.setPrimitiveValue("TestValue");
+        instanceProperties.setProperty("TestProperty", propertyValue);
+
+        String json = OMRSJSONSerializer.writeInstanceProperties(instanceProperties);
+
+        assertEquals(json, new ObjectMapper().writeValueAsString(instanceProperties));
+        assertEquals(OMRSJSONSerializer.readInstanceProperties(json), instanceProperties);
+    }
+
+
+    /**
+     * Validate that string lists survive a round trip.
+     *
+     * @throws Exception problem with the serialization
+     */
+    @Test
+    public void testStringList() throws Exception
+    {
+        List<String> strings = new ArrayList<>();
+
+        strings.add("TestUser1");
+        strings.add("TestUser2");
+
+        assertEquals(OMRSJSONSerializer.readStringList(OMRSJSONSerializer.writeStringList(strings)), strings);
+    }
+}
@@ -3,6 +3,7 @@
 package org.odpi.openmetadata.repositoryservices.archivemanager;
 
 import org.odpi.openmetadata.opentypes.OpenMetadataTypesArchive;
+import org.odpi.openmetadata.opentypes.OpenMetadataTypesBinaryArchive;
 
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
@@ -11,16 +12,20 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveReplayer;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStreamListener;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
@@ -28,6 +33,8 @@ import java.util.List;
  */
 public class OMRSArchiveManager
 {
+    private static final int instanceBatchSize = 1000;
+
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private OMRSInstanceEventProcessorInterface     localInstanceEventProcessor = null;
@@ -106,7 +113,16 @@ public class OMRSArchiveManager
          */
         for (OpenMetadataArchiveStoreConnector archiveStore : this.openMetadataArchiveStores)
         {
-            processOpenMetadataArchiveStore(archiveStore, repositoryContentManager, instanceProcessor);
+            try
+            {
+                processOpenMetadataArchiveStore(archiveStore, repositoryContentManager, instanceProcessor);
+            }
+            catch (OMRSLogicErrorException error)
+            {
+                /*
+                 * The failure is in the audit log.  The server starts with the other archives.
+                 */
+            }
         }
     }
 
@@ -116,8 +132,9 @@ public class OMRSArchiveManager
      * This method allows archives to be loaded into a running server.
      *
      * @param archiveStore  new open metadata archive to process
+     * @throws OMRSLogicErrorException the archive can not be read
      */
-    public void addOpenMetadataArchive(OpenMetadataArchiveStoreConnector     archiveStore)
+    public void addOpenMetadataArchive(OpenMetadataArchiveStoreConnector     archiveStore) throws OMRSLogicErrorException
     {
         this.processOpenMetadataArchiveStore(archiveStore, repositoryContentManager, localInstanceEventProcessor);
         this.openMetadataArchiveStores.add(archiveStore);
@@ -125,159 +142,247 @@ public class OMRSArchiveManager
 
 
     /**
-     * Unpack and process the contents an open metadata archive store, passing its contents to the local
-     * repository (if it exists).
+     * Unpack and process the contents of the open metadata types archive, passing its contents to the local
+     * repository (if it exists).  The archive is loaded from its precompiled binary copy if it is on the
+     * classpath, otherwise it is rebuilt.
      */
     private void processOpenMetadataTypes()
     {
-        OpenMetadataTypesArchive openMetadataTypesArchive = new OpenMetadataTypesArchive();
-        OpenMetadataArchive      openMetadataTypes        = openMetadataTypesArchive.getOpenMetadataArchive();
+        final String actionDescription = "Process Open Metadata Types";
+
+        long                startTime         = System.currentTimeMillis();
+        OpenMetadataArchive openMetadataTypes = OpenMetadataTypesBinaryArchive.getOpenMetadataArchive();
+        String              archiveSource     = OpenMetadataTypesBinaryArchive.archiveResourceName;
+
+        if (openMetadataTypes == null)
+        {
+            openMetadataTypes = new OpenMetadataTypesArchive().getOpenMetadataArchive();
+            archiveSource     = OpenMetadataTypesArchive.class.getName();
+        }
 
-        repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypesArchive.getArchiveGUID());
-        processOpenMetadataArchive(openMetadataTypes, repositoryContentManager, localInstanceEventProcessor);
+        if (openMetadataTypes.getArchiveProperties() != null)
+        {
+            repositoryContentManager.setOpenMetadataTypesOriginGUID(openMetadataTypes.getArchiveProperties().getArchiveGUID());
+        }
+
+        OpenMetadataArchiveReplayer.replay(openMetadataTypes,
+                                           new ArchiveStreamProcessor(repositoryContentManager, localInstanceEventProcessor));
+
+        OMRSAuditCode auditCode = OMRSAuditCode.OPEN_METADATA_TYPES_LOADED;
+        auditLog.logRecord(actionDescription,
+                           auditCode.getLogMessageId(),
+                           auditCode.getSeverity(),
+                           auditCode.getFormattedLogMessage(archiveSource,
+                                                            Long.toString(System.currentTimeMillis() - startTime)),
+                           null,
+                           auditCode.getSystemAction(),
+                           auditCode.getUserAction());
     }
 
 
     /**
      * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * repository (if it exists).  The archive store passes the archive's elements one at a time so
+     * that large archives do not need to be held in memory.  If the archive can not be read, the failure
+     * is recorded in the audit log and the exception is passed on.
      *
      * @param archiveStore open metadata archive  to process
      * @param typeDefProcessor receiver of new TypeDefs
      * @param instanceProcessor receiver of new instances
+     * @throws OMRSLogicErrorException the archive can not be read
      */
     private void processOpenMetadataArchiveStore(OpenMetadataArchiveStoreConnector    archiveStore,
                                                  OMRSTypeDefEventProcessorInterface   typeDefProcessor,
-                                                 OMRSInstanceEventProcessorInterface  instanceProcessor)
+                                                 OMRSInstanceEventProcessorInterface  instanceProcessor) throws OMRSLogicErrorException
     {
         if (archiveStore != null)
         {
+            ArchiveStreamProcessor archiveProcessor = new ArchiveStreamProcessor(typeDefProcessor, instanceProcessor);
+
             /*
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
              * metadata instances.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
-
-            if (archiveContent == null)
+            try
             {
-                final String     actionDescription = "Process Open Metadata Archive";
-
-                OMRSAuditCode auditCode = OMRSAuditCode.EMPTY_ARCHIVE;
-                auditLog.logRecord(actionDescription,
-                                   auditCode.getLogMessageId(),
-                                   auditCode.getSeverity(),
-                                   auditCode.getFormattedLogMessage(),
-                                   null,
-                                   auditCode.getSystemAction(),
-                                   auditCode.getUserAction());
+                archiveStore.processArchiveContents(archiveProcessor);
             }
-            else
+            catch (OMRSLogicErrorException error)
             {
-                processOpenMetadataArchive(archiveContent, typeDefProcessor, instanceProcessor);
+                archiveProcessor.processArchiveFailed(error);
+                throw error;
             }
         }
     }
 
 
     /**
-     * Step through the content of an open metadata archive, passing its contents to the local repository (if it
-     * exists).
+     * Return whether the local repository already stores the type at the same version.
      *
-     * @param archiveContent open metadata archive to process
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @param instanceProcessor processor of instances found in the archive
+     * @param localTypeVersions versions of the types stored in the local repository, keyed by GUID (may be null)
+     * @param typeGUID unique identifier of the type from the archive
+     * @param typeVersion version of the type from the archive
+     * @return boolean
      */
-    private void processOpenMetadataArchive(OpenMetadataArchive                   archiveContent,
-                                            OMRSTypeDefEventProcessorInterface    typeDefProcessor,
-                                            OMRSInstanceEventProcessorInterface   instanceProcessor)
+    private boolean isStoredLocally(Map<String, Long> localTypeVersions,
+                                    String            typeGUID,
+                                    long              typeVersion)
     {
-        OMRSAuditCode    auditCode;
-        final String     actionDescription = "Process Open Metadata Archive";
+        if ((localTypeVersions == null) || (typeGUID == null))
+        {
+            return false;
+        }
 
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
+        Long storedVersion = localTypeVersions.get(typeGUID);
 
-        if (archiveProperties != null)
-        {
-            auditCode = OMRSAuditCode.PROCESSING_ARCHIVE;
-            auditLog.logRecord(actionDescription,
-                               auditCode.getLogMessageId(),
-                               auditCode.getSeverity(),
-                               auditCode.getFormattedLogMessage(archiveProperties.getArchiveName()),
-                               null,
-                               auditCode.getSystemAction(),
-                               auditCode.getUserAction());
+        return (storedVersion != null) && (storedVersion == typeVersion);
+    }
 
 
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
+    /**
+     * Set up the header of an archive instance.
+     *
+     * @param metadataCollectionId home metadata collection id
+     * @param metadataConnectionName name of the metadata collection
+     * @param originatorName originator name
+     * @param creationTime creation time of archive
+     * @param provenanceType type of archive
+     * @param originatorLicense any license info
+     * @param instance instance to fill in
+     */
+    private void setInstanceAuditHeader(String                 metadataCollectionId,
+                                        String                 metadataConnectionName,
+                                        String                 originatorName,
+                                        Date                   creationTime,
+                                        InstanceProvenanceType provenanceType,
+                                        String                 originatorLicense,
+                                        InstanceAuditHeader    instance)
+    {
+        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+        {
+            if (instance.getMetadataCollectionId() == null)
+            {
+                instance.setMetadataCollectionId(metadataCollectionId);
+            }
 
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
+            if (instance.getMetadataCollectionName() == null)
+            {
+                instance.setMetadataCollectionName(metadataConnectionName);
+            }
 
+            if (instance.getCreatedBy() == null)
+            {
+                instance.setCreatedBy(originatorName);
+            }
 
-            if (archiveTypeStore != null)
+            if (instance.getCreateTime() == null)
             {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
+                instance.setCreateTime(creationTime);
             }
 
-            if (archiveInstanceStore != null)
+            if (instance.getInstanceProvenanceType() == null)
             {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                instance.setInstanceProvenanceType(provenanceType);
             }
 
-            auditCode = OMRSAuditCode.COMPLETED_ARCHIVE;
-            auditLog.logRecord(actionDescription,
-                               auditCode.getLogMessageId(),
-                               auditCode.getSeverity(),
-                               auditCode.getFormattedLogMessage(Integer.toString(typeCount),
-                                                                Integer.toString(instanceCount),
-                                                                archiveProperties.getArchiveName()),
-                               null,
-                               auditCode.getSystemAction(),
-                               auditCode.getUserAction());
+            if (instance.getInstanceLicense() == null)
+            {
+                instance.setInstanceLicense(originatorLicense);
+            }
         }
-        else
+        else /* assume this is a content pack and set up instances consistently */
         {
-            auditCode = OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE;
-            auditLog.logRecord(actionDescription,
-                               auditCode.getLogMessageId(),
-                               auditCode.getSeverity(),
-                               auditCode.getFormattedLogMessage(),
-                               null,
-                               auditCode.getSystemAction(),
-                               auditCode.getUserAction());
+            instance.setMetadataCollectionId(metadataCollectionId);
+            instance.setMetadataCollectionName(metadataConnectionName);
+            instance.setCreatedBy(originatorName);
+            instance.setCreateTime(creationTime);
+            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
+            instance.setInstanceLicense(originatorLicense);
         }
     }
 
 
     /**
-     * The TypeStore is in two parts.  First there is an optional list of patches to existing TypeDefs.
-     * Then an optional list of new TypeDefs.  It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
+     * ArchiveStreamProcessor steps through the content of an open metadata archive one element at a time, passing
+     * its contents to the local repository (if it exists).  The archive properties come first and are used to fill
+     * in the originator details for the types and instances that follow.
+     *
+     * Types are passed to the TypeDef processor as they arrive.  It is possible that this archive has been processed
+     * before and so any duplicates detected are ignored.  However, conflicting TypeDefs are detected.
+     * New types that the local repository already stores with the same GUID and version are just cached
+     * in the repository content manager rather than being verified with the repository one at a time.
      *
-     * @param archiveProperties properties of the archive used for logging
-     * @param archiveTypeStore TypeStore from the archive
-     * @param typeDefProcessor processor of type definitions found in the archive
-     * @return type count
+     * The instances are passed to the local repository in batches so that it can store many instances
+     * in each of its transactions.  All of the entities are processed before the relationships
+     * that link them.  Any problems found in applying the archive contents are recorded on the audit log.
      */
-    private int  processTypeDefStore(OpenMetadataArchiveProperties          archiveProperties,
-                                     OpenMetadataArchiveTypeStore           archiveTypeStore,
-                                     OMRSTypeDefEventProcessorInterface     typeDefProcessor)
+    private class ArchiveStreamProcessor implements OpenMetadataArchiveStreamListener
     {
-        List<TypeDefPatch>     typeDefPatches       = archiveTypeStore.getTypeDefPatches();
-        List<AttributeTypeDef> newAttributeTypeDefs = archiveTypeStore.getAttributeTypeDefs();
-        List<TypeDef>          newTypeDefs          = archiveTypeStore.getNewTypeDefs();
-        int                    typeCount            = 0;
+        private static final String actionDescription = "Process Open Metadata Archive";
 
-        if (typeDefProcessor != null)
+        private OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private OMRSInstanceEventProcessorInterface instanceProcessor;
+        private String                              sourceName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
+
+        private OpenMetadataArchiveProperties       archiveProperties   = null;
+        private boolean                             elementsIgnored     = false;
+        private int                                 typeCount           = 0;
+        private int                                 storedTypeCount     = 0;
+        private int                                 instanceCount       = 0;
+
+        /*
+         * Details of the archive used when processing types.
+         */
+        private String                              originatorMetadataCollectionId = null;
+        private String                              originatorServerName           = null;
+        private String                              originatorServerType           = null;
+        private String                              originatorName                 = null;
+        private String                              originatorOrganizationName     = null;
+        private Map<String, Long>                   localTypeVersions              = null;
+        private boolean                             localTypeVersionsRetrieved     = false;
+
+        /*
+         * Details of the archive used when processing instances.
+         */
+        private String                              homeMetadataCollectionId = null;
+        private String                              archiveName              = null;
+        private String                              instanceServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
+        private InstanceProvenanceType              provenanceType           = InstanceProvenanceType.CONTENT_PACK;
+        private Date                                archiveCreationTime      = null;
+        private String                              instanceCreatedBy        = null;
+        private String                              originatorLicense        = null;
+        private List<EntityDetail>                  entityBatch              = new ArrayList<>();
+        private List<Relationship>                  relationshipBatch        = new ArrayList<>();
+
+
+        /**
+         * Constructor supplies the destinations for the archive's contents.
+         *
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor processor of instances found in the archive.  It may be null
+         *                          if there is no local repository configured for this server.
+         */
+        ArchiveStreamProcessor(OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                               OMRSInstanceEventProcessorInterface instanceProcessor)
         {
-            String       sourceName = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String       originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
-            String       originatorServerName = archiveProperties.getArchiveName();
-            String       originatorServerType = null;
-            String       originatorName = archiveProperties.getOriginatorName();
-            String       originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            this.typeDefProcessor = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+        }
+
+
+        /**
+         * Save the details of the archive and record that it is being processed.
+         *
+         * @param archiveProperties properties of the archive
+         */
+        public void processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            this.archiveProperties = archiveProperties;
+
+            originatorMetadataCollectionId = archiveProperties.getArchiveGUID();
+            originatorServerName = archiveProperties.getArchiveName();
+            originatorName = archiveProperties.getOriginatorName();
+            originatorOrganizationName = archiveProperties.getOriginatorOrganization();
 
             /*
              * Originator name can not be null since it is used as the userId for calls to the repository
@@ -292,257 +397,355 @@ public class OMRSArchiveManager
                 originatorServerType = archiveProperties.getArchiveType().getName();
             }
 
-            if (typeDefPatches != null)
+            homeMetadataCollectionId = archiveProperties.getArchiveGUID();
+            archiveName = archiveProperties.getArchiveName();
+            archiveCreationTime = archiveProperties.getCreationDate();
+            instanceCreatedBy = archiveProperties.getOriginatorName();
+            originatorLicense = archiveProperties.getOriginatorLicense();
+
+            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
             {
-                for (TypeDefPatch typeDefPatch : typeDefPatches)
-                {
-                    if (typeDefPatch != null)
-                    {
-                        typeDefProcessor.processUpdatedTypeDefEvent(originatorName,
-                                                                    originatorMetadataCollectionId,
-                                                                    originatorServerName,
-                                                                    originatorServerType,
-                                                                    originatorOrganizationName,
-                                                                    typeDefPatch);
-                        typeCount ++;
-                    }
-                }
+                provenanceType     = InstanceProvenanceType.EXPORT_ARCHIVE;
+                instanceServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
             }
 
-            if (newAttributeTypeDefs != null)
+            OMRSAuditCode auditCode = OMRSAuditCode.PROCESSING_ARCHIVE;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(archiveName),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
+
+
+        /**
+         * Pass a new AttributeTypeDef to the local repository unless it is already stored there.
+         *
+         * @param attributeTypeDef new AttributeTypeDef
+         */
+        public void processAttributeTypeDef(AttributeTypeDef attributeTypeDef)
+        {
+            if ((attributeTypeDef != null) && (this.isArchiveAccepted()) && (typeDefProcessor != null))
             {
-                for (AttributeTypeDef newAttributeTypeDef : newAttributeTypeDefs)
+                if (isStoredLocally(this.getLocalTypeVersions(), attributeTypeDef.getGUID(), attributeTypeDef.getVersion()))
                 {
-                    if (newAttributeTypeDef != null)
-                    {
-                        typeDefProcessor.processNewAttributeTypeDefEvent(originatorName,
-                                                                originatorMetadataCollectionId,
-                                                                originatorServerName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                newAttributeTypeDef);
-
-                        typeCount ++;
-                    }
+                    repositoryContentManager.addAttributeTypeDef(sourceName, attributeTypeDef);
+                    storedTypeCount ++;
                 }
+                else
+                {
+                    typeDefProcessor.processNewAttributeTypeDefEvent(originatorName,
+                                                                     originatorMetadataCollectionId,
+                                                                     originatorServerName,
+                                                                     originatorServerType,
+                                                                     originatorOrganizationName,
+                                                                     attributeTypeDef);
+                }
+
+                typeCount ++;
+            }
+        }
+
+
+        /**
+         * Pass a patch for an existing TypeDef to the local repository.
+         *
+         * @param typeDefPatch patch to a TypeDef
+         */
+        public void processTypeDefPatch(TypeDefPatch typeDefPatch)
+        {
+            if ((typeDefPatch != null) && (this.isArchiveAccepted()) && (typeDefProcessor != null))
+            {
+                typeDefProcessor.processUpdatedTypeDefEvent(originatorName,
+                                                            originatorMetadataCollectionId,
+                                                            originatorServerName,
+                                                            originatorServerType,
+                                                            originatorOrganizationName,
+                                                            typeDefPatch);
+                typeCount ++;
             }
+        }
+
 
-            if (newTypeDefs != null)
+        /**
+         * Pass a new TypeDef to the local repository unless it is already stored there.
+         *
+         * @param typeDef new TypeDef
+         */
+        public void processNewTypeDef(TypeDef typeDef)
+        {
+            if ((typeDef != null) && (this.isArchiveAccepted()) && (typeDefProcessor != null))
             {
-                for (TypeDef newTypeDef : newTypeDefs)
+                if (isStoredLocally(this.getLocalTypeVersions(), typeDef.getGUID(), typeDef.getVersion()))
                 {
-                    if (newTypeDef != null)
-                    {
-                        typeDefProcessor.processNewTypeDefEvent(originatorName,
-                                                                originatorMetadataCollectionId,
-                                                                originatorServerName,
-                                                                originatorServerType,
-                                                                originatorOrganizationName,
-                                                                newTypeDef);
-                        typeCount ++;
-                    }
+                    repositoryContentManager.addTypeDef(sourceName, typeDef);
+                    storedTypeCount ++;
+                }
+                else
+                {
+                    typeDefProcessor.processNewTypeDefEvent(originatorName,
+                                                            originatorMetadataCollectionId,
+                                                            originatorServerName,
+                                                            originatorServerType,
+                                                            originatorOrganizationName,
+                                                            typeDef);
                 }
+
+                typeCount ++;
             }
         }
 
-        return typeCount;
-    }
 
+        /**
+         * Add an entity to the current batch, passing the batch to the local repository once it is full.
+         *
+         * @param entity entity
+         */
+        public void processEntity(EntityDetail entity)
+        {
+            if ((entity != null) && (this.isArchiveAccepted()) && (instanceProcessor != null))
+            {
+                setInstanceAuditHeader(homeMetadataCollectionId,
+                                       archiveName,
+                                       instanceCreatedBy,
+                                       archiveCreationTime,
+                                       provenanceType,
+                                       originatorLicense,
+                                       entity);
+
+                entityBatch.add(entity);
+                instanceCount ++;
+
+                if (entityBatch.size() >= instanceBatchSize)
+                {
+                    this.sendEntityBatch();
+                }
+            }
+        }
 
-    /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
-     *
-     * It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting instances are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
-     */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
-    {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
 
-        if (instanceProcessor != null)
+        /**
+         * Add a relationship to the current batch, passing the batch to the local repository once it is full.
+         * Any waiting entities are sent first.
+         *
+         * @param relationship relationship
+         */
+        public void processRelationship(Relationship relationship)
         {
-            String                 sourceName                 = OMRSAuditingComponent.ARCHIVE_MANAGER.getComponentName();
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
+            if ((relationship != null) && (this.isArchiveAccepted()) && (instanceProcessor != null))
+            {
+                this.sendEntityBatch();
 
+                setInstanceAuditHeader(homeMetadataCollectionId,
+                                       archiveName,
+                                       instanceCreatedBy,
+                                       archiveCreationTime,
+                                       provenanceType,
+                                       originatorLicense,
+                                       relationship);
 
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
-            {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+                relationshipBatch.add(relationship);
+                instanceCount ++;
+
+                if (relationshipBatch.size() >= instanceBatchSize)
+                {
+                    this.sendRelationshipBatch();
+                }
             }
+        }
 
 
-            if (entities != null)
+        /**
+         * Set up the header of a classification from the archive.
+         *
+         * @param classificationEntityExtension classification and the entity it belongs to
+         */
+        public void processClassification(ClassificationEntityExtension classificationEntityExtension)
+        {
+            if ((classificationEntityExtension != null) && (this.isArchiveAccepted()) && (instanceProcessor != null))
             {
-                for (EntityDetail entity : entities)
-                {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
-
-                        instanceProcessor.processNewEntityEvent(sourceName,
+                this.sendEntityBatch();
+                this.sendRelationshipBatch();
+
+                Classification classification = classificationEntityExtension.getClassification();
+
+                setInstanceAuditHeader(homeMetadataCollectionId,
+                                       archiveName,
+                                       instanceCreatedBy,
+                                       archiveCreationTime,
+                                       provenanceType,
+                                       originatorLicense,
+                                       classification);
+
+                classificationEntityExtension.setClassification(classification);
+
+                // Todo
+                /* new method required
+                instanceProcessor.processNewClassificationEvent(sourceName,
                                                                 homeMetadataCollectionId,
-                                                                archiveName,
+                                                                originatorServerName,
                                                                 originatorServerType,
                                                                 originatorOrganizationName,
-                                                                entity);
+                                                                classificationEntityExtension);
 
-                        instanceCount++;
-                    }
-                }
+                instanceCount ++;
+                */
             }
+        }
 
 
-            if (relationships != null)
+        /**
+         * Send any waiting instances to the local repository and record the outcome of processing the archive.
+         */
+        public void processArchiveComplete()
+        {
+            OMRSAuditCode auditCode;
+
+            this.sendEntityBatch();
+            this.sendRelationshipBatch();
+
+            if (archiveProperties != null)
             {
-                for (Relationship relationship : relationships)
+                if (storedTypeCount > 0)
                 {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        instanceProcessor.processNewRelationshipEvent(sourceName,
-                                                                      homeMetadataCollectionId,
-                                                                      archiveName,
-                                                                      originatorServerType,
-                                                                      originatorOrganizationName,
-                                                                      relationship);
-
-                        instanceCount ++;
-                    }
+                    auditCode = OMRSAuditCode.ARCHIVE_TYPES_ALREADY_STORED;
+                    auditLog.logRecord(actionDescription,
+                                       auditCode.getLogMessageId(),
+                                       auditCode.getSeverity(),
+                                       auditCode.getFormattedLogMessage(Integer.toString(storedTypeCount),
+                                                                        archiveName),
+                                       null,
+                                       auditCode.getSystemAction(),
+                                       auditCode.getUserAction());
                 }
-            }
-
 
-            if (classifications != null)
+                auditCode = OMRSAuditCode.COMPLETED_ARCHIVE;
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(Integer.toString(typeCount),
+                                                                    Integer.toString(instanceCount),
+                                                                    archiveName),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
+            }
+            else
             {
-                for (ClassificationEntityExtension classificationEntityExtension : classifications)
+                if (elementsIgnored)
                 {
-                    if (classificationEntityExtension != null)
-                    {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
-                        // Todo
-                        /* new method required
-                        instanceProcessor.processNewClassificationEvent(sourceName,
-                                                                        homeMetadataCollectionId,
-                                                                        originatorServerName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        classificationEntityExtension);
-
-                        instanceCount ++;
-                        */
-                    }
+                    auditCode = OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE;
                 }
+                else
+                {
+                    auditCode = OMRSAuditCode.EMPTY_ARCHIVE;
+                }
+
+                auditLog.logRecord(actionDescription,
+                                   auditCode.getLogMessageId(),
+                                   auditCode.getSeverity(),
+                                   auditCode.getFormattedLogMessage(),
+                                   null,
+                                   auditCode.getSystemAction(),
+                                   auditCode.getUserAction());
             }
         }
 
-        return instanceCount;
-    }
 
+        /**
+         * Send the instances read before the archive store failed to the local repository and record the failure.
+         *
+         * @param error exception from the archive store
+         */
+        void processArchiveFailed(OMRSLogicErrorException error)
+        {
+            this.sendEntityBatch();
+            this.sendRelationshipBatch();
+
+            OMRSAuditCode auditCode = OMRSAuditCode.FAILED_ARCHIVE;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(Integer.toString(typeCount),
+                                                                Integer.toString(instanceCount),
+                                                                error.getErrorMessage()),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
 
-    /**
-     * Set up the header of an archive instance.
-     *
-     * @param metadataCollectionId home metadata collection id
-     * @param metadataConnectionName name of the metadata collection
-     * @param originatorName originator name
-     * @param creationTime creation time of archive
-     * @param provenanceType type of archive
-     * @param originatorLicense any license info
-     * @param instance instance to fill in
-     */
-    private void setInstanceAuditHeader(String                 metadataCollectionId,
-                                        String                 metadataConnectionName,
-                                        String                 originatorName,
-                                        Date                   creationTime,
-                                        InstanceProvenanceType provenanceType,
-                                        String                 originatorLicense,
-                                        InstanceAuditHeader    instance)
-    {
-        if (provenanceType == InstanceProvenanceType.EXPORT_ARCHIVE)
+
+        /**
+         * Return whether the archive properties have been received.  The contents of an archive without
+         * properties are ignored.
+         *
+         * @return boolean
+         */
+        private boolean isArchiveAccepted()
         {
-            if (instance.getMetadataCollectionId() == null)
+            if (archiveProperties == null)
             {
-                instance.setMetadataCollectionId(metadataCollectionId);
+                elementsIgnored = true;
+                return false;
             }
 
-            if (instance.getMetadataCollectionName() == null)
-            {
-                instance.setMetadataCollectionName(metadataConnectionName);
-            }
+            return true;
+        }
 
-            if (instance.getCreatedBy() == null)
-            {
-                instance.setCreatedBy(originatorName);
-            }
 
-            if (instance.getCreateTime() == null)
+        /**
+         * Return the versions of the types stored in the local repository.  They are retrieved once
+         * when the first new type arrives.
+         *
+         * @return map of type GUID to version (may be null)
+         */
+        private Map<String, Long> getLocalTypeVersions()
+        {
+            if ((! localTypeVersionsRetrieved) && (repositoryContentManager != null))
             {
-                instance.setCreateTime(creationTime);
+                localTypeVersions = repositoryContentManager.getLocalRepositoryTypeVersions(originatorName);
+                localTypeVersionsRetrieved = true;
             }
 
-            if (instance.getInstanceProvenanceType() == null)
-            {
-                instance.setInstanceProvenanceType(provenanceType);
-            }
+            return localTypeVersions;
+        }
 
-            if (instance.getInstanceLicense() == null)
+
+        /**
+         * Pass any waiting entities to the local repository.
+         */
+        private void sendEntityBatch()
+        {
+            if (! entityBatch.isEmpty())
             {
-                instance.setInstanceLicense(originatorLicense);
+                instanceProcessor.processInstanceBatchEvent(sourceName,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            instanceServerType,
+                                                            originatorOrganizationName,
+                                                            new InstanceGraph(entityBatch, null));
+                entityBatch = new ArrayList<>();
             }
         }
-        else /* assume this is a content pack and set up instances consistently */
+
+
+        /**
+         * Pass any waiting relationships to the local repository.
+         */
+        private void sendRelationshipBatch()
         {
-            instance.setMetadataCollectionId(metadataCollectionId);
-            instance.setMetadataCollectionName(metadataConnectionName);
-            instance.setCreatedBy(originatorName);
-            instance.setCreateTime(creationTime);
-            instance.setInstanceProvenanceType(InstanceProvenanceType.CONTENT_PACK);
-            instance.setInstanceLicense(originatorLicense);
+            if (! relationshipBatch.isEmpty())
+            {
+                instanceProcessor.processInstanceBatchEvent(sourceName,
+                                                            homeMetadataCollectionId,
+                                                            archiveName,
+                                                            instanceServerType,
+                                                            originatorOrganizationName,
+                                                            new InstanceGraph(null, relationshipBatch));
+                relationshipBatch = new ArrayList<>();
+            }
         }
     }
 }
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconnec
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
@@ -22,6 +23,12 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -49,6 +56,14 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
     private String callingServiceName = null;
 
+    private static final String       maxFederationThreadsProperty = "maxFederationThreads";
+    private static final String       federationTimeoutProperty    = "federationTimeout";
+    private static final String       federationThreadName         = "EnterpriseFederation";
+
+    private int                       maxFederationThreads = 10;
+    private int                       federationTimeout    = 60000;
+    private ExecutorService           federationExecutor   = null;
+
     private static final Logger       log      = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
     /**
@@ -84,6 +99,44 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Call made by the ConnectorProvider to initialize the Connector with the base services.  The
+     * configuration properties of the connection may override the size of the thread pool used to issue
+     * requests to the cohort members in parallel (maxFederationThreads) and the number of milliseconds
+     * a federated request waits for each cohort member (federationTimeout).
+     *
+     * @param connectorInstanceId   unique id for the connector instance   useful for messages etc
+     * @param connectionProperties   POJO for the configuration used to create the connector.
+     */
+    public void initialize(String               connectorInstanceId,
+                           ConnectionProperties connectionProperties)
+    {
+        super.initialize(connectorInstanceId, connectionProperties);
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object   maxFederationThreads = configurationProperties.get(maxFederationThreadsProperty);
+
+                if ((maxFederationThreads instanceof Integer) && ((Integer)maxFederationThreads > 0))
+                {
+                    this.maxFederationThreads = (Integer)maxFederationThreads;
+                }
+
+                Object   federationTimeout = configurationProperties.get(federationTimeoutProperty);
+
+                if ((federationTimeout instanceof Integer) && ((Integer)federationTimeout > 0))
+                {
+                    this.federationTimeout = (Integer)federationTimeout;
+                }
+            }
+        }
+    }
+
+
     /**
      * Set up the unique Id for this metadata collection.
      *
@@ -183,6 +236,61 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
+
+        synchronized (this)
+        {
+            if (federationExecutor != null)
+            {
+                federationExecutor.shutdownNow();
+                federationExecutor = null;
+            }
+        }
+    }
+
+
+    /**
+     * Return the thread pool used to issue requests to the members of the cohort in parallel.  It is created on
+     * first use.  The number of threads is bounded by maxFederationThreads.  When all threads are busy and
+     * the queue is full, the requesting thread issues the request itself.
+     *
+     * @return executor service
+     */
+    synchronized ExecutorService getFederationExecutor()
+    {
+        if (federationExecutor == null)
+        {
+            final AtomicInteger threadNumber = new AtomicInteger(0);
+            final String        threadPrefix = federationThreadName + ": " + callingServiceName + "-";
+
+            ThreadPoolExecutor threadPool = new ThreadPoolExecutor(maxFederationThreads,
+                                                                   maxFederationThreads,
+                                                                   60L,
+                                                                   TimeUnit.SECONDS,
+                                                                   new ArrayBlockingQueue<>(maxFederationThreads * 10),
+                                                                   (runnable) ->
+                                                                   {
+                                                                       Thread thread = new Thread(runnable, threadPrefix + threadNumber.incrementAndGet());
+                                                                       thread.setDaemon(true);
+                                                                       return thread;
+                                                                   },
+                                                                   new ThreadPoolExecutor.CallerRunsPolicy());
+
+            threadPool.allowCoreThreadTimeOut(true);
+            federationExecutor = threadPool;
+        }
+
+        return federationExecutor;
+    }
+
+
+    /**
+     * Return the maximum time in milliseconds that a federated request waits for each member of the cohort.
+     *
+     * @return timeout in milliseconds
+     */
+    int getFederationTimeout()
+    {
+        return federationTimeout;
     }
 
 
@@ -86,6 +86,11 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addEntities(List<EntityDetail>   entities,
                                          String               metadataCollectionId)
     {
+        if (super.areResultsClosed())
+        {
+            return;
+        }
+
         if (entities != null)
         {
             for (EntityDetail entity : entities)
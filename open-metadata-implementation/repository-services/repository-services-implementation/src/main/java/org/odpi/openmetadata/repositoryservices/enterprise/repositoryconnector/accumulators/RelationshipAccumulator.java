@@ -85,6 +85,11 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addRelationships(List<Relationship>   relationships,
                                               String               metadataCollectionId)
     {
+        if (super.areResultsClosed())
+        {
+            return;
+        }
+
         if (relationships != null)
         {
             for (Relationship relationship : relationships)
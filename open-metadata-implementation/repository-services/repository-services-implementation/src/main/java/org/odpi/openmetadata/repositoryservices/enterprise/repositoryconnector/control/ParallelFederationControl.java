@@ -2,35 +2,86 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
 
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * Each repository in the cohort is called from its own clone of the executor.  The clones share the
+ * executor's accumulator, which is thread-safe and combines the results as they arrive.  The elapsed time of
+ * the federated request is therefore close to that of the slowest repository, bounded by the federation timeout.
+ * Requests to repositories that do not respond within the timeout are cancelled, and the accumulator is
+ * closed before control returns to the caller so any results they produce afterwards are ignored.
+ *
+ * If no thread pool is supplied, or the executor can not be cloned, the requests are issued one at a time
+ * on the caller's thread.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private static final Logger log = LoggerFactory.getLogger(ParallelFederationControl.class);
+
+    private ExecutorService federationExecutor = null;
+    private long            federationTimeout  = 0;
+    private OMRSAuditLog    auditLog           = null;
+    private String          callingServiceName = null;
+
+
+    /**
+     * Constructor for a federated query that runs on the caller's thread.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     String                        methodName)
+    {
+        super(userId, cohortConnectors, methodName);
+    }
 
 
     /**
-     * Constructor for a federated query
+     * Constructor for a federated query that issues the request to each repository on a separate
+     * thread from the supplied thread pool.
      *
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
+     * @param federationExecutor thread pool used to issue the requests
+     * @param federationTimeout maximum number of milliseconds to wait for the repositories to respond
+     * @param auditLog destination for messages about repositories that fail to respond
+     * @param callingServiceName name of the service using the enterprise connector
      * @param methodName calling method
      */
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
+                                     ExecutorService               federationExecutor,
+                                     long                          federationTimeout,
+                                     OMRSAuditLog                  auditLog,
+                                     String                        callingServiceName,
                                      String                        methodName)
     {
         super(userId, cohortConnectors, methodName);
 
+        this.federationExecutor = federationExecutor;
+        this.federationTimeout = federationTimeout;
+        this.auditLog = auditLog;
+        this.callingServiceName = callingServiceName;
     }
 
 
@@ -45,17 +96,163 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
-            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            if ((federationExecutor == null) || (! (executor instanceof CloneableRepositoryExecutor)) || (cohortConnectors.size() < 2))
+            {
+                this.executeCommandOnCallerThread(executor);
+            }
+            else
             {
-                if (cohortConnector != null)
+                this.executeCommandInParallel((CloneableRepositoryExecutor)executor);
+            }
+        }
+    }
+
+
+    /**
+     * Issue the command to each repository in turn using the caller's thread.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void executeCommandOnCallerThread(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+                executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+            }
+        }
+    }
+
+
+    /**
+     * Issue the command to all of the repositories at once, each from a clone of the executor, and wait for
+     * them to complete or time out.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void executeCommandInParallel(CloneableRepositoryExecutor executor) throws RepositoryErrorException
+    {
+        List<OMRSRepositoryConnector> requestedConnectors = new ArrayList<>();
+        List<Future<Boolean>>         requests            = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                final OMRSMetadataCollection      metadataCollection = cohortConnector.getMetadataCollection();
+                final CloneableRepositoryExecutor clone              = executor.getClone();
+
+                requestedConnectors.add(cohortConnector);
+                requests.add(federationExecutor.submit(() -> clone.issueRequestToRepository(this.validateMetadataCollection(metadataCollection, methodName),
+                                                                                            metadataCollection)));
+            }
+        }
+
+        long                     deadline        = System.currentTimeMillis() + federationTimeout;
+        RepositoryErrorException repositoryError = null;
+        Throwable                unexpectedError = null;
+
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Future<Boolean> request = requests.get(i);
+
+            try
+            {
+                request.get(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException error)
+            {
+                request.cancel(true);
+                this.logTimeout(requestedConnectors.get(i));
+            }
+            catch (InterruptedException error)
+            {
+                for (Future<Boolean> outstandingRequest : requests)
                 {
-                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+                    outstandingRequest.cancel(true);
+                }
 
-                    String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch (ExecutionException error)
+            {
+                if (error.getCause() instanceof RepositoryErrorException)
+                {
+                    repositoryError = (RepositoryErrorException)error.getCause();
+                }
+                else
+                {
+                    log.error("Unexpected exception from federated " + methodName + " request to "
+                                      + requestedConnectors.get(i).getMetadataCollectionId(), error.getCause());
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                    if (unexpectedError == null)
+                    {
+                        unexpectedError = error.getCause();
+                    }
                 }
             }
         }
+
+        /*
+         * Requests that were cancelled may still be running.  Closing the accumulator means anything
+         * they return from now on is ignored rather than being mixed into results the caller is assembling.
+         */
+        executor.closeResults();
+
+        if (repositoryError != null)
+        {
+            throw repositoryError;
+        }
+
+        /*
+         * Any other error is passed to the caller just as it would be if the request had been
+         * issued on the caller's thread.
+         */
+        if (unexpectedError instanceof RuntimeException)
+        {
+            throw (RuntimeException)unexpectedError;
+        }
+        else if (unexpectedError instanceof Error)
+        {
+            throw (Error)unexpectedError;
+        }
+    }
+
+
+    /**
+     * Record that a repository did not respond in time.
+     *
+     * @param cohortConnector connector to the repository
+     */
+    private void logTimeout(OMRSRepositoryConnector cohortConnector)
+    {
+        final String actionDescription = "executeCommand";
+
+        String metadataCollectionId = cohortConnector.getMetadataCollectionId();
+
+        log.debug("Federated " + methodName + " request to " + metadataCollectionId + " timed out");
+
+        if (auditLog != null)
+        {
+            OMRSAuditCode auditCode = OMRSAuditCode.FEDERATED_REQUEST_TIMEOUT;
+            auditLog.logRecord(actionDescription,
+                               auditCode.getLogMessageId(),
+                               auditCode.getSeverity(),
+                               auditCode.getFormattedLogMessage(callingServiceName,
+                                                                methodName,
+                                                                metadataCollectionId,
+                                                                Long.toString(federationTimeout)),
+                               null,
+                               auditCode.getSystemAction(),
+                               auditCode.getUserAction());
+        }
     }
 }
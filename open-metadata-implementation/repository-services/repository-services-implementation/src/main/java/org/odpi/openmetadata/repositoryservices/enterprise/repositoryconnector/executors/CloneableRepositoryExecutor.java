@@ -6,7 +6,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
  * CloneableRepositoryExecutor describes the interface for a repository executor that can be cloned to run
  * in parallel.  They use a shared accumulator to gather and assemble the result.
  */
-public interface CloneableRepositoryExecutor
+public interface CloneableRepositoryExecutor extends RepositoryExecutor
 {
     /**
      * Return a clone of this executor with the same command parameters and accumulator instance.
@@ -14,4 +14,11 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Stop the shared accumulator from accepting any more results.  Clones that are still running
+     * when this is called have their results ignored.
+     */
+    void closeResults();
 }
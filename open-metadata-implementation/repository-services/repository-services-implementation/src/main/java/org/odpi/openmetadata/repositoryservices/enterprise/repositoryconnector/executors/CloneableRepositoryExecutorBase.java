@@ -12,12 +12,26 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private QueryAccumulatorBase accumulator;
+
+
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.accumulator = accumulator;
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Stop the shared accumulator from accepting any more results.  Clones that are still running
+     * when this is called have their results ignored.
+     */
+    public void closeResults()
+    {
+        accumulator.closeResults();
+    }
 }
@@ -0,0 +1,226 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CountRelationshipsForEntityExecutor provides the executor for the countRelationshipsForEntity method.
+ * Each repository is asked for its count.  While only one repository has relationships for the entity, its
+ * count is the result.  Once a second repository reports relationships, the relationships are retrieved from each
+ * repository that has them and counted by GUID so that a reference copy held in several repositories is only
+ * counted once.
+ */
+public class CountRelationshipsForEntityExecutor extends RepositoryExecutorBase
+{
+    private String                 entityGUID;
+    private String                 relationshipTypeGUID;
+    private List<InstanceStatus>   limitResultsByStatus;
+
+    private int                    count                   = 0;
+    private boolean                countRetrieved          = false;
+    private OMRSMetadataCollection firstMetadataCollection = null;
+    private Set<String>            relationshipGUIDs       = null;
+    private MaintenanceAccumulator accumulator             = new MaintenanceAccumulator();
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus list of statuses to restrict the count to.  Null means all status values.
+     * @param methodName calling method
+     */
+    public CountRelationshipsForEntityExecutor(String               userId,
+                                               String               entityGUID,
+                                               String               relationshipTypeGUID,
+                                               List<InstanceStatus> limitResultsByStatus,
+                                               String               methodName)
+    {
+        super(userId, methodName);
+
+        this.entityGUID = entityGUID;
+        this.relationshipTypeGUID = relationshipTypeGUID;
+        this.limitResultsByStatus = limitResultsByStatus;
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     * Every repository is called so this method always returns false.
+     * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+     * there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        try
+        {
+            /*
+             * Issue the request and combine the result with the count so far.
+             */
+            int repositoryCount = metadataCollection.countRelationshipsForEntity(userId,
+                                                                                 entityGUID,
+                                                                                 relationshipTypeGUID,
+                                                                                 limitResultsByStatus);
+
+            if (repositoryCount > 0)
+            {
+                if ((firstMetadataCollection == null) && (relationshipGUIDs == null))
+                {
+                    firstMetadataCollection = metadataCollection;
+                    count = repositoryCount;
+                }
+                else
+                {
+                    /*
+                     * More than one repository has relationships so they may overlap.
+                     */
+                    if (relationshipGUIDs == null)
+                    {
+                        Set<String> firstRelationshipGUIDs = new HashSet<>();
+
+                        this.addRelationshipGUIDs(firstMetadataCollection, firstRelationshipGUIDs);
+                        relationshipGUIDs = firstRelationshipGUIDs;
+                        firstMetadataCollection = null;
+                    }
+
+                    this.addRelationshipGUIDs(metadataCollection, relationshipGUIDs);
+                    count = relationshipGUIDs.size();
+                }
+            }
+
+            countRetrieved = true;
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (TypeErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (EntityNotKnownException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(error);
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Retrieve the relationships for the entity from a repository and add their GUIDs to the set.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param guids set of relationship GUIDs to add to
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException the sequencing property is not valid for the attached relationships.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws FunctionNotSupportedException the repository does not support this call.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private void addRelationshipGUIDs(OMRSMetadataCollection metadataCollection,
+                                      Set<String>            guids) throws InvalidParameterException,
+                                                                           TypeErrorException,
+                                                                           RepositoryErrorException,
+                                                                           EntityNotKnownException,
+                                                                           PropertyErrorException,
+                                                                           PagingErrorException,
+                                                                           FunctionNotSupportedException,
+                                                                           UserNotAuthorizedException
+    {
+        final int pageSize = 100;
+
+        int                fromElement = 0;
+        List<Relationship> relationships;
+
+        do
+        {
+            relationships = metadataCollection.getRelationshipsForEntity(userId,
+                                                                         entityGUID,
+                                                                         relationshipTypeGUID,
+                                                                         fromElement,
+                                                                         limitResultsByStatus,
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         pageSize);
+
+            if (relationships != null)
+            {
+                for (Relationship relationship : relationships)
+                {
+                    if (relationship != null)
+                    {
+                        guids.add(relationship.getGUID());
+                    }
+                }
+
+                fromElement = fromElement + relationships.size();
+            }
+        }
+        while ((relationships != null) && (relationships.size() == pageSize));
+    }
+
+
+    /**
+     * Return the count of distinct relationships from the repositories.
+     *
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int getCount() throws InvalidParameterException,
+                                 TypeErrorException,
+                                 RepositoryErrorException,
+                                 EntityNotKnownException,
+                                 UserNotAuthorizedException
+    {
+        if (! countRetrieved)
+        {
+            accumulator.throwCapturedRepositoryErrorException();
+            accumulator.throwCapturedUserNotAuthorizedException();
+            accumulator.throwCapturedInvalidParameterException();
+            accumulator.throwCapturedTypeErrorException();
+            accumulator.throwCapturedEntityNotKnownException();
+            accumulator.throwCapturedThrowableException(methodName);
+        }
+
+        return count;
+    }
+}
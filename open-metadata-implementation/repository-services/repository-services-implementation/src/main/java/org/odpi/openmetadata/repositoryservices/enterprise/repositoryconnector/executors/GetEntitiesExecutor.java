@@ -0,0 +1,204 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GetEntitiesExecutor provides the executor for the getEntityDetails method.  Each repository is passed
+ * the guids of the entities that have not been retrieved from an earlier repository.  If a repository
+ * rejects the request as a whole, for example because it is on a server that does not support the
+ * request, the entities are requested from it one at a time with getEntityDetail.
+ */
+public class GetEntitiesExecutor extends RepositoryExecutorBase
+{
+    private List<String>           entityGUIDs;
+    private EntityDetail[]         retrievedEntities;
+    private int                    retrievedCount   = 0;
+    private MaintenanceAccumulator accumulator      = new MaintenanceAccumulator();
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs unique identifiers (guids) for the entities.
+     * @param methodName calling method
+     */
+    public GetEntitiesExecutor(String               userId,
+                               List<String>         entityGUIDs,
+                               String               methodName)
+    {
+        super(userId, methodName);
+
+        this.entityGUIDs = entityGUIDs;
+        this.retrievedEntities = new EntityDetail[entityGUIDs.size()];
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     * The repository is asked for the entities that are still outstanding.
+     * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+     * there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        List<Integer> outstandingIndexes = new ArrayList<>();
+        List<String>  outstandingGUIDs   = new ArrayList<>();
+
+        for (int i = 0; i < retrievedEntities.length; i++)
+        {
+            if (retrievedEntities[i] == null)
+            {
+                outstandingIndexes.add(i);
+                outstandingGUIDs.add(entityGUIDs.get(i));
+            }
+        }
+
+        if (outstandingGUIDs.isEmpty())
+        {
+            return true;
+        }
+
+        try
+        {
+            /*
+             * Issue the request and save any entities that are returned.
+             */
+            List<EntityDetail> entities = metadataCollection.getEntityDetails(userId, outstandingGUIDs);
+
+            if (entities != null)
+            {
+                for (int i = 0; (i < entities.size()) && (i < outstandingIndexes.size()); i++)
+                {
+                    EntityDetail entity = entities.get(i);
+
+                    if (entity != null)
+                    {
+                        retrievedEntities[outstandingIndexes.get(i)] = entity;
+                        retrievedCount++;
+                    }
+                }
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            /*
+             * A remote repository reports a request that its server does not support as a repository error.
+             * If the repository itself has failed, the first of the individual requests fails too.
+             */
+            this.getEntitiesIndividually(metadataCollection, outstandingIndexes, outstandingGUIDs);
+        }
+        catch (Throwable error)
+        {
+            /*
+             * The repository does not support the request as a whole.
+             */
+            this.getEntitiesIndividually(metadataCollection, outstandingIndexes, outstandingGUIDs);
+        }
+
+        return retrievedCount == retrievedEntities.length;
+    }
+
+
+    /**
+     * Retrieve the outstanding entities from a repository one at a time.  An entity that the repository does not
+     * know, or only has a proxy for, is left for the next repository.  The retrieval stops at the first error
+     * that is not about the entity since the same error is likely for the remaining entities.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param outstandingIndexes positions of the outstanding entities in the results
+     * @param outstandingGUIDs unique identifiers of the outstanding entities
+     */
+    private void getEntitiesIndividually(OMRSMetadataCollection metadataCollection,
+                                         List<Integer>          outstandingIndexes,
+                                         List<String>           outstandingGUIDs)
+    {
+        for (int i = 0; i < outstandingGUIDs.size(); i++)
+        {
+            try
+            {
+                EntityDetail entity = metadataCollection.getEntityDetail(userId, outstandingGUIDs.get(i));
+
+                if (entity != null)
+                {
+                    retrievedEntities[outstandingIndexes.get(i)] = entity;
+                    retrievedCount++;
+                }
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException error)
+            {
+                /*
+                 * The entity is not available from this repository.
+                 */
+            }
+            catch (InvalidParameterException error)
+            {
+                accumulator.captureException(error);
+                return;
+            }
+            catch (RepositoryErrorException error)
+            {
+                accumulator.captureException(error);
+                return;
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                accumulator.captureException(error);
+                return;
+            }
+            catch (Throwable error)
+            {
+                accumulator.captureGenericException(error);
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Return the entities retrieved from the repositories.
+     *
+     * @return list of EntityDetail structures in the same order as the guids.  The entry for an entity that
+     * was not found in any repository is null.
+     * @throws InvalidParameterException the list of guids, or one of the guids, is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  List<EntityDetail> getEntityDetails() throws InvalidParameterException,
+                                                         RepositoryErrorException,
+                                                         UserNotAuthorizedException
+    {
+        if (retrievedCount == 0)
+        {
+            accumulator.throwCapturedRepositoryErrorException();
+            accumulator.throwCapturedUserNotAuthorizedException();
+            accumulator.throwCapturedInvalidParameterException();
+        }
+
+        return new ArrayList<>(Arrays.asList(retrievedEntities));
+    }
+}
@@ -6,7 +6,10 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.events.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditCode;
@@ -21,6 +24,8 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.eventmanagement.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -1685,12 +1690,93 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         final String methodName = "processInstanceBatchEvent";
 
+        List<EntityDetail> entitiesToSave      = new ArrayList<>();
+        List<Relationship> relationshipsToSave = new ArrayList<>();
+
         try
         {
             verifyEventProcessor(methodName);
+        }
+        catch (Throwable error)
+        {
+            handleUnexpectedErrorFromEvent(error,
+                                           methodName,
+                                           originatorServerName,
+                                           originatorMetadataCollectionId);
+            return;
+        }
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Each instance is checked in the same way as an instance received in its own event.  An instance
+         * that fails the checks is logged and the rest of the batch is still processed.
+         */
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if (entity != null)
+                {
+                    try
+                    {
+                        if (isReferenceEntityToSave(sourceName, methodName, originatorServerName, entity))
+                        {
+                            entitiesToSave.add(entity);
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        handleUnexpectedErrorFromEvent(error,
+                                                       methodName,
+                                                       originatorServerName,
+                                                       originatorMetadataCollectionId);
+                    }
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if (relationship != null)
+                {
+                    try
+                    {
+                        if (isReferenceRelationshipToSave(sourceName, methodName, relationship))
+                        {
+                            relationshipsToSave.add(relationship);
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        handleUnexpectedErrorFromEvent(error,
+                                                       methodName,
+                                                       originatorServerName,
+                                                       originatorMetadataCollectionId);
+                    }
+                }
+            }
+        }
+
+        if ((entitiesToSave.isEmpty()) && (relationshipsToSave.isEmpty()))
+        {
+            return;
+        }
 
+        /*
+         * The instances are passed to the repository together so that it can store them efficiently.
+         * The repository saves every instance it can before reporting the first one that failed, so the
+         * batch is not retried here.
+         */
+        try
+        {
             localMetadataCollection.saveInstanceReferenceCopies(localRepositoryConnector.getServerUserId(),
-                                                                instances);
+                                                                new InstanceGraph(entitiesToSave, relationshipsToSave));
         }
         catch (Throwable error)
         {
@@ -2133,33 +2219,11 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
-            final String entityParameterName = "entity";
-
             verifyEventProcessor(methodName);
-            repositoryValidator.validateReferenceInstanceHeader(sourceName,
-                                                                localMetadataCollectionId,
-                                                                entityParameterName,
-                                                                entity,
-                                                                methodName);
 
-            EntityDetail storedEntity = localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
-                                                                              entity.getGUID());
-
-            /*
-             * Verify that the incoming instance is compatible with the stored instance.
-             */
-            if (compareAndValidateReferenceInstance(originatorServerName,
-                                                    entity,
-                                                    storedEntity,
-                                                    methodName))
+            if (isReferenceEntityToSave(sourceName, methodName, originatorServerName, entity))
             {
-                /*
-                 * Verify that the rules allow the entity to be saved
-                 */
-                if (verifyEventToSave(sourceName, entity))
-                {
-                    localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
-                }
+                localMetadataCollection.saveEntityReferenceCopy(localRepositoryConnector.getServerUserId(), entity);
             }
         }
         catch (Throwable error)
@@ -2172,6 +2236,49 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Validate an incoming reference entity and determine whether it should be saved in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param originatorServerName           name of the server that the event came from.
+     * @param entity                         details of the entity
+     * @return boolean indicating that the entity is valid, newer than any stored version and allowed by the exchange rule
+     * @throws InvalidParameterException the entity header is not valid for a reference copy
+     * @throws RepositoryErrorException there is a problem with the local repository
+     * @throws UserNotAuthorizedException the server's userId is not permitted to retrieve the stored entity
+     */
+    private boolean isReferenceEntityToSave(String       sourceName,
+                                            String       methodName,
+                                            String       originatorServerName,
+                                            EntityDetail entity) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        UserNotAuthorizedException
+    {
+        final String entityParameterName = "entity";
+
+        repositoryValidator.validateReferenceInstanceHeader(sourceName,
+                                                            localMetadataCollectionId,
+                                                            entityParameterName,
+                                                            entity,
+                                                            methodName);
+
+        EntityDetail storedEntity = localMetadataCollection.isEntityKnown(localRepositoryConnector.getServerUserId(),
+                                                                          entity.getGUID());
+
+        /*
+         * Verify that the incoming instance is compatible with the stored instance and then that
+         * the rules allow the entity to be saved.
+         */
+        return (compareAndValidateReferenceInstance(originatorServerName,
+                                                    entity,
+                                                    storedEntity,
+                                                    methodName))
+                && (verifyEventToSave(sourceName, entity));
+    }
+
+
     /**
      * The incoming instance is properly formed.  Is it compatible (and a newer version) than the instance
      * that is stored?
@@ -2393,16 +2500,9 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     {
         try
         {
-            final String     relationshipParameterName = "relationship";
-
             verifyEventProcessor(methodName);
-            repositoryValidator.validateReferenceInstanceHeader(sourceName,
-                                                                localMetadataCollectionId,
-                                                                relationshipParameterName,
-                                                                relationship,
-                                                                methodName);
 
-            if (verifyEventToSave(sourceName, relationship))
+            if (isReferenceRelationshipToSave(sourceName, methodName, relationship))
             {
                 localMetadataCollection.saveRelationshipReferenceCopy(localRepositoryConnector.getServerUserId(),
                                                                       relationship);
@@ -2418,6 +2518,34 @@ public class LocalOMRSInstanceEventProcessor extends OMRSInstanceEventProcessor
     }
 
 
+    /**
+     * Validate an incoming reference relationship and determine whether it should be saved in the local repository.
+     *
+     * @param sourceName                     name of the source of the event.  It may be the cohort name for incoming events or the
+     *                                       local repository, or event mapper name.
+     * @param methodName                     name of the event method
+     * @param relationship                   details of the relationship
+     * @return boolean indicating that the exchange rule allows the relationship to be saved
+     * @throws InvalidParameterException the relationship header is not valid for a reference copy
+     * @throws RepositoryErrorException there is a problem with the local repository
+     */
+    private boolean isReferenceRelationshipToSave(String       sourceName,
+                                                  String       methodName,
+                                                  Relationship relationship) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String relationshipParameterName = "relationship";
+
+        repositoryValidator.validateReferenceInstanceHeader(sourceName,
+                                                            localMetadataCollectionId,
+                                                            relationshipParameterName,
+                                                            relationship,
+                                                            methodName);
+
+        return verifyEventToSave(sourceName, relationship);
+    }
+
+
     /**
      * Validate that this event processor is correctly initialized.
      *
@@ -113,6 +113,65 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     }
 
 
+    /**
+     * Return the version of each of the TypeDefs and AttributeTypeDefs already stored in the local repository,
+     * keyed by the type's unique identifier.  This is retrieved with a single call to the repository so that
+     * the types that it already holds do not need to be verified one at a time.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @return map of type GUID to version or null if there is no local repository or it can not return its types
+     */
+    public Map<String, Long> getLocalRepositoryTypeVersions(String sourceName)
+    {
+        try
+        {
+            if (localRepositoryConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = localRepositoryConnector.getMetadataCollection();
+
+                if (metadataCollection != null)
+                {
+                    TypeDefGallery    typeDefGallery = metadataCollection.getAllTypes(sourceName);
+                    Map<String, Long> typeVersions   = new HashMap<>();
+
+                    if (typeDefGallery != null)
+                    {
+                        if (typeDefGallery.getAttributeTypeDefs() != null)
+                        {
+                            for (AttributeTypeDef attributeTypeDef : typeDefGallery.getAttributeTypeDefs())
+                            {
+                                if ((attributeTypeDef != null) && (attributeTypeDef.getGUID() != null))
+                                {
+                                    typeVersions.put(attributeTypeDef.getGUID(), attributeTypeDef.getVersion());
+                                }
+                            }
+                        }
+
+                        if (typeDefGallery.getTypeDefs() != null)
+                        {
+                            for (TypeDef typeDef : typeDefGallery.getTypeDefs())
+                            {
+                                if ((typeDef != null) && (typeDef.getGUID() != null))
+                                {
+                                    typeVersions.put(typeDef.getGUID(), typeDef.getVersion());
+                                }
+                            }
+                        }
+                    }
+
+                    return typeVersions;
+                }
+            }
+        }
+        catch (Throwable error)
+        {
+            log.debug("Unable to retrieve the types from the local repository: ", error);
+        }
+
+        return null;
+    }
+
+
     /*
      * ========================
      * OMRSTypeDefManager
@@ -9,6 +9,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchStringMatcher;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.*;
@@ -3636,7 +3637,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (OMRSSearchStringMatcher.getMatcher(matchPropertyValueString).matches(instancePropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3699,7 +3700,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (matchValue.matches(expectedValue))
+                        if (OMRSSearchStringMatcher.getMatcher(expectedValue).matches(matchValue))
                         {
                             result = true;
                         }
@@ -4037,6 +4038,52 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             return false;
         }
 
+        OMRSSearchStringMatcher searchMatcher;
+
+        try
+        {
+            searchMatcher = OMRSSearchStringMatcher.getMatcher(searchCriteria);
+        }
+        catch (Throwable   error)
+        {
+            OMRSErrorCode errorCode = OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE;
+            String errorMessage = errorCode.getErrorMessageId()
+                                + errorCode.getFormattedErrorMessage(sourceName, methodName);
+
+            throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               errorMessage,
+                                               errorCode.getSystemAction(),
+                                               errorCode.getUserAction(),
+                                               error);
+        }
+
+        return this.verifyInstancePropertiesMatchSearchCriteria(sourceName, properties, searchMatcher, methodName);
+    }
+
+
+    /**
+     * Search for property values matching the search criteria.  The search criteria has already been compiled
+     * so it is not compiled again for each nested struct, array or map.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param properties list of properties associated with the in instance
+     * @param searchMatcher compiled search criteria
+     * @param methodName name of the method requiring the search.
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(String                  sourceName,
+                                                                InstanceProperties      properties,
+                                                                OMRSSearchStringMatcher searchMatcher,
+                                                                String                  methodName) throws RepositoryErrorException
+    {
+        if (properties == null)
+        {
+            return false;
+        }
+
         Iterator<String>  propertyNames = properties.getPropertyNames();
 
         try
@@ -4055,7 +4102,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (searchMatcher.matches(stringProperty))
                                 {
                                     return true;
                                 }
@@ -4069,7 +4116,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (searchMatcher.matches(enumValue))
                             {
                                 return true;
                             }
@@ -4081,7 +4128,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         structPropertyValue.getAttributes(),
-                                                                        searchCriteria,
+                                                                        searchMatcher,
                                                                         methodName))
                         {
                             return true;
@@ -4093,7 +4140,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         arrayPropertyValue.getArrayValues(),
-                                                                        searchCriteria,
+                                                                        searchMatcher,
                                                                         methodName))
                         {
                             return true;
@@ -4105,7 +4152,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         mapPropertyValue.getMapValues(),
-                                                                        searchCriteria,
+                                                                        searchMatcher,
                                                                         methodName))
                         {
                             return true;
@@ -0,0 +1,138 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentValidator;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Verify the default implementation of getEntityDetails that retrieves each entity with getEntityDetail.
+ */
+public class OMRSMetadataCollectionBaseTest
+{
+    private static final String userId = "testUser";
+
+
+    /**
+     * The entities are returned in the order requested, with a null entry for each entity that is unknown
+     * or only a proxy.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testGetEntityDetails() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        List<EntityDetail> results = metadataCollection.getEntityDetails(userId, Arrays.asList("guid-2",
+                                                                                               "unknown",
+                                                                                               "proxy",
+                                                                                               "guid-1"));
+
+        assertEquals(results.size(), 4);
+        assertEquals(results.get(0).getGUID(), "guid-2");
+        assertNull(results.get(1));
+        assertNull(results.get(2));
+        assertEquals(results.get(3).getGUID(), "guid-1");
+    }
+
+
+    /**
+     * A null list of guids is rejected.
+     *
+     * @throws Exception test failure
+     */
+    @Test(expectedExceptions = InvalidParameterException.class)
+    public void testNullGUIDList() throws Exception
+    {
+        new TestMetadataCollection().getEntityDetails(userId, null);
+    }
+
+
+    /**
+     * A null guid in the list is rejected.
+     *
+     * @throws Exception test failure
+     */
+    @Test(expectedExceptions = InvalidParameterException.class)
+    public void testNullGUID() throws Exception
+    {
+        new TestMetadataCollection().getEntityDetails(userId, Arrays.asList("guid-1", null));
+    }
+
+
+    /**
+     * Repository connector that is started so its metadata collection accepts requests.
+     */
+    private static class TestRepositoryConnector extends OMRSRepositoryConnector
+    {
+        TestRepositoryConnector() throws Exception
+        {
+            super();
+
+            super.start();
+        }
+    }
+
+
+    /**
+     * Metadata collection that knows two entities and holds a proxy for a third.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        TestMetadataCollection() throws Exception
+        {
+            super(new TestRepositoryConnector(),
+                  "test",
+                  new OMRSRepositoryContentHelper(new OMRSRepositoryContentManager(null)),
+                  new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager(null)),
+                  "test");
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException,
+                                                                EntityProxyOnlyException
+        {
+            if ("proxy".equals(guid))
+            {
+                throw new EntityProxyOnlyException(400,
+                                                   OMRSMetadataCollectionBaseTest.class.getName(),
+                                                   "getEntityDetail",
+                                                   "Proxy only",
+                                                   "No action",
+                                                   "No action");
+            }
+
+            if (! guid.startsWith("guid-"))
+            {
+                throw new EntityNotKnownException(404,
+                                                  OMRSMetadataCollectionBaseTest.class.getName(),
+                                                  "getEntityDetail",
+                                                  "Not known",
+                                                  "No action",
+                                                  "No action");
+            }
+
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+
+            return entity;
+        }
+    }
+}
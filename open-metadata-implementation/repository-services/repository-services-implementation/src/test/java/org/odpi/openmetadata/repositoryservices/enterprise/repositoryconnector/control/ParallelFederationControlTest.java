@@ -0,0 +1,287 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.FindEntitiesByPropertyExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that a federated query issued in parallel merges the results of the repositories that respond
+ * within the timeout and ignores the results of those that do not.
+ */
+public class ParallelFederationControlTest
+{
+    private static final String userId     = "testUser";
+    private static final String methodName = "testFederatedFind";
+
+    private ExecutorService federationExecutor;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        federationExecutor = Executors.newFixedThreadPool(4);
+    }
+
+
+    @AfterMethod
+    public void tearDown()
+    {
+        federationExecutor.shutdownNow();
+    }
+
+
+    /**
+     * A repository that responds after the timeout does not add its entities to the results, even once
+     * its request has completed.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testLateResultsIgnored() throws Exception
+    {
+        CountDownLatch         release = new CountDownLatch(1);
+        TestMetadataCollection fast    = new TestMetadataCollection("fast", null, null, entity("guid-1", 1));
+        TestMetadataCollection slow    = new TestMetadataCollection("slow", release, null, entity("guid-2", 1),
+                                                                                          entity("guid-1", 7));
+
+        FindEntitiesByPropertyExecutor executor = newExecutor();
+        ParallelFederationControl      control  = newControl(200, fast, slow);
+
+        control.executeCommand(executor);
+
+        release.countDown();
+        federationExecutor.shutdown();
+        assertTrue(federationExecutor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(slow.completed);
+
+        List<EntityDetail> results = executor.getResults(null);
+
+        assertNotNull(results);
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getGUID(), "guid-1");
+        assertEquals(results.get(0).getVersion(), 1L);
+    }
+
+
+    /**
+     * The results of the repositories that respond are merged so each entity is returned once at its latest
+     * version, while a repository that fails or times out does not stop the others' results being returned.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testPartialResultsMerged() throws Exception
+    {
+        CountDownLatch         release = new CountDownLatch(1);
+        TestMetadataCollection first   = new TestMetadataCollection("first", null, null, entity("guid-1", 1),
+                                                                                           entity("guid-2", 1));
+        TestMetadataCollection second  = new TestMetadataCollection("second", null, null, entity("guid-1", 3),
+                                                                                             entity("guid-3", 1));
+        TestMetadataCollection failing = new TestMetadataCollection("failing", null, notSupported());
+        TestMetadataCollection slow    = new TestMetadataCollection("slow", release, null, entity("guid-4", 1));
+
+        FindEntitiesByPropertyExecutor executor = newExecutor();
+        ParallelFederationControl      control  = newControl(200, first, second, failing, slow);
+
+        control.executeCommand(executor);
+        release.countDown();
+
+        List<EntityDetail> results = executor.getResults(null);
+
+        assertNotNull(results);
+
+        Map<String, Long> versions = new HashMap<>();
+        for (EntityDetail result : results)
+        {
+            versions.put(result.getGUID(), result.getVersion());
+        }
+
+        assertEquals(results.size(), 3);
+        assertEquals(versions.get("guid-1"), Long.valueOf(3));
+        assertEquals(versions.get("guid-2"), Long.valueOf(1));
+        assertEquals(versions.get("guid-3"), Long.valueOf(1));
+    }
+
+
+    private FindEntitiesByPropertyExecutor newExecutor()
+    {
+        return new FindEntitiesByPropertyExecutor(userId,
+                                                  null,
+                                                  null,
+                                                  MatchCriteria.ALL,
+                                                  0,
+                                                  null,
+                                                  null,
+                                                  null,
+                                                  null,
+                                                  null,
+                                                  0,
+                                                  null,
+                                                  null,
+                                                  null,
+                                                  methodName);
+    }
+
+
+    private ParallelFederationControl newControl(long                      federationTimeout,
+                                                 TestMetadataCollection... metadataCollections)
+    {
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        for (TestMetadataCollection metadataCollection : metadataCollections)
+        {
+            cohortConnectors.add(new TestRepositoryConnector(metadataCollection));
+        }
+
+        return new ParallelFederationControl(userId,
+                                             cohortConnectors,
+                                             federationExecutor,
+                                             federationTimeout,
+                                             null,
+                                             "TestService",
+                                             methodName);
+    }
+
+
+    private static EntityDetail entity(String guid,
+                                       long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    private static FunctionNotSupportedException notSupported()
+    {
+        return new FunctionNotSupportedException(501,
+                                                 ParallelFederationControlTest.class.getName(),
+                                                 methodName,
+                                                 "Not supported",
+                                                 "No action",
+                                                 "No action");
+    }
+
+
+    /**
+     * Repository connector that returns the supplied metadata collection.
+     */
+    private static class TestRepositoryConnector extends OMRSRepositoryConnector
+    {
+        TestRepositoryConnector(TestMetadataCollection metadataCollection)
+        {
+            super();
+
+            super.metadataCollectionId = metadataCollection.metadataCollectionId;
+            super.metadataCollection = metadataCollection;
+        }
+    }
+
+
+    /**
+     * Metadata collection that returns a fixed list of entities, optionally after waiting to be released.
+     * The wait ignores interrupts so the request carries on after it is cancelled, as a remote call would.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private          String                        metadataCollectionId;
+        private          CountDownLatch                release;
+        private          FunctionNotSupportedException error;
+        private          List<EntityDetail>            entities  = new ArrayList<>();
+        private volatile boolean                       completed = false;
+
+
+        TestMetadataCollection(String                        metadataCollectionId,
+                               CountDownLatch                release,
+                               FunctionNotSupportedException error,
+                               EntityDetail...               entities)
+        {
+            super(null, metadataCollectionId, null, null, metadataCollectionId);
+
+            this.metadataCollectionId = metadataCollectionId;
+            this.release = release;
+            this.error = error;
+
+            for (EntityDetail entity : entities)
+            {
+                this.entities.add(entity);
+            }
+        }
+
+
+        @Override
+        public String getMetadataCollectionId(String userId)
+        {
+            return metadataCollectionId;
+        }
+
+
+        @Override
+        public List<EntityDetail> findEntitiesByProperty(String               userId,
+                                                         String               entityTypeGUID,
+                                                         InstanceProperties   matchProperties,
+                                                         MatchCriteria        matchCriteria,
+                                                         int                  fromEntityElement,
+                                                         List<InstanceStatus> limitResultsByStatus,
+                                                         List<String>         limitResultsByClassification,
+                                                         Date                 asOfTime,
+                                                         String               sequencingProperty,
+                                                         SequencingOrder      sequencingOrder,
+                                                         int                  pageSize) throws FunctionNotSupportedException
+        {
+            if (release != null)
+            {
+                boolean released = false;
+
+                while (! released)
+                {
+                    try
+                    {
+                        released = release.await(10, TimeUnit.SECONDS);
+                    }
+                    catch (InterruptedException error)
+                    {
+                        /* carry on waiting */
+                    }
+                }
+            }
+
+            completed = true;
+
+            if (error != null)
+            {
+                throw error;
+            }
+
+            return new ArrayList<>(entities);
+        }
+    }
+}
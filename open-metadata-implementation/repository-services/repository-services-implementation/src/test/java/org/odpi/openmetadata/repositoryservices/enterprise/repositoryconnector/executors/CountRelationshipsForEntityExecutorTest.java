@@ -0,0 +1,169 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Verify that the enterprise count of an entity's relationships counts each relationship once.
+ */
+public class CountRelationshipsForEntityExecutorTest
+{
+    private static final String userId     = "testUser";
+    private static final String entityGUID = "testEntityGUID";
+    private static final String methodName = "testCountRelationshipsForEntity";
+
+
+    /**
+     * A relationship held as a reference copy by a second repository is only counted once.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testReferenceCopyInTwoRepositories() throws Exception
+    {
+        TestMetadataCollection home  = new TestMetadataCollection("home", "rel-1", "rel-2", "rel-3");
+        TestMetadataCollection other = new TestMetadataCollection("other", "rel-2", "rel-4");
+        TestMetadataCollection empty = new TestMetadataCollection("empty");
+
+        CountRelationshipsForEntityExecutor executor = new CountRelationshipsForEntityExecutor(userId,
+                                                                                               entityGUID,
+                                                                                               null,
+                                                                                               null,
+                                                                                               methodName);
+
+        executor.issueRequestToRepository("home", home);
+        executor.issueRequestToRepository("empty", empty);
+        executor.issueRequestToRepository("other", other);
+
+        assertEquals(executor.getCount(), 4);
+    }
+
+
+    /**
+     * When only one repository has relationships its count is used without retrieving them.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testSingleRepository() throws Exception
+    {
+        TestMetadataCollection home  = new TestMetadataCollection("home", "rel-1", "rel-2");
+        TestMetadataCollection empty = new TestMetadataCollection("empty");
+
+        CountRelationshipsForEntityExecutor executor = new CountRelationshipsForEntityExecutor(userId,
+                                                                                               entityGUID,
+                                                                                               null,
+                                                                                               null,
+                                                                                               methodName);
+
+        executor.issueRequestToRepository("empty", empty);
+        executor.issueRequestToRepository("home", home);
+
+        assertEquals(executor.getCount(), 2);
+        assertEquals(home.retrieveCount, 0);
+    }
+
+
+    /**
+     * The relationships are retrieved over several pages when a repository has more than a page of them.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testManyRelationships() throws Exception
+    {
+        String[] homeGUIDs  = new String[250];
+        String[] otherGUIDs = new String[150];
+
+        for (int i = 0; i < homeGUIDs.length; i++)
+        {
+            homeGUIDs[i] = "rel-" + i;
+        }
+
+        for (int i = 0; i < otherGUIDs.length; i++)
+        {
+            otherGUIDs[i] = "rel-" + (i + 200);
+        }
+
+        CountRelationshipsForEntityExecutor executor = new CountRelationshipsForEntityExecutor(userId,
+                                                                                               entityGUID,
+                                                                                               null,
+                                                                                               null,
+                                                                                               methodName);
+
+        executor.issueRequestToRepository("home", new TestMetadataCollection("home", homeGUIDs));
+        executor.issueRequestToRepository("other", new TestMetadataCollection("other", otherGUIDs));
+
+        assertEquals(executor.getCount(), 350);
+    }
+
+
+    /**
+     * Metadata collection that holds a fixed list of relationships for the test entity.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private List<Relationship> relationships = new ArrayList<>();
+        private int                retrieveCount = 0;
+
+
+        TestMetadataCollection(String    metadataCollectionId,
+                               String... relationshipGUIDs)
+        {
+            super(null, metadataCollectionId, null, null, metadataCollectionId);
+
+            for (String relationshipGUID : relationshipGUIDs)
+            {
+                Relationship relationship = new Relationship();
+
+                relationship.setGUID(relationshipGUID);
+                relationships.add(relationship);
+            }
+        }
+
+
+        @Override
+        public int countRelationshipsForEntity(String               userId,
+                                               String               entityGUID,
+                                               String               relationshipTypeGUID,
+                                               List<InstanceStatus> limitResultsByStatus)
+        {
+            return relationships.size();
+        }
+
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize)
+        {
+            retrieveCount++;
+
+            if (fromRelationshipElement >= relationships.size())
+            {
+                return null;
+            }
+
+            int toElement = Math.min(relationships.size(), fromRelationshipElement + pageSize);
+
+            return new ArrayList<>(relationships.subList(fromRelationshipElement, toElement));
+        }
+    }
+}
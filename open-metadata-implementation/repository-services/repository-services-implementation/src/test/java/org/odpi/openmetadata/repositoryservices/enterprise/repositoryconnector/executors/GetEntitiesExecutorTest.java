@@ -0,0 +1,283 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Verify that the enterprise retrieval of a list of entities asks each repository for the entities that are
+ * still outstanding, and asks for them one at a time when a repository rejects the list request.
+ */
+public class GetEntitiesExecutorTest
+{
+    private static final String userId     = "testUser";
+    private static final String methodName = "testGetEntityDetails";
+
+
+    /**
+     * The entities are returned in the order requested, whichever repository they come from.  Each repository
+     * is only asked for the entities that an earlier repository did not return.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testEntitiesFromSeveralRepositories() throws Exception
+    {
+        TestMetadataCollection first  = new TestMetadataCollection(null, "guid-1", "guid-3");
+        TestMetadataCollection second = new TestMetadataCollection(null, "guid-2");
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(userId,
+                                                               Arrays.asList("guid-1", "guid-2", "guid-3", "guid-4"),
+                                                               methodName);
+
+        assertFalse(executor.issueRequestToRepository("first", first));
+        assertFalse(executor.issueRequestToRepository("second", second));
+
+        List<EntityDetail> results = executor.getEntityDetails();
+
+        assertEquals(results.size(), 4);
+        assertEquals(results.get(0).getGUID(), "guid-1");
+        assertEquals(results.get(1).getGUID(), "guid-2");
+        assertEquals(results.get(2).getGUID(), "guid-3");
+        assertNull(results.get(3));
+
+        assertEquals(second.requestedGUIDs, Arrays.asList("guid-2", "guid-4"));
+        assertEquals(first.individualRequestCount, 0);
+        assertEquals(second.individualRequestCount, 0);
+    }
+
+
+    /**
+     * A repository that rejects the list request, as a server without the request does, is asked for each
+     * outstanding entity in turn.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testListRequestNotSupported() throws Exception
+    {
+        TestMetadataCollection first  = new TestMetadataCollection(null, "guid-1");
+        TestMetadataCollection second = new TestMetadataCollection(repositoryError(), "guid-2", "guid-3");
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(userId,
+                                                               Arrays.asList("guid-1", "guid-2", "guid-3", "guid-4"),
+                                                               methodName);
+
+        executor.issueRequestToRepository("first", first);
+        executor.issueRequestToRepository("second", second);
+
+        List<EntityDetail> results = executor.getEntityDetails();
+
+        assertEquals(results.get(0).getGUID(), "guid-1");
+        assertEquals(results.get(1).getGUID(), "guid-2");
+        assertEquals(results.get(2).getGUID(), "guid-3");
+        assertNull(results.get(3));
+
+        assertEquals(second.individualRequestCount, 3);
+    }
+
+
+    /**
+     * All of the entities are found in a repository that only supports the individual request.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testAllEntitiesFoundIndividually() throws Exception
+    {
+        TestMetadataCollection repository = new TestMetadataCollection(new UnsupportedOperationException(),
+                                                                        "guid-1", "guid-2");
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(userId, Arrays.asList("guid-1", "guid-2"), methodName);
+
+        assertTrue(executor.issueRequestToRepository("repository", repository));
+        assertEquals(executor.getEntityDetails().get(1).getGUID(), "guid-2");
+    }
+
+
+    /**
+     * When the individual requests fail as well, the error is returned and the remaining entities are not
+     * requested.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testRepositoryFailure() throws Exception
+    {
+        TestMetadataCollection repository = new TestMetadataCollection(repositoryError(), "guid-1");
+        repository.individualError = repositoryError();
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(userId, Arrays.asList("guid-1", "guid-2"), methodName);
+
+        executor.issueRequestToRepository("repository", repository);
+
+        try
+        {
+            executor.getEntityDetails();
+            fail("RepositoryErrorException expected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            /* expected */
+        }
+
+        assertEquals(repository.individualRequestCount, 1);
+    }
+
+
+    /**
+     * A user that is not authorized for the list request is not retried with individual requests.
+     *
+     * @throws Exception test failure
+     */
+    @Test
+    public void testUserNotAuthorized() throws Exception
+    {
+        TestMetadataCollection repository = new TestMetadataCollection(notAuthorized(), "guid-1");
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(userId, Arrays.asList("guid-1"), methodName);
+
+        executor.issueRequestToRepository("repository", repository);
+
+        try
+        {
+            executor.getEntityDetails();
+            fail("UserNotAuthorizedException expected");
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            /* expected */
+        }
+
+        assertEquals(repository.individualRequestCount, 0);
+    }
+
+
+    private static RepositoryErrorException repositoryError()
+    {
+        return new RepositoryErrorException(404,
+                                            GetEntitiesExecutorTest.class.getName(),
+                                            methodName,
+                                            "Not found",
+                                            "No action",
+                                            "No action");
+    }
+
+
+    private static UserNotAuthorizedException notAuthorized()
+    {
+        return new UserNotAuthorizedException(403,
+                                              GetEntitiesExecutorTest.class.getName(),
+                                              methodName,
+                                              "Not authorized",
+                                              "No action",
+                                              "No action");
+    }
+
+
+    /**
+     * Metadata collection that holds a fixed set of entities.  The list request optionally fails with the
+     * supplied error.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private Throwable                 listError;
+        private RepositoryErrorException  individualError        = null;
+        private Map<String, EntityDetail> entities               = new HashMap<>();
+        private List<String>              requestedGUIDs         = null;
+        private int                       individualRequestCount = 0;
+
+
+        TestMetadataCollection(Throwable listError,
+                               String... entityGUIDs)
+        {
+            super(null, "test", null, null, "test");
+
+            this.listError = listError;
+
+            for (String entityGUID : entityGUIDs)
+            {
+                EntityDetail entity = new EntityDetail();
+
+                entity.setGUID(entityGUID);
+                entities.put(entityGUID, entity);
+            }
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntityDetails(String       userId,
+                                                   List<String> guids) throws RepositoryErrorException,
+                                                                              UserNotAuthorizedException
+        {
+            requestedGUIDs = new ArrayList<>(guids);
+
+            if (listError instanceof RepositoryErrorException)
+            {
+                throw (RepositoryErrorException)listError;
+            }
+            else if (listError instanceof UserNotAuthorizedException)
+            {
+                throw (UserNotAuthorizedException)listError;
+            }
+            else if (listError instanceof RuntimeException)
+            {
+                throw (RuntimeException)listError;
+            }
+
+            List<EntityDetail> results = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                results.add(entities.get(guid));
+            }
+
+            return results;
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws RepositoryErrorException,
+                                                                EntityNotKnownException
+        {
+            individualRequestCount++;
+
+            if (individualError != null)
+            {
+                throw individualError;
+            }
+
+            EntityDetail entity = entities.get(guid);
+
+            if (entity == null)
+            {
+                throw new EntityNotKnownException(404,
+                                                  GetEntitiesExecutorTest.class.getName(),
+                                                  methodName,
+                                                  "Not known",
+                                                  "No action",
+                                                  "No action");
+            }
+
+            return entity;
+        }
+    }
+}
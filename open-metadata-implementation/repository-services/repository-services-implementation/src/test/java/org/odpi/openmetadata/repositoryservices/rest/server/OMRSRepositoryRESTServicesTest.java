@@ -0,0 +1,152 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.server;
+
+import org.odpi.openmetadata.adminservices.configuration.registration.CommonServicesDescription;
+import org.odpi.openmetadata.commonservices.multitenant.OMAGServerPlatformInstanceMap;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentValidator;
+import org.odpi.openmetadata.repositoryservices.rest.properties.EntityListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.GUIDListRequest;
+import org.odpi.openmetadata.repositoryservices.rest.services.OMRSRepositoryServicesInstance;
+import org.odpi.openmetadata.repositoryservices.rest.services.OMRSRepositoryServicesInstanceHandler;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Verify the REST request that retrieves a list of entities from the local repository.
+ */
+public class OMRSRepositoryRESTServicesTest
+{
+    private static final String serverName  = "testServer";
+    private static final String userId      = "testUser";
+    private static final String serviceName = CommonServicesDescription.REPOSITORY_SERVICES.getServiceName();
+
+    private OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        new OMRSRepositoryServicesInstance(serverName,
+                                           new TestRepositoryConnector(),
+                                           null,
+                                           null,
+                                           null,
+                                           serviceName,
+                                           null,
+                                           100);
+    }
+
+
+    @AfterMethod
+    public void tearDown() throws Exception
+    {
+        new OMRSRepositoryServicesInstanceHandler(serviceName).removeServerServiceInstance(serverName);
+        platformInstanceMap.shutdownServerInstance(userId, serverName, "tearDown");
+    }
+
+
+    /**
+     * The entities are returned in the order requested, with a null entry for an unknown entity.
+     */
+    @Test
+    public void testGetEntityDetails()
+    {
+        GUIDListRequest request = new GUIDListRequest();
+        request.setGUIDs(Arrays.asList("guid-1", "unknown", "guid-2"));
+
+        EntityListResponse response = new OMRSRepositoryRESTServices(true).getEntityDetails(serverName, userId, request);
+
+        assertNull(response.getExceptionClassName());
+
+        List<EntityDetail> entities = response.getEntities();
+
+        assertEquals(entities.size(), 3);
+        assertEquals(entities.get(0).getGUID(), "guid-1");
+        assertNull(entities.get(1));
+        assertEquals(entities.get(2).getGUID(), "guid-2");
+    }
+
+
+    /**
+     * A request without a list of guids is returned as an invalid parameter.
+     */
+    @Test
+    public void testNoGUIDs()
+    {
+        EntityListResponse response = new OMRSRepositoryRESTServices(true).getEntityDetails(serverName, userId, null);
+
+        assertEquals(response.getExceptionClassName(), InvalidParameterException.class.getName());
+        assertEquals(response.getRelatedHTTPCode(), 400);
+        assertNull(response.getEntities());
+    }
+
+
+    /**
+     * Repository connector for the local repository of the test server.
+     */
+    private static class TestRepositoryConnector extends OMRSRepositoryConnector
+    {
+        TestRepositoryConnector() throws Exception
+        {
+            super();
+
+            super.metadataCollection = new TestMetadataCollection(this);
+            super.start();
+        }
+    }
+
+
+    /**
+     * Metadata collection that knows every entity whose guid starts with "guid-".
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        TestMetadataCollection(OMRSRepositoryConnector parentConnector)
+        {
+            super(parentConnector,
+                  "test",
+                  new OMRSRepositoryContentHelper(new OMRSRepositoryContentManager(null)),
+                  new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager(null)),
+                  "test");
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException
+        {
+            if (! guid.startsWith("guid-"))
+            {
+                throw new EntityNotKnownException(404,
+                                                  OMRSRepositoryRESTServicesTest.class.getName(),
+                                                  "getEntityDetail",
+                                                  "Not known",
+                                                  "No action",
+                                                  "No action");
+            }
+
+            EntityDetail entity = new EntityDetail();
+
+            entity.setGUID(guid);
+
+            return entity;
+        }
+    }
+}
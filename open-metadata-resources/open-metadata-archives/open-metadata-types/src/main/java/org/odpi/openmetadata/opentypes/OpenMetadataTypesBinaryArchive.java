@@ -0,0 +1,190 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.opentypes;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * OpenMetadataTypesBinaryArchive manages a precompiled, binary copy of the open metadata types archive.
+ * The binary copy is a compressed Java serialization of the archive built by OpenMetadataTypesArchive.
+ * It is written into the module's classes directory during the build (see the main method) so a server
+ * can load the types from the classpath rather than rebuilding them each time it starts.
+ */
+public class OpenMetadataTypesBinaryArchive
+{
+    public  static final String archiveResourceName = "OpenMetadataTypes.omarchive";
+
+    private static final String archiveFormat       = "OpenMetadataTypesBinaryArchive-V1";
+
+    private static final Logger log = LoggerFactory.getLogger(OpenMetadataTypesBinaryArchive.class);
+
+
+    /**
+     * Private constructor since this class only has static methods.
+     */
+    private OpenMetadataTypesBinaryArchive()
+    {
+    }
+
+
+    /**
+     * Return the open metadata types archive loaded from its binary copy on the classpath.
+     * Null is returned if there is no binary copy or it can not be read.  The caller can then
+     * use OpenMetadataTypesArchive to build the archive.
+     *
+     * @return open metadata archive or null
+     */
+    public static OpenMetadataArchive getOpenMetadataArchive()
+    {
+        InputStream resourceStream = OpenMetadataTypesBinaryArchive.class.getClassLoader().getResourceAsStream(archiveResourceName);
+
+        if (resourceStream == null)
+        {
+            log.debug("No binary open metadata types archive " + archiveResourceName + " on the classpath");
+            return null;
+        }
+
+        try (InputStream inputStream = resourceStream)
+        {
+            return readOpenMetadataArchive(inputStream);
+        }
+        catch (Throwable error)
+        {
+            log.debug("Unable to read the binary open metadata types archive " + archiveResourceName + ": ", error);
+            return null;
+        }
+    }
+
+
+    /**
+     * Read an open metadata archive from its binary form.
+     *
+     * @param inputStream stream containing the binary archive
+     * @return open metadata archive or null if the stream does not contain a binary archive in the expected format
+     * @throws IOException the stream can not be read
+     * @throws ClassNotFoundException the stream refers to an unknown class
+     */
+    static OpenMetadataArchive readOpenMetadataArchive(InputStream inputStream) throws IOException,
+                                                                                        ClassNotFoundException
+    {
+        ObjectInputStream objectInputStream = new ArchiveObjectInputStream(new GZIPInputStream(new BufferedInputStream(inputStream)));
+
+        if (archiveFormat.equals(objectInputStream.readUTF()))
+        {
+            Object archive = objectInputStream.readObject();
+
+            if (archive instanceof OpenMetadataArchive)
+            {
+                return (OpenMetadataArchive)archive;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Write an open metadata archive in its binary form.
+     *
+     * @param openMetadataArchive archive to write
+     * @param outputStream destination of the binary archive
+     * @throws IOException the stream can not be written
+     */
+    static void writeOpenMetadataArchive(OpenMetadataArchive openMetadataArchive,
+                                         OutputStream        outputStream) throws IOException
+    {
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(outputStream)));
+
+        objectOutputStream.writeUTF(archiveFormat);
+        objectOutputStream.writeObject(openMetadataArchive);
+        objectOutputStream.close();
+    }
+
+
+    /**
+     * Builds the open metadata types archive and writes its binary form to the supplied directory.
+     * This is run by the build once the classes are compiled.
+     *
+     * @param args the output directory (defaults to the current directory)
+     * @throws IOException the archive can not be written
+     */
+    public static void main(String[] args) throws IOException
+    {
+        String outputDirectory = ".";
+
+        if ((args != null) && (args.length > 0))
+        {
+            outputDirectory = args[0];
+        }
+
+        File archiveFile = new File(outputDirectory, archiveResourceName);
+
+        try (OutputStream outputStream = new FileOutputStream(archiveFile))
+        {
+            writeOpenMetadataArchive(new OpenMetadataTypesArchive().getOpenMetadataArchive(), outputStream);
+        }
+    }
+
+
+    /**
+     * ArchiveObjectInputStream only creates the classes that make up an open metadata archive.
+     */
+    private static class ArchiveObjectInputStream extends ObjectInputStream
+    {
+        /**
+         * Constructor
+         *
+         * @param inputStream stream containing the serialized archive
+         * @throws IOException the stream can not be read
+         */
+        ArchiveObjectInputStream(InputStream inputStream) throws IOException
+        {
+            super(inputStream);
+        }
+
+
+        /**
+         * Reject any class that is not part of the open metadata archive or one of the standard
+         * collection and value classes that it uses.
+         *
+         * @param classDescription description of the class in the stream
+         * @return class
+         * @throws IOException the class is not allowed
+         * @throws ClassNotFoundException the class is not known
+         */
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass classDescription) throws IOException,
+                                                                                   ClassNotFoundException
+        {
+            String className = classDescription.getName();
+
+            if ((className.startsWith("org.odpi.openmetadata.")) ||
+                (className.startsWith("java.util.")) ||
+                (className.startsWith("java.lang.")) ||
+                (className.startsWith("java.math.")) ||
+                (className.startsWith("[")))
+            {
+                return super.resolveClass(classDescription);
+            }
+
+            throw new InvalidClassException(className, "Class not expected in an open metadata archive");
+        }
+    }
+}
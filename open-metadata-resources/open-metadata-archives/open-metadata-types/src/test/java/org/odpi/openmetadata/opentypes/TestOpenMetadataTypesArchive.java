@@ -8,6 +8,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.p
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
 /**
  * Test that the open metadata archive types load without error.  This archive only contains types.
  */
@@ -23,5 +26,22 @@ public class TestOpenMetadataTypesArchive
 
         assert (typeStore != null);
     }
+
+
+    @Test
+    public void testOpenMetadataTypesBinaryArchive() throws Exception
+    {
+        OpenMetadataArchive   archive      = new OpenMetadataTypesArchive().getOpenMetadataArchive();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        OpenMetadataTypesBinaryArchive.writeOpenMetadataArchive(archive, outputStream);
+
+        OpenMetadataArchive binaryArchive = OpenMetadataTypesBinaryArchive.readOpenMetadataArchive(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assert (binaryArchive != null);
+        assert (binaryArchive.getArchiveProperties().equals(archive.getArchiveProperties()));
+        assert (binaryArchive.getArchiveTypeStore().getNewTypeDefs().equals(archive.getArchiveTypeStore().getNewTypeDefs()));
+        assert (binaryArchive.getArchiveTypeStore().getAttributeTypeDefs().equals(archive.getArchiveTypeStore().getAttributeTypeDefs()));
+    }
 }
 